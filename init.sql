@@ -0,0 +1,4 @@
+-- Runs once when the docker-compose volume is created. Tables, indexes and functions are
+-- owned by the Flyway migrations in src/main/resources/db/migration; this only enables the
+-- extensions they rely on while connected as the container superuser.
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
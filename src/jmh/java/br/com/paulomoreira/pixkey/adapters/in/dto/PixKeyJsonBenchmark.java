@@ -0,0 +1,75 @@
+package br.com.paulomoreira.pixkey.adapters.in.dto;
+
+import br.com.paulomoreira.pixkey.adapters.in.dto.request.CreatePixKeyRequest;
+import br.com.paulomoreira.pixkey.adapters.in.dto.response.PixKeyResponse;
+import br.com.paulomoreira.pixkey.domain.model.KeyType;
+import br.com.paulomoreira.pixkey.domain.model.PixKey;
+import br.com.paulomoreira.pixkey.domain.model.SamplePixKeys;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+// The controller side of a create: request body -> CreatePixKeyRequest, then PixKey ->
+// PixKeyResponse -> response body. The mapper is built the way Spring Boot builds its own.
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PixKeyJsonBenchmark {
+
+    private static final byte[] CREATE_REQUEST = """
+            {"tipoChave":"EMAIL","valorChave":"cliente1@example.com","tipoConta":"CORRENTE",\
+            "numeroAgencia":1234,"numeroConta":12345678,"nomeCorrentista":"Correntista",\
+            "sobrenomeCorrentista":"Teste","isPessoaFisica":true}""".getBytes(StandardCharsets.UTF_8);
+
+    private ObjectReader requestReader;
+    private ObjectWriter responseWriter;
+    private PixKey pixKey;
+    private PixKeyResponse response;
+
+    @Setup
+    public void setUp() {
+        ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        requestReader = objectMapper.readerFor(CreatePixKeyRequest.class);
+        responseWriter = objectMapper.writerFor(PixKeyResponse.class);
+        pixKey = SamplePixKeys.pixKey(KeyType.EMAIL, 1, 1234, 12345678);
+        response = PixKeyResponse.fromDomain(pixKey);
+    }
+
+    @Benchmark
+    public CreatePixKeyRequest deserializeCreateRequest() throws IOException {
+        return requestReader.readValue(CREATE_REQUEST);
+    }
+
+    @Benchmark
+    public PixKeyResponse responseFromDomain() {
+        return PixKeyResponse.fromDomain(pixKey);
+    }
+
+    @Benchmark
+    public byte[] serializeResponse() throws IOException {
+        return responseWriter.writeValueAsBytes(response);
+    }
+
+    @Benchmark
+    public byte[] fromDomainAndSerialize() throws IOException {
+        return responseWriter.writeValueAsBytes(PixKeyResponse.fromDomain(pixKey));
+    }
+}
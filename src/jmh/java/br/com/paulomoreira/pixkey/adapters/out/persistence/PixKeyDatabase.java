@@ -0,0 +1,82 @@
+package br.com.paulomoreira.pixkey.adapters.out.persistence;
+
+import br.com.paulomoreira.pixkey.PixkeyApplication;
+import br.com.paulomoreira.pixkey.infrastructure.persistence.PixKeyJpaRepository;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+// The application context (no web server) over an embedded PostgreSQL holding `rows` keys, shared
+// by the persistence benchmarks. Key n is on branch 1000 + n % 50 and account 10000000 + n % 400, is
+// of type n % 5 in CPF, CNPJ, EMAIL, CELULAR, ALEATORIO order and belongs to "Nome" + n % 100.
+@State(Scope.Benchmark)
+public class PixKeyDatabase {
+
+    @Param("20000")
+    public int rows;
+
+    private static final String SEED_SQL = """
+            insert into pix_keys (id, type, key_value, account_type, branch_number, account_number,
+                                  account_holder_name, created_at, active, is_legalperson)
+            select gen_random_uuid(),
+                   (array['CPF','CNPJ','EMAIL','CELULAR','ALEATORIO'])[1 + g % 5],
+                   'key-' || g,
+                   'CORRENTE',
+                   1000 + g % 50,
+                   10000000 + g % 400,
+                   'Nome' || g % 100,
+                   timestamp '2024-01-01' + g * interval '1 minute',
+                   true,
+                   false
+            from generate_series(1, ?) g
+            """;
+
+    private EmbeddedPostgres postgres;
+    private ConfigurableApplicationContext context;
+
+    @Setup
+    public void setUp() throws Exception {
+        postgres = EmbeddedPostgres.builder().start();
+        context = new SpringApplicationBuilder(PixkeyApplication.class)
+                .web(WebApplicationType.NONE)
+                .run("--spring.datasource.url=" + postgres.getJdbcUrl("postgres", "postgres"),
+                        "--spring.datasource.username=postgres",
+                        "--spring.datasource.password=",
+                        "--spring.jpa.show-sql=false",
+                        "--logging.level.root=WARN",
+                        "--logging.level.org.hibernate.SQL=INFO",
+                        "--logging.level.org.hibernate.type.descriptor.sql.BasicBinder=INFO");
+        jdbcTemplate().getJdbcOperations().update(SEED_SQL, rows);
+        jdbcTemplate().getJdbcOperations().execute("analyze pix_keys");
+    }
+
+    @TearDown
+    public void tearDown() throws Exception {
+        context.close();
+        postgres.close();
+    }
+
+    <T> T bean(Class<T> type) {
+        return context.getBean(type);
+    }
+
+    NamedParameterJdbcTemplate jdbcTemplate() {
+        return bean(NamedParameterJdbcTemplate.class);
+    }
+
+    // The Spring bean, so @Transactional applies as it does in the application.
+    PixKeyRepositoryImpl repository() {
+        return bean(PixKeyRepositoryImpl.class);
+    }
+
+    PixKeyJpaRepository jpaRepository() {
+        return bean(PixKeyJpaRepository.class);
+    }
+}
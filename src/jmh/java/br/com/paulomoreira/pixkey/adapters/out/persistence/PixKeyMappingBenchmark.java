@@ -0,0 +1,50 @@
+package br.com.paulomoreira.pixkey.adapters.out.persistence;
+
+import br.com.paulomoreira.pixkey.domain.model.KeyType;
+import br.com.paulomoreira.pixkey.domain.model.PixKey;
+import br.com.paulomoreira.pixkey.domain.model.SamplePixKeys;
+import br.com.paulomoreira.pixkey.infrastructure.persistence.PixKeyEntity;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+// Domain <-> JPA entity conversion done on every save and every JPA read.
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PixKeyMappingBenchmark {
+
+    // toEntity and toDomain touch neither the JPA repository nor the JDBC template.
+    private final PixKeyRepositoryImpl repository = new PixKeyRepositoryImpl(null, null);
+
+    private PixKey pixKey;
+    private PixKeyEntity entity;
+
+    @Setup
+    public void setUp() {
+        pixKey = SamplePixKeys.pixKey(KeyType.EMAIL, 1, 1234, 12345678);
+        entity = repository.toEntity(pixKey);
+    }
+
+    @Benchmark
+    public PixKeyEntity toEntity() {
+        return repository.toEntity(pixKey);
+    }
+
+    @Benchmark
+    public PixKey toDomain() {
+        return repository.toDomain(entity);
+    }
+}
@@ -0,0 +1,81 @@
+package br.com.paulomoreira.pixkey.adapters.out.persistence;
+
+import br.com.paulomoreira.pixkey.application.ports.in.SearchPixKeysQuery;
+import br.com.paulomoreira.pixkey.domain.model.PixKey;
+import br.com.paulomoreira.pixkey.infrastructure.persistence.PixKeyJpaRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+// Reads as they were, a managed PixKeyEntity copied into PixKey, against rows mapped straight into
+// PixKey: one key by id and a page of PAGE_SIZE keys (COUNT included). With -prof gc, the page
+// B/op divided by PAGE_SIZE is the allocation per returned row:
+//   mvn -Pjmh test-compile exec:exec -Djmh.args="PixKeyReadBenchmark -prof gc"
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PixKeyReadBenchmark {
+
+    private static final int PAGE_SIZE = 100;
+
+    private final SearchPixKeysQuery everything = new SearchPixKeysQuery(null, null, null, null, null, null);
+    private final Pageable pageable = PageRequest.of(0, PAGE_SIZE);
+    private PixKeyJpaRepository jpaRepository;
+    private PixKeyRepositoryImpl repository;
+    private List<UUID> ids;
+    private int next;
+
+    @Setup
+    public void setUp(PixKeyDatabase database) {
+        jpaRepository = database.jpaRepository();
+        repository = database.repository();
+        ids = database.jdbcTemplate().getJdbcOperations()
+                .queryForList("select id from pix_keys order by random() limit 1000", UUID.class);
+    }
+
+    @Benchmark
+    public Optional<PixKey> entityById() {
+        return jpaRepository.findById(nextId()).map(repository::toDomain);
+    }
+
+    @Benchmark
+    public Optional<PixKey> projectedById() {
+        return repository.findById(nextId());
+    }
+
+    @Benchmark
+    public Page<PixKey> entityPage() {
+        Page<PixKey> page = jpaRepository.findAll(pageable).map(repository::toDomain);
+        return new PageImpl<>(page.getContent(), pageable, page.getTotalElements());
+    }
+
+    @Benchmark
+    public Page<PixKey> projectedPage() {
+        return repository.search(everything, pageable);
+    }
+
+    private UUID nextId() {
+        UUID id = ids.get(next);
+        next = (next + 1) % ids.size();
+        return id;
+    }
+}
@@ -0,0 +1,102 @@
+package br.com.paulomoreira.pixkey.adapters.out.persistence;
+
+import br.com.paulomoreira.pixkey.application.ports.in.SearchPixKeysQuery;
+import br.com.paulomoreira.pixkey.domain.model.PixKey;
+import br.com.paulomoreira.pixkey.infrastructure.persistence.PixKeyEntity;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.criteria.Predicate;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.support.SimpleJpaRepository;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+// One search page, COUNT included, through the Criteria Specification findByFilters used to build
+// for every call and through the SQL PixKeySqlFilter precompiles per filter shape. Both run against
+// the same PixKeyDatabase with a small table, so the difference is the Java side of a search;
+// -prof gc shows the allocation per call:
+//   mvn -Pjmh test-compile exec:exec -Djmh.args="PixKeySearchBenchmark -prof gc"
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PixKeySearchBenchmark {
+
+    @Param({"type", "branch+account", "all"})
+    public String filters;
+
+    private SimpleJpaRepository<PixKeyEntity, UUID> jpa;
+    private PixKeyRepositoryImpl repository;
+    private SearchPixKeysQuery query;
+    private final Pageable pageable = PageRequest.of(1, 20, Sort.by(Sort.Order.desc("createdAt")));
+
+    @Setup
+    public void setUp(PixKeyDatabase database) {
+        jpa = new SimpleJpaRepository<>(PixKeyEntity.class, database.bean(EntityManager.class));
+        repository = database.repository();
+        query = switch (filters) {
+            case "type" -> new SearchPixKeysQuery("CPF", null, null, null, null, null);
+            case "branch+account" -> new SearchPixKeysQuery(null, 1010, 10000010, null, null, null);
+            default -> new SearchPixKeysQuery("CPF", 1010, 10000010, "Nome10", LocalDateTime.of(2024, 1, 1, 0, 0), null);
+        };
+    }
+
+    @Benchmark
+    public Page<PixKey> specification() {
+        Page<PixKeyEntity> entities = jpa.findAll(specification(query), pageable);
+        return new PageImpl<>(entities.getContent().stream().map(repository::toDomain).toList(), pageable,
+                entities.getTotalElements());
+    }
+
+    @Benchmark
+    public Page<PixKey> precompiled() {
+        return repository.search(query, pageable);
+    }
+
+    // What findByFilters built for every search before the SQL was precompiled per shape.
+    static Specification<PixKeyEntity> specification(SearchPixKeysQuery filter) {
+        return (root, criteria, cb) -> {
+            List<Predicate> predicates = new ArrayList<>();
+            if (filter.keyType() != null) {
+                predicates.add(cb.equal(root.get("type"), filter.keyType()));
+            }
+            if (filter.branchNumber() != null) {
+                predicates.add(cb.equal(root.get("branchNumber"), filter.branchNumber()));
+            }
+            if (filter.accountNumber() != null) {
+                predicates.add(cb.equal(root.get("accountNumber"), filter.accountNumber()));
+            }
+            if (filter.accountHolderName() != null) {
+                predicates.add(cb.equal(root.get("accountHolderName"), filter.accountHolderName()));
+            }
+            if (filter.createdAt() != null) {
+                predicates.add(cb.greaterThanOrEqualTo(root.get("createdAt"), filter.createdAt()));
+            }
+            if (filter.deactivatedAt() != null) {
+                predicates.add(cb.greaterThanOrEqualTo(root.get("deactivatedAt"), filter.deactivatedAt()));
+            }
+            return cb.and(predicates.toArray(new Predicate[0]));
+        };
+    }
+}
@@ -0,0 +1,84 @@
+package br.com.paulomoreira.pixkey.adapters.out.persistence;
+
+import br.com.paulomoreira.pixkey.application.ports.in.SearchPixKeysQuery;
+import br.com.paulomoreira.pixkey.application.ports.out.PixKeySearchIndex;
+import br.com.paulomoreira.pixkey.application.usecases.SearchPixKeysUseCaseImpl;
+import br.com.paulomoreira.pixkey.domain.model.PixKey;
+import br.com.paulomoreira.pixkey.infrastructure.persistence.PixKeyEntity;
+import jakarta.persistence.EntityManager;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.support.SimpleJpaRepository;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+// One unsorted search page with its total: through the Criteria Specification, through the
+// precompiled SQL, and through RoaringBitmapSearchIndex, which intersects bitmaps in memory and only
+// reads the page's rows by id. The gap grows with the table, since COUNT and an unselective filter
+// scan it while the bitmaps only get larger; the target size is 10M keys:
+//   mvn -Pjmh test-compile exec:exec -Djmh.args="PixKeySearchIndexBenchmark -p rows=10000000 -prof gc"
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PixKeySearchIndexBenchmark {
+
+    @Param({"type", "branch+account", "all"})
+    public String filters;
+
+    private SimpleJpaRepository<PixKeyEntity, UUID> jpa;
+    private PixKeyRepositoryImpl repository;
+    private SearchPixKeysUseCaseImpl onDatabase;
+    private SearchPixKeysUseCaseImpl onIndex;
+    private SearchPixKeysQuery query;
+    private final Pageable pageable = PageRequest.of(1, 20);
+
+    @Setup
+    public void setUp(PixKeyDatabase database) {
+        jpa = new SimpleJpaRepository<>(PixKeyEntity.class, database.bean(EntityManager.class));
+        repository = database.repository();
+        RoaringBitmapSearchIndex index = new RoaringBitmapSearchIndex();
+        index.load(repository);
+        onDatabase = new SearchPixKeysUseCaseImpl(repository, PixKeySearchIndex.none());
+        onIndex = new SearchPixKeysUseCaseImpl(repository, index);
+        query = switch (filters) {
+            case "type" -> new SearchPixKeysQuery("CPF", null, null, null, null, null);
+            case "branch+account" -> new SearchPixKeysQuery(null, 1010, 10000010, null, null, null);
+            default -> new SearchPixKeysQuery("CPF", 1010, 10000010, "Nome10", LocalDateTime.of(2024, 1, 1, 0, 0), null);
+        };
+    }
+
+    @Benchmark
+    public Page<PixKey> specification() {
+        Page<PixKeyEntity> entities = jpa.findAll(PixKeySearchBenchmark.specification(query), pageable);
+        return new PageImpl<>(entities.getContent().stream().map(repository::toDomain).toList(), pageable,
+                entities.getTotalElements());
+    }
+
+    @Benchmark
+    public Page<PixKey> sql() {
+        return onDatabase.execute(query, pageable);
+    }
+
+    @Benchmark
+    public Page<PixKey> bitmapIndex() {
+        return onIndex.execute(query, pageable);
+    }
+}
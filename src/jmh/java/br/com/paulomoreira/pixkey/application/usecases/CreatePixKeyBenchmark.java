@@ -0,0 +1,102 @@
+package br.com.paulomoreira.pixkey.application.usecases;
+
+import br.com.paulomoreira.pixkey.adapters.out.persistence.CachedAccountKeyCounter;
+import br.com.paulomoreira.pixkey.application.ports.out.InMemoryPixKeyRepository;
+import br.com.paulomoreira.pixkey.application.ports.out.PixKeyInvalidationChannel;
+import br.com.paulomoreira.pixkey.application.ports.out.PixKeySearchIndex;
+import br.com.paulomoreira.pixkey.domain.model.PixKey;
+import br.com.paulomoreira.pixkey.domain.model.SamplePixKeys;
+import br.com.paulomoreira.pixkey.domain.validation.KeyValidatorFixtures;
+import br.com.paulomoreira.pixkey.domain.validation.KeyValidatorRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+// CreatePixKeyUseCaseImpl.execute end to end: validation, duplicate check, account counter and
+// insert, against an in-memory repository. Every call creates a fresh key on its own account;
+// the repository and counter are replaced each time the key pool wraps, so the store never
+// grows past POOL_SIZE keys and no call hits the duplicate or limit paths.
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CreatePixKeyBenchmark {
+
+    private static final int POOL_SIZE = 4096;
+
+    private final KeyValidatorRegistry validators = KeyValidatorFixtures.registry();
+    private final PixKey[] pool = new PixKey[POOL_SIZE];
+    private int next;
+    private CreatePixKeyUseCaseImpl useCase;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        for (int i = 0; i < POOL_SIZE; i++) {
+            pool[i] = SamplePixKeys.pixKey(SamplePixKeys.randomType(random), i, 1234, 10_000_000 + i);
+            validators.validate(pool[i].type(), pool[i].keyValue());
+        }
+        reset();
+    }
+
+    @Benchmark
+    public PixKey execute() {
+        if (next == POOL_SIZE) {
+            reset();
+        }
+        return useCase.execute(pool[next++]);
+    }
+
+    private void reset() {
+        IndexedPixKeyRepository repository = new IndexedPixKeyRepository();
+        useCase = new CreatePixKeyUseCaseImpl(repository, validators, new CachedAccountKeyCounter(16, 100_000,
+                Duration.ofMinutes(1), PixKeyInvalidationChannel.local()), PixKeySearchIndex.none());
+        next = 0;
+    }
+
+    // InMemoryPixKeyRepository answers existsByKeyValue and countByAccount by scanning every key,
+    // which would make the numbers depend on how far into the pool a call is.
+    static class IndexedPixKeyRepository extends InMemoryPixKeyRepository {
+
+        private final Set<String> keyValues = new HashSet<>();
+        private final Map<Long, Integer> accountCounts = new HashMap<>();
+
+        @Override
+        public PixKey insert(PixKey pixKey) {
+            keyValues.add(pixKey.keyValue());
+            accountCounts.merge(account(pixKey.branchNumber(), pixKey.accountNumber()), 1, Integer::sum);
+            return super.insert(pixKey);
+        }
+
+        @Override
+        public boolean existsByKeyValue(String keyValue) {
+            return keyValues.contains(keyValue);
+        }
+
+        @Override
+        public int countByAccount(int branchNumber, int accountNumber) {
+            return accountCounts.getOrDefault(account(branchNumber, accountNumber), 0);
+        }
+
+        private static long account(int branchNumber, int accountNumber) {
+            return (long) branchNumber << 32 | accountNumber;
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package br.com.paulomoreira.pixkey.domain.validation;
+
+import br.com.paulomoreira.pixkey.domain.model.KeyType;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+// Valid keys only: a rejected key costs an exception either way, which would hide the difference.
+// Run with -prof gc to see the allocation rate per call.
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class KeyValidatorBenchmark {
+
+    private static final Map<KeyType, String> KEYS = Map.of(
+            KeyType.CPF, "52998224725",
+            KeyType.CNPJ, "11222333000181",
+            KeyType.CELULAR, "+5511987654321",
+            KeyType.EMAIL, "firstname.lastname@example.com",
+            KeyType.ALEATORIO, "123e4567-e89b-12d3-a456-426614174000"
+    );
+
+    private static final Map<KeyType, KeyValidator> VALIDATORS = Map.of(
+            KeyType.CPF, new CpfValidatorImpl(),
+            KeyType.CNPJ, new CnpjValidator(),
+            KeyType.CELULAR, new CelularValidator(),
+            KeyType.EMAIL, new EmailValidator(),
+            KeyType.ALEATORIO, new AleatorioValidator()
+    );
+
+    @Param({"CPF", "CNPJ", "CELULAR", "EMAIL", "ALEATORIO"})
+    private KeyType type;
+
+    private String key;
+    private KeyValidator validator;
+    private Consumer<String> legacy;
+
+    @Setup
+    public void setUp() {
+        key = KEYS.get(type);
+        validator = VALIDATORS.get(type);
+        legacy = LegacyKeyValidators.BY_TYPE.get(type);
+    }
+
+    @Benchmark
+    public void regex() {
+        legacy.accept(key);
+    }
+
+    @Benchmark
+    public void singlePass() {
+        validator.validate(key);
+    }
+}
@@ -0,0 +1,55 @@
+package br.com.paulomoreira.pixkey.domain.validation;
+
+import br.com.paulomoreira.pixkey.domain.model.KeyType;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Finding the validator for a key, without running it. streamScan is the lookup create used
+// before the registry; CPF is first in the configured list and ALEATORIO last.
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class KeyValidatorDispatchBenchmark {
+
+    @Param({"CPF", "ALEATORIO"})
+    private KeyType type;
+
+    private List<KeyValidator> validators;
+    private KeyValidatorRegistry registry;
+
+    @Setup
+    public void setUp() {
+        validators = List.of(new CpfValidatorImpl(), new CelularValidator(), new EmailValidator(),
+                new CnpjValidator(), new AleatorioValidator());
+        registry = new KeyValidatorRegistry(validators);
+    }
+
+    @Benchmark
+    public KeyValidator streamScan() {
+        KeyType keyType = KeyType.valueOf(type.name());
+        return validators.stream()
+                .filter(v -> v.getType() == keyType)
+                .findFirst()
+                .orElseThrow();
+    }
+
+    @Benchmark
+    public KeyValidator registry() {
+        return registry.get(type);
+    }
+}
@@ -0,0 +1,82 @@
+package br.com.paulomoreira.pixkey.infrastructure.metrics;
+
+import br.com.paulomoreira.pixkey.application.ports.in.GetPixKeyUseCase;
+import br.com.paulomoreira.pixkey.application.ports.out.InMemoryPixKeyRepository;
+import br.com.paulomoreira.pixkey.application.ports.out.PixKeyCache;
+import br.com.paulomoreira.pixkey.application.ports.out.PixKeyRepository;
+import br.com.paulomoreira.pixkey.application.usecases.GetPixKeyUseCaseImpl;
+import br.com.paulomoreira.pixkey.domain.model.KeyType;
+import br.com.paulomoreira.pixkey.domain.model.PixKey;
+import br.com.paulomoreira.pixkey.domain.model.SamplePixKeys;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.config.MeterFilter;
+import io.micrometer.core.instrument.distribution.DistributionStatisticConfig;
+import io.micrometer.prometheusmetrics.PrometheusConfig;
+import io.micrometer.prometheusmetrics.PrometheusMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+// What PixKeyMetricsAspect adds to a call: a GetPixKeyUseCase over an in-memory repository (a map
+// lookup, so the overhead is not hidden behind I/O), plain versus both layers proxied and timed
+// into a Prometheus registry with percentile histograms on, as in application.properties.
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MetricsOverheadBenchmark {
+
+    private GetPixKeyUseCase plain;
+    private GetPixKeyUseCase metered;
+    private UUID id;
+
+    @Setup
+    public void setUp() {
+        PrometheusMeterRegistry registry = new PrometheusMeterRegistry(PrometheusConfig.DEFAULT);
+        registry.config().meterFilter(new MeterFilter() {
+            @Override
+            public DistributionStatisticConfig configure(Meter.Id meterId, DistributionStatisticConfig config) {
+                return DistributionStatisticConfig.builder().percentilesHistogram(true).build().merge(config);
+            }
+        });
+        PixKeyMetricsAspect aspect = new PixKeyMetricsAspect(registry);
+
+        InMemoryPixKeyRepository repository = new InMemoryPixKeyRepository();
+        PixKey pixKey = repository.insert(SamplePixKeys.pixKey(KeyType.EMAIL, 1, 1234, 12345678));
+        id = pixKey.id();
+        plain = new GetPixKeyUseCaseImpl(repository, PixKeyCache.none());
+        metered = proxy(new GetPixKeyUseCaseImpl(proxy(repository, aspect), PixKeyCache.none()), aspect);
+    }
+
+    @Benchmark
+    public Optional<PixKey> plain() {
+        return plain.execute(id);
+    }
+
+    @Benchmark
+    public Optional<PixKey> metered() {
+        return metered.execute(id);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T proxy(T target, PixKeyMetricsAspect aspect) {
+        AspectJProxyFactory factory = new AspectJProxyFactory(target);
+        factory.setProxyTargetClass(true);
+        factory.addAspect(aspect);
+        return (T) factory.getProxy();
+    }
+}
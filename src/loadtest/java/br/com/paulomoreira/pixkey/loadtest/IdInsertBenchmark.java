@@ -0,0 +1,189 @@
+package br.com.paulomoreira.pixkey.loadtest;
+
+import br.com.paulomoreira.pixkey.domain.model.PixKeyIdGenerator;
+import br.com.paulomoreira.pixkey.domain.model.UuidV7Generator;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.HdrHistogram.Histogram;
+import org.flywaydb.core.Flyway;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Inserts the same number of pix_keys rows with random (version 4) and time-ordered (version 7)
+// ids and compares primary key index size and insert latency:
+//   mvn -Ploadtest test-compile exec:exec -Dloadtest.main=br.com.paulomoreira.pixkey.loadtest.IdInsertBenchmark \
+//       -Dloadtest.args="--rows=10000000 --threads=8"
+// Options (--name=value): rows per scheme, threads, batch (rows per JDBC batch), schemes (run order),
+// jdbcUrl/username/password (use a running database instead of embedded binaries).
+//
+// Each scheme gets its own copy of pix_keys with only the primary key, so the index on id is the
+// only one being maintained. Latency is per batch; the last tenth of the run is reported apart,
+// since that is where a random index no longer fits in shared_buffers.
+public final class IdInsertBenchmark {
+
+    private static final String INSERT_SQL = """
+            insert into %s (id, key_value, type, account_type, branch_number, account_number,
+                            account_holder_name, created_at, is_legalperson)
+            values (?, ?, 'ALEATORIO', 'CORRENTE', ?, ?, 'Benchmark', ?, false)
+            """;
+
+    private IdInsertBenchmark() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = parse(args);
+        long rows = Long.parseLong(options.get("rows"));
+        int threads = Integer.parseInt(options.get("threads"));
+        int batch = Integer.parseInt(options.get("batch"));
+
+        EmbeddedPostgres embedded = null;
+        String url = options.get("jdbcUrl");
+        String username = options.getOrDefault("username", "postgres");
+        String password = options.getOrDefault("password", "");
+        if (url == null) {
+            embedded = EmbeddedPostgres.builder().start();
+            url = embedded.getJdbcUrl("postgres", "postgres");
+        }
+        try {
+            Flyway.configure().dataSource(url, username, password).load().migrate();
+            String batchUrl = url + (url.contains("?") ? "&" : "?") + "reWriteBatchedInserts=true";
+            System.out.printf("%d rows per scheme, %d threads, batches of %d%n", rows, threads, batch);
+            System.out.printf("%-8s %10s %10s %9s %9s %9s %9s %10s %10s%n", "scheme", "seconds", "rows/s",
+                    "p50 ms", "p99 ms", "tail p99", "max ms", "pkey MB", "table MB");
+            for (String scheme : options.get("schemes").split(",")) {
+                run(scheme, generator(scheme), batchUrl, username, password, rows, threads, batch);
+            }
+        } finally {
+            if (embedded != null) {
+                embedded.close();
+            }
+        }
+    }
+
+    private static void run(String scheme, PixKeyIdGenerator generator, String url, String username, String password,
+                            long rows, int threads, int batch) throws Exception {
+        String table = "pix_keys_bench_" + scheme;
+        try (Connection connection = DriverManager.getConnection(url, username, password);
+             Statement statement = connection.createStatement()) {
+            statement.execute("drop table if exists " + table);
+            statement.execute("create table " + table + " (like pix_keys including defaults)");
+            statement.execute("alter table " + table + " add primary key (id)");
+            statement.execute("checkpoint");
+        }
+
+        AtomicLong claimed = new AtomicLong();
+        long tailStart = rows - rows / 10;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        long start = System.nanoTime();
+        List<Future<Histogram[]>> workers = new ArrayList<>();
+        for (int i = 0; i < threads; i++) {
+            workers.add(executor.submit(() -> insert(table, generator, url, username, password, rows, batch,
+                    claimed, tailStart)));
+        }
+        Histogram all = new Histogram(3);
+        Histogram tail = new Histogram(3);
+        try {
+            for (Future<Histogram[]> worker : workers) {
+                Histogram[] histograms = worker.get();
+                all.add(histograms[0]);
+                tail.add(histograms[1]);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        try (Connection connection = DriverManager.getConnection(url, username, password);
+             Statement statement = connection.createStatement();
+             ResultSet sizes = statement.executeQuery("select pg_relation_size('" + table + "_pkey'), "
+                     + "pg_relation_size('" + table + "')")) {
+            sizes.next();
+            System.out.printf("%-8s %10.1f %10.0f %9.2f %9.2f %9.2f %9.2f %10.1f %10.1f%n", scheme, seconds,
+                    rows / seconds, millis(all.getValueAtPercentile(50)), millis(all.getValueAtPercentile(99)),
+                    millis(tail.getValueAtPercentile(99)), millis(all.getMaxValue()),
+                    sizes.getLong(1) / 1048576.0, sizes.getLong(2) / 1048576.0);
+        }
+    }
+
+    // Ids are taken right before each batch is sent, as the application would when keys are created,
+    // so concurrent threads interleave their time-ordered ids the same way requests would.
+    private static Histogram[] insert(String table, PixKeyIdGenerator generator, String url, String username,
+                                      String password, long rows, int batch, AtomicLong claimed, long tailStart)
+            throws SQLException {
+        Histogram all = new Histogram(3);
+        Histogram tail = new Histogram(3);
+        try (Connection connection = DriverManager.getConnection(url, username, password);
+             PreparedStatement insert = connection.prepareStatement(INSERT_SQL.formatted(table))) {
+            connection.setAutoCommit(false);
+            long first;
+            while ((first = claimed.getAndAdd(batch)) < rows) {
+                long last = Math.min(first + batch, rows);
+                long begin = System.nanoTime();
+                Timestamp now = new Timestamp(System.currentTimeMillis());
+                for (long n = first; n < last; n++) {
+                    insert.setObject(1, generator.next());
+                    insert.setString(2, UUID.randomUUID().toString());
+                    insert.setInt(3, (int) (n % 10_000));
+                    insert.setInt(4, (int) (n % 100_000_000));
+                    insert.setTimestamp(5, now);
+                    insert.addBatch();
+                }
+                insert.executeBatch();
+                connection.commit();
+                long latency = System.nanoTime() - begin;
+                all.recordValue(latency);
+                if (first >= tailStart) {
+                    tail.recordValue(latency);
+                }
+            }
+        }
+        return new Histogram[]{all, tail};
+    }
+
+    private static PixKeyIdGenerator generator(String scheme) {
+        return switch (scheme) {
+            case "uuidv7" -> new UuidV7Generator();
+            case "random" -> PixKeyIdGenerator.random();
+            default -> throw new IllegalArgumentException("--schemes takes uuidv7 and/or random: " + scheme);
+        };
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1e6;
+    }
+
+    private static Map<String, String> parse(String[] args) {
+        Map<String, String> values = new HashMap<>(Map.of(
+                "rows", "10000000",
+                "threads", "8",
+                "batch", "1000",
+                "schemes", "random,uuidv7"
+        ));
+        for (String arg : args) {
+            int eq = arg.indexOf('=');
+            if (!arg.startsWith("--") || eq < 0) {
+                throw new IllegalArgumentException("Expected --name=value, got: " + arg);
+            }
+            String name = arg.substring(2, eq);
+            if (!values.containsKey(name) && !List.of("jdbcUrl", "username", "password").contains(name)) {
+                throw new IllegalArgumentException("Unknown option --" + name);
+            }
+            values.put(name, arg.substring(eq + 1));
+        }
+        return values;
+    }
+}
@@ -0,0 +1,91 @@
+package br.com.paulomoreira.pixkey.loadtest;
+
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.EnumMap;
+import java.util.Map;
+
+// Per-operation latency histograms (nanoseconds) and error counts for one measured phase. Each
+// worker records into its own report and the reports are merged once the phase is over.
+final class LatencyReport {
+
+    private final Map<Operation, Histogram> latencies = new EnumMap<>(Operation.class);
+    private final Map<Operation, Long> errors = new EnumMap<>(Operation.class);
+
+    LatencyReport() {
+        for (Operation operation : Operation.values()) {
+            latencies.put(operation, new Histogram(3));
+            errors.put(operation, 0L);
+        }
+    }
+
+    void record(Operation operation, long latencyNanos, boolean error) {
+        latencies.get(operation).recordValue(latencyNanos);
+        if (error) {
+            errors.merge(operation, 1L, Long::sum);
+        }
+    }
+
+    void add(LatencyReport other) {
+        for (Operation operation : Operation.values()) {
+            latencies.get(operation).add(other.latencies.get(operation));
+            errors.merge(operation, other.errors.get(operation), Long::sum);
+        }
+    }
+
+    void print(PrintStream out, double seconds, PixKeyApiClient client) {
+        out.printf("%-11s %10s %8s %10s %9s %9s %9s %9s%n",
+                "operation", "requests", "errors", "req/s", "p50 ms", "p99 ms", "p99.9 ms", "max ms");
+        Histogram total = new Histogram(3);
+        long totalErrors = 0;
+        for (Operation operation : Operation.values()) {
+            Histogram histogram = latencies.get(operation);
+            if (histogram.getTotalCount() == 0) {
+                continue;
+            }
+            printRow(out, operation.label(), histogram, errors.get(operation), seconds);
+            total.add(histogram);
+            totalErrors += errors.get(operation);
+        }
+        printRow(out, "total", total, totalErrors, seconds);
+        for (Operation operation : Operation.values()) {
+            if (client.firstError(operation) != null) {
+                out.printf("first %s error: %s%n", operation.label(), client.firstError(operation));
+            }
+        }
+    }
+
+    // One HdrHistogram percentile file per operation, in milliseconds, for plotting or diffing runs.
+    void write(Path directory) throws IOException {
+        Files.createDirectories(directory);
+        for (Operation operation : Operation.values()) {
+            Histogram histogram = latencies.get(operation);
+            if (histogram.getTotalCount() == 0) {
+                continue;
+            }
+            try (PrintStream out = new PrintStream(Files.newOutputStream(directory.resolve(operation.label() + ".hgrm")))) {
+                histogram.outputPercentileDistribution(out, 1_000_000.0);
+            }
+        }
+    }
+
+    private static void printRow(PrintStream out, String label, Histogram histogram, long errors, double seconds) {
+        out.printf("%-11s %10d %8d %10.1f %9.2f %9.2f %9.2f %9.2f%n",
+                label,
+                histogram.getTotalCount(),
+                errors,
+                histogram.getTotalCount() / seconds,
+                millis(histogram.getValueAtPercentile(50)),
+                millis(histogram.getValueAtPercentile(99)),
+                millis(histogram.getValueAtPercentile(99.9)),
+                millis(histogram.getMaxValue()));
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+}
@@ -0,0 +1,103 @@
+package br.com.paulomoreira.pixkey.loadtest;
+
+import java.nio.file.Path;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+
+// --name=value arguments; anything not given keeps the default below.
+record LoadTestOptions(
+        String database,
+        String baseUrl,
+        int threads,
+        int durationSeconds,
+        int warmupSeconds,
+        int seedKeys,
+        int rate,
+        Map<Operation, Integer> mix,
+        String stack,
+        String threading,
+        int poolSize,
+        Path outputDir
+) {
+
+    static final String DEFAULT_MIX = "create:20,get:40,search:25,update:10,deactivate:5";
+
+    static LoadTestOptions parse(String[] args) {
+        Map<String, String> values = new HashMap<>(Map.ofEntries(
+                Map.entry("database", "embedded"),
+                Map.entry("threads", "16"),
+                Map.entry("duration", "60"),
+                Map.entry("warmup", "15"),
+                Map.entry("seed", "2000"),
+                Map.entry("rate", "0"),
+                Map.entry("mix", DEFAULT_MIX),
+                Map.entry("stack", "mvc"),
+                Map.entry("threading", "platform"),
+                Map.entry("pool", "20"),
+                Map.entry("output", "target/loadtest")
+        ));
+        for (String arg : args) {
+            int eq = arg.indexOf('=');
+            if (!arg.startsWith("--") || eq < 0) {
+                throw new IllegalArgumentException("Expected --name=value, got: " + arg);
+            }
+            String name = arg.substring(2, eq);
+            if (!values.containsKey(name) && !name.equals("baseUrl")) {
+                throw new IllegalArgumentException("Unknown option --" + name);
+            }
+            values.put(name, arg.substring(eq + 1));
+        }
+
+        String baseUrl = values.get("baseUrl");
+        String database = baseUrl != null ? "external" : values.get("database");
+        if (!database.equals("embedded") && !database.equals("testcontainers") && !database.equals("external")) {
+            throw new IllegalArgumentException("--database must be embedded, testcontainers or external (with --baseUrl)");
+        }
+        if (database.equals("external") && baseUrl == null) {
+            throw new IllegalArgumentException("--database=external needs --baseUrl");
+        }
+        String stack = values.get("stack");
+        if (!stack.equals("mvc") && !stack.equals("reactive")) {
+            throw new IllegalArgumentException("--stack must be mvc or reactive");
+        }
+        String threading = values.get("threading");
+        if (!threading.equals("platform") && !threading.equals("virtual")) {
+            throw new IllegalArgumentException("--threading must be platform or virtual");
+        }
+        return new LoadTestOptions(
+                database,
+                baseUrl,
+                Integer.parseInt(values.get("threads")),
+                Integer.parseInt(values.get("duration")),
+                Integer.parseInt(values.get("warmup")),
+                Integer.parseInt(values.get("seed")),
+                Integer.parseInt(values.get("rate")),
+                parseMix(values.get("mix")),
+                stack,
+                threading,
+                Integer.parseInt(values.get("pool")),
+                Path.of(values.get("output"))
+        );
+    }
+
+    // "create:20,get:40" -> weights per operation; operations left out get no traffic.
+    static Map<Operation, Integer> parseMix(String mix) {
+        Map<Operation, Integer> weights = new EnumMap<>(Operation.class);
+        for (String entry : mix.split(",")) {
+            String[] parts = entry.trim().split(":");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Invalid mix entry: " + entry + ". Use operation:weight");
+            }
+            int weight = Integer.parseInt(parts[1]);
+            if (weight < 0) {
+                throw new IllegalArgumentException("Negative weight in mix: " + entry);
+            }
+            weights.put(Operation.from(parts[0]), weight);
+        }
+        if (weights.values().stream().mapToInt(Integer::intValue).sum() == 0) {
+            throw new IllegalArgumentException("Mix has no traffic: " + mix);
+        }
+        return weights;
+    }
+}
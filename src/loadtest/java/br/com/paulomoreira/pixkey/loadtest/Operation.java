@@ -0,0 +1,19 @@
+package br.com.paulomoreira.pixkey.loadtest;
+
+import java.util.Locale;
+
+enum Operation {
+    CREATE, GET, SEARCH, UPDATE, DEACTIVATE;
+
+    static Operation from(String value) {
+        try {
+            return valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unknown operation: " + value + ". Use create, get, search, update or deactivate");
+        }
+    }
+
+    String label() {
+        return name().toLowerCase(Locale.ROOT);
+    }
+}
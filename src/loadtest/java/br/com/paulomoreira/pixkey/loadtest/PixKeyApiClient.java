@@ -0,0 +1,165 @@
+package br.com.paulomoreira.pixkey.loadtest;
+
+import br.com.paulomoreira.pixkey.domain.model.KeyType;
+import br.com.paulomoreira.pixkey.domain.model.SamplePixKeys;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+// One call per operation against /api/v1/pix-keys. Created keys go into a ring of known keys that
+// get, update, deactivate and the account searches draw from; deactivated keys leave it.
+final class PixKeyApiClient {
+
+    enum Outcome { OK, ERROR, SKIPPED }
+
+    private static final int KNOWN_KEYS = 1 << 16;
+    private static final int KEYS_PER_ACCOUNT = 4;
+    private static final String CREATE_BODY = """
+            {"tipoChave":"%s","valorChave":"%s","tipoConta":"CORRENTE","numeroAgencia":%d,"numeroConta":%d,\
+            "nomeCorrentista":"Cliente%d","sobrenomeCorrentista":"Carga","isPessoaFisica":%b}""";
+    private static final String UPDATE_BODY = """
+            {"tipoConta":"POUPANCA","numeroAgencia":%d,"numeroConta":%d,\
+            "nomeCorrentista":"Cliente%d","sobrenomeCorrentista":"Atualizado"}""";
+
+    private record KnownKey(UUID id, KeyType type, int branchNumber, int accountNumber) {
+    }
+
+    private final HttpClient httpClient = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final String baseUrl;
+    private final AtomicInteger sequence;
+    private final AtomicReferenceArray<KnownKey> knownKeys = new AtomicReferenceArray<>(KNOWN_KEYS);
+    private final AtomicLong knownKeyCount = new AtomicLong();
+    private final AtomicReferenceArray<String> firstErrors = new AtomicReferenceArray<>(Operation.values().length);
+
+    // Key values and accounts come from a sequence; starting it at a random point keeps repeated
+    // runs against the same external database from colliding.
+    PixKeyApiClient(String baseUrl, int firstSequence) {
+        this.baseUrl = baseUrl + "/api/v1/pix-keys";
+        this.sequence = new AtomicInteger(firstSequence);
+    }
+
+    Outcome execute(Operation operation, Random random) throws IOException, InterruptedException {
+        return switch (operation) {
+            case CREATE -> create(random);
+            case GET -> get(random);
+            case SEARCH -> search(random);
+            case UPDATE -> update(random);
+            case DEACTIVATE -> deactivate(random);
+        };
+    }
+
+    String firstError(Operation operation) {
+        return firstErrors.get(operation.ordinal());
+    }
+
+    private Outcome create(Random random) throws IOException, InterruptedException {
+        int n = sequence.getAndIncrement() & Integer.MAX_VALUE;
+        KeyType type = SamplePixKeys.randomType(random);
+        int account = n / KEYS_PER_ACCOUNT;
+        int branchNumber = 1000 + account % 9000;
+        int accountNumber = 10_000_000 + account % 90_000_000;
+        String body = CREATE_BODY.formatted(type, SamplePixKeys.keyValue(type, n), branchNumber, accountNumber,
+                account % 5000, type != KeyType.CNPJ);
+
+        HttpResponse<String> response = send(HttpRequest.newBuilder(URI.create(baseUrl))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body)));
+        if (response.statusCode() != 200) {
+            return error(Operation.CREATE, response);
+        }
+        UUID id = UUID.fromString(objectMapper.readTree(response.body()).get("id").asText());
+        knownKeys.set((int) (knownKeyCount.getAndIncrement() % KNOWN_KEYS),
+                new KnownKey(id, type, branchNumber, accountNumber));
+        return Outcome.OK;
+    }
+
+    private Outcome get(Random random) throws IOException, InterruptedException {
+        KnownKey key = pick(random, false);
+        if (key == null) {
+            return Outcome.SKIPPED;
+        }
+        HttpResponse<String> response = send(HttpRequest.newBuilder(URI.create(baseUrl + "/" + key.id())).GET());
+        return response.statusCode() == 200 ? Outcome.OK : error(Operation.GET, response);
+    }
+
+    // Mostly the account lookup a channel does, then type and holder-name filters. An empty
+    // result is a 404 from this API, which is still a successful search.
+    private Outcome search(Random random) throws IOException, InterruptedException {
+        int roll = random.nextInt(100);
+        String query;
+        if (roll < 50) {
+            KnownKey key = pick(random, false);
+            if (key == null) {
+                return Outcome.SKIPPED;
+            }
+            query = "agencia=" + key.branchNumber() + "&conta=" + key.accountNumber();
+        } else if (roll < 75) {
+            query = "tipoChave=" + SamplePixKeys.randomType(random);
+        } else {
+            query = "nomeCorrentista=" + URLEncoder.encode("Cliente" + random.nextInt(5000), StandardCharsets.UTF_8);
+        }
+        HttpResponse<String> response = send(HttpRequest.newBuilder(URI.create(baseUrl + "?" + query + "&size=20")).GET());
+        int status = response.statusCode();
+        return status == 200 || status == 404 ? Outcome.OK : error(Operation.SEARCH, response);
+    }
+
+    private Outcome update(Random random) throws IOException, InterruptedException {
+        KnownKey key = pick(random, false);
+        if (key == null) {
+            return Outcome.SKIPPED;
+        }
+        String body = UPDATE_BODY.formatted(key.branchNumber(), key.accountNumber(), random.nextInt(5000));
+        HttpResponse<String> response = send(HttpRequest.newBuilder(URI.create(baseUrl + "/" + key.id()))
+                .header("Content-Type", "application/json")
+                .PUT(HttpRequest.BodyPublishers.ofString(body)));
+        return response.statusCode() == 200 ? Outcome.OK : error(Operation.UPDATE, response);
+    }
+
+    private Outcome deactivate(Random random) throws IOException, InterruptedException {
+        KnownKey key = pick(random, true);
+        if (key == null) {
+            return Outcome.SKIPPED;
+        }
+        HttpResponse<String> response = send(HttpRequest.newBuilder(URI.create(baseUrl + "/" + key.id())).DELETE());
+        return response.statusCode() == 200 ? Outcome.OK : error(Operation.DEACTIVATE, response);
+    }
+
+    // A random known key; with remove, the key is taken out so no one else updates or
+    // deactivates it after this. A few retries cover slots emptied by earlier deactivations.
+    private KnownKey pick(Random random, boolean remove) {
+        long count = Math.min(knownKeyCount.get(), KNOWN_KEYS);
+        for (int attempt = 0; count > 0 && attempt < 8; attempt++) {
+            int slot = random.nextInt((int) count);
+            KnownKey key = remove ? knownKeys.getAndSet(slot, null) : knownKeys.get(slot);
+            if (key != null) {
+                return key;
+            }
+        }
+        return null;
+    }
+
+    private HttpResponse<String> send(HttpRequest.Builder request) throws IOException, InterruptedException {
+        return httpClient.send(request.timeout(Duration.ofSeconds(30)).build(), HttpResponse.BodyHandlers.ofString());
+    }
+
+    private Outcome error(Operation operation, HttpResponse<String> response) {
+        firstErrors.compareAndSet(operation.ordinal(), null, response.statusCode() + " " + response.body());
+        return Outcome.ERROR;
+    }
+}
@@ -0,0 +1,129 @@
+package br.com.paulomoreira.pixkey.loadtest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+// Load generator for the Pix key API:
+//   mvn -Ploadtest test-compile exec:exec -Dloadtest.args="--threads=32 --duration=120"
+// Options (--name=value): database=embedded|testcontainers, baseUrl=http://host:port (use a running
+// app instead), threads, duration and warmup in seconds, seed (keys created before the run), rate
+// (total requests/s; 0 runs each thread back to back) and mix, e.g. create:20,get:40,search:25,
+// update:10,deactivate:5. When the app is started here, stack=mvc|reactive picks Spring MVC or
+// WebFlux on R2DBC (the latter needs -Preactive,loadtest), threading=platform|virtual how MVC runs requests (virtual needs a Java 21
+// JVM) and pool sizes the connection pool.
+//
+// With a rate, latency is measured from when each request was scheduled, not from when it was
+// sent, so a stalled server shows up in the percentiles instead of just lowering throughput.
+public final class PixKeyLoadTest {
+
+    private PixKeyLoadTest() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTestOptions options = LoadTestOptions.parse(args);
+        try (TargetApp app = TargetApp.start(options)) {
+            PixKeyApiClient client = new PixKeyApiClient(app.baseUrl(), new Random().nextInt(500_000_000));
+            System.out.printf("Target %s (%s), %d threads, mix %s, rate %s%n", app.baseUrl(), app.description(),
+                    options.threads(), options.mix(), options.rate() > 0 ? options.rate() + "/s" : "unthrottled");
+
+            seed(client, options);
+            run(client, options, options.warmupSeconds());
+            LatencyReport report = run(client, options, options.durationSeconds());
+
+            report.print(System.out, options.durationSeconds(), client);
+            report.write(options.outputDir());
+            System.out.println("Histograms written to " + options.outputDir().toAbsolutePath());
+        }
+    }
+
+    private static void seed(PixKeyApiClient client, LoadTestOptions options) throws Exception {
+        AtomicInteger remaining = new AtomicInteger(options.seedKeys());
+        ExecutorService executor = Executors.newFixedThreadPool(options.threads());
+        try {
+            List<Future<?>> workers = new ArrayList<>();
+            for (int i = 0; i < options.threads(); i++) {
+                workers.add(executor.submit(() -> {
+                    while (remaining.getAndDecrement() > 0) {
+                        client.execute(Operation.CREATE, ThreadLocalRandom.current());
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> worker : workers) {
+                worker.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static LatencyReport run(PixKeyApiClient client, LoadTestOptions options, int seconds) throws Exception {
+        Operation[] schedule = schedule(options.mix());
+        long start = System.nanoTime();
+        long end = start + TimeUnit.SECONDS.toNanos(seconds);
+        long intervalNanos = options.rate() > 0 ? TimeUnit.SECONDS.toNanos(options.threads()) / options.rate() : 0;
+
+        ExecutorService executor = Executors.newFixedThreadPool(options.threads());
+        try {
+            List<Future<LatencyReport>> workers = new ArrayList<>();
+            for (int i = 0; i < options.threads(); i++) {
+                long firstSlot = start + intervalNanos * i / options.threads();
+                workers.add(executor.submit(() -> work(client, schedule, firstSlot, end, intervalNanos)));
+            }
+            LatencyReport report = new LatencyReport();
+            for (Future<LatencyReport> worker : workers) {
+                report.add(worker.get());
+            }
+            return report;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static LatencyReport work(PixKeyApiClient client, Operation[] schedule, long firstSlot, long end,
+                                      long intervalNanos) throws Exception {
+        LatencyReport report = new LatencyReport();
+        Random random = ThreadLocalRandom.current();
+        long slot = firstSlot;
+        while (true) {
+            long sent;
+            if (intervalNanos > 0) {
+                while (System.nanoTime() < slot) {
+                    LockSupport.parkNanos(slot - System.nanoTime());
+                }
+                sent = slot;
+                slot += intervalNanos;
+            } else {
+                sent = System.nanoTime();
+            }
+            if (sent >= end) {
+                return report;
+            }
+            Operation operation = schedule[random.nextInt(schedule.length)];
+            PixKeyApiClient.Outcome outcome = client.execute(operation, random);
+            if (outcome != PixKeyApiClient.Outcome.SKIPPED) {
+                report.record(operation, System.nanoTime() - sent, outcome == PixKeyApiClient.Outcome.ERROR);
+            }
+        }
+    }
+
+    // One slot per unit of weight, so a uniform pick over the array follows the mix.
+    private static Operation[] schedule(Map<Operation, Integer> mix) {
+        List<Operation> slots = new ArrayList<>();
+        mix.forEach((operation, weight) -> {
+            for (int i = 0; i < weight; i++) {
+                slots.add(operation);
+            }
+        });
+        return slots.toArray(Operation[]::new);
+    }
+}
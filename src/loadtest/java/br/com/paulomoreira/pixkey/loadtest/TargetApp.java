@@ -0,0 +1,113 @@
+package br.com.paulomoreira.pixkey.loadtest;
+
+import br.com.paulomoreira.pixkey.PixkeyApplication;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.env.Environment;
+import org.springframework.util.ClassUtils;
+import org.testcontainers.containers.PostgreSQLContainer;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+// The application under load: either one already running at --baseUrl, or started here on a
+// random port against a throwaway Postgres (embedded binaries, or a Testcontainers container).
+final class TargetApp implements AutoCloseable {
+
+    private final String baseUrl;
+    private final ConfigurableApplicationContext context;
+    private final AutoCloseable database;
+
+    private TargetApp(String baseUrl, ConfigurableApplicationContext context, AutoCloseable database) {
+        this.baseUrl = baseUrl;
+        this.context = context;
+        this.database = database;
+    }
+
+    static TargetApp start(LoadTestOptions options) throws IOException {
+        return switch (options.database()) {
+            case "external" -> new TargetApp(options.baseUrl(), null, null);
+            case "testcontainers" -> {
+                PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:15-alpine")
+                        .withDatabaseName("pix_db")
+                        .withUsername("pix_user")
+                        .withPassword("pix_password")
+                        .withInitScript("init.sql");
+                postgres.start();
+                yield startApp(options, postgres.getJdbcUrl(), postgres.getUsername(), postgres.getPassword(), postgres::stop);
+            }
+            default -> {
+                // Connected as the embedded superuser, so the migrations can create pg_trgm themselves.
+                EmbeddedPostgres postgres = EmbeddedPostgres.builder().start();
+                yield startApp(options, postgres.getJdbcUrl("postgres", "postgres"), "postgres", "", postgres);
+            }
+        };
+    }
+
+    // Every mode gets the same number of connections, so a comparison only measures how requests are
+    // served: Tomcat's 200 platform workers, one virtual thread per request, or WebFlux on R2DBC.
+    private static TargetApp startApp(LoadTestOptions options, String jdbcUrl, String username, String password,
+                                      AutoCloseable database) {
+        List<String> args = new ArrayList<>(List.of(
+                "--server.port=0",
+                "--spring.datasource.url=" + jdbcUrl,
+                "--spring.datasource.username=" + username,
+                "--spring.datasource.password=" + password,
+                "--spring.datasource.hikari.maximum-pool-size=" + options.poolSize(),
+                "--spring.datasource.hikari.minimum-idle=" + options.poolSize(),
+                "--spring.jpa.show-sql=false",
+                "--logging.level.root=WARN",
+                "--logging.level.org.hibernate.SQL=INFO",
+                "--logging.level.org.hibernate.type.descriptor.sql.BasicBinder=INFO"));
+        if (options.stack().equals("reactive")) {
+            if (!ClassUtils.isPresent("org.springframework.web.reactive.DispatcherHandler", null)) {
+                throw new IllegalStateException("--stack=reactive needs the reactive build: mvn -Preactive,loadtest ...");
+            }
+            args.add("--spring.profiles.active=reactive");
+            args.add("--pixkey.r2dbc.url=" + r2dbcUrl(jdbcUrl));
+            args.add("--pixkey.r2dbc.username=" + username);
+            args.add("--pixkey.r2dbc.password=" + password);
+            args.add("--pixkey.r2dbc.pool.initial-size=" + options.poolSize());
+            args.add("--pixkey.r2dbc.pool.max-size=" + options.poolSize());
+        } else if (options.threading().equals("virtual")) {
+            args.add("--spring.profiles.active=virtual");
+        }
+        ConfigurableApplicationContext context = SpringApplication.run(PixkeyApplication.class, args.toArray(String[]::new));
+        String port = context.getEnvironment().getProperty("local.server.port");
+        return new TargetApp("http://localhost:" + port, context, database);
+    }
+
+    // jdbc:postgresql://host:port/db?params -> r2dbc:postgresql://host:port/db
+    private static String r2dbcUrl(String jdbcUrl) {
+        int query = jdbcUrl.indexOf('?');
+        return "r2dbc:" + jdbcUrl.substring("jdbc:".length(), query < 0 ? jdbcUrl.length() : query);
+    }
+
+    String description() {
+        if (context == null) {
+            return "external";
+        }
+        Environment environment = context.getEnvironment();
+        if (environment.getProperty("pixkey.r2dbc.url") != null) {
+            return "reactive, pool " + environment.getProperty("pixkey.r2dbc.pool.max-size");
+        }
+        String threads = environment.getProperty("spring.threads.virtual.enabled", "false").equals("true") ? "virtual" : "platform";
+        return threads + " threads, pool " + environment.getProperty("spring.datasource.hikari.maximum-pool-size");
+    }
+
+    String baseUrl() {
+        return baseUrl;
+    }
+
+    @Override
+    public void close() throws Exception {
+        if (context != null) {
+            context.close();
+        }
+        if (database != null) {
+            database.close();
+        }
+    }
+}
@@ -1,9 +1,12 @@
 package br.com.paulomoreira.pixkey.adapters.in.dto.request;
 
+import br.com.paulomoreira.pixkey.application.ports.in.UpdatePixKeyCommand;
 import br.com.paulomoreira.pixkey.domain.model.AccountType;
 import br.com.paulomoreira.pixkey.domain.model.PixKey;
 import jakarta.validation.constraints.*;
 
+import java.util.UUID;
+
 public record UpdatePixKeyRequest(
         @NotNull AccountType tipoConta,
         @NotNull @Min(1000) @Max(9999) Integer numeroAgencia,
@@ -16,7 +19,12 @@ public record UpdatePixKeyRequest(
                 existingKey.id(), existingKey.type(), existingKey.keyValue(),
                 tipoConta, numeroAgencia, numeroConta, nomeCorrentista, sobrenomeCorrentista,
                 existingKey.createdAt(), existingKey.active(), existingKey.deactivatedAt(),
-                existingKey.isLegalPerson()
+                existingKey.isLegalPerson(), existingKey.version()
         );
     }
-}
\ No newline at end of file
+
+    public UpdatePixKeyCommand toCommand(UUID id, Long expectedVersion) {
+        return new UpdatePixKeyCommand(id, tipoConta, numeroAgencia, numeroConta, nomeCorrentista,
+                sobrenomeCorrentista, expectedVersion);
+    }
+}
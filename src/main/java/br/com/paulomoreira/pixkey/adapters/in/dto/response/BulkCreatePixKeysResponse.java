@@ -0,0 +1,84 @@
+package br.com.paulomoreira.pixkey.adapters.in.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+@Schema(description = "Resultado do cadastro em lote de chaves Pix")
+public record BulkCreatePixKeysResponse(
+        @Schema(description = "Quantidade de itens recebidos", example = "1000")
+        @JsonProperty("total")
+        int total,
+
+        @Schema(description = "Quantidade de chaves criadas", example = "998")
+        @JsonProperty("criadas")
+        int created,
+
+        @Schema(description = "Quantidade de itens rejeitados", example = "2")
+        @JsonProperty("rejeitadas")
+        int rejected,
+
+        @Schema(description = "Duração do processamento em milissegundos", example = "350")
+        @JsonProperty("duracaoMs")
+        long elapsedMillis,
+
+        @Schema(description = "Vazão do lote em chaves criadas por segundo", example = "2851.4")
+        @JsonProperty("chavesPorSegundo")
+        double keysPerSecond,
+
+        @Schema(description = "Resultado de cada item, na ordem em que foi enviado")
+        @JsonProperty("itens")
+        List<Item> items
+) {
+
+    public static BulkCreatePixKeysResponse of(List<Item> items, long elapsedNanos) {
+        int created = (int) items.stream().filter(item -> item.status() == Status.CRIADA).count();
+        double seconds = elapsedNanos / 1_000_000_000.0;
+        return new BulkCreatePixKeysResponse(
+                items.size(),
+                created,
+                items.size() - created,
+                elapsedNanos / 1_000_000,
+                seconds > 0 ? created / seconds : 0,
+                items
+        );
+    }
+
+    public enum Status {
+        CRIADA,
+        REJEITADA
+    }
+
+    @Schema(description = "Resultado de um item do lote")
+    public record Item(
+            @Schema(description = "Posição do item no lote", example = "0")
+            @JsonProperty("indice")
+            int index,
+
+            @Schema(description = "Situação do item", example = "CRIADA")
+            @JsonProperty("status")
+            Status status,
+
+            @Schema(description = "ID da chave criada", example = "550e8400-e29b-41d4-a716-446655440000")
+            @JsonProperty("id")
+            String id,
+
+            @Schema(description = "Valor da chave", example = "12345678901")
+            @JsonProperty("valorChave")
+            String keyValue,
+
+            @Schema(description = "Motivo da rejeição", example = "Key already exists: 12345678901")
+            @JsonProperty("erro")
+            String error
+    ) {
+
+        public static Item created(int index, String id, String keyValue) {
+            return new Item(index, Status.CRIADA, id, keyValue, null);
+        }
+
+        public static Item rejected(int index, String keyValue, String error) {
+            return new Item(index, Status.REJEITADA, null, keyValue, error);
+        }
+    }
+}
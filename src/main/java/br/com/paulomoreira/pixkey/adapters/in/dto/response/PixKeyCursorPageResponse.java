@@ -0,0 +1,27 @@
+package br.com.paulomoreira.pixkey.adapters.in.dto.response;
+
+import br.com.paulomoreira.pixkey.application.ports.in.KeysetPage;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+@Schema(description = "Página de chaves Pix navegada por cursor")
+public record PixKeyCursorPageResponse(
+        @Schema(description = "Chaves da página, ordenadas por data de inclusão e ID")
+        @JsonProperty("chaves")
+        List<PixKeyResponse> keys,
+
+        @Schema(description = "Cursor para a próxima página; ausente quando esta é a última",
+                example = "MjAyNS0wMy0zMVQxMDoxNTozMHw1NTBlODQwMC1lMjliLTQxZDQtYTcxNi00NDY2NTU0NDAwMDA")
+        @JsonProperty("proximoCursor")
+        String nextCursor
+) {
+
+    public static PixKeyCursorPageResponse fromDomain(KeysetPage page) {
+        return new PixKeyCursorPageResponse(
+                page.content().stream().map(PixKeyResponse::fromDomain).toList(),
+                page.hasNext() ? page.next().encode() : null
+        );
+    }
+}
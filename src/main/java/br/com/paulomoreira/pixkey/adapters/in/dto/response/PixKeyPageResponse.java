@@ -0,0 +1,78 @@
+package br.com.paulomoreira.pixkey.adapters.in.dto.response;
+
+import br.com.paulomoreira.pixkey.application.ports.in.CountMode;
+import br.com.paulomoreira.pixkey.domain.model.PixKey;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import io.swagger.v3.oas.annotations.media.Schema;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
+
+import java.util.List;
+import java.util.Locale;
+
+@Schema(description = "Página de chaves Pix; os totais são omitidos quando a contagem é none")
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record PixKeyPageResponse(
+        @Schema(description = "Chaves da página")
+        @JsonProperty("content")
+        List<PixKeyResponse> content,
+
+        @Schema(description = "Número da página, a partir de zero", example = "0")
+        @JsonProperty("number")
+        int number,
+
+        @Schema(description = "Tamanho da página solicitado", example = "20")
+        @JsonProperty("size")
+        int size,
+
+        @Schema(description = "Quantidade de chaves nesta página", example = "20")
+        @JsonProperty("numberOfElements")
+        int numberOfElements,
+
+        @Schema(description = "Indica se esta é a primeira página", example = "true")
+        @JsonProperty("first")
+        boolean first,
+
+        @Schema(description = "Indica se esta é a última página", example = "false")
+        @JsonProperty("last")
+        boolean last,
+
+        @Schema(description = "Indica se a página está vazia", example = "false")
+        @JsonProperty("empty")
+        boolean empty,
+
+        @Schema(description = "Indica se existe uma próxima página", example = "true")
+        @JsonProperty("hasNext")
+        boolean hasNext,
+
+        @Schema(description = "Total de chaves; aproximado quando a contagem é estimated", example = "1500")
+        @JsonProperty("totalElements")
+        Long totalElements,
+
+        @Schema(description = "Total de páginas; aproximado quando a contagem é estimated", example = "75")
+        @JsonProperty("totalPages")
+        Integer totalPages,
+
+        @Schema(description = "Modo de contagem usado: exact, estimated ou none", example = "exact")
+        @JsonProperty("contagem")
+        String countMode
+) {
+
+    public static PixKeyPageResponse fromDomain(Slice<PixKey> slice, CountMode countMode) {
+        Page<PixKey> page = slice instanceof Page<PixKey> counted ? counted : null;
+        return new PixKeyPageResponse(
+                slice.getContent().stream().map(PixKeyResponse::fromDomain).toList(),
+                slice.getNumber(),
+                slice.getSize(),
+                slice.getNumberOfElements(),
+                slice.isFirst(),
+                slice.isLast(),
+                slice.isEmpty(),
+                slice.hasNext(),
+                page != null ? page.getTotalElements() : null,
+                page != null ? page.getTotalPages() : null,
+                countMode.name().toLowerCase(Locale.ROOT)
+        );
+    }
+}
@@ -1,6 +1,7 @@
 package br.com.paulomoreira.pixkey.adapters.in.dto.response;
 
 import br.com.paulomoreira.pixkey.domain.model.PixKey;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import io.swagger.v3.oas.annotations.media.Schema;
 
@@ -50,7 +51,11 @@ public record PixKeyResponse(
         String deactivatedAt,
 
         @Schema(description = "Indica se é pessoa física", example = "true")
-        boolean isPessoaFisica
+        boolean isPessoaFisica,
+
+        // Sent as the ETag header rather than in the body.
+        @JsonIgnore
+        long version
 ) {
 
     public static PixKeyResponse fromDomain(PixKey pixKey) {
@@ -65,7 +70,8 @@ public record PixKeyResponse(
                 pixKey.accountHolderLastName(),
                 pixKey.createdAt().format(DateTimeFormatter.ISO_LOCAL_DATE_TIME),
                 pixKey.deactivatedAt() != null ? pixKey.deactivatedAt().format(DateTimeFormatter.ISO_LOCAL_DATE_TIME) : null,
-                pixKey.isLegalPerson()
+                pixKey.isLegalPerson(),
+                pixKey.version()
         );
 
     }
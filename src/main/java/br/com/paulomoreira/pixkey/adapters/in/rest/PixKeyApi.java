@@ -2,6 +2,9 @@ package br.com.paulomoreira.pixkey.adapters.in.rest;
 
 import br.com.paulomoreira.pixkey.adapters.in.dto.request.CreatePixKeyRequest;
 import br.com.paulomoreira.pixkey.adapters.in.dto.request.UpdatePixKeyRequest;
+import br.com.paulomoreira.pixkey.adapters.in.dto.response.BulkCreatePixKeysResponse;
+import br.com.paulomoreira.pixkey.adapters.in.dto.response.PixKeyCursorPageResponse;
+import br.com.paulomoreira.pixkey.adapters.in.dto.response.PixKeyPageResponse;
 import br.com.paulomoreira.pixkey.adapters.in.dto.response.PixKeyResponse;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -10,16 +13,22 @@ import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
-import org.springframework.data.domain.Page;
+import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.UUID;
 
 @Tag(name = "Pix Keys", description = "API para gerenciamento de chaves Pix")
 public interface PixKeyApi {
 
+    String APPLICATION_NDJSON_VALUE = "application/x-ndjson";
+
     @Operation(
             summary = "Cria uma nova chave Pix",
             description = "Registra uma nova chave Pix. Pessoa física (PF) tem limite de 5 chaves e não pode usar CNPJ. Pessoa jurídica (PJ) tem limite de 20 chaves."
@@ -39,56 +48,136 @@ public interface PixKeyApi {
             @RequestBody CreatePixKeyRequest request
     );
 
+    @Operation(summary = "Cria chaves Pix em lote", description = "Recebe um array JSON de CreatePixKeyRequest e devolve o resultado de cada item.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Lote processado",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = BulkCreatePixKeysResponse.class))),
+            @ApiResponse(responseCode = "400", description = "Corpo da requisição inválido", content = @Content),
+            @ApiResponse(responseCode = "413", description = "Lote acima de pixkey.bulk.max-items chaves", content = @Content)
+    })
+    @PostMapping(value = "/bulk", consumes = MediaType.APPLICATION_JSON_VALUE)
+    ResponseEntity<BulkCreatePixKeysResponse> createPixKeys(
+            @Parameter(description = "Lista JSON de CreatePixKeyRequest", required = true) InputStream body
+    ) throws IOException;
+
+    @Operation(summary = "Cria chaves Pix em lote a partir de NDJSON", description = "Recebe uma CreatePixKeyRequest por linha e devolve o resultado de cada item.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Lote processado",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = BulkCreatePixKeysResponse.class))),
+            @ApiResponse(responseCode = "400", description = "Linha NDJSON inválida", content = @Content),
+            @ApiResponse(responseCode = "413", description = "Lote acima de pixkey.bulk.max-items chaves", content = @Content)
+    })
+    @PostMapping(value = "/bulk", consumes = PixKeyApi.APPLICATION_NDJSON_VALUE)
+    ResponseEntity<BulkCreatePixKeysResponse> createPixKeysFromNdjson(
+            @Parameter(description = "Uma CreatePixKeyRequest por linha", required = true) InputStream body
+    ) throws IOException;
+
     @Operation(summary = "Busca uma chave Pix por ID", description = "Retorna os detalhes de uma chave Pix específica.")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Chave Pix encontrada",
                     content = @Content(mediaType = "application/json", schema = @Schema(implementation = PixKeyResponse.class))),
+            @ApiResponse(responseCode = "304", description = "Chave Pix não mudou desde o ETag informado", content = @Content),
             @ApiResponse(responseCode = "404", description = "Chave Pix não encontrada", content = @Content)
     })
     @GetMapping("/{id}")
     ResponseEntity<PixKeyResponse> getPixKeyById(
             @Parameter(description = "ID da chave Pix", required = true, example = "550e8400-e29b-41d4-a716-446655440000") @PathVariable UUID id,
-            @Parameter(description = "Filtros adicionais (opcional)", example = "active=true") @RequestParam(required = false) String filters
+            @Parameter(description = "Filtros adicionais (opcional)", example = "active=true") @RequestParam(required = false) String filters,
+            @Parameter(description = "ETag já conhecido pelo cliente", example = "\"0\"") @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch
+    );
+
+    @Operation(summary = "Resolve uma chave Pix pelo valor", description = "Retorna a chave Pix ativa cadastrada com o valor informado.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Chave Pix ativa encontrada",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = PixKeyResponse.class))),
+            @ApiResponse(responseCode = "404", description = "Nenhuma chave ativa com esse valor", content = @Content)
+    })
+    @GetMapping("/valor/{valorChave}")
+    ResponseEntity<PixKeyResponse> getPixKeyByValue(
+            @Parameter(description = "Valor da chave Pix", required = true, example = "paulo@email.com") @PathVariable String valorChave
     );
 
-    @Operation(summary = "Lista chaves Pix com filtros e paginação", description = "Retorna uma lista paginada de chaves Pix.")
+    @Operation(summary = "Lista chaves Pix com filtros e paginação", description = "Retorna uma lista paginada de chaves Pix. O total pode ser exato, estimado pelo planejador do banco ou omitido.")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Lista de chaves Pix retornada",
-                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = Page.class))),
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = PixKeyPageResponse.class))),
+            @ApiResponse(responseCode = "304", description = "Página não mudou desde o ETag informado", content = @Content),
             @ApiResponse(responseCode = "400", description = "Parâmetros inválidos", content = @Content)
     })
     @GetMapping
-    ResponseEntity<Page<PixKeyResponse>> getPixKeys(
+    ResponseEntity<PixKeyPageResponse> getPixKeys(
             @Parameter(description = "Tipo da chave", example = "CPF") @RequestParam(required = false) String tipoChave,
             @Parameter(description = "Número da agência", example = "1234") @RequestParam(required = false) Integer agencia,
             @Parameter(description = "Número da conta", example = "12345678") @RequestParam(required = false) Integer conta,
             @Parameter(description = "Nome do correntista", example = "Paulo") @RequestParam(required = false) String nomeCorrentista,
             @Parameter(description = "Data de inclusão (ISO)", example = "2025-03-31") @RequestParam(required = false) String dataInclusao,
             @Parameter(description = "Data de inativação (ISO)", example = "2025-03-31") @RequestParam(required = false) String dataInativacao,
-            @Parameter(description = "Parâmetros de paginação") Pageable pageable
+            @Parameter(description = "Modo de contagem do total: exact, estimated ou none", example = "exact") @RequestParam(defaultValue = "exact") String contagem,
+            @Parameter(description = "Parâmetros de paginação") Pageable pageable,
+            @Parameter(description = "ETag já conhecido pelo cliente", example = "\"9f3c0a1b2c3d4e5f\"") @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch
     );
 
+    @Operation(summary = "Lista chaves Pix por cursor", description = "Retorna chaves ordenadas por data de inclusão e ID a partir do cursor informado; o custo de cada página não depende da profundidade.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Página de chaves Pix retornada",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = PixKeyCursorPageResponse.class))),
+            @ApiResponse(responseCode = "400", description = "Parâmetros ou cursor inválidos", content = @Content)
+    })
+    @GetMapping("/cursor")
+    ResponseEntity<PixKeyCursorPageResponse> getPixKeysByCursor(
+            @Parameter(description = "Tipo da chave", example = "CPF") @RequestParam(required = false) String tipoChave,
+            @Parameter(description = "Número da agência", example = "1234") @RequestParam(required = false) Integer agencia,
+            @Parameter(description = "Número da conta", example = "12345678") @RequestParam(required = false) Integer conta,
+            @Parameter(description = "Nome do correntista", example = "Paulo") @RequestParam(required = false) String nomeCorrentista,
+            @Parameter(description = "Data de inclusão (dd/MM/yyyy)", example = "31/03/2025") @RequestParam(required = false) String dataInclusao,
+            @Parameter(description = "Data de inativação (dd/MM/yyyy)", example = "31/03/2025") @RequestParam(required = false) String dataInativacao,
+            @Parameter(description = "Cursor devolvido pela página anterior; omitir na primeira página") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Quantidade de chaves por página (1 a 1000)", example = "20") @RequestParam(defaultValue = "20") int size
+    );
+
+    @Operation(summary = "Exporta chaves Pix", description = "Escreve todas as chaves que atendem aos filtros em NDJSON ou CSV, à medida que são lidas do banco.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Exportação gerada",
+                    content = {@Content(mediaType = APPLICATION_NDJSON_VALUE), @Content(mediaType = "text/csv")}),
+            @ApiResponse(responseCode = "400", description = "Parâmetros inválidos", content = @Content)
+    })
+    @GetMapping("/export")
+    void exportPixKeys(
+            @Parameter(description = "Tipo da chave", example = "CPF") @RequestParam(required = false) String tipoChave,
+            @Parameter(description = "Número da agência", example = "1234") @RequestParam(required = false) Integer agencia,
+            @Parameter(description = "Número da conta", example = "12345678") @RequestParam(required = false) Integer conta,
+            @Parameter(description = "Nome do correntista", example = "Paulo") @RequestParam(required = false) String nomeCorrentista,
+            @Parameter(description = "Data de inclusão (dd/MM/yyyy)", example = "31/03/2025") @RequestParam(required = false) String dataInclusao,
+            @Parameter(description = "Data de inativação (dd/MM/yyyy)", example = "31/03/2025") @RequestParam(required = false) String dataInativacao,
+            @Parameter(description = "Formato da exportação: ndjson ou csv", example = "ndjson") @RequestParam(defaultValue = "ndjson") String formato,
+            HttpServletResponse response
+    ) throws IOException;
+
     @Operation(summary = "Atualiza uma chave Pix", description = "Atualiza os dados de uma chave Pix (exceto tipo e valor).")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Chave Pix atualizada",
                     content = @Content(mediaType = "application/json", schema = @Schema(implementation = PixKeyResponse.class))),
             @ApiResponse(responseCode = "400", description = "Requisição inválida", content = @Content),
-            @ApiResponse(responseCode = "404", description = "Chave Pix não encontrada", content = @Content)
+            @ApiResponse(responseCode = "404", description = "Chave Pix não encontrada", content = @Content),
+            @ApiResponse(responseCode = "412", description = "Chave Pix alterada desde o ETag informado", content = @Content)
     })
     @PutMapping("/{id}")
     ResponseEntity<PixKeyResponse> updatePixKey(
             @Parameter(description = "ID da chave Pix", required = true, example = "550e8400-e29b-41d4-a716-446655440000") @PathVariable UUID id,
-            @Parameter(description = "Dados atualizados", required = true) @RequestBody UpdatePixKeyRequest request
+            @Parameter(description = "Dados atualizados", required = true) @RequestBody UpdatePixKeyRequest request,
+            @Parameter(description = "ETag da versão que o cliente pretende alterar", example = "\"0\"") @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch
     );
 
     @Operation(summary = "Inativa uma chave Pix", description = "Marca uma chave Pix como inativa.")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Chave Pix inativada",
                     content = @Content(mediaType = "application/json", schema = @Schema(implementation = PixKeyResponse.class))),
-            @ApiResponse(responseCode = "404", description = "Chave Pix não encontrada", content = @Content)
+            @ApiResponse(responseCode = "404", description = "Chave Pix não encontrada", content = @Content),
+            @ApiResponse(responseCode = "412", description = "Chave Pix alterada desde o ETag informado", content = @Content)
     })
     @DeleteMapping("/{id}")
     ResponseEntity<PixKeyResponse> deactivatePixKey(
-            @Parameter(description = "ID da chave Pix", required = true, example = "550e8400-e29b-41d4-a716-446655440000") @PathVariable UUID id
+            @Parameter(description = "ID da chave Pix", required = true, example = "550e8400-e29b-41d4-a716-446655440000") @PathVariable UUID id,
+            @Parameter(description = "ETag da versão que o cliente pretende inativar", example = "\"0\"") @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch
     );
 }
\ No newline at end of file
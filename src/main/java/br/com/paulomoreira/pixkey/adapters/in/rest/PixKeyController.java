@@ -2,12 +2,20 @@ package br.com.paulomoreira.pixkey.adapters.in.rest;
 
 import br.com.paulomoreira.pixkey.adapters.in.dto.request.CreatePixKeyRequest;
 import br.com.paulomoreira.pixkey.adapters.in.dto.request.UpdatePixKeyRequest;
+import br.com.paulomoreira.pixkey.adapters.in.dto.response.BulkCreatePixKeysResponse;
+import br.com.paulomoreira.pixkey.adapters.in.dto.response.PixKeyCursorPageResponse;
+import br.com.paulomoreira.pixkey.adapters.in.dto.response.PixKeyPageResponse;
 import br.com.paulomoreira.pixkey.adapters.in.dto.response.PixKeyResponse;
 import br.com.paulomoreira.pixkey.application.ports.in.*;
+import br.com.paulomoreira.pixkey.domain.exceptions.BatchTooLargeException;
 import br.com.paulomoreira.pixkey.domain.exceptions.InvalidFilterCombinationException;
-import br.com.paulomoreira.pixkey.domain.exceptions.KeyAlreadyInactiveException;
 import br.com.paulomoreira.pixkey.domain.exceptions.KeyNotFoundException;
 import br.com.paulomoreira.pixkey.domain.model.PixKey;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -15,37 +23,72 @@ import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.validation.ConstraintViolation;
 import jakarta.validation.Valid;
+import jakarta.validation.Validator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.web.PageableDefault;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
 import java.util.UUID;
+import java.util.stream.IntStream;
 
 @RestController
 @RequestMapping("/api/v1/pix-keys")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 @Tag(name = "Pix Keys", description = "API para gerenciamento de chaves Pix")
 public class PixKeyController implements PixKeyApi {
 
+    private static final Logger logger = LoggerFactory.getLogger(PixKeyController.class);
+
     private final CreatePixKeyUseCase createPixKeyUseCase;
+    private final BulkCreatePixKeysUseCase bulkCreatePixKeysUseCase;
     private final GetPixKeyUseCase getPixKeyUseCase;
+    private final GetPixKeyByValueUseCase getPixKeyByValueUseCase;
     private final SearchPixKeysUseCase searchPixKeysUseCase;
     private final UpdatePixKeyUseCase updatePixKeyUseCase;
     private final DeactivatePixKeyUseCase deactivatePixKeyUseCase;
+    private final Validator validator;
+    private final ObjectMapper objectMapper;
+    private final int maxBatchItems;
     private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("dd/MM/yyyy");
 
     public PixKeyController(
             CreatePixKeyUseCase createPixKeyUseCase,
             GetPixKeyUseCase getPixKeyUseCase,
+            GetPixKeyByValueUseCase getPixKeyByValueUseCase,
             SearchPixKeysUseCase searchPixKeysUseCase,
             UpdatePixKeyUseCase updatePixKeyUseCase,
-            DeactivatePixKeyUseCase deactivatePixKeyUseCase) {
+            DeactivatePixKeyUseCase deactivatePixKeyUseCase,
+            BulkCreatePixKeysUseCase bulkCreatePixKeysUseCase,
+            Validator validator,
+            ObjectMapper objectMapper,
+            @Value("${pixkey.bulk.max-items:10000}") int maxBatchItems) {
         this.createPixKeyUseCase = createPixKeyUseCase;
+        this.bulkCreatePixKeysUseCase = bulkCreatePixKeysUseCase;
+        this.validator = validator;
+        this.objectMapper = objectMapper;
+        this.maxBatchItems = maxBatchItems;
         this.getPixKeyUseCase = getPixKeyUseCase;
+        this.getPixKeyByValueUseCase = getPixKeyByValueUseCase;
         this.searchPixKeysUseCase = searchPixKeysUseCase;
         this.updatePixKeyUseCase = updatePixKeyUseCase;
         this.deactivatePixKeyUseCase = deactivatePixKeyUseCase;
@@ -72,6 +115,71 @@ public class PixKeyController implements PixKeyApi {
         return ResponseEntity.ok(PixKeyResponse.fromDomain(createdKey));
     }
 
+    @Override
+    @Operation(
+            summary = "Cria chaves Pix em lote",
+            description = "Registra várias chaves Pix de uma vez. Cada item passa pelas mesmas regras do cadastro individual e recebe seu próprio resultado."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Lote processado",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = BulkCreatePixKeysResponse.class))),
+            @ApiResponse(responseCode = "400", description = "Corpo da requisição inválido",
+                    content = @Content),
+            @ApiResponse(responseCode = "413", description = "Lote acima de pixkey.bulk.max-items chaves",
+                    content = @Content)
+    })
+    public ResponseEntity<BulkCreatePixKeysResponse> createPixKeys(
+            @Parameter(description = "Lista JSON de CreatePixKeyRequest", required = true)
+            InputStream body) throws IOException {
+        List<CreatePixKeyRequest> requests = new ArrayList<>();
+        try (JsonParser parser = objectMapper.createParser(body)) {
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                throw new IllegalArgumentException("O corpo deve ser uma lista JSON");
+            }
+            for (JsonToken token = parser.nextToken(); token != JsonToken.END_ARRAY; token = parser.nextToken()) {
+                if (token == null) {
+                    throw new IllegalArgumentException("Lista JSON incompleta");
+                }
+                ensureBatchRoom(requests);
+                requests.add(parser.readValueAs(CreatePixKeyRequest.class));
+            }
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Item " + (requests.size() + 1) + " inválido: " + e.getOriginalMessage());
+        }
+        return ResponseEntity.ok(bulkCreate(requests));
+    }
+
+    @Override
+    @Operation(
+            summary = "Cria chaves Pix em lote a partir de NDJSON",
+            description = "Mesmo comportamento do cadastro em lote, lendo uma CreatePixKeyRequest por linha."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Lote processado",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = BulkCreatePixKeysResponse.class))),
+            @ApiResponse(responseCode = "400", description = "Linha NDJSON inválida",
+                    content = @Content),
+            @ApiResponse(responseCode = "413", description = "Lote acima de pixkey.bulk.max-items chaves",
+                    content = @Content)
+    })
+    public ResponseEntity<BulkCreatePixKeysResponse> createPixKeysFromNdjson(
+            @Parameter(description = "Uma CreatePixKeyRequest por linha", required = true)
+            InputStream body) throws IOException {
+        List<CreatePixKeyRequest> requests = new ArrayList<>();
+        try (MappingIterator<CreatePixKeyRequest> lines = objectMapper.readerFor(CreatePixKeyRequest.class).readValues(body)) {
+            while (lines.hasNextValue()) {
+                ensureBatchRoom(requests);
+                requests.add(lines.nextValue());
+            }
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Linha NDJSON " + (requests.size() + 1) + " inválida: "
+                    + e.getOriginalMessage());
+        }
+        return ResponseEntity.ok(bulkCreate(requests));
+    }
+
     @Override
     @Operation(
             summary = "Busca uma chave Pix por ID",
@@ -81,6 +189,8 @@ public class PixKeyController implements PixKeyApi {
             @ApiResponse(responseCode = "200", description = "Chave Pix encontrada",
                     content = @Content(mediaType = "application/json",
                             schema = @Schema(implementation = PixKeyResponse.class))),
+            @ApiResponse(responseCode = "304", description = "Chave Pix não mudou desde o ETag informado",
+                    content = @Content),
             @ApiResponse(responseCode = "400", description = "Filtros adicionais não permitidos ao buscar por ID",
                     content = @Content),
             @ApiResponse(responseCode = "404", description = "Chave Pix não encontrada",
@@ -90,30 +200,63 @@ public class PixKeyController implements PixKeyApi {
             @Parameter(description = "ID da chave Pix", required = true, example = "550e8400-e29b-41d4-a716-446655440000")
             @PathVariable UUID id,
             @Parameter(description = "Filtros adicionais (não permitido)", example = "active=true")
-            @RequestParam(required = false) String filters) {
+            @RequestParam(required = false) String filters,
+            @Parameter(description = "ETag já conhecido pelo cliente", example = "\"0\"")
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
         if (filters != null && !filters.isEmpty()) {
             throw new InvalidFilterCombinationException("Additional filters not allowed when searching by ID");
         }
+        // A poll for an unchanged key is answered from its version alone, without loading the row.
+        if (ifNoneMatch != null) {
+            long version = getPixKeyUseCase.currentVersion(id)
+                    .orElseThrow(() -> new KeyNotFoundException(id));
+            String eTag = PixKeyETags.of(version);
+            if (PixKeyETags.isNotModified(ifNoneMatch, eTag)) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).build();
+            }
+        }
         return getPixKeyUseCase.execute(id)
-                .map(key -> ResponseEntity.ok(PixKeyResponse.fromDomain(key)))
+                .map(key -> ResponseEntity.ok().eTag(PixKeyETags.of(key.version())).body(PixKeyResponse.fromDomain(key)))
                 .orElseThrow(() -> new KeyNotFoundException(id));
     }
 
+    @Override
+    @Operation(
+            summary = "Resolve uma chave Pix pelo valor",
+            description = "Retorna a chave Pix ativa cadastrada com o valor informado, como na consulta feita antes de um pagamento."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Chave Pix ativa encontrada",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = PixKeyResponse.class))),
+            @ApiResponse(responseCode = "404", description = "Nenhuma chave ativa com esse valor",
+                    content = @Content)
+    })
+    public ResponseEntity<PixKeyResponse> getPixKeyByValue(
+            @Parameter(description = "Valor da chave Pix", required = true, example = "paulo@email.com")
+            @PathVariable String valorChave) {
+        return getPixKeyByValueUseCase.execute(valorChave)
+                .map(key -> ResponseEntity.ok(PixKeyResponse.fromDomain(key)))
+                .orElseThrow(() -> new KeyNotFoundException(valorChave));
+    }
+
     @Override
     @Operation(
             summary = "Lista chaves Pix com filtros e paginação",
-            description = "Retorna uma lista paginada de chaves Pix com base em filtros opcionais. Não permite combinar data de inclusão e inativação."
+            description = "Retorna uma lista paginada de chaves Pix com base em filtros opcionais. Não permite combinar data de inclusão e inativação. Com contagem=estimated o total vem das estatísticas do banco e com contagem=none não é calculado."
     )
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Lista de chaves Pix retornada com sucesso",
                     content = @Content(mediaType = "application/json",
-                            schema = @Schema(implementation = Page.class))),
-            @ApiResponse(responseCode = "400", description = "Combinação de filtros inválida",
+                            schema = @Schema(implementation = PixKeyPageResponse.class))),
+            @ApiResponse(responseCode = "304", description = "Página não mudou desde o ETag informado",
+                    content = @Content),
+            @ApiResponse(responseCode = "400", description = "Combinação de filtros ou modo de contagem inválido",
                     content = @Content),
             @ApiResponse(responseCode = "404", description = "Nenhuma chave encontrada",
                     content = @Content)
     })
-    public ResponseEntity<Page<PixKeyResponse>> getPixKeys(
+    public ResponseEntity<PixKeyPageResponse> getPixKeys(
             @Parameter(description = "Tipo da chave (ex.: CPF, CNPJ)", example = "CPF")
             @RequestParam(required = false) String tipoChave,
             @Parameter(description = "Número da agência", example = "1234")
@@ -126,25 +269,148 @@ public class PixKeyController implements PixKeyApi {
             @RequestParam(required = false) String dataInclusao,
             @Parameter(description = "Data de inativação (dd/MM/yyyy)", example = "31/03/2025")
             @RequestParam(required = false) String dataInativacao,
+            @Parameter(description = "Modo de contagem do total: exact, estimated ou none", example = "exact")
+            @RequestParam(defaultValue = "exact") String contagem,
             @Parameter(description = "Parâmetros de paginação (ex.: page=0, size=20, sort=createdAt,desc)")
-            @PageableDefault(size = 20) Pageable pageable) {
+            @PageableDefault(size = 20) Pageable pageable,
+            @Parameter(description = "ETag já conhecido pelo cliente", example = "\"9f3c0a1b2c3d4e5f\"")
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
 
         if (dataInclusao != null && dataInativacao != null) {
             throw new InvalidFilterCombinationException("Cannot filter by both inclusion and deactivation dates");
         }
 
-        SearchPixKeysQuery query = new SearchPixKeysQuery(
-                tipoChave != null ? tipoChave.toUpperCase() : null,
-                agencia, conta, nomeCorrentista,
-                dataInclusao != null ? LocalDate.parse(dataInclusao, DATE_FORMATTER).atStartOfDay() : null,
-                dataInativacao != null ? LocalDate.parse(dataInativacao, DATE_FORMATTER).atStartOfDay() : null
-        );
-        Page<PixKey> keys = searchPixKeysUseCase.execute(query, pageable);
+        CountMode countMode = CountMode.from(contagem);
+        SearchPixKeysQuery query = toQuery(tipoChave, agencia, conta, nomeCorrentista, dataInclusao, dataInativacao);
+        if (countMode == CountMode.EXACT) {
+            return exactPage(query, pageable, ifNoneMatch);
+        }
+        Slice<PixKey> keys = searchPixKeysUseCase.execute(query, pageable, countMode);
+
+        if (keys.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        // These modes exist to avoid a pass over every match, so the page is read and tagged by its
+        // body; an unchanged page only saves its serialization and transfer.
+        PixKeyPageResponse page = PixKeyPageResponse.fromDomain(keys, countMode);
+        String eTag = PixKeyETags.of(page);
+        if (PixKeyETags.isNotModified(ifNoneMatch, eTag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).build();
+        }
+        return ResponseEntity.ok().eTag(eTag).body(page);
+    }
 
+    // An exact page pays for a pass over every match anyway, to count them. The fingerprint makes
+    // that same pass, tags the page before it is read and stands in for its COUNT: an unchanged
+    // page costs one aggregate query, and a changed one the page query on top.
+    private ResponseEntity<PixKeyPageResponse> exactPage(SearchPixKeysQuery query, Pageable pageable, String ifNoneMatch) {
+        SearchFingerprint fingerprint = searchPixKeysUseCase.fingerprint(query);
+        if (pageable.getOffset() >= fingerprint.total()) {
+            return ResponseEntity.notFound().build();
+        }
+        String eTag = PixKeyETags.of(fingerprint, pageable);
+        if (PixKeyETags.isNotModified(ifNoneMatch, eTag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).build();
+        }
+        Page<PixKey> keys = searchPixKeysUseCase.execute(query, pageable, fingerprint);
         if (keys.isEmpty()) {
             return ResponseEntity.notFound().build();
         }
-        return ResponseEntity.ok(keys.map(PixKeyResponse::fromDomain));
+        return ResponseEntity.ok().eTag(eTag).body(PixKeyPageResponse.fromDomain(keys, CountMode.EXACT));
+    }
+
+    @Override
+    @Operation(
+            summary = "Lista chaves Pix por cursor",
+            description = "Retorna chaves ordenadas por data de inclusão e ID a partir do cursor da página anterior. Diferente da paginação por offset, páginas profundas custam o mesmo que a primeira."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Página de chaves Pix retornada com sucesso",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = PixKeyCursorPageResponse.class))),
+            @ApiResponse(responseCode = "400", description = "Combinação de filtros, tamanho ou cursor inválido",
+                    content = @Content),
+            @ApiResponse(responseCode = "404", description = "Nenhuma chave encontrada",
+                    content = @Content)
+    })
+    public ResponseEntity<PixKeyCursorPageResponse> getPixKeysByCursor(
+            @Parameter(description = "Tipo da chave (ex.: CPF, CNPJ)", example = "CPF")
+            @RequestParam(required = false) String tipoChave,
+            @Parameter(description = "Número da agência", example = "1234")
+            @RequestParam(required = false) Integer agencia,
+            @Parameter(description = "Número da conta", example = "12345678")
+            @RequestParam(required = false) Integer conta,
+            @Parameter(description = "Nome do correntista", example = "Paulo")
+            @RequestParam(required = false) String nomeCorrentista,
+            @Parameter(description = "Data de inclusão (dd/MM/yyyy)", example = "31/03/2025")
+            @RequestParam(required = false) String dataInclusao,
+            @Parameter(description = "Data de inativação (dd/MM/yyyy)", example = "31/03/2025")
+            @RequestParam(required = false) String dataInativacao,
+            @Parameter(description = "Cursor devolvido pela página anterior; omitir na primeira página")
+            @RequestParam(required = false) String cursor,
+            @Parameter(description = "Quantidade de chaves por página (1 a 1000)", example = "20")
+            @RequestParam(defaultValue = "20") int size) {
+
+        if (dataInclusao != null && dataInativacao != null) {
+            throw new InvalidFilterCombinationException("Cannot filter by both inclusion and deactivation dates");
+        }
+
+        SearchPixKeysQuery query = toQuery(tipoChave, agencia, conta, nomeCorrentista, dataInclusao, dataInativacao);
+        PixKeyCursor after = cursor == null || cursor.isBlank() ? null : PixKeyCursor.decode(cursor);
+        KeysetPage page = searchPixKeysUseCase.execute(query, after, size);
+
+        if (page.content().isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok(PixKeyCursorPageResponse.fromDomain(page));
+    }
+
+    @Override
+    @Operation(
+            summary = "Exporta chaves Pix em NDJSON ou CSV",
+            description = "Escreve todas as chaves que atendem aos filtros, linha a linha, à medida que são lidas do banco. Aceita os mesmos filtros da listagem, sem paginação."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Exportação gerada",
+                    content = {@Content(mediaType = APPLICATION_NDJSON_VALUE), @Content(mediaType = "text/csv")}),
+            @ApiResponse(responseCode = "400", description = "Combinação de filtros ou formato inválido",
+                    content = @Content)
+    })
+    public void exportPixKeys(
+            @Parameter(description = "Tipo da chave (ex.: CPF, CNPJ)", example = "CPF")
+            @RequestParam(required = false) String tipoChave,
+            @Parameter(description = "Número da agência", example = "1234")
+            @RequestParam(required = false) Integer agencia,
+            @Parameter(description = "Número da conta", example = "12345678")
+            @RequestParam(required = false) Integer conta,
+            @Parameter(description = "Nome do correntista", example = "Paulo")
+            @RequestParam(required = false) String nomeCorrentista,
+            @Parameter(description = "Data de inclusão (dd/MM/yyyy)", example = "31/03/2025")
+            @RequestParam(required = false) String dataInclusao,
+            @Parameter(description = "Data de inativação (dd/MM/yyyy)", example = "31/03/2025")
+            @RequestParam(required = false) String dataInativacao,
+            @Parameter(description = "Formato da exportação: ndjson ou csv", example = "ndjson")
+            @RequestParam(defaultValue = "ndjson") String formato,
+            HttpServletResponse response) throws IOException {
+
+        if (dataInclusao != null && dataInativacao != null) {
+            throw new InvalidFilterCombinationException("Cannot filter by both inclusion and deactivation dates");
+        }
+        PixKeyExportWriter writer = new PixKeyExportWriter(PixKeyExportWriter.Format.from(formato), response, objectMapper);
+
+        long start = System.nanoTime();
+        long rows;
+        try {
+            searchPixKeysUseCase.export(
+                    toQuery(tipoChave, agencia, conta, nomeCorrentista, dataInclusao, dataInativacao), writer::write);
+            rows = writer.finish();
+        } catch (IOException | UncheckedIOException e) {
+            // Client went away mid-stream; the response is already committed so there is nothing to report back.
+            logger.warn("Export aborted by client after {} ms: {}", (System.nanoTime() - start) / 1_000_000,
+                    e.getMessage());
+            return;
+        }
+        logger.info("Exported {} keys as {} in {} ms", rows, formato, (System.nanoTime() - start) / 1_000_000);
     }
 
     @Override
@@ -159,20 +425,20 @@ public class PixKeyController implements PixKeyApi {
             @ApiResponse(responseCode = "400", description = "Requisição inválida ou chave já inativa",
                     content = @Content),
             @ApiResponse(responseCode = "404", description = "Chave Pix não encontrada",
+                    content = @Content),
+            @ApiResponse(responseCode = "412", description = "Chave Pix alterada desde o ETag informado em If-Match",
                     content = @Content)
     })
     public ResponseEntity<PixKeyResponse> updatePixKey(
             @Parameter(description = "ID da chave Pix", required = true, example = "550e8400-e29b-41d4-a716-446655440000")
             @PathVariable UUID id,
             @Parameter(description = "Dados atualizados da chave Pix", required = true)
-            @Valid @RequestBody UpdatePixKeyRequest request) {
-        PixKey existingKey = getPixKeyUseCase.execute(id)
-                .orElseThrow(() -> new KeyNotFoundException(id));
-        if (!existingKey.active()) {
-            throw new KeyAlreadyInactiveException(id);
-        }
-        PixKey updatedKey = updatePixKeyUseCase.execute(id, request.toDomain(existingKey));
-        return ResponseEntity.ok(PixKeyResponse.fromDomain(updatedKey));
+            @Valid @RequestBody UpdatePixKeyRequest request,
+            @Parameter(description = "ETag da versão que o cliente pretende alterar", example = "\"0\"")
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        // No read first: the update is conditional on the key being active (and at the If-Match version).
+        PixKey updatedKey = updatePixKeyUseCase.execute(request.toCommand(id, PixKeyETags.expectedVersion(ifMatch)));
+        return ResponseEntity.ok().eTag(PixKeyETags.of(updatedKey.version())).body(PixKeyResponse.fromDomain(updatedKey));
     }
 
     @Override
@@ -187,17 +453,95 @@ public class PixKeyController implements PixKeyApi {
             @ApiResponse(responseCode = "400", description = "Chave já inativa",
                     content = @Content),
             @ApiResponse(responseCode = "404", description = "Chave Pix não encontrada",
+                    content = @Content),
+            @ApiResponse(responseCode = "412", description = "Chave Pix alterada desde o ETag informado em If-Match",
                     content = @Content)
     })
     public ResponseEntity<PixKeyResponse> deactivatePixKey(
             @Parameter(description = "ID da chave Pix", required = true, example = "550e8400-e29b-41d4-a716-446655440000")
-            @PathVariable UUID id) {
-        PixKey existingKey = getPixKeyUseCase.execute(id)
-                .orElseThrow(() -> new KeyNotFoundException(id));
-        if (!existingKey.active()) {
-            throw new KeyAlreadyInactiveException(id);
+            @PathVariable UUID id,
+            @Parameter(description = "ETag da versão que o cliente pretende inativar", example = "\"0\"")
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        PixKey deactivatedKey = deactivatePixKeyUseCase.execute(id, PixKeyETags.expectedVersion(ifMatch));
+        return ResponseEntity.ok().eTag(PixKeyETags.of(deactivatedKey.version())).body(PixKeyResponse.fromDomain(deactivatedKey));
+    }
+
+    static SearchPixKeysQuery toQuery(String tipoChave, Integer agencia, Integer conta, String nomeCorrentista,
+                                       String dataInclusao, String dataInativacao) {
+        return new SearchPixKeysQuery(
+                tipoChave != null ? tipoChave.toUpperCase() : null,
+                agencia, conta, nomeCorrentista,
+                dataInclusao != null ? LocalDate.parse(dataInclusao, DATE_FORMATTER).atStartOfDay() : null,
+                dataInativacao != null ? LocalDate.parse(dataInativacao, DATE_FORMATTER).atStartOfDay() : null
+        );
+    }
+
+    // Both bodies are read item by item, so an oversized batch is refused at the first item past
+    // the limit, before that item is even parsed.
+    private void ensureBatchRoom(List<CreatePixKeyRequest> requests) {
+        if (requests.size() == maxBatchItems) {
+            throw new BatchTooLargeException(maxBatchItems);
+        }
+    }
+
+    private BulkCreatePixKeysResponse bulkCreate(List<CreatePixKeyRequest> requests) {
+        long start = System.nanoTime();
+
+        List<ParsedItem> parsed = IntStream.range(0, requests.size()).parallel()
+                .mapToObj(i -> parse(requests.get(i)))
+                .toList();
+
+        BulkCreatePixKeysResponse.Item[] items = new BulkCreatePixKeysResponse.Item[requests.size()];
+        List<PixKey> candidates = new ArrayList<>(requests.size());
+        List<Integer> positions = new ArrayList<>(requests.size());
+        for (int i = 0; i < parsed.size(); i++) {
+            ParsedItem item = parsed.get(i);
+            if (item.error() == null) {
+                candidates.add(item.pixKey());
+                positions.add(i);
+            } else {
+                String keyValue = requests.get(i) != null ? requests.get(i).valorChave() : null;
+                items[i] = BulkCreatePixKeysResponse.Item.rejected(i, keyValue, item.error());
+            }
+        }
+
+        List<BulkCreateResult> results = bulkCreatePixKeysUseCase.execute(candidates);
+        for (int i = 0; i < results.size(); i++) {
+            BulkCreateResult result = results.get(i);
+            int index = positions.get(i);
+            items[index] = result.isCreated()
+                    ? BulkCreatePixKeysResponse.Item.created(index, result.pixKey().id().toString(), result.pixKey().keyValue())
+                    : BulkCreatePixKeysResponse.Item.rejected(index, result.pixKey().keyValue(), result.error());
+        }
+
+        BulkCreatePixKeysResponse response = BulkCreatePixKeysResponse.of(List.of(items), System.nanoTime() - start);
+        logger.info("Bulk create of {} keys: {} created, {} rejected in {} ms ({} keys/s)",
+                response.total(), response.created(), response.rejected(), response.elapsedMillis(),
+                Math.round(response.keysPerSecond()));
+        return response;
+    }
+
+    private ParsedItem parse(CreatePixKeyRequest request) {
+        if (request == null) {
+            return ParsedItem.rejected("Item vazio");
+        }
+        Set<ConstraintViolation<CreatePixKeyRequest>> violations = validator.validate(request);
+        if (!violations.isEmpty()) {
+            ConstraintViolation<CreatePixKeyRequest> violation = violations.iterator().next();
+            return ParsedItem.rejected(String.format("Campo '%s' inválido: %s",
+                    violation.getPropertyPath(), violation.getMessage()));
+        }
+        try {
+            return new ParsedItem(request.toDomain(), null);
+        } catch (IllegalArgumentException e) {
+            return ParsedItem.rejected(e.getMessage());
+        }
+    }
+
+    private record ParsedItem(PixKey pixKey, String error) {
+
+        static ParsedItem rejected(String error) {
+            return new ParsedItem(null, error);
         }
-        PixKey deactivatedKey = deactivatePixKeyUseCase.execute(id);
-        return ResponseEntity.ok(PixKeyResponse.fromDomain(deactivatedKey));
     }
-}
\ No newline at end of file
+}
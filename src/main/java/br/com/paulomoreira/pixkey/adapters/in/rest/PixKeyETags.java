@@ -0,0 +1,116 @@
+package br.com.paulomoreira.pixkey.adapters.in.rest;
+
+import br.com.paulomoreira.pixkey.adapters.in.dto.response.PixKeyPageResponse;
+import br.com.paulomoreira.pixkey.adapters.in.dto.response.PixKeyResponse;
+import br.com.paulomoreira.pixkey.application.ports.in.SearchFingerprint;
+import org.springframework.data.domain.Pageable;
+
+import java.util.Objects;
+import java.util.UUID;
+
+// Strong entity tags for pix key representations. A key's tag is its row version, which every
+// update and deactivation bumps. A page's tag digests the ids and versions it lists together with
+// its paging fields, so it changes whenever any of them would change the body. An exact page is
+// tagged from the fingerprint of everything its filter matches instead, which is known before the
+// page is read.
+final class PixKeyETags {
+
+    private static final long FNV_OFFSET_BASIS = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+    private static final long NO_VERSION = -1;
+
+    private PixKeyETags() {
+    }
+
+    static String of(long version) {
+        return "\"" + version + "\"";
+    }
+
+    static String of(PixKeyPageResponse page) {
+        long hash = FNV_OFFSET_BASIS;
+        for (PixKeyResponse key : page.content()) {
+            UUID id = UUID.fromString(key.id());
+            hash = mix(hash, id.getMostSignificantBits());
+            hash = mix(hash, id.getLeastSignificantBits());
+            hash = mix(hash, key.version());
+        }
+        hash = mix(hash, page.number());
+        hash = mix(hash, page.size());
+        hash = mix(hash, page.hasNext() ? 1 : 0);
+        hash = mix(hash, page.totalElements() != null ? page.totalElements() : -1);
+        hash = mix(hash, page.countMode().hashCode());
+        return "\"" + Long.toHexString(hash) + "\"";
+    }
+
+    static String of(SearchFingerprint fingerprint, Pageable pageable) {
+        long hash = FNV_OFFSET_BASIS;
+        hash = mix(hash, fingerprint.digest());
+        hash = mix(hash, fingerprint.total());
+        hash = mix(hash, pageable.getPageNumber());
+        hash = mix(hash, pageable.getPageSize());
+        hash = mix(hash, pageable.getSort().toString().hashCode());
+        return "\"" + Long.toHexString(hash) + "\"";
+    }
+
+    // If-None-Match uses the weak comparison: W/"1" matches "1".
+    static boolean isNotModified(String ifNoneMatch, String eTag) {
+        return ifNoneMatch != null && anyMatches(ifNoneMatch, eTag);
+    }
+
+    // The version an If-Match header asks for, to make a write conditional on it: null when absent or
+    // "*". Weak tags never match, and neither does a list of several versions (not supported), so
+    // those yield a version no row has.
+    static Long expectedVersion(String ifMatch) {
+        if (ifMatch == null) {
+            return null;
+        }
+        Long expected = null;
+        for (String candidate : ifMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.equals("*")) {
+                return null;
+            }
+            Long version = parse(tag);
+            if (version == null || (expected != null && !expected.equals(version))) {
+                return NO_VERSION;
+            }
+            expected = version;
+        }
+        return expected != null ? expected : NO_VERSION;
+    }
+
+    private static Long parse(String tag) {
+        if (tag.length() < 3 || tag.charAt(0) != '"' || tag.charAt(tag.length() - 1) != '"') {
+            return null;
+        }
+        try {
+            return Long.parseLong(tag.substring(1, tag.length() - 1));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private static boolean anyMatches(String header, String eTag) {
+        for (String candidate : header.split(",")) {
+            String tag = candidate.trim();
+            if (tag.equals("*")) {
+                return true;
+            }
+            if (tag.startsWith("W/")) {
+                tag = tag.substring(2);
+            }
+            if (Objects.equals(tag, eTag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static long mix(long hash, long value) {
+        for (int i = 0; i < Long.BYTES; i++) {
+            hash ^= (value >>> (i * 8)) & 0xff;
+            hash *= FNV_PRIME;
+        }
+        return hash;
+    }
+}
@@ -0,0 +1,149 @@
+package br.com.paulomoreira.pixkey.adapters.in.rest;
+
+import br.com.paulomoreira.pixkey.adapters.in.dto.response.PixKeyResponse;
+import br.com.paulomoreira.pixkey.domain.model.PixKey;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+
+// Nothing is written to the response before the first row (or finish()), so a search that fails
+// validation still gets a regular error response instead of a half-written export.
+final class PixKeyExportWriter {
+
+    static final int FLUSH_EVERY_ROWS = 1000;
+    static final String CSV_HEADER = "id,tipoChave,valorChave,tipoConta,numeroAgencia,numeroConta,"
+            + "nomeCorrentista,sobrenomeCorrentista,dataHoraInclusao,dataHoraInativacao,isPessoaFisica";
+
+    private final Format format;
+    private final HttpServletResponse response;
+    private final ObjectWriter jsonWriter;
+    private Writer out;
+    private long rows;
+
+    PixKeyExportWriter(Format format, HttpServletResponse response, ObjectMapper objectMapper) {
+        this.format = format;
+        this.response = response;
+        this.jsonWriter = objectMapper.writerFor(PixKeyResponse.class);
+    }
+
+    void write(PixKey pixKey) {
+        try {
+            if (out == null) {
+                open();
+            }
+            writeRow(out, format, jsonWriter, pixKey);
+            if (++rows % FLUSH_EVERY_ROWS == 0) {
+                out.flush();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    long finish() throws IOException {
+        if (out == null) {
+            open();
+        }
+        out.flush();
+        return rows;
+    }
+
+    static MediaType mediaType(Format format) {
+        return new MediaType(MediaType.parseMediaType(format.mediaType), StandardCharsets.UTF_8);
+    }
+
+    static String contentDisposition(Format format) {
+        return "attachment; filename=\"pix-keys." + format.extension + "\"";
+    }
+
+    private void open() throws IOException {
+        response.setContentType(format.mediaType);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, contentDisposition(format));
+        out = new BufferedWriter(new OutputStreamWriter(response.getOutputStream(), StandardCharsets.UTF_8), 64 * 1024);
+        if (format == Format.CSV) {
+            out.write(CSV_HEADER);
+            out.write('\n');
+        }
+    }
+
+    static void writeRow(Writer out, Format format, ObjectWriter jsonWriter, PixKey pixKey) throws IOException {
+        PixKeyResponse row = PixKeyResponse.fromDomain(pixKey);
+        if (format == Format.NDJSON) {
+            out.write(jsonWriter.writeValueAsString(row));
+        } else {
+            writeCsv(out, row);
+        }
+        out.write('\n');
+    }
+
+    private static void writeCsv(Writer out, PixKeyResponse row) throws IOException {
+        out.write(row.id());
+        out.write(',');
+        out.write(row.keyType());
+        out.write(',');
+        writeCsvText(out, row.keyValue());
+        out.write(',');
+        out.write(row.accountType());
+        out.write(',');
+        out.write(String.valueOf(row.branchNumber()));
+        out.write(',');
+        out.write(String.valueOf(row.accountNumber()));
+        out.write(',');
+        writeCsvText(out, row.accountHolderName());
+        out.write(',');
+        writeCsvText(out, row.accountHolderLastName());
+        out.write(',');
+        out.write(row.createdAt());
+        out.write(',');
+        if (row.deactivatedAt() != null) {
+            out.write(row.deactivatedAt());
+        }
+        out.write(',');
+        out.write(String.valueOf(row.isPessoaFisica()));
+    }
+
+    private static void writeCsvText(Writer out, String value) throws IOException {
+        if (value == null) {
+            return;
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            out.write(value);
+            return;
+        }
+        out.write('"');
+        out.write(value.replace("\"", "\"\""));
+        out.write('"');
+    }
+
+    enum Format {
+        NDJSON(PixKeyApi.APPLICATION_NDJSON_VALUE, "ndjson"),
+        CSV("text/csv", "csv");
+
+        private final String mediaType;
+        private final String extension;
+
+        Format(String mediaType, String extension) {
+            this.mediaType = mediaType;
+            this.extension = extension;
+        }
+
+        static Format from(String value) {
+            for (Format format : values()) {
+                if (format.extension.equalsIgnoreCase(value)) {
+                    return format;
+                }
+            }
+            throw new IllegalArgumentException("Formato de exportação inválido: " + value + ". Use ndjson ou csv");
+        }
+    }
+}
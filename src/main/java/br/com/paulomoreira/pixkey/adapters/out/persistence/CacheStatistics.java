@@ -0,0 +1,15 @@
+package br.com.paulomoreira.pixkey.adapters.out.persistence;
+
+// What the in-process caches count about themselves, for PixKeyCacheMetrics.
+public interface CacheStatistics {
+
+    long getHits();
+
+    long getMisses();
+
+    long getEvictions();
+
+    long getPuts();
+
+    long size();
+}
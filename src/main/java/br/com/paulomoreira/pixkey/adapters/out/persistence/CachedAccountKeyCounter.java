@@ -0,0 +1,267 @@
+package br.com.paulomoreira.pixkey.adapters.out.persistence;
+
+import br.com.paulomoreira.pixkey.application.ports.out.AccountKeyCounter;
+import br.com.paulomoreira.pixkey.application.ports.out.PixKeyInvalidationChannel;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+
+// Bounded, expiring per-account key counts held in this JVM that only ever turn creates away early:
+// create_pix_key stays the limit check, and nothing here goes to the database. An account is cached
+// once create_pix_key has refused it for the limit, and this instance's writes keep its count in
+// step from then on. Other instances' creates only make a count run low (the database still
+// refuses); their deactivations may free a slot, and ids on the invalidation channel do not say
+// which account changed, so once any has arrived a full account goes back to the database.
+public class CachedAccountKeyCounter implements AccountKeyCounter, PixKeyInvalidationChannel.Listener {
+
+    private static final long EMPTY = Long.MIN_VALUE;
+
+    private final Stripe[] stripes;
+    private final long ttlNanos;
+    private final LongSupplier nanoClock;
+    private final AtomicLong invalidations = new AtomicLong();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    public CachedAccountKeyCounter(int concurrencyLevel, int maximumSize, Duration ttl,
+                                   PixKeyInvalidationChannel channel) {
+        this(concurrencyLevel, maximumSize, ttl, channel, System::nanoTime);
+    }
+
+    CachedAccountKeyCounter(int concurrencyLevel, int maximumSize, Duration ttl,
+                            PixKeyInvalidationChannel channel, LongSupplier nanoClock) {
+        if (maximumSize < 1) {
+            throw new IllegalArgumentException("maximumSize must be positive: " + maximumSize);
+        }
+        int stripeCount = Math.min(Integer.highestOneBit(Math.max(1, concurrencyLevel - 1)) << 1,
+                Integer.highestOneBit(maximumSize));
+        this.stripes = new Stripe[stripeCount];
+        for (int i = 0; i < stripeCount; i++) {
+            stripes[i] = new Stripe(maximumSize / stripeCount);
+        }
+        this.ttlNanos = ttl.toNanos();
+        this.nanoClock = nanoClock;
+        channel.subscribe(this);
+    }
+
+    // An account that is not cached, or whose limit was confirmed before the latest invalidation,
+    // is let through for create_pix_key to decide.
+    @Override
+    public boolean tryAcquire(int branchNumber, int accountNumber, int maxKeys) {
+        long key = key(branchNumber, accountNumber);
+        Stripe stripe = stripeFor(key);
+        stripe.lock.lock();
+        try {
+            long now = nanoClock.getAsLong();
+            int slot = stripe.slotOf(key);
+            if (slot < 0 || now - stripe.expiresAt[slot] >= 0) {
+                misses.increment();
+                return true;
+            }
+            if (stripe.counts[slot] >= maxKeys) {
+                if (stripe.checkedAt[slot] == invalidations.get()) {
+                    hits.increment();
+                    return false;
+                }
+                stripe.expiresAt[slot] = now;
+                misses.increment();
+                return true;
+            }
+            hits.increment();
+            stripe.counts[slot]++;
+            return true;
+        } finally {
+            stripe.lock.unlock();
+        }
+    }
+
+    // An invalidation committed before the refusal but delivered after it is missed here; the TTL
+    // bounds how long that account keeps being turned away.
+    @Override
+    public void limitReached(int branchNumber, int accountNumber, int maxKeys) {
+        long key = key(branchNumber, accountNumber);
+        Stripe stripe = stripeFor(key);
+        stripe.lock.lock();
+        try {
+            long now = nanoClock.getAsLong();
+            stripe.put(key, maxKeys, now + ttlNanos, invalidations.get(), now);
+        } finally {
+            stripe.lock.unlock();
+        }
+    }
+
+    @Override
+    public void acquire(int branchNumber, int accountNumber) {
+        adjust(branchNumber, accountNumber, 1);
+    }
+
+    @Override
+    public void release(int branchNumber, int accountNumber) {
+        adjust(branchNumber, accountNumber, -1);
+    }
+
+    @Override
+    public void invalidated(UUID id, String keyValue) {
+        invalidations.incrementAndGet();
+    }
+
+    @Override
+    public void invalidatedAll() {
+        for (Stripe stripe : stripes) {
+            stripe.lock.lock();
+            try {
+                stripe.clear();
+            } finally {
+                stripe.lock.unlock();
+            }
+        }
+    }
+
+    public long getHits() {
+        return hits.sum();
+    }
+
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    public int size() {
+        int size = 0;
+        for (Stripe stripe : stripes) {
+            stripe.lock.lock();
+            try {
+                size += stripe.size;
+            } finally {
+                stripe.lock.unlock();
+            }
+        }
+        return size;
+    }
+
+    // Accounts that are not cached are left alone: they are only cached once create_pix_key refuses one.
+    private void adjust(int branchNumber, int accountNumber, int delta) {
+        long key = key(branchNumber, accountNumber);
+        Stripe stripe = stripeFor(key);
+        stripe.lock.lock();
+        try {
+            int slot = stripe.slotOf(key);
+            if (slot >= 0 && nanoClock.getAsLong() - stripe.expiresAt[slot] < 0) {
+                stripe.counts[slot] = Math.max(0, stripe.counts[slot] + delta);
+            }
+        } finally {
+            stripe.lock.unlock();
+        }
+    }
+
+    private Stripe stripeFor(long key) {
+        return stripes[(int) (mix(key) >>> 40) & (stripes.length - 1)];
+    }
+
+    private static long key(int branchNumber, int accountNumber) {
+        return ((long) branchNumber << 32) | (accountNumber & 0xFFFFFFFFL);
+    }
+
+    private static long mix(long value) {
+        value ^= value >>> 33;
+        value *= 0xFF51AFD7ED558CCDL;
+        value ^= value >>> 33;
+        return value;
+    }
+
+    // Open addressing without deletes: a full stripe drops its expired counts, or all of them
+    // when none has expired, rather than tracking recency per account.
+    private static final class Stripe {
+
+        private final ReentrantLock lock = new ReentrantLock();
+        private final int capacity;
+        private long[] keys;
+        private int[] counts;
+        private long[] expiresAt;
+        private long[] checkedAt;
+        private int size;
+
+        Stripe(int capacity) {
+            this.capacity = Math.max(1, capacity);
+            allocate(16);
+        }
+
+        int slotOf(long key) {
+            int mask = keys.length - 1;
+            for (int slot = (int) mix(key) & mask; keys[slot] != EMPTY; slot = (slot + 1) & mask) {
+                if (keys[slot] == key) {
+                    return slot;
+                }
+            }
+            return -1;
+        }
+
+        int put(long key, int count, long expiry, long checked, long now) {
+            int slot = slotOf(key);
+            if (slot < 0) {
+                if (size >= capacity) {
+                    evict(now);
+                }
+                slot = insert(key);
+            }
+            counts[slot] = count;
+            expiresAt[slot] = expiry;
+            checkedAt[slot] = checked;
+            return slot;
+        }
+
+        void clear() {
+            allocate(16);
+        }
+
+        private int insert(long key) {
+            if ((size + 1) * 4 > keys.length * 3) {
+                rehash(keys.length << 1, false, 0);
+            }
+            int mask = keys.length - 1;
+            int slot = (int) mix(key) & mask;
+            while (keys[slot] != EMPTY) {
+                slot = (slot + 1) & mask;
+            }
+            keys[slot] = key;
+            size++;
+            return slot;
+        }
+
+        private void evict(long now) {
+            rehash(keys.length, true, now);
+            if (size >= capacity) {
+                clear();
+            }
+        }
+
+        private void rehash(int length, boolean dropExpired, long now) {
+            long[] oldKeys = keys;
+            int[] oldCounts = counts;
+            long[] oldExpiresAt = expiresAt;
+            long[] oldCheckedAt = checkedAt;
+            allocate(length);
+            for (int i = 0; i < oldKeys.length; i++) {
+                if (oldKeys[i] != EMPTY && (!dropExpired || now - oldExpiresAt[i] < 0)) {
+                    int slot = insert(oldKeys[i]);
+                    counts[slot] = oldCounts[i];
+                    expiresAt[slot] = oldExpiresAt[i];
+                    checkedAt[slot] = oldCheckedAt[i];
+                }
+            }
+        }
+
+        private void allocate(int length) {
+            keys = new long[length];
+            Arrays.fill(keys, EMPTY);
+            counts = new int[length];
+            expiresAt = new long[length];
+            checkedAt = new long[length];
+            size = 0;
+        }
+    }
+}
@@ -0,0 +1,151 @@
+package br.com.paulomoreira.pixkey.adapters.out.persistence;
+
+import br.com.paulomoreira.pixkey.application.ports.out.PixKeyInvalidationChannel;
+import br.com.paulomoreira.pixkey.application.ports.out.PixKeyValueCache;
+import br.com.paulomoreira.pixkey.domain.model.PixKey;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+
+// Lock-free PixKeyValueCache: a fixed array of slots indexed by the key value's hash, each holding
+// at most one immutable entry. A hit is one volatile read; a value landing on a taken slot simply
+// replaces it. Only active keys are cached and misses are not, so a newly created key resolves at
+// once and a deactivated one disappears with its invalidation.
+public class DirectMappedPixKeyValueCache implements PixKeyValueCache, PixKeyInvalidationChannel.Listener,
+        CacheStatistics {
+
+    private final AtomicReferenceArray<Slot> slots;
+    private final AtomicLongArray generations;
+    private final int mask;
+    private final long ttlNanos;
+    private final LongSupplier nanoClock;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder puts = new LongAdder();
+
+    public DirectMappedPixKeyValueCache(int capacity, Duration ttl, PixKeyInvalidationChannel channel) {
+        this(capacity, ttl, channel, System::nanoTime);
+    }
+
+    DirectMappedPixKeyValueCache(int capacity, Duration ttl, PixKeyInvalidationChannel channel, LongSupplier nanoClock) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("capacity must be positive: " + capacity);
+        }
+        int slotCount = capacity == 1 ? 1 : Integer.highestOneBit(capacity - 1) << 1;
+        this.slots = new AtomicReferenceArray<>(slotCount);
+        this.generations = new AtomicLongArray(slotCount);
+        this.mask = slotCount - 1;
+        this.ttlNanos = ttl.toNanos();
+        this.nanoClock = nanoClock;
+        channel.subscribe(this);
+    }
+
+    // The loader runs with nothing held. If an invalidation of this slot started meanwhile, the
+    // loaded row may predate it, so the entry is withdrawn again: invalidations bump the slot's
+    // generation before they clear it, and either the clearing or this check sees the new entry.
+    @Override
+    public Optional<PixKey> get(String keyValue, Function<String, Optional<PixKey>> loader) {
+        int index = indexFor(keyValue);
+        Slot slot = slots.get(index);
+        if (slot != null && slot.keyValue.equals(keyValue)) {
+            if (nanoClock.getAsLong() - slot.expiresAt < 0) {
+                hits.increment();
+                return Optional.of(slot.pixKey);
+            }
+            if (slots.compareAndSet(index, slot, null)) {
+                evictions.increment();
+            }
+        }
+        misses.increment();
+
+        long seen = generations.get(index);
+        Optional<PixKey> loaded = loader.apply(keyValue);
+        loaded.filter(PixKey::active).ifPresent(pixKey -> {
+            Slot fresh = new Slot(keyValue, pixKey, nanoClock.getAsLong() + ttlNanos);
+            Slot replaced = slots.getAndSet(index, fresh);
+            puts.increment();
+            if (replaced != null && !replaced.keyValue.equals(keyValue)) {
+                evictions.increment();
+            }
+            if (generations.get(index) != seen) {
+                slots.compareAndSet(index, fresh, null);
+            }
+        });
+        return loaded;
+    }
+
+    // A key value never changes, so the only slot that can hold the key is the one its value hashes
+    // to. Without a value every slot is checked.
+    @Override
+    public void invalidated(UUID id, String keyValue) {
+        if (keyValue != null) {
+            invalidate(indexFor(keyValue), id);
+            return;
+        }
+        for (int i = 0; i < slots.length(); i++) {
+            invalidate(i, id);
+        }
+    }
+
+    @Override
+    public void invalidatedAll() {
+        for (int i = 0; i < slots.length(); i++) {
+            generations.incrementAndGet(i);
+            slots.set(i, null);
+        }
+    }
+
+    @Override
+    public long getHits() {
+        return hits.sum();
+    }
+
+    @Override
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    @Override
+    public long getEvictions() {
+        return evictions.sum();
+    }
+
+    @Override
+    public long getPuts() {
+        return puts.sum();
+    }
+
+    @Override
+    public long size() {
+        long size = 0;
+        for (int i = 0; i < slots.length(); i++) {
+            if (slots.get(i) != null) {
+                size++;
+            }
+        }
+        return size;
+    }
+
+    private void invalidate(int index, UUID id) {
+        generations.incrementAndGet(index);
+        Slot slot = slots.get(index);
+        if (slot != null && slot.pixKey.id().equals(id)) {
+            slots.compareAndSet(index, slot, null);
+        }
+    }
+
+    private int indexFor(String keyValue) {
+        int hash = keyValue.hashCode();
+        return (hash ^ (hash >>> 16)) & mask;
+    }
+
+    private record Slot(String keyValue, PixKey pixKey, long expiresAt) {
+    }
+}
@@ -0,0 +1,197 @@
+package br.com.paulomoreira.pixkey.adapters.out.persistence;
+
+import br.com.paulomoreira.pixkey.application.ports.out.PixKeyCache;
+import br.com.paulomoreira.pixkey.application.ports.out.PixKeyInvalidationChannel;
+import br.com.paulomoreira.pixkey.domain.model.PixKey;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+
+// Bounded, expiring PixKeyCache held in this JVM. Each stripe is an access-ordered map that drops
+// its least recently read key when full, so the bound and the LRU order are per stripe.
+public class LocalPixKeyCache implements PixKeyCache, PixKeyInvalidationChannel.Listener, CacheStatistics {
+
+    private static final int MAX_STRIPES = 64;
+
+    private final Stripe[] stripes;
+    private final long ttlNanos;
+    private final LongSupplier nanoClock;
+    private final PixKeyInvalidationChannel channel;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder puts = new LongAdder();
+
+    public LocalPixKeyCache(int maximumSize, Duration ttl, PixKeyInvalidationChannel channel) {
+        this(maximumSize, ttl, channel, System::nanoTime);
+    }
+
+    LocalPixKeyCache(int maximumSize, Duration ttl, PixKeyInvalidationChannel channel, LongSupplier nanoClock) {
+        if (maximumSize < 1) {
+            throw new IllegalArgumentException("maximumSize must be positive: " + maximumSize);
+        }
+        int stripeCount = Math.min(MAX_STRIPES, Integer.highestOneBit(maximumSize));
+        this.stripes = new Stripe[stripeCount];
+        for (int i = 0; i < stripeCount; i++) {
+            stripes[i] = new Stripe(maximumSize / stripeCount);
+        }
+        this.ttlNanos = ttl.toNanos();
+        this.nanoClock = nanoClock;
+        this.channel = channel;
+        channel.subscribe(this);
+    }
+
+    // The loader runs outside the lock. Its result is only stored if nothing in the stripe was
+    // invalidated meanwhile: a row read before a concurrent update committed must not outlive it.
+    @Override
+    public Optional<PixKey> get(UUID id, Function<UUID, Optional<PixKey>> loader) {
+        Stripe stripe = stripeFor(id);
+        long generation;
+        stripe.lock.lock();
+        try {
+            Entry entry = stripe.entries.get(id);
+            if (entry != null) {
+                if (nanoClock.getAsLong() - entry.expiresAt < 0) {
+                    hits.increment();
+                    return Optional.of(entry.pixKey);
+                }
+                stripe.entries.remove(id);
+                evictions.increment();
+            }
+            misses.increment();
+            generation = stripe.generation;
+        } finally {
+            stripe.lock.unlock();
+        }
+
+        Optional<PixKey> loaded = loader.apply(id);
+        loaded.ifPresent(pixKey -> {
+            stripe.lock.lock();
+            try {
+                if (stripe.generation == generation) {
+                    stripe.entries.put(id, new Entry(pixKey, nanoClock.getAsLong() + ttlNanos));
+                    puts.increment();
+                }
+            } finally {
+                stripe.lock.unlock();
+            }
+        });
+        return loaded;
+    }
+
+    // Counted as a hit when found; a miss here loads nothing, so it is not counted.
+    @Override
+    public Optional<PixKey> getIfPresent(UUID id) {
+        Stripe stripe = stripeFor(id);
+        stripe.lock.lock();
+        try {
+            Entry entry = stripe.entries.get(id);
+            if (entry == null || nanoClock.getAsLong() - entry.expiresAt >= 0) {
+                return Optional.empty();
+            }
+            hits.increment();
+            return Optional.of(entry.pixKey);
+        } finally {
+            stripe.lock.unlock();
+        }
+    }
+
+    @Override
+    public void invalidate(PixKey pixKey) {
+        channel.publish(pixKey.id(), pixKey.keyValue());
+    }
+
+    @Override
+    public void invalidated(UUID id, String keyValue) {
+        Stripe stripe = stripeFor(id);
+        stripe.lock.lock();
+        try {
+            stripe.generation++;
+            stripe.entries.remove(id);
+        } finally {
+            stripe.lock.unlock();
+        }
+    }
+
+    @Override
+    public void invalidatedAll() {
+        for (Stripe stripe : stripes) {
+            stripe.lock.lock();
+            try {
+                stripe.generation++;
+                stripe.entries.clear();
+            } finally {
+                stripe.lock.unlock();
+            }
+        }
+    }
+
+    @Override
+    public long getHits() {
+        return hits.sum();
+    }
+
+    @Override
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    @Override
+    public long getEvictions() {
+        return evictions.sum();
+    }
+
+    @Override
+    public long getPuts() {
+        return puts.sum();
+    }
+
+    @Override
+    public long size() {
+        long size = 0;
+        for (Stripe stripe : stripes) {
+            stripe.lock.lock();
+            try {
+                size += stripe.entries.size();
+            } finally {
+                stripe.lock.unlock();
+            }
+        }
+        return size;
+    }
+
+    private Stripe stripeFor(UUID id) {
+        long hash = id.getMostSignificantBits() ^ id.getLeastSignificantBits();
+        return stripes[(int) (hash ^ (hash >>> 32)) & (stripes.length - 1)];
+    }
+
+    private record Entry(PixKey pixKey, long expiresAt) {
+    }
+
+    private final class Stripe {
+
+        private final ReentrantLock lock = new ReentrantLock();
+        private final Map<UUID, Entry> entries;
+        private long generation;
+
+        Stripe(int capacity) {
+            this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<UUID, Entry> eldest) {
+                    if (size() > capacity) {
+                        evictions.increment();
+                        return true;
+                    }
+                    return false;
+                }
+            };
+        }
+    }
+}
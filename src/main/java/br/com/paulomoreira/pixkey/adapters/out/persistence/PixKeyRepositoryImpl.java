@@ -1,45 +1,249 @@
 package br.com.paulomoreira.pixkey.adapters.out.persistence;
 
+import br.com.paulomoreira.pixkey.application.ports.in.CountMode;
+import br.com.paulomoreira.pixkey.application.ports.in.PixKeyCursor;
+import br.com.paulomoreira.pixkey.application.ports.in.SearchFingerprint;
 import br.com.paulomoreira.pixkey.application.ports.in.SearchPixKeysQuery;
+import br.com.paulomoreira.pixkey.application.ports.in.UpdatePixKeyCommand;
+import br.com.paulomoreira.pixkey.application.ports.out.InsertOutcome;
 import br.com.paulomoreira.pixkey.application.ports.out.PixKeyRepository;
+import br.com.paulomoreira.pixkey.application.ports.out.UpdatedPixKey;
 import br.com.paulomoreira.pixkey.domain.model.AccountType;
 import br.com.paulomoreira.pixkey.domain.model.KeyType;
 import br.com.paulomoreira.pixkey.domain.model.PixKey;
 import br.com.paulomoreira.pixkey.infrastructure.persistence.PixKeyEntity;
 import br.com.paulomoreira.pixkey.infrastructure.persistence.PixKeyJpaRepository;
-import jakarta.persistence.criteria.Predicate;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
-import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.support.PageableExecutionUtils;
+import org.springframework.jdbc.core.JdbcOperations;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Types;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
-import java.util.stream.Collectors;
+import java.util.function.Consumer;
+import java.util.function.ToIntFunction;
 
 @Component
 public class PixKeyRepositoryImpl implements PixKeyRepository {
 
+    private static final String CREATE_PIX_KEY_SQL = """
+            select create_pix_key(:id, :type, :keyValue, :accountType, :branchNumber, :accountNumber,
+                                  :accountHolderName, :accountHolderLastName, :createdAt, :isLegalPerson,
+                                  :maxKeys)
+            """;
+
+    // Locks are taken in a fixed order (accounts, then key values, each sorted) so a bulk chunk
+    // cannot deadlock with single creates or with another chunk.
+    private static final String LOCK_ACCOUNTS_SQL = """
+            select count(pg_advisory_xact_lock(b, a))
+            from (select distinct b, a from unnest(:branchNumbers, :accountNumbers) as t(b, a)
+                  order by b, a offset 0) accounts
+            """;
+
+    private static final String LOCK_KEY_VALUES_SQL = """
+            select count(pg_advisory_xact_lock(h))
+            from (select distinct hashtextextended(k, 0) as h from unnest(:keyValues) as k
+                  order by h offset 0) key_values
+            """;
+
+    private static final String ACTIVE_KEY_VALUES_SQL = """
+            select key_value from pix_keys where active and key_value = any(:keyValues)
+            """;
+
+    private static final String COUNT_BY_ACCOUNTS_SQL = """
+            select p.branch_number, p.account_number, count(*) as active_keys
+            from pix_keys p
+            join (select distinct b, a from unnest(:branchNumbers, :accountNumbers) as t(b, a)) accounts
+              on p.branch_number = accounts.b and p.account_number = accounts.a
+            where p.active
+            group by p.branch_number, p.account_number
+            """;
+
+    private static final String FIND_BY_ID_SQL = "select " + PixKeyRowMapper.COLUMNS + " from pix_keys where id = :id";
+
+    private static final String FIND_ALL_BY_ID_SQL = "select " + PixKeyRowMapper.COLUMNS + " from pix_keys where id in (:ids)";
+
+    private static final String FIND_ACTIVE_BY_KEY_VALUE_SQL =
+            "select " + PixKeyRowMapper.COLUMNS + " from pix_keys where key_value = :keyValue and active";
+
+    private static final String FIND_VERSION_BY_ID_SQL = "select version from pix_keys where id = :id";
+
+    // The subquery locks the row and keeps its account as it was before the update; the update itself
+    // only changes the columns an update may change.
+    private static final String UPDATE_IF_ACTIVE_SQL = """
+            update pix_keys
+            set account_type = :accountType, branch_number = :branchNumber, account_number = :accountNumber,
+                account_holder_name = :accountHolderName, account_holder_last_name = :accountHolderLastName,
+                version = version + 1
+            from (select id as previous_id, branch_number as previous_branch_number,
+                         account_number as previous_account_number
+                  from pix_keys
+                  where id = :id and active and (cast(:expectedVersion as bigint) is null or version = :expectedVersion)
+                  for update) previous
+            where id = previous_id
+            returning previous_branch_number, previous_account_number,\s""" + PixKeyRowMapper.COLUMNS;
+
+    private static final String DEACTIVATE_IF_ACTIVE_SQL = """
+            update pix_keys
+            set active = false, deactivated_at = :deactivatedAt, version = version + 1
+            where id = :id and active and (cast(:expectedVersion as bigint) is null or version = :expectedVersion)
+            returning\s""" + PixKeyRowMapper.COLUMNS;
+
+    private static final String INSERT_SQL = """
+            insert into pix_keys (id, type, key_value, account_type, branch_number, account_number,
+                                  account_holder_name, account_holder_last_name, created_at, active,
+                                  deactivated_at, is_legalperson)
+            values (:id, :type, :keyValue, :accountType, :branchNumber, :accountNumber,
+                    :accountHolderName, :accountHolderLastName, :createdAt, true, null, :isLegalPerson)
+            """;
+
+    private static final int EXPORT_FETCH_SIZE = 1000;
+
     private final PixKeyJpaRepository jpaRepository;
+    private final NamedParameterJdbcTemplate jdbcTemplate;
 
-    public PixKeyRepositoryImpl(PixKeyJpaRepository jpaRepository) {
+    public PixKeyRepositoryImpl(PixKeyJpaRepository jpaRepository, NamedParameterJdbcTemplate jdbcTemplate) {
         this.jpaRepository = jpaRepository;
+        this.jdbcTemplate = jdbcTemplate;
     }
 
     @Override
-    public PixKey save(PixKey pixKey) {
-        PixKeyEntity entity = toEntity(pixKey);
-        PixKeyEntity savedEntity = jpaRepository.save(entity);
-        return toDomain(savedEntity);
+    public InsertOutcome insertIfAllowed(PixKey pixKey, int maxKeys) {
+        MapSqlParameterSource params = insertParams(pixKey).addValue("maxKeys", maxKeys);
+        return InsertOutcome.valueOf(jdbcTemplate.queryForObject(CREATE_PIX_KEY_SQL, params, String.class));
+    }
+
+    @Override
+    @Transactional
+    public List<InsertOutcome> insertAllIfAllowed(List<PixKey> pixKeys, ToIntFunction<PixKey> maxKeys) {
+        if (pixKeys.isEmpty()) {
+            return List.of();
+        }
+        int[] branchNumbers = new int[pixKeys.size()];
+        int[] accountNumbers = new int[pixKeys.size()];
+        String[] keyValues = new String[pixKeys.size()];
+        for (int i = 0; i < pixKeys.size(); i++) {
+            branchNumbers[i] = pixKeys.get(i).branchNumber();
+            accountNumbers[i] = pixKeys.get(i).accountNumber();
+            keyValues[i] = pixKeys.get(i).keyValue();
+        }
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("branchNumbers", branchNumbers)
+                .addValue("accountNumbers", accountNumbers)
+                .addValue("keyValues", keyValues);
+
+        jdbcTemplate.queryForObject(LOCK_ACCOUNTS_SQL, params, Long.class);
+        jdbcTemplate.queryForObject(LOCK_KEY_VALUES_SQL, params, Long.class);
+
+        Set<String> takenKeyValues = new HashSet<>(
+                jdbcTemplate.queryForList(ACTIVE_KEY_VALUES_SQL, params, String.class));
+        Map<Long, Integer> activeKeysByAccount = new HashMap<>();
+        jdbcTemplate.query(COUNT_BY_ACCOUNTS_SQL, params, rs -> {
+            activeKeysByAccount.put(accountKey(rs.getInt("branch_number"), rs.getInt("account_number")),
+                    rs.getInt("active_keys"));
+        });
+
+        List<InsertOutcome> outcomes = new ArrayList<>(pixKeys.size());
+        List<SqlParameterSource> inserts = new ArrayList<>(pixKeys.size());
+        for (PixKey pixKey : pixKeys) {
+            long account = accountKey(pixKey.branchNumber(), pixKey.accountNumber());
+            int activeKeys = activeKeysByAccount.getOrDefault(account, 0);
+            if (!takenKeyValues.add(pixKey.keyValue())) {
+                outcomes.add(InsertOutcome.DUPLICATE_KEY);
+            } else if (activeKeys >= maxKeys.applyAsInt(pixKey)) {
+                takenKeyValues.remove(pixKey.keyValue());
+                outcomes.add(InsertOutcome.LIMIT_EXCEEDED);
+            } else {
+                activeKeysByAccount.put(account, activeKeys + 1);
+                inserts.add(insertParams(pixKey));
+                outcomes.add(InsertOutcome.INSERTED);
+            }
+        }
+        jdbcTemplate.batchUpdate(INSERT_SQL, inserts.toArray(new SqlParameterSource[0]));
+        return outcomes;
     }
 
+    // Reads map rows straight into PixKey: no managed entity, no snapshot for dirty checking and no
+    // entity-to-domain copy. Read-only transactions let Hibernate skip the flush at commit.
     @Override
+    @Transactional(readOnly = true)
     public Optional<PixKey> findById(UUID id) {
-        return jpaRepository.findById(id).map(this::toDomain);
+        List<PixKey> rows = jdbcTemplate.query(FIND_BY_ID_SQL, new MapSqlParameterSource("id", id),
+                PixKeyRowMapper.INSTANCE);
+        return rows.isEmpty() ? Optional.empty() : Optional.of(rows.get(0));
+    }
+
+    // One statement per page of ids; pages of the same size expand to the same SQL text.
+    @Override
+    @Transactional(readOnly = true)
+    public List<PixKey> findAllById(Collection<UUID> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        return jdbcTemplate.query(FIND_ALL_BY_ID_SQL, new MapSqlParameterSource("ids", ids), PixKeyRowMapper.INSTANCE);
+    }
+
+    // Plain SQL on the hot path: one probe of ux_pix_keys_active_key_value, whose predicate the
+    // "and active" matches, and no JPA query or entity per call.
+    @Override
+    public Optional<PixKey> findActiveByKeyValue(String keyValue) {
+        List<PixKey> rows = jdbcTemplate.query(FIND_ACTIVE_BY_KEY_VALUE_SQL,
+                new MapSqlParameterSource("keyValue", keyValue), PixKeyRowMapper.INSTANCE);
+        return rows.isEmpty() ? Optional.empty() : Optional.of(rows.get(0));
+    }
+
+    // Enough to answer a conditional GET: one column, and no row mapped or entity loaded.
+    @Override
+    public Optional<Long> findVersionById(UUID id) {
+        List<Long> versions = jdbcTemplate.queryForList(FIND_VERSION_BY_ID_SQL,
+                new MapSqlParameterSource("id", id), Long.class);
+        return versions.isEmpty() ? Optional.empty() : Optional.of(versions.get(0));
+    }
+
+    @Override
+    public Optional<UpdatedPixKey> updateIfActive(UpdatePixKeyCommand command) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("id", command.id())
+                .addValue("accountType", command.accountType().name())
+                .addValue("branchNumber", command.branchNumber())
+                .addValue("accountNumber", command.accountNumber())
+                .addValue("accountHolderName", command.accountHolderName())
+                .addValue("accountHolderLastName", command.accountHolderLastName(), Types.VARCHAR)
+                .addValue("expectedVersion", command.expectedVersion(), Types.BIGINT);
+        List<UpdatedPixKey> rows = jdbcTemplate.query(UPDATE_IF_ACTIVE_SQL, params, (rs, rowNum) ->
+                new UpdatedPixKey(PixKeyRowMapper.INSTANCE.mapRow(rs, rowNum),
+                        rs.getInt("previous_branch_number"), rs.getInt("previous_account_number")));
+        return rows.isEmpty() ? Optional.empty() : Optional.of(rows.get(0));
+    }
+
+    @Override
+    public Optional<PixKey> deactivateIfActive(UUID id, LocalDateTime deactivatedAt, Long expectedVersion) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("id", id)
+                .addValue("deactivatedAt", deactivatedAt)
+                .addValue("expectedVersion", expectedVersion, Types.BIGINT);
+        List<PixKey> rows = jdbcTemplate.query(DEACTIVATE_IF_ACTIVE_SQL, params, PixKeyRowMapper.INSTANCE);
+        return rows.isEmpty() ? Optional.empty() : Optional.of(rows.get(0));
     }
 
     @Override
@@ -52,54 +256,107 @@ public class PixKeyRepositoryImpl implements PixKeyRepository {
         return jpaRepository.countByBranchNumberAndAccountNumberAndActiveTrue(branchNumber, accountNumber);
     }
 
+    // The SQL comes precompiled per filter shape from PixKeySqlFilter. As with a Spring Data page,
+    // the COUNT only runs when this page does not already tell the total.
     @Override
+    @Transactional(readOnly = true)
     public Page<PixKey> search(SearchPixKeysQuery query, Pageable pageable) {
-        return findByFilters(
-                query.keyType(),
-                query.branchNumber(),
-                query.accountNumber(),
-                query.accountHolderName(),
-                query.createdAt(),
-                query.deactivatedAt(),
-                pageable
-        );
+        PixKeySqlFilter filter = PixKeySqlFilter.of(query);
+        JdbcOperations jdbc = jdbcTemplate.getJdbcOperations();
+        if (pageable.isUnpaged()) {
+            String sql = filter.selectSql() + PixKeySqlFilter.orderBy(pageable.getSort());
+            return new PageImpl<>(jdbc.query(sql, PixKeyRowMapper.INSTANCE, filter.args().toArray()));
+        }
+        List<PixKey> rows = jdbc.query(filter.pageSql(pageable.getSort()), PixKeyRowMapper.INSTANCE,
+                filter.pageArgs(pageable.getPageSize(), pageable.getOffset()));
+        return PageableExecutionUtils.getPage(rows, pageable,
+                () -> jdbc.queryForObject(filter.countSql(), Long.class, filter.args().toArray()));
     }
 
+    // EXACT keeps the page with its COUNT query. The other modes read one row past the page to
+    // learn whether there is a next one, and ESTIMATED takes the total from the planner instead of
+    // counting: on broad filters the COUNT costs more than the page itself.
     @Override
-    public Page<PixKey> findByFilters(String tipoChave, Integer branchNumber, Integer accountNumber,
-                                      String accountHolderName, LocalDateTime createdAt,
-                                      LocalDateTime deactivatedAt, Pageable pageable) {
-        Specification<PixKeyEntity> spec = (root, query, cb) -> {
-            List<Predicate> predicates = new ArrayList<>();
+    @Transactional(readOnly = true)
+    public Slice<PixKey> search(SearchPixKeysQuery query, Pageable pageable, CountMode countMode) {
+        if (countMode == CountMode.EXACT) {
+            return search(query, pageable);
+        }
+        PixKeySqlFilter filter = PixKeySqlFilter.of(query);
+        List<PixKey> rows = jdbcTemplate.getJdbcOperations().query(filter.pageSql(pageable.getSort()),
+                PixKeyRowMapper.INSTANCE, filter.pageArgs(pageable.getPageSize() + 1, pageable.getOffset()));
 
-            if (tipoChave != null) {
-                predicates.add(cb.equal(root.get("type"), tipoChave));
-            }
-            if (branchNumber != null) {
-                predicates.add(cb.equal(root.get("branchNumber"), branchNumber));
-            }
-            if (accountNumber != null) {
-                predicates.add(cb.equal(root.get("accountNumber"), accountNumber));
-            }
-            if (accountHolderName != null) {
-                predicates.add(cb.equal(root.get("accountHolderName"), accountHolderName));
-            }
-            if (createdAt != null) {
-                predicates.add(cb.greaterThanOrEqualTo(root.get("createdAt"), createdAt));
-            }
-            if (deactivatedAt != null) {
-                predicates.add(cb.greaterThanOrEqualTo(root.get("deactivatedAt"), deactivatedAt));
-            }
+        boolean hasNext = rows.size() > pageable.getPageSize();
+        List<PixKey> content = hasNext ? rows.subList(0, pageable.getPageSize()) : rows;
+        if (countMode == CountMode.NONE) {
+            return new SliceImpl<>(content, pageable, hasNext);
+        }
+        long seen = pageable.getOffset() + content.size() + (hasNext ? 1 : 0);
+        boolean lastPageReached = !hasNext && (!content.isEmpty() || pageable.getOffset() == 0);
+        long total = lastPageReached ? seen : Math.max(estimateCount(filter), seen);
+        return new PageImpl<>(content, pageable, total);
+    }
 
-            return cb.and(predicates.toArray(new Predicate[0]));
-        };
+    @Override
+    @Transactional(readOnly = true)
+    public Page<PixKey> search(SearchPixKeysQuery query, Pageable pageable, long total) {
+        if (pageable.isUnpaged()) {
+            return search(query, pageable);
+        }
+        PixKeySqlFilter filter = PixKeySqlFilter.of(query);
+        List<PixKey> rows = jdbcTemplate.getJdbcOperations().query(filter.pageSql(pageable.getSort()),
+                PixKeyRowMapper.INSTANCE, filter.pageArgs(pageable.getPageSize(), pageable.getOffset()));
+        return new PageImpl<>(rows, pageable, total);
+    }
 
-        Page<PixKeyEntity> entityPage = jpaRepository.findAll(spec, pageable);
-        List<PixKey> pixKeys = entityPage.getContent().stream()
-                .map(this::toDomain)
-                .collect(Collectors.toList());
+    // Visits the same rows as the COUNT, plus their version on the heap; nothing is sorted or sent back.
+    @Override
+    @Transactional(readOnly = true)
+    public SearchFingerprint fingerprint(SearchPixKeysQuery query) {
+        PixKeySqlFilter filter = PixKeySqlFilter.of(query);
+        return jdbcTemplate.getJdbcOperations().queryForObject(filter.fingerprintSql(),
+                (rs, rowNum) -> new SearchFingerprint(rs.getLong(1), rs.getLong(2)), filter.args().toArray());
+    }
 
-        return new PageImpl<>(pixKeys, pageable, entityPage.getTotalElements());
+    // Seek instead of offset: the row comparison on (created_at, id) walks the matching index from
+    // the cursor onwards, so a deep page reads the same number of rows as the first one.
+    @Override
+    @Transactional(readOnly = true)
+    public List<PixKey> searchAfter(SearchPixKeysQuery query, PixKeyCursor after, int limit) {
+        PixKeySqlFilter filter = PixKeySqlFilter.of(query);
+        if (after != null) {
+            filter = filter.and("(created_at, id) > (?, ?)", after.createdAt(), after.id());
+        }
+        String sql = filter.selectSql() + " order by created_at, id limit ?";
+        List<Object> args = new ArrayList<>(filter.args());
+        args.add(limit);
+        return jdbcTemplate.getJdbcOperations().query(sql, PixKeyRowMapper.INSTANCE, args.toArray());
+    }
+
+    // Runs inside a transaction so the PostgreSQL driver uses a server-side cursor and only keeps
+    // EXPORT_FETCH_SIZE rows in memory at a time.
+    @Override
+    @Transactional(readOnly = true)
+    public void forEachMatch(SearchPixKeysQuery query, Consumer<PixKey> action) {
+        PixKeySqlFilter filter = PixKeySqlFilter.of(query);
+        String sql = filter.selectSql();
+        jdbcTemplate.getJdbcOperations().query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(sql,
+                    ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            statement.setFetchSize(EXPORT_FETCH_SIZE);
+            for (int i = 0; i < filter.args().size(); i++) {
+                statement.setObject(i + 1, filter.args().get(i));
+            }
+            return statement;
+        }, (RowCallbackHandler) rs -> action.accept(PixKeyRowMapper.INSTANCE.mapRow(rs, rs.getRow())));
+    }
+
+    @Override
+    public Page<PixKey> findByFilters(String tipoChave, Integer branchNumber, Integer accountNumber,
+                                      String accountHolderName, LocalDateTime createdAt,
+                                      LocalDateTime deactivatedAt, Pageable pageable) {
+        return search(new SearchPixKeysQuery(tipoChave, branchNumber, accountNumber, accountHolderName,
+                createdAt, deactivatedAt), pageable);
     }
 
     public PixKeyEntity toEntity(PixKey pixKey) {
@@ -115,6 +372,7 @@ public class PixKeyRepositoryImpl implements PixKeyRepository {
         entity.setCreatedAt(pixKey.createdAt());
         entity.setActive(pixKey.active());
         entity.setDeactivatedAt(pixKey.deactivatedAt());
+        entity.setVersion(pixKey.version());
         return entity;
     }
 
@@ -131,7 +389,32 @@ public class PixKeyRepositoryImpl implements PixKeyRepository {
                 entity.getCreatedAt(),
                 entity.isActive(),
                 entity.getDeactivatedAt(),
-                entity.isLegalPerson()
+                entity.isLegalPerson(),
+                entity.getVersion() != null ? entity.getVersion() : 0
         );
     }
-}
\ No newline at end of file
+
+    private long estimateCount(PixKeySqlFilter filter) {
+        String plan = jdbcTemplate.getJdbcOperations().queryForObject(filter.explainSql(), String.class,
+                filter.args().toArray());
+        return PixKeySqlFilter.estimatedRows(plan);
+    }
+
+    private static MapSqlParameterSource insertParams(PixKey pixKey) {
+        return new MapSqlParameterSource()
+                .addValue("id", pixKey.id())
+                .addValue("type", pixKey.type().name())
+                .addValue("keyValue", pixKey.keyValue())
+                .addValue("accountType", pixKey.accountType().name())
+                .addValue("branchNumber", pixKey.branchNumber())
+                .addValue("accountNumber", pixKey.accountNumber())
+                .addValue("accountHolderName", pixKey.accountHolderName())
+                .addValue("accountHolderLastName", pixKey.accountHolderLastName(), Types.VARCHAR)
+                .addValue("createdAt", pixKey.createdAt())
+                .addValue("isLegalPerson", pixKey.isLegalPerson());
+    }
+
+    private static long accountKey(int branchNumber, int accountNumber) {
+        return ((long) branchNumber << 32) | (accountNumber & 0xFFFFFFFFL);
+    }
+}
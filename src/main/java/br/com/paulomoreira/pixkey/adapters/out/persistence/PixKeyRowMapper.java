@@ -0,0 +1,42 @@
+package br.com.paulomoreira.pixkey.adapters.out.persistence;
+
+import br.com.paulomoreira.pixkey.domain.model.AccountType;
+import br.com.paulomoreira.pixkey.domain.model.KeyType;
+import br.com.paulomoreira.pixkey.domain.model.PixKey;
+import org.springframework.jdbc.core.RowMapper;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+final class PixKeyRowMapper implements RowMapper<PixKey> {
+
+    static final String COLUMNS = """
+            id, type, key_value, account_type, branch_number, account_number, account_holder_name,
+            account_holder_last_name, created_at, active, deactivated_at, is_legalperson, version""";
+
+    static final PixKeyRowMapper INSTANCE = new PixKeyRowMapper();
+
+    private PixKeyRowMapper() {
+    }
+
+    @Override
+    public PixKey mapRow(ResultSet rs, int rowNum) throws SQLException {
+        return new PixKey(
+                rs.getObject("id", UUID.class),
+                KeyType.valueOf(rs.getString("type")),
+                rs.getString("key_value"),
+                AccountType.valueOf(rs.getString("account_type")),
+                rs.getInt("branch_number"),
+                rs.getInt("account_number"),
+                rs.getString("account_holder_name"),
+                rs.getString("account_holder_last_name"),
+                rs.getObject("created_at", LocalDateTime.class),
+                rs.getBoolean("active"),
+                rs.getObject("deactivated_at", LocalDateTime.class),
+                rs.getBoolean("is_legalperson"),
+                rs.getLong("version")
+        );
+    }
+}
@@ -0,0 +1,199 @@
+package br.com.paulomoreira.pixkey.adapters.out.persistence;
+
+import br.com.paulomoreira.pixkey.application.ports.in.SearchPixKeysQuery;
+import org.springframework.data.domain.Sort;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+// The six optional filters of SearchPixKeysQuery give 64 shapes, one bit per filter. Each shape's
+// SQL is rendered once, here, so a search only picks strings and collects its bind values; the
+// driver then sees the same text for the same shape and reuses its server-side prepared statement.
+// Filters extended with and() have no shape (-1) and render their SQL when asked.
+record PixKeySqlFilter(String where, List<Object> args, int shape) {
+
+    private static final String[] CONDITIONS = {
+            "type = ?",
+            "branch_number = ?",
+            "account_number = ?",
+            "account_holder_name = ?",
+            "created_at >= ?",
+            "deactivated_at >= ?"
+    };
+    private static final int SHAPES = 1 << CONDITIONS.length;
+    private static final String[] WHERE = new String[SHAPES];
+    private static final String[] SELECT_SQL = new String[SHAPES];
+    private static final String[] COUNT_SQL = new String[SHAPES];
+    private static final String[] FINGERPRINT_SQL = new String[SHAPES];
+    private static final String[] EXPLAIN_SQL = new String[SHAPES];
+
+    private static final String LIMIT_OFFSET = " limit ? offset ?";
+
+    // Page SQL by sort, then by shape; filled as sorts are first seen. Sorts are client input, so
+    // only the first MAX_CACHED_SORTS get an entry and any other is rendered on every call.
+    private static final int MAX_CACHED_SORTS = 64;
+    private static final Map<Sort, String[]> PAGE_SQL = new ConcurrentHashMap<>();
+
+    private static final Pattern PLAN_ROWS = Pattern.compile("\"Plan Rows\":\\s*(\\d+)");
+
+    private static final Map<String, String> SORT_COLUMNS = Map.ofEntries(
+            Map.entry("id", "id"),
+            Map.entry("type", "type"),
+            Map.entry("keyValue", "key_value"),
+            Map.entry("accountType", "account_type"),
+            Map.entry("branchNumber", "branch_number"),
+            Map.entry("accountNumber", "account_number"),
+            Map.entry("accountHolderName", "account_holder_name"),
+            Map.entry("accountHolderLastName", "account_holder_last_name"),
+            Map.entry("createdAt", "created_at"),
+            Map.entry("active", "active"),
+            Map.entry("deactivatedAt", "deactivated_at"));
+
+    static {
+        for (int shape = 0; shape < SHAPES; shape++) {
+            List<String> conditions = new ArrayList<>();
+            for (int filter = 0; filter < CONDITIONS.length; filter++) {
+                if ((shape & (1 << filter)) != 0) {
+                    conditions.add(CONDITIONS[filter]);
+                }
+            }
+            WHERE[shape] = conditions.isEmpty() ? "" : " where " + String.join(" and ", conditions);
+            SELECT_SQL[shape] = selectSql(WHERE[shape]);
+            COUNT_SQL[shape] = countSql(WHERE[shape]);
+            FINGERPRINT_SQL[shape] = fingerprintSql(WHERE[shape]);
+            EXPLAIN_SQL[shape] = explainSql(WHERE[shape]);
+        }
+    }
+
+    static PixKeySqlFilter of(SearchPixKeysQuery query) {
+        Object[] values = new Object[CONDITIONS.length];
+        int shape = 0;
+        int count = 0;
+        if (query.keyType() != null) {
+            shape |= 1;
+            values[count++] = query.keyType();
+        }
+        if (query.branchNumber() != null) {
+            shape |= 1 << 1;
+            values[count++] = query.branchNumber();
+        }
+        if (query.accountNumber() != null) {
+            shape |= 1 << 2;
+            values[count++] = query.accountNumber();
+        }
+        if (query.accountHolderName() != null) {
+            shape |= 1 << 3;
+            values[count++] = query.accountHolderName();
+        }
+        if (query.createdAt() != null) {
+            shape |= 1 << 4;
+            values[count++] = query.createdAt();
+        }
+        if (query.deactivatedAt() != null) {
+            shape |= 1 << 5;
+            values[count++] = query.deactivatedAt();
+        }
+        List<Object> args = Collections.unmodifiableList(Arrays.asList(Arrays.copyOf(values, count)));
+        return new PixKeySqlFilter(WHERE[shape], args, shape);
+    }
+
+    static String orderBy(Sort sort) {
+        if (sort.isUnsorted()) {
+            return "";
+        }
+        return sort.stream()
+                .map(order -> {
+                    String column = SORT_COLUMNS.get(order.getProperty());
+                    if (column == null) {
+                        throw new IllegalArgumentException("Campo de ordenação inválido: " + order.getProperty());
+                    }
+                    return column + (order.isAscending() ? " asc" : " desc");
+                })
+                .collect(Collectors.joining(", ", " order by ", ""));
+    }
+
+    String selectSql() {
+        return shape >= 0 ? SELECT_SQL[shape] : selectSql(where);
+    }
+
+    String countSql() {
+        return shape >= 0 ? COUNT_SQL[shape] : countSql(where);
+    }
+
+    String fingerprintSql() {
+        return shape >= 0 ? FINGERPRINT_SQL[shape] : fingerprintSql(where);
+    }
+
+    String explainSql() {
+        return shape >= 0 ? EXPLAIN_SQL[shape] : explainSql(where);
+    }
+
+    // selectSql() sorted, with the limit and offset as the last two placeholders.
+    String pageSql(Sort sort) {
+        if (shape < 0) {
+            return selectSql() + orderBy(sort) + LIMIT_OFFSET;
+        }
+        String[] byShape = PAGE_SQL.get(sort);
+        if (byShape == null) {
+            String orderBy = orderBy(sort);
+            if (PAGE_SQL.size() >= MAX_CACHED_SORTS) {
+                return SELECT_SQL[shape] + orderBy + LIMIT_OFFSET;
+            }
+            byShape = PAGE_SQL.computeIfAbsent(sort, key -> new String[SHAPES]);
+        }
+        // Two threads may both render the same string; either copy is fine to keep.
+        String sql = byShape[shape];
+        if (sql == null) {
+            sql = SELECT_SQL[shape] + orderBy(sort) + LIMIT_OFFSET;
+            byShape[shape] = sql;
+        }
+        return sql;
+    }
+
+    // args() followed by the limit and offset, ready for pageSql().
+    Object[] pageArgs(int limit, long offset) {
+        Object[] values = args.toArray(new Object[args.size() + 2]);
+        values[args.size()] = limit;
+        values[args.size() + 1] = offset;
+        return values;
+    }
+
+    private static String selectSql(String where) {
+        return "select " + PixKeyRowMapper.COLUMNS + " from pix_keys" + where;
+    }
+
+    private static String countSql(String where) {
+        return "select count(*) from pix_keys" + where;
+    }
+
+    // The count and the XOR of a 64-bit hash per (id, version): order-independent, and any key
+    // entering, leaving or being updated flips it. max(version) would miss an update to any key but
+    // the most recently changed one. bit_xor needs PostgreSQL 14.
+    private static String fingerprintSql(String where) {
+        return "select count(*), coalesce(bit_xor(hashtextextended(id::text, version)), 0) from pix_keys" + where;
+    }
+
+    private static String explainSql(String where) {
+        return "explain (format json) select 1 from pix_keys" + where;
+    }
+
+    // Row estimate of the top plan node in the output of explainSql().
+    static long estimatedRows(String plan) {
+        Matcher rows = PLAN_ROWS.matcher(plan);
+        return rows.find() ? Long.parseLong(rows.group(1)) : 0;
+    }
+
+    PixKeySqlFilter and(String condition, Object... values) {
+        List<Object> combined = new ArrayList<>(args);
+        combined.addAll(Arrays.asList(values));
+        String combinedWhere = where.isEmpty() ? " where " + condition : where + " and " + condition;
+        return new PixKeySqlFilter(combinedWhere, List.copyOf(combined), -1);
+    }
+}
@@ -0,0 +1,126 @@
+package br.com.paulomoreira.pixkey.adapters.out.persistence;
+
+import br.com.paulomoreira.pixkey.application.ports.out.PixKeyInvalidationChannel;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+// PixKeyInvalidationChannel over PostgreSQL LISTEN/NOTIFY, so instances sharing the database need
+// nothing else to keep their caches coherent. NOTIFY is transactional: sent inside a transaction,
+// it is only delivered if and when that transaction commits.
+public class PostgresPixKeyInvalidationChannel implements PixKeyInvalidationChannel, AutoCloseable {
+
+    static final String CHANNEL = "pix_key_invalidation";
+
+    private static final Logger logger = LoggerFactory.getLogger(PostgresPixKeyInvalidationChannel.class);
+    private static final int POLL_MILLIS = 500;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final String url;
+    private final String username;
+    private final String password;
+    private final Duration reconnectDelay;
+    private final List<Listener> listeners = new CopyOnWriteArrayList<>();
+    private Thread listenerThread;
+    private volatile boolean closed;
+
+    public PostgresPixKeyInvalidationChannel(JdbcTemplate jdbcTemplate, String url, String username, String password,
+                                             Duration reconnectDelay) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.url = url;
+        this.username = username;
+        this.password = password;
+        this.reconnectDelay = reconnectDelay;
+    }
+
+    // Local listeners are told right away; the notification reaches them again later, harmlessly.
+    // The payload is the id, a colon and the key value.
+    @Override
+    public void publish(UUID id, String keyValue) {
+        listeners.forEach(listener -> listener.invalidated(id, keyValue));
+        jdbcTemplate.query("select pg_notify(?, ?)", rs -> {
+        }, CHANNEL, id + ":" + keyValue);
+    }
+
+    @Override
+    public synchronized void subscribe(Listener listener) {
+        listeners.add(listener);
+        if (listenerThread == null) {
+            listenerThread = new Thread(this::listen, "pix-key-invalidation");
+            listenerThread.setDaemon(true);
+            listenerThread.start();
+        }
+    }
+
+    // Listens on a connection of its own rather than holding one from the pool for good. Every
+    // (re)connect clears the caches, since notifications sent while disconnected are gone.
+    private void listen() {
+        while (!closed) {
+            try (Connection connection = DriverManager.getConnection(url, username, password)) {
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("listen " + CHANNEL);
+                }
+                listeners.forEach(Listener::invalidatedAll);
+                PGConnection pgConnection = connection.unwrap(PGConnection.class);
+                while (!closed) {
+                    PGNotification[] notifications = pgConnection.getNotifications(POLL_MILLIS);
+                    if (notifications == null) {
+                        continue;
+                    }
+                    for (PGNotification notification : notifications) {
+                        dispatch(notification.getParameter());
+                    }
+                }
+            } catch (SQLException e) {
+                if (closed) {
+                    return;
+                }
+                logger.warn("Pix key invalidation listener lost its connection, retrying in {}: {}",
+                        reconnectDelay, e.getMessage());
+                try {
+                    Thread.sleep(reconnectDelay.toMillis());
+                } catch (InterruptedException interrupted) {
+                    return;
+                }
+            }
+        }
+    }
+
+    // A bare id, as sent by instances that predate the key value, is still honoured.
+    private void dispatch(String payload) {
+        int separator = payload.indexOf(':');
+        UUID id;
+        try {
+            id = UUID.fromString(separator < 0 ? payload : payload.substring(0, separator));
+        } catch (IllegalArgumentException e) {
+            logger.warn("Ignoring invalid pix key invalidation: {}", payload);
+            return;
+        }
+        String keyValue = separator < 0 ? null : payload.substring(separator + 1);
+        listeners.forEach(listener -> listener.invalidated(id, keyValue));
+    }
+
+    @Override
+    public void close() throws InterruptedException {
+        closed = true;
+        Thread thread;
+        synchronized (this) {
+            thread = listenerThread;
+        }
+        if (thread != null) {
+            thread.interrupt();
+            thread.join(POLL_MILLIS * 4L);
+        }
+    }
+}
@@ -0,0 +1,419 @@
+package br.com.paulomoreira.pixkey.adapters.out.persistence;
+
+import br.com.paulomoreira.pixkey.application.ports.in.PixKeyCursor;
+import br.com.paulomoreira.pixkey.application.ports.in.SearchPixKeysQuery;
+import br.com.paulomoreira.pixkey.application.ports.out.PixKeyInvalidationChannel;
+import br.com.paulomoreira.pixkey.application.ports.out.PixKeyRepository;
+import br.com.paulomoreira.pixkey.application.ports.out.PixKeySearchIndex;
+import br.com.paulomoreira.pixkey.domain.model.KeyType;
+import br.com.paulomoreira.pixkey.domain.model.PixKey;
+import org.roaringbitmap.FastAggregation;
+import org.roaringbitmap.PeekableIntIterator;
+import org.roaringbitmap.RoaringBitmap;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Pageable;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+// PixKeySearchIndex held in this JVM. Every key gets a dense ordinal, and each filter value maps to
+// a compressed bitmap of the ordinals that have it; a search intersects one bitmap per filter. Date
+// filters are "on or after": either the union of one bitmap per later day plus the rows of the first
+// day that pass the exact comparison, or that comparison on each row the other filters left, whichever
+// touches fewer rows. Only unsorted pages are answered: the ordinals are in indexing order, which is
+// (createdAt, id) for everything loaded at startup.
+public class RoaringBitmapSearchIndex implements PixKeySearchIndex {
+
+    static final int LOAD_PAGE_SIZE = 10_000;
+
+    private static final Logger logger = LoggerFactory.getLogger(RoaringBitmapSearchIndex.class);
+    private static final KeyType[] KEY_TYPES = KeyType.values();
+    private static final RoaringBitmap EMPTY = new RoaringBitmap();
+    private static final long MICROS_PER_DAY = 86_400_000_000L;
+    private static final long NONE = Long.MIN_VALUE;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final RoaringBitmap all = new RoaringBitmap();
+    private final RoaringBitmap[] byType = new RoaringBitmap[KEY_TYPES.length];
+    private final Map<Integer, RoaringBitmap> byBranch = new HashMap<>();
+    private final Map<Integer, RoaringBitmap> byAccount = new HashMap<>();
+    private final Map<String, RoaringBitmap> byHolderName = new HashMap<>();
+    private final NavigableMap<Long, RoaringBitmap> byCreatedDay = new TreeMap<>();
+    private final NavigableMap<Long, RoaringBitmap> byDeactivatedDay = new TreeMap<>();
+    private final Map<String, String> holderNames = new HashMap<>();
+    private final Columns columns = new Columns();
+    private final Queue<UUID> changed = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean refreshQueued = new AtomicBoolean();
+    private volatile boolean ready;
+
+    public RoaringBitmapSearchIndex() {
+        for (int i = 0; i < byType.length; i++) {
+            byType[i] = new RoaringBitmap();
+        }
+    }
+
+    @Override
+    public void indexed(PixKey pixKey) {
+        lock.writeLock().lock();
+        try {
+            put(pixKey);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public Optional<IndexedPage> search(SearchPixKeysQuery query, Pageable pageable) {
+        if (!ready || pageable.isUnpaged() || pageable.getSort().isSorted()) {
+            return Optional.empty();
+        }
+        lock.readLock().lock();
+        try {
+            RoaringBitmap matches = matches(query);
+            long total = matches.getLongCardinality();
+            List<UUID> ids = new ArrayList<>(pageable.getPageSize());
+            if (pageable.getOffset() < total) {
+                PeekableIntIterator ordinals = matches.getIntIterator();
+                ordinals.advanceIfNeeded(matches.select((int) pageable.getOffset()));
+                while (ordinals.hasNext() && ids.size() < pageable.getPageSize()) {
+                    ids.add(columns.id(ordinals.next()));
+                }
+            }
+            return Optional.of(new IndexedPage(ids, total));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Reads every key in (createdAt, id) order, a page at a time, then starts answering searches.
+    // Writes indexed meanwhile are kept: the loaded row only replaces them if it is newer.
+    public void load(PixKeyRepository repository) {
+        long start = System.nanoTime();
+        SearchPixKeysQuery everything = new SearchPixKeysQuery(null, null, null, null, null, null);
+        PixKeyCursor after = null;
+        List<PixKey> page;
+        do {
+            page = repository.searchAfter(everything, after, LOAD_PAGE_SIZE);
+            lock.writeLock().lock();
+            try {
+                page.forEach(this::put);
+            } finally {
+                lock.writeLock().unlock();
+            }
+            if (!page.isEmpty()) {
+                after = PixKeyCursor.after(page.get(page.size() - 1));
+            }
+        } while (page.size() == LOAD_PAGE_SIZE);
+        ready = true;
+        logger.info("Pix key search index loaded {} keys in {} ms", size(),
+                (System.nanoTime() - start) / 1_000_000);
+    }
+
+    // Searches go to the database until the load completes, or for good if it fails.
+    public void loadInBackground(PixKeyRepository repository) {
+        Thread loader = new Thread(() -> tryLoad(repository), "pix-key-search-index");
+        loader.setDaemon(true);
+        loader.start();
+    }
+
+    // Keeps up with writes made through other instances. Each changed id is read back off the
+    // publisher's thread and indexed if newer; this instance's own writes come back too and are
+    // dropped by the version check. When messages may have been lost, searches go to the database
+    // until a full reload completes.
+    public void follow(PixKeyInvalidationChannel channel, PixKeyRepository repository) {
+        follow(channel, repository, Executors.newSingleThreadExecutor(task -> {
+            Thread refresher = new Thread(task, "pix-key-search-index-refresh");
+            refresher.setDaemon(true);
+            return refresher;
+        }));
+    }
+
+    void follow(PixKeyInvalidationChannel channel, PixKeyRepository repository, Executor refresher) {
+        channel.subscribe(new PixKeyInvalidationChannel.Listener() {
+            @Override
+            public void invalidated(UUID id, String keyValue) {
+                changed.add(id);
+                if (refreshQueued.compareAndSet(false, true)) {
+                    refresher.execute(() -> refresh(repository));
+                }
+            }
+
+            @Override
+            public void invalidatedAll() {
+                ready = false;
+                refresher.execute(() -> tryLoad(repository));
+            }
+        });
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return columns.size;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void tryLoad(PixKeyRepository repository) {
+        try {
+            load(repository);
+        } catch (RuntimeException e) {
+            logger.warn("Pix key search index failed to load, searches stay on the database: {}", e.getMessage());
+        }
+    }
+
+    // Ids changed while this runs queue another refresh, so none is left behind.
+    private void refresh(PixKeyRepository repository) {
+        refreshQueued.set(false);
+        List<UUID> ids = new ArrayList<>();
+        for (UUID id = changed.poll(); id != null; id = changed.poll()) {
+            ids.add(id);
+            if (ids.size() == LOAD_PAGE_SIZE || changed.isEmpty()) {
+                try {
+                    repository.findAllById(ids).forEach(this::indexed);
+                } catch (RuntimeException e) {
+                    logger.warn("Pix key search index missed changed keys, reloading: {}", e.getMessage());
+                    ready = false;
+                    changed.clear();
+                    tryLoad(repository);
+                    return;
+                }
+                ids.clear();
+            }
+        }
+    }
+
+    private void put(PixKey pixKey) {
+        int ordinal = columns.find(pixKey.id());
+        if (ordinal < 0) {
+            ordinal = columns.add(pixKey.id());
+            all.add(ordinal);
+        } else if (pixKey.version() <= columns.version[ordinal]) {
+            return;
+        } else {
+            unindex(ordinal);
+        }
+        columns.type[ordinal] = (byte) pixKey.type().ordinal();
+        columns.branch[ordinal] = pixKey.branchNumber();
+        columns.account[ordinal] = pixKey.accountNumber();
+        columns.holderName[ordinal] = holderNames.computeIfAbsent(pixKey.accountHolderName(), name -> name);
+        columns.createdAt[ordinal] = micros(pixKey.createdAt());
+        columns.deactivatedAt[ordinal] = pixKey.deactivatedAt() == null ? NONE : micros(pixKey.deactivatedAt());
+        columns.version[ordinal] = pixKey.version();
+        index(ordinal);
+    }
+
+    private void index(int ordinal) {
+        byType[columns.type[ordinal]].add(ordinal);
+        byBranch.computeIfAbsent(columns.branch[ordinal], branch -> new RoaringBitmap()).add(ordinal);
+        byAccount.computeIfAbsent(columns.account[ordinal], account -> new RoaringBitmap()).add(ordinal);
+        byHolderName.computeIfAbsent(columns.holderName[ordinal], name -> new RoaringBitmap()).add(ordinal);
+        byCreatedDay.computeIfAbsent(day(columns.createdAt[ordinal]), day -> new RoaringBitmap()).add(ordinal);
+        if (columns.deactivatedAt[ordinal] != NONE) {
+            byDeactivatedDay.computeIfAbsent(day(columns.deactivatedAt[ordinal]), day -> new RoaringBitmap()).add(ordinal);
+        }
+    }
+
+    private void unindex(int ordinal) {
+        byType[columns.type[ordinal]].remove(ordinal);
+        remove(byBranch, columns.branch[ordinal], ordinal);
+        remove(byAccount, columns.account[ordinal], ordinal);
+        remove(byHolderName, columns.holderName[ordinal], ordinal);
+        remove(byCreatedDay, day(columns.createdAt[ordinal]), ordinal);
+        if (columns.deactivatedAt[ordinal] != NONE) {
+            remove(byDeactivatedDay, day(columns.deactivatedAt[ordinal]), ordinal);
+        }
+    }
+
+    private static <K> void remove(Map<K, RoaringBitmap> bitmaps, K key, int ordinal) {
+        RoaringBitmap bitmap = bitmaps.get(key);
+        bitmap.remove(ordinal);
+        if (bitmap.isEmpty()) {
+            bitmaps.remove(key);
+        }
+    }
+
+    // Smallest bitmaps first, so the intersection shrinks as early as possible. A date filter on top
+    // of others checks the exact time of the few rows left rather than joining every later day.
+    private RoaringBitmap matches(SearchPixKeysQuery query) {
+        List<RoaringBitmap> filters = new ArrayList<>(4);
+        if (query.keyType() != null) {
+            filters.add(byType(query.keyType()));
+        }
+        if (query.branchNumber() != null) {
+            filters.add(byBranch.getOrDefault(query.branchNumber(), EMPTY));
+        }
+        if (query.accountNumber() != null) {
+            filters.add(byAccount.getOrDefault(query.accountNumber(), EMPTY));
+        }
+        if (query.accountHolderName() != null) {
+            filters.add(byHolderName.getOrDefault(query.accountHolderName(), EMPTY));
+        }
+        RoaringBitmap matches = intersection(filters);
+        if (query.createdAt() != null) {
+            matches = onOrAfter(matches, byCreatedDay, columns.createdAt, micros(query.createdAt()));
+        }
+        if (query.deactivatedAt() != null) {
+            matches = onOrAfter(matches, byDeactivatedDay, columns.deactivatedAt, micros(query.deactivatedAt()));
+        }
+        return matches;
+    }
+
+    private RoaringBitmap intersection(List<RoaringBitmap> filters) {
+        if (filters.isEmpty()) {
+            return all;
+        }
+        if (filters.size() == 1) {
+            return filters.get(0);
+        }
+        filters.sort(Comparator.comparingLong(RoaringBitmap::getLongCardinality));
+        return FastAggregation.and(filters.iterator());
+    }
+
+    private RoaringBitmap byType(String keyType) {
+        try {
+            return byType[KeyType.valueOf(keyType).ordinal()];
+        } catch (IllegalArgumentException e) {
+            return EMPTY;
+        }
+    }
+
+    private RoaringBitmap onOrAfter(RoaringBitmap candidates, NavigableMap<Long, RoaringBitmap> byDay,
+                                    long[] values, long from) {
+        long firstDay = day(from);
+        NavigableMap<Long, RoaringBitmap> days = byDay.tailMap(firstDay, true);
+        long dayRows = 0;
+        for (RoaringBitmap day : days.values()) {
+            dayRows += day.getLongCardinality();
+        }
+        if (candidates.getLongCardinality() <= dayRows) {
+            return since(candidates, values, from);
+        }
+        RoaringBitmap later = FastAggregation.or(days.tailMap(firstDay, false).values().iterator());
+        RoaringBitmap first = days.get(firstDay);
+        if (first != null) {
+            later.or(since(first, values, from));
+        }
+        return candidates == all ? later : RoaringBitmap.and(candidates, later);
+    }
+
+    private static RoaringBitmap since(RoaringBitmap ordinals, long[] values, long from) {
+        RoaringBitmap result = new RoaringBitmap();
+        ordinals.forEach((int ordinal) -> {
+            if (values[ordinal] >= from) {
+                result.add(ordinal);
+            }
+        });
+        return result;
+    }
+
+    private static long micros(LocalDateTime dateTime) {
+        return dateTime.toEpochSecond(ZoneOffset.UTC) * 1_000_000 + dateTime.getNano() / 1_000;
+    }
+
+    private static long day(long micros) {
+        return Math.floorDiv(micros, MICROS_PER_DAY);
+    }
+
+    // The indexed values of each key, one array slot per ordinal, and an open-addressing table from
+    // id to ordinal. About 60 bytes per key, against several hundred for a map of PixKey records.
+    private static final class Columns {
+
+        private static final int INITIAL_CAPACITY = 1024;
+
+        private long[] idHigh = new long[INITIAL_CAPACITY];
+        private long[] idLow = new long[INITIAL_CAPACITY];
+        private byte[] type = new byte[INITIAL_CAPACITY];
+        private int[] branch = new int[INITIAL_CAPACITY];
+        private int[] account = new int[INITIAL_CAPACITY];
+        private String[] holderName = new String[INITIAL_CAPACITY];
+        private long[] createdAt = new long[INITIAL_CAPACITY];
+        private long[] deactivatedAt = new long[INITIAL_CAPACITY];
+        private long[] version = new long[INITIAL_CAPACITY];
+        // ordinal + 1 per slot, 0 when free; kept at most half full
+        private int[] slots = new int[INITIAL_CAPACITY * 2];
+        private int size;
+
+        int find(UUID id) {
+            int mask = slots.length - 1;
+            for (int slot = hash(id.getMostSignificantBits(), id.getLeastSignificantBits()) & mask; ; slot = (slot + 1) & mask) {
+                int ordinal = slots[slot] - 1;
+                if (ordinal < 0) {
+                    return -1;
+                }
+                if (idHigh[ordinal] == id.getMostSignificantBits() && idLow[ordinal] == id.getLeastSignificantBits()) {
+                    return ordinal;
+                }
+            }
+        }
+
+        int add(UUID id) {
+            if (size == idHigh.length) {
+                grow();
+            }
+            int ordinal = size++;
+            idHigh[ordinal] = id.getMostSignificantBits();
+            idLow[ordinal] = id.getLeastSignificantBits();
+            place(ordinal);
+            return ordinal;
+        }
+
+        UUID id(int ordinal) {
+            return new UUID(idHigh[ordinal], idLow[ordinal]);
+        }
+
+        private void place(int ordinal) {
+            int mask = slots.length - 1;
+            int slot = hash(idHigh[ordinal], idLow[ordinal]) & mask;
+            while (slots[slot] != 0) {
+                slot = (slot + 1) & mask;
+            }
+            slots[slot] = ordinal + 1;
+        }
+
+        private void grow() {
+            int capacity = idHigh.length * 2;
+            idHigh = Arrays.copyOf(idHigh, capacity);
+            idLow = Arrays.copyOf(idLow, capacity);
+            type = Arrays.copyOf(type, capacity);
+            branch = Arrays.copyOf(branch, capacity);
+            account = Arrays.copyOf(account, capacity);
+            holderName = Arrays.copyOf(holderName, capacity);
+            createdAt = Arrays.copyOf(createdAt, capacity);
+            deactivatedAt = Arrays.copyOf(deactivatedAt, capacity);
+            version = Arrays.copyOf(version, capacity);
+            slots = new int[capacity * 2];
+            for (int ordinal = 0; ordinal < size; ordinal++) {
+                place(ordinal);
+            }
+        }
+
+        // UUIDv7 ids share their leading timestamp bits, so both halves are mixed in.
+        private static int hash(long high, long low) {
+            long hash = (high ^ Long.rotateLeft(low, 32)) * 0x9E3779B97F4A7C15L;
+            return (int) (hash ^ (hash >>> 32));
+        }
+    }
+}
@@ -0,0 +1,9 @@
+package br.com.paulomoreira.pixkey.application.ports.in;
+
+import br.com.paulomoreira.pixkey.domain.model.PixKey;
+
+import java.util.List;
+
+public interface BulkCreatePixKeysUseCase {
+    List<BulkCreateResult> execute(List<PixKey> pixKeys);
+}
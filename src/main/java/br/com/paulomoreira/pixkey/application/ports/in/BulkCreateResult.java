@@ -0,0 +1,21 @@
+package br.com.paulomoreira.pixkey.application.ports.in;
+
+import br.com.paulomoreira.pixkey.domain.model.PixKey;
+
+public record BulkCreateResult(
+        PixKey pixKey,
+        String error
+) {
+
+    public static BulkCreateResult created(PixKey pixKey) {
+        return new BulkCreateResult(pixKey, null);
+    }
+
+    public static BulkCreateResult rejected(PixKey pixKey, String error) {
+        return new BulkCreateResult(pixKey, error);
+    }
+
+    public boolean isCreated() {
+        return error == null;
+    }
+}
@@ -0,0 +1,16 @@
+package br.com.paulomoreira.pixkey.application.ports.in;
+
+public enum CountMode {
+    EXACT,
+    ESTIMATED,
+    NONE;
+
+    public static CountMode from(String value) {
+        for (CountMode mode : values()) {
+            if (mode.name().equalsIgnoreCase(value)) {
+                return mode;
+            }
+        }
+        throw new IllegalArgumentException("Modo de contagem inválido: " + value + ". Use exact, estimated ou none");
+    }
+}
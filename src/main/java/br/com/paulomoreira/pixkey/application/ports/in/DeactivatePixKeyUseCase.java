@@ -4,5 +4,10 @@ import br.com.paulomoreira.pixkey.domain.model.PixKey;
 import java.util.UUID;
 
 public interface DeactivatePixKeyUseCase {
-    PixKey execute(UUID id);
-}
\ No newline at end of file
+    default PixKey execute(UUID id) {
+        return execute(id, null);
+    }
+
+    // expectedVersion, when given, must still be the key's version or nothing is changed.
+    PixKey execute(UUID id, Long expectedVersion);
+}
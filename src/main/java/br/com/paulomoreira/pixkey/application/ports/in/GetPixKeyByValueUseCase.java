@@ -0,0 +1,8 @@
+package br.com.paulomoreira.pixkey.application.ports.in;
+
+import br.com.paulomoreira.pixkey.domain.model.PixKey;
+import java.util.Optional;
+
+public interface GetPixKeyByValueUseCase {
+    Optional<PixKey> execute(String keyValue);
+}
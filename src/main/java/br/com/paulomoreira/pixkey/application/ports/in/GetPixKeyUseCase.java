@@ -6,4 +6,6 @@ import java.util.UUID;
 
 public interface GetPixKeyUseCase {
     Optional<PixKey> execute(UUID id);
+
+    Optional<Long> currentVersion(UUID id);
 }
\ No newline at end of file
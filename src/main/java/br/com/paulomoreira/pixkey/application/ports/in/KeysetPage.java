@@ -0,0 +1,23 @@
+package br.com.paulomoreira.pixkey.application.ports.in;
+
+import br.com.paulomoreira.pixkey.domain.model.PixKey;
+
+import java.util.List;
+
+public record KeysetPage(
+        List<PixKey> content,
+        PixKeyCursor next
+) {
+
+    public static KeysetPage of(List<PixKey> rows, int size) {
+        if (rows.size() <= size) {
+            return new KeysetPage(rows, null);
+        }
+        List<PixKey> content = rows.subList(0, size);
+        return new KeysetPage(List.copyOf(content), PixKeyCursor.after(content.get(size - 1)));
+    }
+
+    public boolean hasNext() {
+        return next != null;
+    }
+}
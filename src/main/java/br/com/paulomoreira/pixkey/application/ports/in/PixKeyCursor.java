@@ -0,0 +1,40 @@
+package br.com.paulomoreira.pixkey.application.ports.in;
+
+import br.com.paulomoreira.pixkey.domain.model.PixKey;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.UUID;
+
+// Position of the last key returned by a keyset page. Keys are ordered by (createdAt, id), so the
+// next page starts right after this pair no matter how deep the client has paged.
+public record PixKeyCursor(
+        LocalDateTime createdAt,
+        UUID id
+) {
+
+    private static final char SEPARATOR = '|';
+
+    public static PixKeyCursor after(PixKey pixKey) {
+        return new PixKeyCursor(pixKey.createdAt(), pixKey.id());
+    }
+
+    public String encode() {
+        String raw = createdAt.toString() + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static PixKeyCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = raw.indexOf(SEPARATOR);
+            return new PixKeyCursor(
+                    LocalDateTime.parse(raw.substring(0, separator)),
+                    UUID.fromString(raw.substring(separator + 1)));
+        } catch (IllegalArgumentException | IndexOutOfBoundsException | DateTimeParseException e) {
+            throw new IllegalArgumentException("Cursor inválido: " + token, e);
+        }
+    }
+}
@@ -0,0 +1,6 @@
+package br.com.paulomoreira.pixkey.application.ports.in;
+
+// What a search matches, summed up without reading the rows: how many keys, and a digest of their
+// ids and versions that changes whenever a key enters, leaves or changes within the filter.
+public record SearchFingerprint(long total, long digest) {
+}
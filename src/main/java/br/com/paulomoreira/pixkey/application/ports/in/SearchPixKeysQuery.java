@@ -1,5 +1,7 @@
 package br.com.paulomoreira.pixkey.application.ports.in;
 
+import br.com.paulomoreira.pixkey.domain.model.PixKey;
+
 import java.time.LocalDateTime;
 
 public record SearchPixKeysQuery(
@@ -9,4 +11,16 @@ public record SearchPixKeysQuery(
         String accountHolderName,
         LocalDateTime createdAt,
         LocalDateTime deactivatedAt
-) {}
\ No newline at end of file
+) {
+
+    // The same conditions the database applies, for rows that did not come from a filtered query.
+    public boolean matches(PixKey pixKey) {
+        return (keyType == null || pixKey.type().name().equals(keyType))
+                && (branchNumber == null || branchNumber.equals(pixKey.branchNumber()))
+                && (accountNumber == null || accountNumber.equals(pixKey.accountNumber()))
+                && (accountHolderName == null || accountHolderName.equals(pixKey.accountHolderName()))
+                && (createdAt == null || !pixKey.createdAt().isBefore(createdAt))
+                && (deactivatedAt == null
+                        || (pixKey.deactivatedAt() != null && !pixKey.deactivatedAt().isBefore(deactivatedAt)));
+    }
+}
@@ -3,7 +3,21 @@ package br.com.paulomoreira.pixkey.application.ports.in;
 import br.com.paulomoreira.pixkey.domain.model.PixKey;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+
+import java.util.function.Consumer;
 
 public interface SearchPixKeysUseCase {
     Page<PixKey> execute(SearchPixKeysQuery query, Pageable pageable);
+
+    Slice<PixKey> execute(SearchPixKeysQuery query, Pageable pageable, CountMode countMode);
+
+    SearchFingerprint fingerprint(SearchPixKeysQuery query);
+
+    // An exact page whose total comes from a fingerprint taken just before.
+    Page<PixKey> execute(SearchPixKeysQuery query, Pageable pageable, SearchFingerprint fingerprint);
+
+    KeysetPage execute(SearchPixKeysQuery query, PixKeyCursor after, int size);
+
+    void export(SearchPixKeysQuery query, Consumer<PixKey> action);
 }
\ No newline at end of file
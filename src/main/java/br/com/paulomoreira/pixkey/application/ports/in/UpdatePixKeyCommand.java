@@ -0,0 +1,23 @@
+package br.com.paulomoreira.pixkey.application.ports.in;
+
+import br.com.paulomoreira.pixkey.domain.model.AccountType;
+import br.com.paulomoreira.pixkey.domain.model.PixKey;
+
+import java.util.UUID;
+
+// The fields an update may change. expectedVersion, when given, must still be the key's version
+// or nothing is changed.
+public record UpdatePixKeyCommand(
+        UUID id,
+        AccountType accountType,
+        Integer branchNumber,
+        Integer accountNumber,
+        String accountHolderName,
+        String accountHolderLastName,
+        Long expectedVersion
+) {
+    public static UpdatePixKeyCommand of(PixKey pixKey, Long expectedVersion) {
+        return new UpdatePixKeyCommand(pixKey.id(), pixKey.accountType(), pixKey.branchNumber(),
+                pixKey.accountNumber(), pixKey.accountHolderName(), pixKey.accountHolderLastName(), expectedVersion);
+    }
+}
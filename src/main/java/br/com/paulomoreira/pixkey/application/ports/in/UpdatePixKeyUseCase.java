@@ -4,5 +4,9 @@ import br.com.paulomoreira.pixkey.domain.model.PixKey;
 import java.util.UUID;
 
 public interface UpdatePixKeyUseCase {
-    PixKey execute(UUID id, PixKey pixKey);
-}
\ No newline at end of file
+    default PixKey execute(UUID id, PixKey pixKey) {
+        return execute(UpdatePixKeyCommand.of(pixKey, null));
+    }
+
+    PixKey execute(UpdatePixKeyCommand command);
+}
@@ -0,0 +1,35 @@
+package br.com.paulomoreira.pixkey.application.ports.out;
+
+public interface AccountKeyCounter {
+
+    // False only when the account is known to be at maxKeys; true reserves a slot for the create.
+    boolean tryAcquire(int branchNumber, int accountNumber, int maxKeys);
+
+    // The database refused a create on this account for the limit.
+    void limitReached(int branchNumber, int accountNumber, int maxKeys);
+
+    void acquire(int branchNumber, int accountNumber);
+
+    void release(int branchNumber, int accountNumber);
+
+    static AccountKeyCounter none() {
+        return new AccountKeyCounter() {
+            @Override
+            public boolean tryAcquire(int branchNumber, int accountNumber, int maxKeys) {
+                return true;
+            }
+
+            @Override
+            public void limitReached(int branchNumber, int accountNumber, int maxKeys) {
+            }
+
+            @Override
+            public void acquire(int branchNumber, int accountNumber) {
+            }
+
+            @Override
+            public void release(int branchNumber, int accountNumber) {
+            }
+        };
+    }
+}
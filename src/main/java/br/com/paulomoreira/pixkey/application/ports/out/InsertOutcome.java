@@ -0,0 +1,7 @@
+package br.com.paulomoreira.pixkey.application.ports.out;
+
+public enum InsertOutcome {
+    INSERTED,
+    DUPLICATE_KEY,
+    LIMIT_EXCEEDED
+}
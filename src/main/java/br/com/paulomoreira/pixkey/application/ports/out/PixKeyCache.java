@@ -0,0 +1,43 @@
+package br.com.paulomoreira.pixkey.application.ports.out;
+
+import br.com.paulomoreira.pixkey.domain.model.PixKey;
+
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Function;
+
+public interface PixKeyCache {
+
+    // The cached key, or whatever loader returns; only found keys are cached.
+    Optional<PixKey> get(UUID id, Function<UUID, Optional<PixKey>> loader);
+
+    // The cached key, if any, without loading it.
+    Optional<PixKey> getIfPresent(UUID id);
+
+    // Drops the key here and on every other instance. Call it once the change is committed.
+    void invalidate(PixKey pixKey);
+
+    static PixKeyCache none() {
+        return none(PixKeyInvalidationChannel.local());
+    }
+
+    // Caches nothing itself, but still passes changes on to the caches listening on the channel.
+    static PixKeyCache none(PixKeyInvalidationChannel channel) {
+        return new PixKeyCache() {
+            @Override
+            public Optional<PixKey> get(UUID id, Function<UUID, Optional<PixKey>> loader) {
+                return loader.apply(id);
+            }
+
+            @Override
+            public Optional<PixKey> getIfPresent(UUID id) {
+                return Optional.empty();
+            }
+
+            @Override
+            public void invalidate(PixKey pixKey) {
+                channel.publish(pixKey.id(), pixKey.keyValue());
+            }
+        };
+    }
+}
@@ -0,0 +1,39 @@
+package br.com.paulomoreira.pixkey.application.ports.out;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+// Broadcasts changed keys, by id and key value, to the caches of every instance. This instance's
+// listeners hear about it before publish returns; other instances shortly after.
+public interface PixKeyInvalidationChannel {
+
+    void publish(UUID id, String keyValue);
+
+    void subscribe(Listener listener);
+
+    interface Listener {
+
+        // keyValue is null when the sender did not include it.
+        void invalidated(UUID id, String keyValue);
+
+        // Messages may have been lost (e.g. the channel reconnected): everything cached is suspect.
+        void invalidatedAll();
+    }
+
+    // Single instance: this JVM's listeners are all there is.
+    static PixKeyInvalidationChannel local() {
+        List<Listener> listeners = new CopyOnWriteArrayList<>();
+        return new PixKeyInvalidationChannel() {
+            @Override
+            public void publish(UUID id, String keyValue) {
+                listeners.forEach(listener -> listener.invalidated(id, keyValue));
+            }
+
+            @Override
+            public void subscribe(Listener listener) {
+                listeners.add(listener);
+            }
+        };
+    }
+}
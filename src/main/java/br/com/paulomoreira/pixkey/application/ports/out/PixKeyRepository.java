@@ -1,27 +1,62 @@
 package br.com.paulomoreira.pixkey.application.ports.out;
 
+import br.com.paulomoreira.pixkey.application.ports.in.CountMode;
+import br.com.paulomoreira.pixkey.application.ports.in.PixKeyCursor;
+import br.com.paulomoreira.pixkey.application.ports.in.SearchFingerprint;
 import br.com.paulomoreira.pixkey.application.ports.in.SearchPixKeysQuery;
+import br.com.paulomoreira.pixkey.application.ports.in.UpdatePixKeyCommand;
 import br.com.paulomoreira.pixkey.domain.model.KeyType;
 import br.com.paulomoreira.pixkey.domain.model.PixKey;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.function.ToIntFunction;
 
 public interface PixKeyRepository {
 
-    PixKey save(PixKey pixKey);
+    InsertOutcome insertIfAllowed(PixKey pixKey, int maxKeys);
+
+    List<InsertOutcome> insertAllIfAllowed(List<PixKey> pixKeys, ToIntFunction<PixKey> maxKeys);
 
     Optional<PixKey> findById(UUID id);
 
+    // In no particular order; ids without a row are left out.
+    List<PixKey> findAllById(Collection<UUID> ids);
+
+    Optional<PixKey> findActiveByKeyValue(String keyValue);
+
+    Optional<Long> findVersionById(UUID id);
+
+    // Single conditional statements: empty means no active key with that id (and expected version,
+    // when one is given) existed when the statement ran, and nothing was changed.
+    Optional<UpdatedPixKey> updateIfActive(UpdatePixKeyCommand command);
+
+    Optional<PixKey> deactivateIfActive(UUID id, LocalDateTime deactivatedAt, Long expectedVersion);
+
     boolean existsByKeyValue(String keyValue);
 
     int countByAccount(int branchNumber, int accountNumber);
 
     Page<PixKey> search(SearchPixKeysQuery query, Pageable pageable);
 
+    Slice<PixKey> search(SearchPixKeysQuery query, Pageable pageable, CountMode countMode);
+
+    // A page whose total the caller already knows, e.g. from fingerprint(): no COUNT is run.
+    Page<PixKey> search(SearchPixKeysQuery query, Pageable pageable, long total);
+
+    SearchFingerprint fingerprint(SearchPixKeysQuery query);
+
+    List<PixKey> searchAfter(SearchPixKeysQuery query, PixKeyCursor after, int limit);
+
+    void forEachMatch(SearchPixKeysQuery query, Consumer<PixKey> action);
+
     Page<PixKey> findByFilters(String tipoChave, Integer branchNumber, Integer accountNumber,
                                String accountHolderName, LocalDateTime createdAt,
                                LocalDateTime deactivatedAt, Pageable pageable);
@@ -0,0 +1,36 @@
+package br.com.paulomoreira.pixkey.application.ports.out;
+
+import br.com.paulomoreira.pixkey.application.ports.in.SearchPixKeysQuery;
+import br.com.paulomoreira.pixkey.domain.model.PixKey;
+import org.springframework.data.domain.Pageable;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+// In-process index over the search filters, kept current by the use cases that write keys. It
+// answers with the ids of one page and the exact total; the rows themselves are read by id.
+public interface PixKeySearchIndex {
+
+    // The key as written: created, updated or deactivated. Older versions than the one indexed are ignored.
+    void indexed(PixKey pixKey);
+
+    // Empty when the index cannot answer this search, e.g. while it is still loading.
+    Optional<IndexedPage> search(SearchPixKeysQuery query, Pageable pageable);
+
+    record IndexedPage(List<UUID> ids, long total) {
+    }
+
+    static PixKeySearchIndex none() {
+        return new PixKeySearchIndex() {
+            @Override
+            public void indexed(PixKey pixKey) {
+            }
+
+            @Override
+            public Optional<IndexedPage> search(SearchPixKeysQuery query, Pageable pageable) {
+                return Optional.empty();
+            }
+        };
+    }
+}
@@ -0,0 +1,18 @@
+package br.com.paulomoreira.pixkey.application.ports.out;
+
+import br.com.paulomoreira.pixkey.domain.model.PixKey;
+
+import java.util.Optional;
+import java.util.function.Function;
+
+// Read-through cache of active keys by value, in front of PixKeyRepository.findActiveByKeyValue.
+// It is kept coherent by the PixKeyInvalidationChannel its implementation listens to, so callers
+// only read through it.
+public interface PixKeyValueCache {
+
+    Optional<PixKey> get(String keyValue, Function<String, Optional<PixKey>> loader);
+
+    static PixKeyValueCache none() {
+        return (keyValue, loader) -> loader.apply(keyValue);
+    }
+}
@@ -0,0 +1,11 @@
+package br.com.paulomoreira.pixkey.application.ports.out;
+
+import br.com.paulomoreira.pixkey.domain.model.PixKey;
+
+// A key as an update left it, with the account it was linked to just before.
+public record UpdatedPixKey(PixKey pixKey, int previousBranchNumber, int previousAccountNumber) {
+
+    public boolean movedAccount() {
+        return pixKey.branchNumber() != previousBranchNumber || pixKey.accountNumber() != previousAccountNumber;
+    }
+}
@@ -0,0 +1,93 @@
+package br.com.paulomoreira.pixkey.application.usecases;
+
+import br.com.paulomoreira.pixkey.application.ports.in.BulkCreatePixKeysUseCase;
+import br.com.paulomoreira.pixkey.application.ports.in.BulkCreateResult;
+import br.com.paulomoreira.pixkey.application.ports.out.AccountKeyCounter;
+import br.com.paulomoreira.pixkey.application.ports.out.InsertOutcome;
+import br.com.paulomoreira.pixkey.application.ports.out.PixKeyRepository;
+import br.com.paulomoreira.pixkey.application.ports.out.PixKeySearchIndex;
+import br.com.paulomoreira.pixkey.domain.exceptions.BusinessException;
+import br.com.paulomoreira.pixkey.domain.exceptions.DuplicateKeyException;
+import br.com.paulomoreira.pixkey.domain.exceptions.KeyLimitExceededException;
+import br.com.paulomoreira.pixkey.domain.model.PixKey;
+import br.com.paulomoreira.pixkey.domain.validation.KeyValidatorRegistry;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+public class BulkCreatePixKeysUseCaseImpl implements BulkCreatePixKeysUseCase {
+
+    private final PixKeyRepository repository;
+    private final KeyValidatorRegistry validators;
+    private final AccountKeyCounter accountKeyCounter;
+    private final PixKeySearchIndex searchIndex;
+    private final int chunkSize;
+
+    public BulkCreatePixKeysUseCaseImpl(PixKeyRepository repository, KeyValidatorRegistry validators,
+                                        AccountKeyCounter accountKeyCounter, PixKeySearchIndex searchIndex,
+                                        int chunkSize) {
+        if (chunkSize <= 0) {
+            throw new IllegalArgumentException("chunkSize must be positive: " + chunkSize);
+        }
+        this.repository = repository;
+        this.validators = validators;
+        this.accountKeyCounter = accountKeyCounter;
+        this.searchIndex = searchIndex;
+        this.chunkSize = chunkSize;
+    }
+
+    @Override
+    public List<BulkCreateResult> execute(List<PixKey> pixKeys) {
+        List<String> validationErrors = pixKeys.parallelStream()
+                .map(this::validationError)
+                .toList();
+
+        BulkCreateResult[] results = new BulkCreateResult[pixKeys.size()];
+        List<Integer> valid = new ArrayList<>(pixKeys.size());
+        for (int i = 0; i < pixKeys.size(); i++) {
+            String error = validationErrors.get(i);
+            if (error != null) {
+                results[i] = BulkCreateResult.rejected(pixKeys.get(i), error);
+            } else {
+                valid.add(i);
+            }
+        }
+
+        for (int from = 0; from < valid.size(); from += chunkSize) {
+            List<Integer> positions = valid.subList(from, Math.min(from + chunkSize, valid.size()));
+            List<PixKey> chunk = positions.stream().map(pixKeys::get).toList();
+            List<InsertOutcome> outcomes = repository.insertAllIfAllowed(chunk, PixKeyRules::maxKeys);
+            for (int i = 0; i < chunk.size(); i++) {
+                results[positions.get(i)] = toResult(chunk.get(i), outcomes.get(i));
+            }
+        }
+        return Arrays.asList(results);
+    }
+
+    private String validationError(PixKey pixKey) {
+        try {
+            PixKeyRules.validate(pixKey, validators);
+            return null;
+        } catch (BusinessException e) {
+            return e.getMessage();
+        }
+    }
+
+    private BulkCreateResult toResult(PixKey pixKey, InsertOutcome outcome) {
+        return switch (outcome) {
+            case INSERTED -> {
+                accountKeyCounter.acquire(pixKey.branchNumber(), pixKey.accountNumber());
+                searchIndex.indexed(pixKey);
+                yield BulkCreateResult.created(pixKey);
+            }
+            case DUPLICATE_KEY -> BulkCreateResult.rejected(pixKey,
+                    new DuplicateKeyException(pixKey.keyValue()).getMessage());
+            case LIMIT_EXCEEDED -> {
+                int maxKeys = PixKeyRules.maxKeys(pixKey);
+                accountKeyCounter.limitReached(pixKey.branchNumber(), pixKey.accountNumber(), maxKeys);
+                yield BulkCreateResult.rejected(pixKey, new KeyLimitExceededException(maxKeys).getMessage());
+            }
+        };
+    }
+}
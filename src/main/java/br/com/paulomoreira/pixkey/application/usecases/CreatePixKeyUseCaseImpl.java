@@ -1,62 +1,64 @@
 package br.com.paulomoreira.pixkey.application.usecases;
 
 import br.com.paulomoreira.pixkey.application.ports.in.CreatePixKeyUseCase;
+import br.com.paulomoreira.pixkey.application.ports.out.AccountKeyCounter;
+import br.com.paulomoreira.pixkey.application.ports.out.InsertOutcome;
 import br.com.paulomoreira.pixkey.application.ports.out.PixKeyRepository;
+import br.com.paulomoreira.pixkey.application.ports.out.PixKeySearchIndex;
 import br.com.paulomoreira.pixkey.domain.exceptions.DuplicateKeyException;
-import br.com.paulomoreira.pixkey.domain.exceptions.InvalidKeyException;
-import br.com.paulomoreira.pixkey.domain.exceptions.InvalidKeyTypeException;
 import br.com.paulomoreira.pixkey.domain.exceptions.KeyLimitExceededException;
-import br.com.paulomoreira.pixkey.domain.model.KeyType;
 import br.com.paulomoreira.pixkey.domain.model.PixKey;
-import br.com.paulomoreira.pixkey.domain.validation.KeyValidator;
+import br.com.paulomoreira.pixkey.domain.validation.KeyValidatorRegistry;
 import org.springframework.stereotype.Service;
 
-import java.util.List;
-
 @Service
 public class CreatePixKeyUseCaseImpl implements CreatePixKeyUseCase {
 
-    private static final int MAX_KEYS_PF = 5;
-    private static final int MAX_KEYS_PJ = 20;
-
     private final PixKeyRepository repository;
-    private final List<KeyValidator> validators;
+    private final KeyValidatorRegistry validators;
+    private final AccountKeyCounter accountKeyCounter;
+    private final PixKeySearchIndex searchIndex;
 
-    public CreatePixKeyUseCaseImpl(PixKeyRepository repository, List<KeyValidator> validators) {
+    public CreatePixKeyUseCaseImpl(PixKeyRepository repository, KeyValidatorRegistry validators,
+                                   AccountKeyCounter accountKeyCounter, PixKeySearchIndex searchIndex) {
         this.repository = repository;
         this.validators = validators;
+        this.accountKeyCounter = accountKeyCounter;
+        this.searchIndex = searchIndex;
     }
 
     @Override
     public PixKey execute(PixKey pixKey) {
-        try {
-            KeyType.valueOf(pixKey.type().name());
-        } catch (IllegalArgumentException e) {
-            throw new InvalidKeyTypeException("Invalid key keyType: " + pixKey.type() + ". Must be one of: CPF, CELULAR, EMAIL, CNPJ, ALEATORIO");
-        }
-
-
-        validators.stream()
-                .filter(v -> v.getType() == pixKey.type())
-                .findFirst()
-                .orElseThrow(() -> new InvalidKeyException("No validator found for key keyType: " + pixKey.type()))
-                .validate(pixKey.keyValue());
+        PixKeyRules.validate(pixKey, validators);
 
-
-        if (pixKey.isLegalPerson() && pixKey.type() == KeyType.CNPJ) {
-            throw new InvalidKeyTypeException("Pessoa física não pode cadastrar chave CNPJ");
+        // No existsByKeyValue pre-check: create_pix_key reports a taken key value in the same round
+        // trip, and only the database sees keys created on other instances.
+        int maxKeys = PixKeyRules.maxKeys(pixKey);
+        if (!accountKeyCounter.tryAcquire(pixKey.branchNumber(), pixKey.accountNumber(), maxKeys)) {
+            throw new KeyLimitExceededException(maxKeys);
         }
 
-        if (repository.existsByKeyValue(pixKey.keyValue())) {
-            throw new DuplicateKeyException(pixKey.keyValue());
+        InsertOutcome outcome;
+        try {
+            outcome = repository.insertIfAllowed(pixKey, maxKeys);
+        } catch (RuntimeException e) {
+            accountKeyCounter.release(pixKey.branchNumber(), pixKey.accountNumber());
+            throw e;
         }
 
-        int keyCount = repository.countByAccount(pixKey.branchNumber(), pixKey.accountNumber());
-        int maxKeys = pixKey.isLegalPerson() ? MAX_KEYS_PF : MAX_KEYS_PJ;
-        if (keyCount >= maxKeys) {
-            throw new KeyLimitExceededException(maxKeys);
+        switch (outcome) {
+            case INSERTED -> {
+                searchIndex.indexed(pixKey);
+                return pixKey;
+            }
+            case DUPLICATE_KEY -> {
+                accountKeyCounter.release(pixKey.branchNumber(), pixKey.accountNumber());
+                throw new DuplicateKeyException(pixKey.keyValue());
+            }
+            default -> {
+                accountKeyCounter.limitReached(pixKey.branchNumber(), pixKey.accountNumber(), maxKeys);
+                throw new KeyLimitExceededException(maxKeys);
+            }
         }
-
-        return repository.save(pixKey);
     }
 }
\ No newline at end of file
@@ -1,31 +1,40 @@
 package br.com.paulomoreira.pixkey.application.usecases;
 
 import br.com.paulomoreira.pixkey.application.ports.in.DeactivatePixKeyUseCase;
+import br.com.paulomoreira.pixkey.application.ports.out.AccountKeyCounter;
+import br.com.paulomoreira.pixkey.application.ports.out.PixKeyCache;
 import br.com.paulomoreira.pixkey.application.ports.out.PixKeyRepository;
-import br.com.paulomoreira.pixkey.domain.exceptions.KeyAlreadyInactiveException;
-import br.com.paulomoreira.pixkey.domain.exceptions.KeyNotFoundException;
+import br.com.paulomoreira.pixkey.application.ports.out.PixKeySearchIndex;
 import br.com.paulomoreira.pixkey.domain.model.PixKey;
 import org.springframework.stereotype.Service;
 
+import java.time.LocalDateTime;
 import java.util.UUID;
 
 @Service
 public class DeactivatePixKeyUseCaseImpl implements DeactivatePixKeyUseCase {
 
     private final PixKeyRepository repository;
+    private final AccountKeyCounter accountKeyCounter;
+    private final PixKeyCache cache;
+    private final PixKeySearchIndex searchIndex;
 
-    public DeactivatePixKeyUseCaseImpl(PixKeyRepository repository) {
+    public DeactivatePixKeyUseCaseImpl(PixKeyRepository repository, AccountKeyCounter accountKeyCounter,
+                                       PixKeyCache cache, PixKeySearchIndex searchIndex) {
         this.repository = repository;
+        this.accountKeyCounter = accountKeyCounter;
+        this.cache = cache;
+        this.searchIndex = searchIndex;
     }
 
+    // Of two racing deactivations only one changes the row, so the account slot is released once.
     @Override
-    public PixKey execute(UUID id) {
-        PixKey pixKey = repository.findById(id)
-                .orElseThrow(() -> new KeyNotFoundException(id));
-        if (!pixKey.active()) {
-            throw new KeyAlreadyInactiveException(id);
-        }
-        pixKey = pixKey.withActive(false);
-        return repository.save(pixKey);
+    public PixKey execute(UUID id, Long expectedVersion) {
+        PixKey deactivatedKey = repository.deactivateIfActive(id, LocalDateTime.now(), expectedVersion)
+                .orElseThrow(() -> PixKeyRules.writeRejected(repository, id));
+        searchIndex.indexed(deactivatedKey);
+        cache.invalidate(deactivatedKey);
+        accountKeyCounter.release(deactivatedKey.branchNumber(), deactivatedKey.accountNumber());
+        return deactivatedKey;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,27 @@
+package br.com.paulomoreira.pixkey.application.usecases;
+
+import br.com.paulomoreira.pixkey.application.ports.in.GetPixKeyByValueUseCase;
+import br.com.paulomoreira.pixkey.application.ports.out.PixKeyRepository;
+import br.com.paulomoreira.pixkey.application.ports.out.PixKeyValueCache;
+import br.com.paulomoreira.pixkey.domain.model.PixKey;
+import org.springframework.stereotype.Service;
+
+import java.util.Optional;
+
+// Resolves a key value to its active key, the lookup a payment makes before anything else.
+@Service
+public class GetPixKeyByValueUseCaseImpl implements GetPixKeyByValueUseCase {
+
+    private final PixKeyRepository repository;
+    private final PixKeyValueCache cache;
+
+    public GetPixKeyByValueUseCaseImpl(PixKeyRepository repository, PixKeyValueCache cache) {
+        this.repository = repository;
+        this.cache = cache;
+    }
+
+    @Override
+    public Optional<PixKey> execute(String keyValue) {
+        return cache.get(keyValue, repository::findActiveByKeyValue);
+    }
+}
@@ -1,6 +1,7 @@
 package br.com.paulomoreira.pixkey.application.usecases;
 
 import br.com.paulomoreira.pixkey.application.ports.in.GetPixKeyUseCase;
+import br.com.paulomoreira.pixkey.application.ports.out.PixKeyCache;
 import br.com.paulomoreira.pixkey.application.ports.out.PixKeyRepository;
 import br.com.paulomoreira.pixkey.domain.model.PixKey;
 import org.springframework.stereotype.Service;
@@ -12,13 +13,24 @@ import java.util.UUID;
 public class GetPixKeyUseCaseImpl implements GetPixKeyUseCase {
 
     private final PixKeyRepository repository;
+    private final PixKeyCache cache;
 
-    public GetPixKeyUseCaseImpl(PixKeyRepository repository) {
+    public GetPixKeyUseCaseImpl(PixKeyRepository repository, PixKeyCache cache) {
         this.repository = repository;
+        this.cache = cache;
     }
 
     @Override
     public Optional<PixKey> execute(UUID id) {
-        return repository.findById(id);
+        return cache.get(id, repository::findById);
+    }
+
+    // For conditional requests: a cached key answers without the database, otherwise only the
+    // version column is read.
+    @Override
+    public Optional<Long> currentVersion(UUID id) {
+        return cache.getIfPresent(id)
+                .map(PixKey::version)
+                .or(() -> repository.findVersionById(id));
     }
 }
\ No newline at end of file
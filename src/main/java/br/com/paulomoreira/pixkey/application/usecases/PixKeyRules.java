@@ -0,0 +1,41 @@
+package br.com.paulomoreira.pixkey.application.usecases;
+
+import br.com.paulomoreira.pixkey.application.ports.out.PixKeyRepository;
+import br.com.paulomoreira.pixkey.domain.exceptions.BusinessException;
+import br.com.paulomoreira.pixkey.domain.exceptions.InvalidKeyTypeException;
+import br.com.paulomoreira.pixkey.domain.exceptions.KeyAlreadyInactiveException;
+import br.com.paulomoreira.pixkey.domain.exceptions.KeyNotFoundException;
+import br.com.paulomoreira.pixkey.domain.exceptions.KeyVersionMismatchException;
+import br.com.paulomoreira.pixkey.domain.model.KeyType;
+import br.com.paulomoreira.pixkey.domain.model.PixKey;
+import br.com.paulomoreira.pixkey.domain.validation.KeyValidatorRegistry;
+
+import java.util.UUID;
+
+final class PixKeyRules {
+
+    private static final int MAX_KEYS_PF = 5;
+    private static final int MAX_KEYS_PJ = 20;
+
+    private PixKeyRules() {
+    }
+
+    static void validate(PixKey pixKey, KeyValidatorRegistry validators) {
+        validators.validate(pixKey.type(), pixKey.keyValue());
+
+        if (pixKey.isLegalPerson() && pixKey.type() == KeyType.CNPJ) {
+            throw new InvalidKeyTypeException("Pessoa física não pode cadastrar chave CNPJ");
+        }
+    }
+
+    static int maxKeys(PixKey pixKey) {
+        return pixKey.isLegalPerson() ? MAX_KEYS_PF : MAX_KEYS_PJ;
+    }
+
+    // Only read once a conditional write has changed nothing, to tell the caller why: the key is
+    // missing, already inactive, or active at another version than the expected one.
+    static BusinessException writeRejected(PixKeyRepository repository, UUID id) {
+        PixKey current = repository.findById(id).orElseThrow(() -> new KeyNotFoundException(id));
+        return current.active() ? new KeyVersionMismatchException(id) : new KeyAlreadyInactiveException(id);
+    }
+}
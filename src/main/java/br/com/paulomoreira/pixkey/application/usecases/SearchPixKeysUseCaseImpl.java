@@ -1,26 +1,132 @@
 package br.com.paulomoreira.pixkey.application.usecases;
 
+import br.com.paulomoreira.pixkey.application.ports.in.CountMode;
+import br.com.paulomoreira.pixkey.application.ports.in.KeysetPage;
+import br.com.paulomoreira.pixkey.application.ports.in.PixKeyCursor;
+import br.com.paulomoreira.pixkey.application.ports.in.SearchFingerprint;
 import br.com.paulomoreira.pixkey.application.ports.in.SearchPixKeysQuery;
 import br.com.paulomoreira.pixkey.application.ports.in.SearchPixKeysUseCase;
 import br.com.paulomoreira.pixkey.application.ports.out.PixKeyRepository;
+import br.com.paulomoreira.pixkey.application.ports.out.PixKeySearchIndex;
+import br.com.paulomoreira.pixkey.application.ports.out.PixKeySearchIndex.IndexedPage;
 import br.com.paulomoreira.pixkey.domain.exceptions.InvalidFilterCombinationException;
 import br.com.paulomoreira.pixkey.domain.model.KeyType;
 import br.com.paulomoreira.pixkey.domain.model.PixKey;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Consumer;
+
 @Service
 public class SearchPixKeysUseCaseImpl implements SearchPixKeysUseCase {
 
+    static final int MAX_KEYSET_PAGE_SIZE = 1000;
+
     private final PixKeyRepository repository;
+    private final PixKeySearchIndex searchIndex;
 
-    public SearchPixKeysUseCaseImpl(PixKeyRepository repository) {
+    public SearchPixKeysUseCaseImpl(PixKeyRepository repository, PixKeySearchIndex searchIndex) {
         this.repository = repository;
+        this.searchIndex = searchIndex;
     }
 
     @Override
     public Page<PixKey> execute(SearchPixKeysQuery query, Pageable pageable) {
+        validate(query);
+        Optional<IndexedPage> indexed = searchIndex.search(query, pageable);
+        Optional<List<PixKey>> content = indexed.flatMap(page -> rows(page, query));
+        if (content.isEmpty()) {
+            return repository.search(query, pageable);
+        }
+        return new PageImpl<>(content.get(), pageable, indexed.get().total());
+    }
+
+    @Override
+    public Slice<PixKey> execute(SearchPixKeysQuery query, Pageable pageable, CountMode countMode) {
+        validate(query);
+        Optional<IndexedPage> indexed = searchIndex.search(query, pageable);
+        Optional<List<PixKey>> content = indexed.flatMap(page -> rows(page, query));
+        if (content.isEmpty()) {
+            return repository.search(query, pageable, countMode);
+        }
+        if (countMode == CountMode.NONE) {
+            return new SliceImpl<>(content.get(), pageable, pageable.getOffset() + pageable.getPageSize() < indexed.get().total());
+        }
+        return new PageImpl<>(content.get(), pageable, indexed.get().total());
+    }
+
+    @Override
+    public SearchFingerprint fingerprint(SearchPixKeysQuery query) {
+        validate(query);
+        return repository.fingerprint(query);
+    }
+
+    @Override
+    public Page<PixKey> execute(SearchPixKeysQuery query, Pageable pageable, SearchFingerprint fingerprint) {
+        validate(query);
+        Optional<List<PixKey>> content = searchIndex.search(query, pageable).flatMap(page -> rows(page, query));
+        if (content.isEmpty()) {
+            return repository.search(query, pageable, fingerprint.total());
+        }
+        return new PageImpl<>(content.get(), pageable, fingerprint.total());
+    }
+
+    // Fetches one row past the page so the caller only gets a cursor when there really is a next page.
+    @Override
+    public KeysetPage execute(SearchPixKeysQuery query, PixKeyCursor after, int size) {
+        validate(query);
+        validateKeysetSize(size);
+        return KeysetPage.of(repository.searchAfter(query, after, size + 1), size);
+    }
+
+    @Override
+    public void export(SearchPixKeysQuery query, Consumer<PixKey> action) {
+        validate(query);
+        repository.forEachMatch(query, action);
+    }
+
+    // The rows come back in no particular order and are put back in the index's. A row another
+    // instance changed since this one indexed it may no longer match, and then neither the page nor
+    // the total can be trusted: the changed rows are handed back to the index and the caller asks the
+    // database instead.
+    private Optional<List<PixKey>> rows(IndexedPage indexed, SearchPixKeysQuery query) {
+        Map<UUID, PixKey> byId = new HashMap<>();
+        for (PixKey pixKey : repository.findAllById(indexed.ids())) {
+            byId.put(pixKey.id(), pixKey);
+        }
+        List<PixKey> rows = new ArrayList<>(indexed.ids().size());
+        boolean stale = false;
+        for (UUID id : indexed.ids()) {
+            PixKey pixKey = byId.get(id);
+            if (pixKey == null) {
+                stale = true;
+            } else if (!query.matches(pixKey)) {
+                searchIndex.indexed(pixKey);
+                stale = true;
+            } else {
+                rows.add(pixKey);
+            }
+        }
+        return stale ? Optional.empty() : Optional.of(rows);
+    }
+
+    static void validateKeysetSize(int size) {
+        if (size < 1 || size > MAX_KEYSET_PAGE_SIZE) {
+            throw new InvalidFilterCombinationException("size must be between 1 and " + MAX_KEYSET_PAGE_SIZE);
+        }
+    }
+
+    static void validate(SearchPixKeysQuery query) {
 
         if (query.createdAt() != null && query.deactivatedAt() != null) {
             throw new InvalidFilterCombinationException("Cannot combine dataInclusao and dataInativacao filters");
@@ -40,7 +146,5 @@ public class SearchPixKeysUseCaseImpl implements SearchPixKeysUseCase {
                 throw new InvalidFilterCombinationException("Invalid tipoChave: " + query.keyType());
             }
         }
-
-        return repository.search(query, pageable);
     }
 }
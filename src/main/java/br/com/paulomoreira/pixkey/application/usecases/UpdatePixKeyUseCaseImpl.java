@@ -1,23 +1,43 @@
 package br.com.paulomoreira.pixkey.application.usecases;
 
+import br.com.paulomoreira.pixkey.application.ports.in.UpdatePixKeyCommand;
 import br.com.paulomoreira.pixkey.application.ports.in.UpdatePixKeyUseCase;
+import br.com.paulomoreira.pixkey.application.ports.out.AccountKeyCounter;
+import br.com.paulomoreira.pixkey.application.ports.out.PixKeyCache;
 import br.com.paulomoreira.pixkey.application.ports.out.PixKeyRepository;
+import br.com.paulomoreira.pixkey.application.ports.out.PixKeySearchIndex;
+import br.com.paulomoreira.pixkey.application.ports.out.UpdatedPixKey;
 import br.com.paulomoreira.pixkey.domain.model.PixKey;
 import org.springframework.stereotype.Service;
 
-import java.util.UUID;
-
 @Service
 public class UpdatePixKeyUseCaseImpl implements UpdatePixKeyUseCase {
 
     private final PixKeyRepository repository;
+    private final AccountKeyCounter accountKeyCounter;
+    private final PixKeyCache cache;
+    private final PixKeySearchIndex searchIndex;
 
-    public UpdatePixKeyUseCaseImpl(PixKeyRepository repository) {
+    public UpdatePixKeyUseCaseImpl(PixKeyRepository repository, AccountKeyCounter accountKeyCounter,
+                                   PixKeyCache cache, PixKeySearchIndex searchIndex) {
         this.repository = repository;
+        this.accountKeyCounter = accountKeyCounter;
+        this.cache = cache;
+        this.searchIndex = searchIndex;
     }
 
+    // One statement on the happy path; it only changes a key that is still active, so one
+    // deactivated meanwhile never comes back.
     @Override
-    public PixKey execute(UUID id, PixKey pixKey) {
-        return repository.save(pixKey);
+    public PixKey execute(UpdatePixKeyCommand command) {
+        UpdatedPixKey updated = repository.updateIfActive(command)
+                .orElseThrow(() -> PixKeyRules.writeRejected(repository, command.id()));
+        searchIndex.indexed(updated.pixKey());
+        cache.invalidate(updated.pixKey());
+        if (updated.movedAccount()) {
+            accountKeyCounter.release(updated.previousBranchNumber(), updated.previousAccountNumber());
+            accountKeyCounter.acquire(updated.pixKey().branchNumber(), updated.pixKey().accountNumber());
+        }
+        return updated.pixKey();
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,7 @@
+package br.com.paulomoreira.pixkey.domain.exceptions;
+
+public class BatchTooLargeException extends BusinessException {
+    public BatchTooLargeException(int maxItems) {
+        super("Batch exceeds the maximum of " + maxItems + " keys");
+    }
+}
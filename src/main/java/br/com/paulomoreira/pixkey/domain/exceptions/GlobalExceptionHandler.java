@@ -1,5 +1,7 @@
 package br.com.paulomoreira.pixkey.domain.exceptions;
 
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.http.HttpStatus;
@@ -9,14 +11,27 @@ import org.springframework.validation.FieldError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.support.WebExchangeBindException;
+import org.springframework.web.server.ServerWebInputException;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 @ControllerAdvice
 public class GlobalExceptionHandler {
 
     private static final Logger logger = LoggerFactory.getLogger(GlobalExceptionHandler.class);
 
+    private final MeterRegistry meterRegistry;
+    private final Map<Class<?>, Counter> businessExceptionCounters = new ConcurrentHashMap<>();
+
+    public GlobalExceptionHandler(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
     @ExceptionHandler(DuplicateKeyException.class)
     public ResponseEntity<ErrorResponse> handleDuplicateKeyException(DuplicateKeyException ex) {
+        count(ex);
         logger.warn("Duplicate key detected: {}", ex.getMessage());
         ErrorResponse errorResponse = new ErrorResponse(
                 HttpStatus.UNPROCESSABLE_ENTITY.value(),
@@ -28,6 +43,7 @@ public class GlobalExceptionHandler {
 
     @ExceptionHandler(InvalidKeyException.class)
     public ResponseEntity<ErrorResponse> handleInvalidKeyException(InvalidKeyException ex) {
+        count(ex);
         logger.warn("Invalid Key: {}", ex.getMessage());
         ErrorResponse errorResponse = new ErrorResponse(
                 HttpStatus.UNPROCESSABLE_ENTITY.value(),
@@ -39,6 +55,7 @@ public class GlobalExceptionHandler {
 
     @ExceptionHandler(InvalidFilterCombinationException.class)
     public ResponseEntity<ErrorResponse> handleInvalidFilterCombinationException(InvalidFilterCombinationException ex) {
+        count(ex);
         logger.warn("Invalid filter combination: {}", ex.getMessage());
         ErrorResponse errorResponse = new ErrorResponse(
                 HttpStatus.BAD_REQUEST.value(),
@@ -48,8 +65,21 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(errorResponse, HttpStatus.BAD_REQUEST);
     }
 
+    @ExceptionHandler(BatchTooLargeException.class)
+    public ResponseEntity<ErrorResponse> handleBatchTooLargeException(BatchTooLargeException ex) {
+        count(ex);
+        logger.warn("Batch too large: {}", ex.getMessage());
+        ErrorResponse errorResponse = new ErrorResponse(
+                HttpStatus.PAYLOAD_TOO_LARGE.value(),
+                "Payload Too Large",
+                ex.getMessage()
+        );
+        return new ResponseEntity<>(errorResponse, HttpStatus.PAYLOAD_TOO_LARGE);
+    }
+
     @ExceptionHandler(KeyAlreadyInactiveException.class)
     public ResponseEntity<ErrorResponse> handleKeyAlreadyInactiveException(KeyAlreadyInactiveException ex) {
+        count(ex);
         logger.warn("Key already inactive: {}", ex.getMessage());
         ErrorResponse errorResponse = new ErrorResponse(
                 HttpStatus.UNPROCESSABLE_ENTITY.value(),
@@ -61,6 +91,7 @@ public class GlobalExceptionHandler {
 
     @ExceptionHandler(KeyLimitExceededException.class)
     public ResponseEntity<ErrorResponse> handleKeyLimitExceededException(KeyLimitExceededException ex) {
+        count(ex);
         logger.warn("Key limit exceeded: {}", ex.getMessage());
         ErrorResponse errorResponse = new ErrorResponse(
                 HttpStatus.UNPROCESSABLE_ENTITY.value(),
@@ -72,6 +103,7 @@ public class GlobalExceptionHandler {
 
     @ExceptionHandler(KeyNotFoundException.class)
     public ResponseEntity<ErrorResponse> handleKeyNotFoundException(KeyNotFoundException ex) {
+        count(ex);
         logger.warn("Key not found: {}", ex.getMessage());
         ErrorResponse errorResponse = new ErrorResponse(
                 HttpStatus.NOT_FOUND.value(),
@@ -82,6 +114,18 @@ public class GlobalExceptionHandler {
     }
 
 
+    @ExceptionHandler(KeyVersionMismatchException.class)
+    public ResponseEntity<ErrorResponse> handleKeyVersionMismatchException(KeyVersionMismatchException ex) {
+        count(ex);
+        logger.warn("Key version mismatch: {}", ex.getMessage());
+        ErrorResponse errorResponse = new ErrorResponse(
+                HttpStatus.PRECONDITION_FAILED.value(),
+                "Precondition Failed",
+                ex.getMessage()
+        );
+        return new ResponseEntity<>(errorResponse, HttpStatus.PRECONDITION_FAILED);
+    }
+
     @ExceptionHandler(Exception.class)
     public ResponseEntity<ErrorResponse> handleGenericException(Exception ex) {
         logger.error("Unexpected error occurred: {}", ex.getMessage(), ex);
@@ -106,6 +150,7 @@ public class GlobalExceptionHandler {
 
     @ExceptionHandler(InvalidKeyTypeException.class)
     public ResponseEntity<ErrorResponse> handleInvalidKeyTypeException(InvalidKeyTypeException ex) {
+        count(ex);
         logger.warn("Invalid key keyType: {}", ex.getMessage());
         ErrorResponse errorResponse = new ErrorResponse(
                 HttpStatus.BAD_REQUEST.value(),
@@ -129,7 +174,28 @@ public class GlobalExceptionHandler {
 
     @ExceptionHandler(MethodArgumentNotValidException.class)
     public ResponseEntity<ErrorResponse> handleValidationExceptions(MethodArgumentNotValidException ex) {
-        FieldError fieldError = ex.getBindingResult().getFieldError();
+        return validationError(ex.getBindingResult().getFieldError());
+    }
+
+    // The reactive stack reports @Valid failures and unreadable input with its own exception types.
+    @ExceptionHandler(WebExchangeBindException.class)
+    public ResponseEntity<ErrorResponse> handleWebExchangeBindException(WebExchangeBindException ex) {
+        return validationError(ex.getFieldError());
+    }
+
+    @ExceptionHandler(ServerWebInputException.class)
+    public ResponseEntity<ErrorResponse> handleServerWebInputException(ServerWebInputException ex) {
+        logger.warn("Invalid input data: {}", ex.getMessage());
+        String message = ex.getReason() != null ? ex.getReason() : "Invalid input data";
+        ErrorResponse errorResponse = new ErrorResponse(
+                HttpStatus.BAD_REQUEST.value(),
+                "Bad Request",
+                "Failed to parse request: " + message
+        );
+        return new ResponseEntity<>(errorResponse, HttpStatus.BAD_REQUEST);
+    }
+
+    private ResponseEntity<ErrorResponse> validationError(FieldError fieldError) {
         String errorMessage = fieldError != null ? fieldError.getDefaultMessage() : "Erro de validação";
         String fieldName = fieldError != null ? fieldError.getField() : "desconhecido";
         String details = String.format("Campo '%s' inválido: %s", fieldName, fieldError.getRejectedValue());
@@ -142,4 +208,11 @@ public class GlobalExceptionHandler {
 
         return new ResponseEntity<>(errorResponse, HttpStatus.BAD_REQUEST);
     }
-}
\ No newline at end of file
+
+    // pixkey.business.exceptions, one counter per BusinessException subtype.
+    private void count(BusinessException ex) {
+        businessExceptionCounters.computeIfAbsent(ex.getClass(), type -> Counter.builder("pixkey.business.exceptions")
+                .tag("exception", type.getSimpleName())
+                .register(meterRegistry)).increment();
+    }
+}
@@ -6,4 +6,8 @@ public class KeyNotFoundException extends BusinessException {
     public KeyNotFoundException(UUID id) {
         super("Key not found: " + id);
     }
-}
\ No newline at end of file
+
+    public KeyNotFoundException(String keyValue) {
+        super("Active key not found for value: " + keyValue);
+    }
+}
@@ -0,0 +1,9 @@
+package br.com.paulomoreira.pixkey.domain.exceptions;
+
+import java.util.UUID;
+
+public class KeyVersionMismatchException extends BusinessException {
+    public KeyVersionMismatchException(UUID id) {
+        super("Key has been modified since the given version: " + id);
+    }
+}
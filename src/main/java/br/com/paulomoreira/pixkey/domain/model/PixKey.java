@@ -16,12 +16,20 @@ public record PixKey(
         LocalDateTime createdAt,
         boolean active,
         LocalDateTime deactivatedAt,
-        boolean isLegalPerson
+        boolean isLegalPerson,
+        long version
 ) {
 
+    public PixKey(UUID id, KeyType type, String keyValue, AccountType accountType, Integer branchNumber,
+                  Integer accountNumber, String accountHolderName, String accountHolderLastName,
+                  LocalDateTime createdAt, boolean active, LocalDateTime deactivatedAt, boolean isLegalPerson) {
+        this(id, type, keyValue, accountType, branchNumber, accountNumber, accountHolderName,
+                accountHolderLastName, createdAt, active, deactivatedAt, isLegalPerson, 0);
+    }
+
     public PixKey {
         if (id == null) {
-            id = UUID.randomUUID();
+            id = PixKeyIds.next();
         }
         if (createdAt == null) {
             createdAt = LocalDateTime.now();
@@ -37,6 +45,6 @@ public record PixKey(
         }
         LocalDateTime newDeactivatedAt = active ? null : LocalDateTime.now();
         return new PixKey(id, type, keyValue, accountType, branchNumber, accountNumber,
-                accountHolderName, accountHolderLastName, createdAt, active, newDeactivatedAt, isLegalPerson);
+                accountHolderName, accountHolderLastName, createdAt, active, newDeactivatedAt, isLegalPerson, version);
     }
 }
\ No newline at end of file
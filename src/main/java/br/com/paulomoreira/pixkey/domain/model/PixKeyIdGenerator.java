@@ -0,0 +1,13 @@
+package br.com.paulomoreira.pixkey.domain.model;
+
+import java.util.UUID;
+
+public interface PixKeyIdGenerator {
+
+    UUID next();
+
+    // Version 4: 122 bits from SecureRandom, scattered across the primary key index.
+    static PixKeyIdGenerator random() {
+        return UUID::randomUUID;
+    }
+}
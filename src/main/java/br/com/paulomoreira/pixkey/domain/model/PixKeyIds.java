@@ -0,0 +1,23 @@
+package br.com.paulomoreira.pixkey.domain.model;
+
+import java.util.Objects;
+import java.util.UUID;
+
+// Where PixKey takes the id of a key built without one. Time-ordered unless the application
+// installs another generator at startup (pixkey.id-generator). Ids already stored keep working
+// whatever their version: they are only ever compared and looked up, never decoded.
+public final class PixKeyIds {
+
+    private static volatile PixKeyIdGenerator generator = new UuidV7Generator();
+
+    private PixKeyIds() {
+    }
+
+    public static UUID next() {
+        return generator.next();
+    }
+
+    public static void use(PixKeyIdGenerator generator) {
+        PixKeyIds.generator = Objects.requireNonNull(generator, "generator cannot be null");
+    }
+}
@@ -0,0 +1,34 @@
+package br.com.paulomoreira.pixkey.domain.model;
+
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.LongSupplier;
+
+// RFC 9562 version 7: a 48-bit Unix millisecond timestamp first, so ids created close together
+// sort close together and inserts land on the right edge of the primary key index instead of on
+// random pages. The remaining 74 bits come from ThreadLocalRandom, which threads never share:
+// ids identify keys, they are not secrets, and nothing in the API relies on them being unguessable.
+public final class UuidV7Generator implements PixKeyIdGenerator {
+
+    private final LongSupplier clock;
+
+    public UuidV7Generator() {
+        this(System::currentTimeMillis);
+    }
+
+    UuidV7Generator(LongSupplier clock) {
+        this.clock = clock;
+    }
+
+    @Override
+    public UUID next() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long mostSigBits = (clock.getAsLong() << 16) | 0x7000L | (random.nextInt() & 0x0FFFL);
+        long leastSigBits = (random.nextLong() & 0x3FFFFFFFFFFFFFFFL) | 0x8000000000000000L;
+        return new UUID(mostSigBits, leastSigBits);
+    }
+
+    static long timestampMillis(UUID uuid) {
+        return uuid.getMostSignificantBits() >>> 16;
+    }
+}
@@ -2,20 +2,29 @@ package br.com.paulomoreira.pixkey.domain.utils;
 
 public class CpfValidator {
     public static boolean isValid(String cpf) {
-        if (cpf == null || cpf.length() != 11 || !cpf.matches("\\d+")) {
+        if (cpf == null || cpf.length() != 11) {
             return false;
         }
-        int[] digits = cpf.chars().map(Character::getNumericValue).toArray();
-        return validateDigit(digits, 10, 9) && validateDigit(digits, 11, 10);
+        // Both check digit sums are accumulated in the same pass that checks every char is a digit.
+        int sum1 = 0;
+        int sum2 = 0;
+        for (int i = 0; i < 11; i++) {
+            int digit = cpf.charAt(i) - '0';
+            if (digit < 0 || digit > 9) {
+                return false;
+            }
+            if (i < 9) {
+                sum1 += digit * (10 - i);
+            }
+            if (i < 10) {
+                sum2 += digit * (11 - i);
+            }
+        }
+        return cpf.charAt(9) - '0' == checkDigit(sum1) && cpf.charAt(10) - '0' == checkDigit(sum2);
     }
 
-    private static boolean validateDigit(int[] digits, int weight, int length) {
-        int sum = 0;
-        for (int i = 0; i < length; i++) {
-            sum += digits[i] * (weight - i);
-        }
+    private static int checkDigit(int sum) {
         int remainder = (sum * 10) % 11;
-        int expectedDigit = (remainder == 10 || remainder == 11) ? 0 : remainder;
-        return digits[length] == expectedDigit;
+        return remainder == 10 ? 0 : remainder;
     }
-}
\ No newline at end of file
+}
@@ -11,8 +11,20 @@ public class AleatorioValidator implements KeyValidator {
 
     @Override
     public void validate(String keyValue) {
-        if (keyValue == null || keyValue.length() != 36 || !keyValue.matches("[0-9a-fA-F]{8}-[0-9a-fA-F]{4}-[0-9a-fA-F]{4}-[0-9a-fA-F]{4}-[0-9a-fA-F]{12}")) {
+        if (keyValue == null || keyValue.length() != 36 || !isUuid(keyValue)) {
             throw new InvalidKeyException("Aleatorio key must be a valid UUID: " + keyValue);
         }
     }
-}
\ No newline at end of file
+
+    // 8-4-4-4-12 hex digits, hyphens at fixed positions.
+    private static boolean isUuid(String value) {
+        for (int i = 0; i < 36; i++) {
+            char c = value.charAt(i);
+            boolean hyphen = i == 8 || i == 13 || i == 18 || i == 23;
+            if (hyphen ? c != '-' : !KeyChars.isHexDigit(c)) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -10,27 +10,22 @@ public class CelularValidator implements KeyValidator {
             throw new InvalidKeyException("Celular key must start with '+'");
         }
 
-        String numericPart = keyValue.substring(1);
-        if (!numericPart.matches("\\d+")) {
+        int length = keyValue.length();
+        if (length == 1 || !KeyChars.allDigits(keyValue, 1, length)) {
             throw new InvalidKeyException("Celular key must contain only numbers after '+'");
         }
 
-        if (numericPart.length() < 12 || numericPart.length() > 13) {
+        int digits = length - 1;
+        if (digits < 12 || digits > 13) {
             throw new InvalidKeyException("Celular key must have 13-14 digits (country code + DDD + number)");
         }
 
-        String countryCode = numericPart.substring(0, 2);
-        if (!countryCode.equals("55")) {
+        if (keyValue.charAt(1) != '5' || keyValue.charAt(2) != '5') {
             throw new InvalidKeyException("Celular key must have country code '+55' for Brazil");
         }
 
-        String ddd = numericPart.substring(2, 4);
-        if (ddd.length() != 2) {
-            throw new InvalidKeyException("Celular key must have a 2-digit DDD");
-        }
-
-        String number = numericPart.substring(4);
-        if (number.length() != 9) {
+        // Country code and DDD take 4 digits, so only 13 digits leave the 9 the number needs.
+        if (digits - 4 != 9) {
             throw new InvalidKeyException("Celular key must have exactly 9 digits for the number");
         }
     }
@@ -39,4 +34,4 @@ public class CelularValidator implements KeyValidator {
     public KeyType getType() {
         return KeyType.CELULAR;
     }
-}
\ No newline at end of file
+}
@@ -11,27 +11,26 @@ public class CnpjValidator implements KeyValidator {
 
     @Override
     public void validate(String keyValue) {
-        if (keyValue == null || keyValue.length() != 14 || !keyValue.matches("\\d+")) {
+        if (keyValue == null || keyValue.length() != 14 || !KeyChars.allDigits(keyValue, 0, 14)) {
             throw new InvalidKeyException("CNPJ must be 14 digits: " + keyValue);
         }
-        int[] digits = keyValue.chars().map(Character::getNumericValue).toArray();
-        if (!validateCnpj(digits)) {
+        if (!validateCnpj(keyValue)) {
             throw new InvalidKeyException("Invalid CNPJ: " + keyValue);
         }
     }
 
-    private boolean validateCnpj(int[] digits) {
-        int[] weights1 = {5, 4, 3, 2, 9, 8, 7, 6, 5, 4, 3, 2};
-        int[] weights2 = {6, 5, 4, 3, 2, 9, 8, 7, 6, 5, 4, 3, 2};
-        int sum1 = 0, sum2 = 0;
+    // Weights run 5..2 then 9..2 for the first check digit and 6..2 then 9..2 for the second.
+    private boolean validateCnpj(String cnpj) {
+        int sum1 = 0;
+        int sum2 = 0;
         for (int i = 0; i < 12; i++) {
-            sum1 += digits[i] * weights1[i];
+            int digit = cnpj.charAt(i) - '0';
+            sum1 += digit * (i < 4 ? 5 - i : 13 - i);
+            sum2 += digit * (i < 5 ? 6 - i : 14 - i);
         }
         int digit1 = (sum1 % 11 < 2) ? 0 : 11 - (sum1 % 11);
-        for (int i = 0; i < 13; i++) {
-            sum2 += (i < 12 ? digits[i] : digit1) * weights2[i];
-        }
+        sum2 += digit1 * 2;
         int digit2 = (sum2 % 11 < 2) ? 0 : 11 - (sum2 % 11);
-        return digits[12] == digit1 && digits[13] == digit2;
+        return cnpj.charAt(12) - '0' == digit1 && cnpj.charAt(13) - '0' == digit2;
     }
-}
\ No newline at end of file
+}
@@ -14,11 +14,43 @@ public class EmailValidator implements KeyValidator {
         if (keyValue == null || keyValue.isBlank()) {
             throw new InvalidKeyException("Email key cannot be null or empty");
         }
-        if (!keyValue.contains("@") || keyValue.length() > 77) {
+        if (keyValue.indexOf('@') < 0 || keyValue.length() > 77) {
             throw new InvalidKeyException("Email key must contain '@' and not exceed 77 characters");
         }
-        if (!keyValue.matches("^[\\w.-]+@[\\w.-]+\\.[a-zA-Z]{2,}$")) {
+        if (!isValidFormat(keyValue)) {
             throw new InvalidKeyException("Email key must follow a valid email format");
         }
     }
-}
\ No newline at end of file
+
+    // Accepts the same strings as ^[\w.-]+@[\w.-]+\.[a-zA-Z]{2,}$ (ASCII \w): exactly one '@' after a
+    // non-empty local part, and a domain whose last dot has at least one char before it and only
+    // letters, two or more, after it.
+    private static boolean isValidFormat(String value) {
+        int at = -1;
+        int lastDot = -1;
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '@') {
+                if (at >= 0) {
+                    return false;
+                }
+                at = i;
+            } else if (c == '.') {
+                if (at >= 0) {
+                    lastDot = i;
+                }
+            } else if (!KeyChars.isWordChar(c) && c != '-') {
+                return false;
+            }
+        }
+        if (at < 1 || lastDot < at + 2 || value.length() - lastDot - 1 < 2) {
+            return false;
+        }
+        for (int i = lastDot + 1; i < value.length(); i++) {
+            if (!KeyChars.isLetter(value.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
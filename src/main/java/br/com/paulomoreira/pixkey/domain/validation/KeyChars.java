@@ -0,0 +1,34 @@
+package br.com.paulomoreira.pixkey.domain.validation;
+
+// ASCII-only character classes shared by the validators; same sets as the regex \d, \w and
+// [0-9a-fA-F] they replace, checked in place so validation allocates nothing.
+final class KeyChars {
+
+    private KeyChars() {
+    }
+
+    static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    static boolean isLetter(char c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z');
+    }
+
+    static boolean isWordChar(char c) {
+        return isLetter(c) || isDigit(c) || c == '_';
+    }
+
+    static boolean isHexDigit(char c) {
+        return isDigit(c) || (c >= 'a' && c <= 'f') || (c >= 'A' && c <= 'F');
+    }
+
+    static boolean allDigits(String value, int from, int to) {
+        for (int i = from; i < to; i++) {
+            if (!isDigit(value.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
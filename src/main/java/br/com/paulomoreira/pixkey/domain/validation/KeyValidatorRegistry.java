@@ -0,0 +1,43 @@
+package br.com.paulomoreira.pixkey.domain.validation;
+
+import br.com.paulomoreira.pixkey.domain.exceptions.InvalidKeyTypeException;
+import br.com.paulomoreira.pixkey.domain.model.KeyType;
+
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+public class KeyValidatorRegistry {
+
+    private final Map<KeyType, KeyValidator> validators = new EnumMap<>(KeyType.class);
+
+    public KeyValidatorRegistry(List<KeyValidator> validators) {
+        for (KeyValidator validator : validators) {
+            KeyValidator previous = this.validators.put(validator.getType(), validator);
+            if (previous != null) {
+                throw new IllegalStateException("More than one validator registered for key type "
+                        + validator.getType() + ": " + previous.getClass().getSimpleName()
+                        + ", " + validator.getClass().getSimpleName());
+            }
+        }
+        Set<KeyType> missing = EnumSet.allOf(KeyType.class);
+        missing.removeAll(this.validators.keySet());
+        if (!missing.isEmpty()) {
+            throw new IllegalStateException("No validator registered for key types: " + missing);
+        }
+    }
+
+    public KeyValidator get(KeyType type) {
+        KeyValidator validator = validators.get(type);
+        if (validator == null) {
+            throw new InvalidKeyTypeException(String.valueOf(type));
+        }
+        return validator;
+    }
+
+    public void validate(KeyType type, String keyValue) {
+        get(type).validate(keyValue);
+    }
+}
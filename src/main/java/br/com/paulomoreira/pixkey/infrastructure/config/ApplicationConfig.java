@@ -1,48 +1,186 @@
 package br.com.paulomoreira.pixkey.infrastructure.config;
 
+import br.com.paulomoreira.pixkey.adapters.out.persistence.CachedAccountKeyCounter;
+import br.com.paulomoreira.pixkey.adapters.out.persistence.DirectMappedPixKeyValueCache;
+import br.com.paulomoreira.pixkey.adapters.out.persistence.LocalPixKeyCache;
+import br.com.paulomoreira.pixkey.adapters.out.persistence.PostgresPixKeyInvalidationChannel;
+import br.com.paulomoreira.pixkey.adapters.out.persistence.RoaringBitmapSearchIndex;
+import br.com.paulomoreira.pixkey.application.ports.out.AccountKeyCounter;
+import br.com.paulomoreira.pixkey.application.ports.out.PixKeyCache;
+import br.com.paulomoreira.pixkey.application.ports.out.PixKeyInvalidationChannel;
 import br.com.paulomoreira.pixkey.application.ports.out.PixKeyRepository;
+import br.com.paulomoreira.pixkey.application.ports.out.PixKeySearchIndex;
+import br.com.paulomoreira.pixkey.application.ports.out.PixKeyValueCache;
+import br.com.paulomoreira.pixkey.application.usecases.BulkCreatePixKeysUseCaseImpl;
 import br.com.paulomoreira.pixkey.application.usecases.CreatePixKeyUseCaseImpl;
 import br.com.paulomoreira.pixkey.application.usecases.DeactivatePixKeyUseCaseImpl;
+import br.com.paulomoreira.pixkey.application.usecases.GetPixKeyByValueUseCaseImpl;
 import br.com.paulomoreira.pixkey.application.usecases.GetPixKeyUseCaseImpl;
 import br.com.paulomoreira.pixkey.application.usecases.SearchPixKeysUseCaseImpl;
 import br.com.paulomoreira.pixkey.application.usecases.UpdatePixKeyUseCaseImpl;
+import br.com.paulomoreira.pixkey.domain.model.PixKeyIdGenerator;
+import br.com.paulomoreira.pixkey.domain.model.PixKeyIds;
+import br.com.paulomoreira.pixkey.domain.model.UuidV7Generator;
 import br.com.paulomoreira.pixkey.domain.validation.AleatorioValidator;
 import br.com.paulomoreira.pixkey.domain.validation.CelularValidator;
 import br.com.paulomoreira.pixkey.domain.validation.CnpjValidator;
 import br.com.paulomoreira.pixkey.domain.validation.CpfValidatorImpl;
 import br.com.paulomoreira.pixkey.domain.validation.EmailValidator;
 import br.com.paulomoreira.pixkey.domain.validation.KeyValidator;
+import br.com.paulomoreira.pixkey.domain.validation.KeyValidatorRegistry;
+import br.com.paulomoreira.pixkey.infrastructure.metrics.MeteredKeyValidator;
+import br.com.paulomoreira.pixkey.infrastructure.metrics.PixKeyCacheMetrics;
+import br.com.paulomoreira.pixkey.infrastructure.metrics.PixKeyMetricsAspect;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
 
+import java.time.Duration;
 import java.util.List;
 
 @Configuration
 public class ApplicationConfig {
 
+    // uuidv7 (time-ordered, the default) or random (version 4). Installed for PixKey as soon as the
+    // context starts, before any key can be created.
     @Bean
-    public CreatePixKeyUseCaseImpl createPixKeyUseCase(PixKeyRepository repository, List<KeyValidator> validators) {
-        return new CreatePixKeyUseCaseImpl(repository, validators);
+    public PixKeyIdGenerator pixKeyIdGenerator(@Value("${pixkey.id-generator:uuidv7}") String kind) {
+        PixKeyIdGenerator generator = switch (kind) {
+            case "uuidv7" -> new UuidV7Generator();
+            case "random" -> PixKeyIdGenerator.random();
+            default -> throw new IllegalArgumentException("pixkey.id-generator must be uuidv7 or random: " + kind);
+        };
+        PixKeyIds.use(generator);
+        return generator;
     }
 
     @Bean
-    public GetPixKeyUseCaseImpl getPixKeyUseCase(PixKeyRepository repository) {
-        return new GetPixKeyUseCaseImpl(repository);
+    public AccountKeyCounter accountKeyCounter(
+            PixKeyInvalidationChannel invalidationChannel,
+            @Value("${pixkey.account-key-count.cache.enabled:true}") boolean cacheEnabled,
+            @Value("${pixkey.account-key-count.cache.concurrency-level:256}") int concurrencyLevel,
+            @Value("${pixkey.account-key-count.cache.maximum-size:100000}") int maximumSize,
+            @Value("${pixkey.account-key-count.cache.ttl:PT1M}") Duration ttl) {
+        if (!cacheEnabled) {
+            return AccountKeyCounter.none();
+        }
+        return new CachedAccountKeyCounter(concurrencyLevel, maximumSize, ttl, invalidationChannel);
     }
 
+    // Instances invalidate each other's caches through PostgreSQL NOTIFY; "local" suits a single instance.
     @Bean
-    public SearchPixKeysUseCaseImpl searchPixKeysUseCase(PixKeyRepository repository) {
-        return new SearchPixKeysUseCaseImpl(repository);
+    public PixKeyInvalidationChannel pixKeyInvalidationChannel(
+            JdbcTemplate jdbcTemplate,
+            DataSourceProperties dataSourceProperties,
+            @Value("${pixkey.key-cache.invalidation:postgres}") String invalidation) {
+        if (invalidation.equals("local")) {
+            return PixKeyInvalidationChannel.local();
+        }
+        return new PostgresPixKeyInvalidationChannel(jdbcTemplate, dataSourceProperties.determineUrl(),
+                dataSourceProperties.determineUsername(), dataSourceProperties.determinePassword(),
+                Duration.ofSeconds(1));
     }
 
     @Bean
-    public UpdatePixKeyUseCaseImpl updatePixKeyUseCase(PixKeyRepository repository) {
-        return new UpdatePixKeyUseCaseImpl(repository);
+    public PixKeyCache pixKeyCache(
+            PixKeyInvalidationChannel invalidationChannel,
+            MeterRegistry meterRegistry,
+            @Value("${pixkey.key-cache.enabled:true}") boolean enabled,
+            @Value("${pixkey.key-cache.maximum-size:100000}") int maximumSize,
+            @Value("${pixkey.key-cache.ttl:PT5M}") Duration ttl) {
+        if (!enabled) {
+            return PixKeyCache.none(invalidationChannel);
+        }
+        LocalPixKeyCache cache = new LocalPixKeyCache(maximumSize, ttl, invalidationChannel);
+        new PixKeyCacheMetrics(cache, "pixKeys").bindTo(meterRegistry);
+        return cache;
     }
 
+    // Kept short-lived on purpose: it serves the resolve path, where a key deactivated on an
+    // instance whose invalidation was lost must not keep resolving for long.
     @Bean
-    public DeactivatePixKeyUseCaseImpl deactivatePixKeyUseCase(PixKeyRepository repository) {
-        return new DeactivatePixKeyUseCaseImpl(repository);
+    public PixKeyValueCache pixKeyValueCache(
+            PixKeyInvalidationChannel invalidationChannel,
+            MeterRegistry meterRegistry,
+            @Value("${pixkey.key-value-cache.enabled:true}") boolean enabled,
+            @Value("${pixkey.key-value-cache.capacity:65536}") int capacity,
+            @Value("${pixkey.key-value-cache.ttl:PT30S}") Duration ttl) {
+        if (!enabled) {
+            return PixKeyValueCache.none();
+        }
+        DirectMappedPixKeyValueCache cache = new DirectMappedPixKeyValueCache(capacity, ttl, invalidationChannel);
+        new PixKeyCacheMetrics(cache, "pixKeyValues").bindTo(meterRegistry);
+        return cache;
+    }
+
+    // Off by default: it holds every key in memory. Writes from other instances reach it through
+    // the invalidation channel. Searches stay on the database until the initial load completes.
+    @Bean
+    public PixKeySearchIndex pixKeySearchIndex(
+            PixKeyRepository repository,
+            PixKeyInvalidationChannel invalidationChannel,
+            @Value("${pixkey.search-index.enabled:false}") boolean enabled) {
+        if (!enabled) {
+            return PixKeySearchIndex.none();
+        }
+        RoaringBitmapSearchIndex index = new RoaringBitmapSearchIndex();
+        index.follow(invalidationChannel, repository);
+        index.loadInBackground(repository);
+        return index;
+    }
+
+    @Bean
+    public CreatePixKeyUseCaseImpl createPixKeyUseCase(PixKeyRepository repository, KeyValidatorRegistry validators,
+                                                       AccountKeyCounter accountKeyCounter,
+                                                       PixKeySearchIndex searchIndex) {
+        return new CreatePixKeyUseCaseImpl(repository, validators, accountKeyCounter, searchIndex);
+    }
+
+    @Bean
+    public BulkCreatePixKeysUseCaseImpl bulkCreatePixKeysUseCase(
+            PixKeyRepository repository,
+            KeyValidatorRegistry validators,
+            AccountKeyCounter accountKeyCounter,
+            PixKeySearchIndex searchIndex,
+            @Value("${pixkey.bulk.chunk-size:1000}") int chunkSize) {
+        return new BulkCreatePixKeysUseCaseImpl(repository, validators, accountKeyCounter, searchIndex, chunkSize);
+    }
+
+    @Bean
+    public GetPixKeyUseCaseImpl getPixKeyUseCase(PixKeyRepository repository, PixKeyCache pixKeyCache) {
+        return new GetPixKeyUseCaseImpl(repository, pixKeyCache);
+    }
+
+    @Bean
+    public GetPixKeyByValueUseCaseImpl getPixKeyByValueUseCase(PixKeyRepository repository,
+                                                               PixKeyValueCache pixKeyValueCache) {
+        return new GetPixKeyByValueUseCaseImpl(repository, pixKeyValueCache);
+    }
+
+    @Bean
+    public SearchPixKeysUseCaseImpl searchPixKeysUseCase(PixKeyRepository repository,
+                                                         PixKeySearchIndex searchIndex) {
+        return new SearchPixKeysUseCaseImpl(repository, searchIndex);
+    }
+
+    @Bean
+    public UpdatePixKeyUseCaseImpl updatePixKeyUseCase(PixKeyRepository repository,
+                                                       AccountKeyCounter accountKeyCounter,
+                                                       PixKeyCache pixKeyCache,
+                                                       PixKeySearchIndex searchIndex) {
+        return new UpdatePixKeyUseCaseImpl(repository, accountKeyCounter, pixKeyCache, searchIndex);
+    }
+
+    @Bean
+    public DeactivatePixKeyUseCaseImpl deactivatePixKeyUseCase(PixKeyRepository repository,
+                                                               AccountKeyCounter accountKeyCounter,
+                                                               PixKeyCache pixKeyCache,
+                                                               PixKeySearchIndex searchIndex) {
+        return new DeactivatePixKeyUseCaseImpl(repository, accountKeyCounter, pixKeyCache, searchIndex);
     }
 
     @Bean
@@ -79,4 +217,17 @@ public class ApplicationConfig {
             KeyValidator aleatorioValidator) {
         return List.of(cpfValidator, celularValidator, emailValidator, cnpjValidator, aleatorioValidator);
     }
+
+    @Bean
+    public KeyValidatorRegistry keyValidatorRegistry(List<KeyValidator> keyValidators, MeterRegistry meterRegistry) {
+        return new KeyValidatorRegistry(keyValidators.stream()
+                .<KeyValidator>map(validator -> new MeteredKeyValidator(validator, meterRegistry))
+                .toList());
+    }
+
+    @Bean
+    public PixKeyMetricsAspect pixKeyMetricsAspect(MeterRegistry meterRegistry,
+                                                   ObjectProvider<PixKeyMetricsAspect.Completion> completion) {
+        return new PixKeyMetricsAspect(meterRegistry, completion.getIfAvailable(() -> PixKeyMetricsAspect.Completion.ON_RETURN));
+    }
 }
\ No newline at end of file
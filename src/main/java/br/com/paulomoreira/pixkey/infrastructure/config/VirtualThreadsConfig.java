@@ -0,0 +1,24 @@
+package br.com.paulomoreira.pixkey.infrastructure.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Configuration;
+
+// Spring Boot silently falls back to platform threads when spring.threads.virtual.enabled is set
+// on a JVM older than 21; fail the startup instead, so a load test never measures the wrong mode.
+@Configuration
+@ConditionalOnProperty(name = "spring.threads.virtual.enabled", havingValue = "true")
+public class VirtualThreadsConfig {
+
+    static final int MINIMUM_JAVA_VERSION = 21;
+
+    public VirtualThreadsConfig() {
+        requireSupport(Runtime.version().feature());
+    }
+
+    static void requireSupport(int javaVersion) {
+        if (javaVersion < MINIMUM_JAVA_VERSION) {
+            throw new IllegalStateException("spring.threads.virtual.enabled needs Java " + MINIMUM_JAVA_VERSION
+                    + " or later, running on Java " + javaVersion);
+        }
+    }
+}
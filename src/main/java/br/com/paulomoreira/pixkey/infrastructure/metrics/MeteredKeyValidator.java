@@ -0,0 +1,38 @@
+package br.com.paulomoreira.pixkey.infrastructure.metrics;
+
+import br.com.paulomoreira.pixkey.domain.exceptions.InvalidKeyException;
+import br.com.paulomoreira.pixkey.domain.model.KeyType;
+import br.com.paulomoreira.pixkey.domain.validation.KeyValidator;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+// Counts rejected keys per type (pixkey.validation.failures). Accepted keys cost nothing extra.
+public class MeteredKeyValidator implements KeyValidator {
+
+    static final String FAILURES = "pixkey.validation.failures";
+
+    private final KeyValidator delegate;
+    private final Counter failures;
+
+    public MeteredKeyValidator(KeyValidator delegate, MeterRegistry registry) {
+        this.delegate = delegate;
+        this.failures = Counter.builder(FAILURES)
+                .tag("keyType", delegate.getType().name())
+                .register(registry);
+    }
+
+    @Override
+    public KeyType getType() {
+        return delegate.getType();
+    }
+
+    @Override
+    public void validate(String keyValue) {
+        try {
+            delegate.validate(keyValue);
+        } catch (InvalidKeyException e) {
+            failures.increment();
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package br.com.paulomoreira.pixkey.infrastructure.metrics;
+
+import br.com.paulomoreira.pixkey.adapters.out.persistence.CacheStatistics;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.cache.CacheMeterBinder;
+
+// Micrometer's standard cache meters (cache.gets with result=hit|miss, cache.evictions, cache.puts,
+// cache.size), tagged with the cache name: pixKeys by id, pixKeyValues by key value. Hit ratio is
+// hits / (hits + misses) in the dashboard.
+public class PixKeyCacheMetrics extends CacheMeterBinder<CacheStatistics> {
+
+    public PixKeyCacheMetrics(CacheStatistics cache, String name) {
+        super(cache, name, Tags.empty());
+    }
+
+    @Override
+    protected Long size() {
+        CacheStatistics cache = getCache();
+        return cache != null ? cache.size() : null;
+    }
+
+    @Override
+    protected long hitCount() {
+        CacheStatistics cache = getCache();
+        return cache != null ? cache.getHits() : 0;
+    }
+
+    @Override
+    protected Long missCount() {
+        CacheStatistics cache = getCache();
+        return cache != null ? cache.getMisses() : null;
+    }
+
+    @Override
+    protected Long evictionCount() {
+        CacheStatistics cache = getCache();
+        return cache != null ? cache.getEvictions() : null;
+    }
+
+    @Override
+    protected long putCount() {
+        CacheStatistics cache = getCache();
+        return cache != null ? cache.getPuts() : 0;
+    }
+
+    @Override
+    protected void bindImplementationSpecificMetrics(MeterRegistry registry) {
+    }
+}
@@ -0,0 +1,91 @@
+package br.com.paulomoreira.pixkey.infrastructure.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.util.ClassUtils;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+// Times every use case port method (pixkey.usecase) and every PixKeyRepository method
+// (pixkey.repository), tagged with the implementing class and the method. The repository decorators
+// are beans too, so a call answered by a decorator shows up under that class, and only the calls
+// that reach the database also show up under PixKeyRepositoryImpl.
+// Timers are looked up once per class and method and then reused. A call's time is recorded when it
+// returns, unless the Completion given knows the result finishes later (the reactive build's
+// PublisherCompletion waits for a returned Mono or Flux to terminate).
+@Aspect
+public class PixKeyMetricsAspect {
+
+    static final String USE_CASE_TIMER = "pixkey.usecase";
+    static final String REPOSITORY_TIMER = "pixkey.repository";
+
+    private final MeterRegistry registry;
+    private final Completion completion;
+    private final Map<Class<?>, Map<String, Timer>> timers = new ConcurrentHashMap<>();
+
+    public PixKeyMetricsAspect(MeterRegistry registry) {
+        this(registry, Completion.ON_RETURN);
+    }
+
+    public PixKeyMetricsAspect(MeterRegistry registry, Completion completion) {
+        this.registry = registry;
+        this.completion = completion;
+    }
+
+    @Around("execution(* br.com.paulomoreira.pixkey.application.ports.in.*UseCase.*(..))")
+    public Object timeUseCase(ProceedingJoinPoint joinPoint) throws Throwable {
+        return time(USE_CASE_TIMER, joinPoint);
+    }
+
+    // Matched by name pattern so that ReactivePixKeyRepository, absent from the default build, is covered
+    // without being named; only the port interfaces themselves, not their implementations, match.
+    @Around("execution(* (br.com.paulomoreira.pixkey.application.ports.out.*PixKeyRepository && is(InterfaceType)).*(..))")
+    public Object timeRepository(ProceedingJoinPoint joinPoint) throws Throwable {
+        return time(REPOSITORY_TIMER, joinPoint);
+    }
+
+    private Object time(String name, ProceedingJoinPoint joinPoint) throws Throwable {
+        Timer timer = timer(name, ClassUtils.getUserClass(joinPoint.getTarget()), joinPoint.getSignature().getName());
+        long start = System.nanoTime();
+        Object result;
+        try {
+            result = joinPoint.proceed();
+        } catch (Throwable e) {
+            timer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            throw e;
+        }
+        return completion.whenDone(result, () -> timer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS));
+    }
+
+    private Timer timer(String name, Class<?> type, String method) {
+        Map<String, Timer> byMethod = timers.get(type);
+        if (byMethod == null) {
+            byMethod = timers.computeIfAbsent(type, t -> new ConcurrentHashMap<>());
+        }
+        Timer timer = byMethod.get(method);
+        if (timer == null) {
+            timer = byMethod.computeIfAbsent(method, m -> Timer.builder(name)
+                    .tag("class", type.getSimpleName())
+                    .tag("method", m)
+                    .register(registry));
+        }
+        return timer;
+    }
+
+
+    public interface Completion {
+
+        Completion ON_RETURN = (result, record) -> {
+            record.run();
+            return result;
+        };
+
+        // Runs record once the call behind result is done, and returns what the caller should get.
+        Object whenDone(Object result, Runnable record);
+    }
+}
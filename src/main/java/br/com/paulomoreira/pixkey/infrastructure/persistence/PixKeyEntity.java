@@ -50,6 +50,11 @@ public class PixKeyEntity {
     @Column(name = "is_legalperson")
     boolean isLegalPerson;
 
+    // Checked and bumped by Hibernate on every update, so a stale copy cannot overwrite a newer row.
+    @Version
+    @Column(name = "version", nullable = false)
+    private Long version;
+
     public PixKeyEntity(UUID id, String keyValue, String type, String accountType,
                         Integer branchNumber, Integer accountNumber, String accountHolderName,
                         String accountHolderLastName, LocalDateTime createdAt, Boolean active,
@@ -71,4 +76,4 @@ public class PixKeyEntity {
     public boolean isActive() {
         return active;
     }
-}
\ No newline at end of file
+}
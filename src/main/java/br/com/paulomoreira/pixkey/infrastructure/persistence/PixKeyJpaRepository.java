@@ -1,11 +1,10 @@
 package br.com.paulomoreira.pixkey.infrastructure.persistence;
 
 import org.springframework.data.jpa.repository.JpaRepository;
-import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 
 import java.util.UUID;
 
-public interface PixKeyJpaRepository extends JpaRepository<PixKeyEntity, UUID>, JpaSpecificationExecutor<PixKeyEntity> {
+public interface PixKeyJpaRepository extends JpaRepository<PixKeyEntity, UUID> {
     boolean existsByKeyValueAndActiveTrue(String keyValue);
     int countByBranchNumberAndAccountNumberAndActiveTrue(int branchNumber, int accountNumber);
 }
\ No newline at end of file
@@ -0,0 +1,15 @@
+CREATE TABLE pix_keys (
+    id                       uuid         NOT NULL,
+    key_value                varchar(77)  NOT NULL,
+    type                     varchar(9)   NOT NULL,
+    account_type             varchar(10)  NOT NULL,
+    branch_number            integer      NOT NULL,
+    account_number           integer      NOT NULL,
+    account_holder_name      varchar(30)  NOT NULL,
+    account_holder_last_name varchar(45),
+    created_at               timestamp(6) NOT NULL,
+    active                   boolean      NOT NULL DEFAULT true,
+    deactivated_at           timestamp(6),
+    is_legalperson           boolean      NOT NULL,
+    CONSTRAINT pix_keys_pkey PRIMARY KEY (id)
+);
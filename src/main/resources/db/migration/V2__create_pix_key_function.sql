@@ -0,0 +1,40 @@
+CREATE OR REPLACE FUNCTION create_pix_key(
+    p_id uuid,
+    p_type varchar,
+    p_key_value varchar,
+    p_account_type varchar,
+    p_branch_number integer,
+    p_account_number integer,
+    p_account_holder_name varchar,
+    p_account_holder_last_name varchar,
+    p_created_at timestamp,
+    p_is_legal_person boolean,
+    p_max_keys integer
+) RETURNS varchar
+LANGUAGE plpgsql
+AS $$
+BEGIN
+    -- Serializes creates per account and per key value until commit; every statement below
+    -- takes a fresh snapshot, so it sees whatever the previous lock holder committed.
+    PERFORM pg_advisory_xact_lock(p_branch_number, p_account_number);
+    PERFORM pg_advisory_xact_lock(hashtextextended(p_key_value, 0));
+
+    IF EXISTS (SELECT 1 FROM pix_keys WHERE key_value = p_key_value AND active) THEN
+        RETURN 'DUPLICATE_KEY';
+    END IF;
+
+    IF (SELECT count(*) FROM pix_keys
+        WHERE branch_number = p_branch_number AND account_number = p_account_number AND active) >= p_max_keys THEN
+        RETURN 'LIMIT_EXCEEDED';
+    END IF;
+
+    INSERT INTO pix_keys (id, type, key_value, account_type, branch_number, account_number,
+                          account_holder_name, account_holder_last_name, created_at, active,
+                          deactivated_at, is_legalperson)
+    VALUES (p_id, p_type, p_key_value, p_account_type, p_branch_number, p_account_number,
+            p_account_holder_name, p_account_holder_last_name, p_created_at, true,
+            NULL, p_is_legal_person);
+
+    RETURN 'INSERTED';
+END;
+$$;
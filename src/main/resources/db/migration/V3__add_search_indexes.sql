@@ -0,0 +1,25 @@
+-- One active key per value. Besides enforcing the rule in the database, this is the index behind
+-- the duplicate checks (create_pix_key, bulk insert and existsByKeyValueAndActiveTrue).
+CREATE UNIQUE INDEX ux_pix_keys_active_key_value ON pix_keys (key_value) WHERE active;
+
+-- Per-account limit count (index-only over active keys) and the agencia + conta filter.
+CREATE INDEX idx_pix_keys_account_active ON pix_keys (branch_number, account_number, active);
+
+-- The search filters. Each equality index ends in (created_at, id) so keyset pages read the
+-- index in order and stop after one page instead of sorting every match.
+CREATE INDEX idx_pix_keys_branch_created_at_id ON pix_keys (branch_number, created_at, id);
+CREATE INDEX idx_pix_keys_account_number ON pix_keys (account_number);
+CREATE INDEX idx_pix_keys_type_created_at_id ON pix_keys (type, created_at, id);
+CREATE INDEX idx_pix_keys_holder_name_created_at_id ON pix_keys (account_holder_name, created_at, id);
+
+-- dataInclusao range and the default keyset order.
+CREATE INDEX idx_pix_keys_created_at_id ON pix_keys (created_at, id);
+
+-- dataInativacao range. Only deactivated keys have a deactivated_at, so the partial index stays
+-- small; carrying deactivated_at lets ordered pages filter it without visiting the heap.
+CREATE INDEX idx_pix_keys_deactivated_created_at_id ON pix_keys (created_at, id, deactivated_at)
+    WHERE deactivated_at IS NOT NULL;
+
+-- Partial and case-insensitive holder name matches (LIKE/ILIKE), which btree cannot serve.
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+CREATE INDEX idx_pix_keys_holder_name_trgm ON pix_keys USING gin (account_holder_name gin_trgm_ops);
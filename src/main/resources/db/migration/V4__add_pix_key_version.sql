@@ -0,0 +1,3 @@
+-- Row version for HTTP ETags and optimistic concurrency: every update and deactivation bumps it.
+-- Inserts, including create_pix_key, start from the default.
+ALTER TABLE pix_keys ADD COLUMN version bigint NOT NULL DEFAULT 0;
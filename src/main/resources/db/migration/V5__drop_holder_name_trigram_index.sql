@@ -0,0 +1,3 @@
+-- nomeCorrentista is only ever matched exactly, which idx_pix_keys_holder_name_created_at_id
+-- serves. The trigram index from V3 was never used and only slowed down every write.
+DROP INDEX IF EXISTS idx_pix_keys_holder_name_trgm;
@@ -0,0 +1,62 @@
+package br.com.paulomoreira.pixkey.adapters.in.rest;
+
+import br.com.paulomoreira.pixkey.domain.model.AccountType;
+import br.com.paulomoreira.pixkey.domain.model.KeyType;
+import br.com.paulomoreira.pixkey.domain.model.PixKey;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletResponse;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PixKeyExportEncoderTest {
+
+    private static final UUID ID = UUID.fromString("550e8400-e29b-41d4-a716-446655440000");
+    private static final LocalDateTime CREATED_AT = LocalDateTime.of(2025, 3, 31, 10, 0);
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void shouldEncodeTheSameLinesAsTheServletWriter() throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        PixKeyExportWriter writer = new PixKeyExportWriter(PixKeyExportWriter.Format.CSV, response, objectMapper);
+        writer.write(pixKey("a@example.com", "Silva, \"Paulo\""));
+        writer.write(pixKey("b@example.com", "Ana"));
+        writer.finish();
+
+        Flux<byte[]> encoded = PixKeyExportEncoder.encode(PixKeyExportWriter.Format.CSV, objectMapper,
+                Flux.just(pixKey("a@example.com", "Silva, \"Paulo\""), pixKey("b@example.com", "Ana")));
+
+        StringBuilder body = new StringBuilder();
+        StepVerifier.create(encoded)
+                .thenConsumeWhile(chunk -> body.append(new String(chunk, StandardCharsets.UTF_8)) != null)
+                .verifyComplete();
+        assertEquals(response.getContentAsString(), body.toString());
+    }
+
+    @Test
+    void shouldEmitNothingBeforeAFailedSearch() {
+        Flux<byte[]> encoded = PixKeyExportEncoder.encode(PixKeyExportWriter.Format.CSV, objectMapper,
+                Flux.error(new IllegalArgumentException("filtro inválido")));
+
+        StepVerifier.create(encoded).verifyError(IllegalArgumentException.class);
+    }
+
+    @Test
+    void shouldEncodeOnlyHeaderWhenNothingMatches() {
+        StepVerifier.create(PixKeyExportEncoder.encode(PixKeyExportWriter.Format.CSV, objectMapper, Flux.empty()))
+                .assertNext(chunk -> assertTrue(new String(chunk, StandardCharsets.UTF_8).startsWith("id,tipoChave")))
+                .verifyComplete();
+    }
+
+    private static PixKey pixKey(String keyValue, String holderName) {
+        return new PixKey(ID, KeyType.EMAIL, keyValue, AccountType.CORRENTE, 1234, 56789012,
+                holderName, "Moreira", CREATED_AT, true, null, true);
+    }
+}
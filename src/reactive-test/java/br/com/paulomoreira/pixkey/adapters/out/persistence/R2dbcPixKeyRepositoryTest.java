@@ -0,0 +1,30 @@
+package br.com.paulomoreira.pixkey.adapters.out.persistence;
+
+import br.com.paulomoreira.pixkey.application.ports.in.SearchPixKeysQuery;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class R2dbcPixKeyRepositoryTest {
+
+    @Test
+    void shouldNumberPlaceholdersInOrder() {
+        assertEquals("select 1 where a = $1 and (b, c) > ($2, $3) limit $4",
+                R2dbcPixKeyRepository.positional("select 1 where a = ? and (b, c) > (?, ?) limit ?"));
+    }
+
+    @Test
+    void shouldBindOneArgumentPerPlaceholderOfTheSharedFilter() {
+        SearchPixKeysQuery query = new SearchPixKeysQuery("EMAIL", 1234, 56789012, "Paulo",
+                LocalDateTime.of(2024, 1, 1, 0, 0), null);
+        PixKeySqlFilter filter = PixKeySqlFilter.of(query);
+
+        String sql = R2dbcPixKeyRepository.positional("select count(*) from pix_keys" + filter.where());
+
+        assertTrue(sql.contains("$" + filter.args().size()));
+        assertFalse(sql.contains("$" + (filter.args().size() + 1)));
+        assertFalse(sql.contains("?"));
+    }
+}
@@ -0,0 +1,70 @@
+package br.com.paulomoreira.pixkey.application.usecases;
+
+import br.com.paulomoreira.pixkey.application.ports.out.InsertOutcome;
+import br.com.paulomoreira.pixkey.application.ports.out.ReactivePixKeyRepository;
+import br.com.paulomoreira.pixkey.domain.exceptions.DuplicateKeyException;
+import br.com.paulomoreira.pixkey.domain.exceptions.InvalidKeyException;
+import br.com.paulomoreira.pixkey.domain.exceptions.KeyLimitExceededException;
+import br.com.paulomoreira.pixkey.domain.model.AccountType;
+import br.com.paulomoreira.pixkey.domain.model.KeyType;
+import br.com.paulomoreira.pixkey.domain.model.PixKey;
+import br.com.paulomoreira.pixkey.domain.validation.KeyValidator;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import static br.com.paulomoreira.pixkey.domain.validation.KeyValidatorFixtures.registryWith;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ReactiveCreatePixKeyUseCaseImplTest {
+
+    @Mock
+    private ReactivePixKeyRepository repository;
+
+    @Mock
+    private KeyValidator celularValidator;
+
+    private ReactiveCreatePixKeyUseCaseImpl useCase;
+
+    private final PixKey pixKey = new PixKey(null, KeyType.CELULAR, "+5521994827834", AccountType.CORRENTE,
+            1234, 56789012, "Paulo", "Moreira", null, true, null, true);
+
+    @BeforeEach
+    void setUp() {
+        when(celularValidator.getType()).thenReturn(KeyType.CELULAR);
+        useCase = new ReactiveCreatePixKeyUseCaseImpl(repository, registryWith(celularValidator));
+    }
+
+    @Test
+    void shouldEmitTheKeyWhenInserted() {
+        when(repository.insertIfAllowed(pixKey, 5)).thenReturn(Mono.just(InsertOutcome.INSERTED));
+
+        StepVerifier.create(useCase.execute(pixKey))
+                .expectNext(pixKey)
+                .verifyComplete();
+    }
+
+    @Test
+    void shouldMapDatabaseOutcomesToBusinessErrors() {
+        when(repository.insertIfAllowed(pixKey, 5))
+                .thenReturn(Mono.just(InsertOutcome.DUPLICATE_KEY), Mono.just(InsertOutcome.LIMIT_EXCEEDED));
+
+        StepVerifier.create(useCase.execute(pixKey)).verifyError(DuplicateKeyException.class);
+        StepVerifier.create(useCase.execute(pixKey)).verifyError(KeyLimitExceededException.class);
+    }
+
+    @Test
+    void shouldFailOnSubscribeWithoutTouchingTheDatabaseWhenKeyIsInvalid() {
+        doThrow(new InvalidKeyException("Invalid phone number")).when(celularValidator).validate(pixKey.keyValue());
+
+        Mono<PixKey> result = useCase.execute(pixKey);
+
+        StepVerifier.create(result).verifyError(InvalidKeyException.class);
+        verifyNoInteractions(repository);
+    }
+}
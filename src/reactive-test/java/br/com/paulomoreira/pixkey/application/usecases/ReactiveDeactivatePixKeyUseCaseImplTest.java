@@ -0,0 +1,78 @@
+package br.com.paulomoreira.pixkey.application.usecases;
+
+import br.com.paulomoreira.pixkey.application.ports.out.PixKeyInvalidationChannel;
+import br.com.paulomoreira.pixkey.application.ports.out.ReactivePixKeyRepository;
+import br.com.paulomoreira.pixkey.domain.exceptions.KeyAlreadyInactiveException;
+import br.com.paulomoreira.pixkey.domain.exceptions.KeyNotFoundException;
+import br.com.paulomoreira.pixkey.domain.exceptions.KeyVersionMismatchException;
+import br.com.paulomoreira.pixkey.domain.model.AccountType;
+import br.com.paulomoreira.pixkey.domain.model.KeyType;
+import br.com.paulomoreira.pixkey.domain.model.PixKey;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ReactiveDeactivatePixKeyUseCaseImplTest {
+
+    @Mock
+    private ReactivePixKeyRepository repository;
+
+    @Mock
+    private PixKeyInvalidationChannel channel;
+
+    @InjectMocks
+    private ReactiveDeactivatePixKeyUseCaseImpl useCase;
+
+    @Test
+    void shouldDeactivateWithASingleStatement() {
+        UUID id = UUID.randomUUID();
+        PixKey deactivated = key(id, false);
+        when(repository.deactivateIfActive(eq(id), any(LocalDateTime.class), isNull())).thenReturn(Mono.just(deactivated));
+
+        StepVerifier.create(useCase.execute(id))
+                .expectNext(deactivated)
+                .verifyComplete();
+        verify(repository, never()).findById(any());
+        verify(channel).publish(id, "+5521994827834");
+    }
+
+    @Test
+    void shouldTellInactiveKeysFromMissingOnes() {
+        UUID inactive = UUID.randomUUID();
+        UUID missing = UUID.randomUUID();
+        when(repository.deactivateIfActive(any(UUID.class), any(LocalDateTime.class), isNull())).thenReturn(Mono.empty());
+        when(repository.findById(inactive)).thenReturn(Mono.just(key(inactive, false)));
+        when(repository.findById(missing)).thenReturn(Mono.empty());
+
+        StepVerifier.create(useCase.execute(inactive)).verifyError(KeyAlreadyInactiveException.class);
+        StepVerifier.create(useCase.execute(missing)).verifyError(KeyNotFoundException.class);
+        verify(channel, never()).publish(any(), any());
+    }
+
+    @Test
+    void shouldRejectAnActiveKeyAtAnotherVersion() {
+        UUID id = UUID.randomUUID();
+        when(repository.deactivateIfActive(eq(id), any(LocalDateTime.class), eq(3L))).thenReturn(Mono.empty());
+        when(repository.findById(id)).thenReturn(Mono.just(key(id, true)));
+
+        StepVerifier.create(useCase.execute(id, 3L)).verifyError(KeyVersionMismatchException.class);
+    }
+
+    private static PixKey key(UUID id, boolean active) {
+        return new PixKey(id, KeyType.CELULAR, "+5521994827834", AccountType.CORRENTE,
+                1234, 56789012, "Paulo", "Moreira", null, active, null, true);
+    }
+}
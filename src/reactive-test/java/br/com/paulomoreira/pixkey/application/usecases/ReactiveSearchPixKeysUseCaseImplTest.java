@@ -0,0 +1,95 @@
+package br.com.paulomoreira.pixkey.application.usecases;
+
+import br.com.paulomoreira.pixkey.application.ports.in.CountMode;
+import br.com.paulomoreira.pixkey.application.ports.in.SearchFingerprint;
+import br.com.paulomoreira.pixkey.application.ports.in.SearchPixKeysQuery;
+import br.com.paulomoreira.pixkey.application.ports.out.ReactivePixKeyRepository;
+import br.com.paulomoreira.pixkey.domain.exceptions.InvalidFilterCombinationException;
+import br.com.paulomoreira.pixkey.domain.model.AccountType;
+import br.com.paulomoreira.pixkey.domain.model.KeyType;
+import br.com.paulomoreira.pixkey.domain.model.PixKey;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.SliceImpl;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ReactiveSearchPixKeysUseCaseImplTest {
+
+    @Mock
+    private ReactivePixKeyRepository repository;
+
+    @InjectMocks
+    private ReactiveSearchPixKeysUseCaseImpl useCase;
+
+    private final SearchPixKeysQuery query = new SearchPixKeysQuery("CELULAR", null, null, null, null, null);
+
+    @Test
+    void shouldValidateFiltersBeforeQuerying() {
+        SearchPixKeysQuery noFilter = new SearchPixKeysQuery(null, null, null, null, null, null);
+
+        StepVerifier.create(useCase.execute(noFilter, PageRequest.of(0, 20), CountMode.EXACT))
+                .verifyError(InvalidFilterCombinationException.class);
+        StepVerifier.create(useCase.execute(noFilter, null, 20))
+                .verifyError(InvalidFilterCombinationException.class);
+        StepVerifier.create(useCase.export(noFilter))
+                .verifyError(InvalidFilterCombinationException.class);
+        StepVerifier.create(useCase.fingerprint(noFilter))
+                .verifyError(InvalidFilterCombinationException.class);
+        verifyNoInteractions(repository);
+    }
+
+    @Test
+    void shouldForwardCountModeToRepository() {
+        PageRequest pageable = PageRequest.of(0, 20);
+        when(repository.search(query, pageable, CountMode.NONE))
+                .thenReturn(Mono.just(new SliceImpl<>(List.of(), pageable, false)));
+
+        StepVerifier.create(useCase.execute(query, pageable, CountMode.NONE))
+                .assertNext(slice -> assertFalse(slice.hasNext()))
+                .verifyComplete();
+    }
+
+    @Test
+    void shouldTakeTheTotalOfAFingerprintedPageFromTheFingerprint() {
+        PageRequest pageable = PageRequest.of(0, 1);
+        when(repository.search(query, pageable, 7L))
+                .thenReturn(Mono.just(new PageImpl<>(List.of(key(1)), pageable, 7)));
+
+        StepVerifier.create(useCase.execute(query, pageable, new SearchFingerprint(7, 42)))
+                .assertNext(page -> assertEquals(7, page.getTotalElements()))
+                .verifyComplete();
+    }
+
+    @Test
+    void shouldReadOneRowPastTheKeysetPageToFindTheCursor() {
+        List<PixKey> rows = List.of(key(1), key(2), key(3));
+        when(repository.searchAfter(query, null, 3)).thenReturn(Flux.fromIterable(rows));
+
+        StepVerifier.create(useCase.execute(query, null, 2))
+                .assertNext(page -> {
+                    assertEquals(rows.subList(0, 2), page.content());
+                    assertEquals(rows.get(1).id(), page.next().id());
+                })
+                .verifyComplete();
+    }
+
+    private static PixKey key(int second) {
+        return new PixKey(UUID.randomUUID(), KeyType.CELULAR, "+552199482783" + second, AccountType.CORRENTE,
+                1234, 56789012, "Paulo", "Moreira", LocalDateTime.of(2024, 1, 1, 0, 0, second), true, null, true);
+    }
+}
@@ -0,0 +1,86 @@
+package br.com.paulomoreira.pixkey.application.usecases;
+
+import br.com.paulomoreira.pixkey.application.ports.in.UpdatePixKeyCommand;
+import br.com.paulomoreira.pixkey.application.ports.out.PixKeyInvalidationChannel;
+import br.com.paulomoreira.pixkey.application.ports.out.ReactivePixKeyRepository;
+import br.com.paulomoreira.pixkey.domain.exceptions.KeyAlreadyInactiveException;
+import br.com.paulomoreira.pixkey.domain.exceptions.KeyNotFoundException;
+import br.com.paulomoreira.pixkey.domain.exceptions.KeyVersionMismatchException;
+import br.com.paulomoreira.pixkey.domain.model.AccountType;
+import br.com.paulomoreira.pixkey.domain.model.KeyType;
+import br.com.paulomoreira.pixkey.domain.model.PixKey;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.util.UUID;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ReactiveUpdatePixKeyUseCaseImplTest {
+
+    @Mock
+    private ReactivePixKeyRepository repository;
+
+    @Mock
+    private PixKeyInvalidationChannel channel;
+
+    @InjectMocks
+    private ReactiveUpdatePixKeyUseCaseImpl useCase;
+
+    private final UUID id = UUID.randomUUID();
+    private final PixKey changes = new PixKey(id, KeyType.CELULAR, "+5521994827834", AccountType.POUPANCA,
+            4321, 12345678, "Paulo", "Moreira", null, true, null, true);
+    private final UpdatePixKeyCommand command = UpdatePixKeyCommand.of(changes, null);
+
+    @Test
+    void shouldEmitTheUpdatedRowAndPublishIt() {
+        when(repository.updateIfActive(command)).thenReturn(Mono.just(changes));
+
+        StepVerifier.create(useCase.execute(id, changes))
+                .expectNext(changes)
+                .verifyComplete();
+        verify(channel).publish(id, "+5521994827834");
+    }
+
+    @Test
+    void shouldFailWhenKeyWasDeactivatedConcurrently() {
+        when(repository.updateIfActive(command)).thenReturn(Mono.empty());
+        when(repository.findById(id)).thenReturn(Mono.just(inactive()));
+
+        StepVerifier.create(useCase.execute(id, changes))
+                .verifyError(KeyAlreadyInactiveException.class);
+        verify(channel, never()).publish(any(), any());
+    }
+
+    @Test
+    void shouldReportMissingKeyAsNotFound() {
+        when(repository.updateIfActive(command)).thenReturn(Mono.empty());
+        when(repository.findById(id)).thenReturn(Mono.empty());
+
+        StepVerifier.create(useCase.execute(id, changes))
+                .verifyError(KeyNotFoundException.class);
+    }
+
+    @Test
+    void shouldRejectAnActiveKeyAtAnotherVersion() {
+        UpdatePixKeyCommand stale = UpdatePixKeyCommand.of(changes, 3L);
+        when(repository.updateIfActive(stale)).thenReturn(Mono.empty());
+        when(repository.findById(id)).thenReturn(Mono.just(changes));
+
+        StepVerifier.create(useCase.execute(stale))
+                .verifyError(KeyVersionMismatchException.class);
+        verify(channel, never()).publish(any(), any());
+    }
+
+    private PixKey inactive() {
+        return new PixKey(id, KeyType.CELULAR, "+5521994827834", AccountType.POUPANCA,
+                4321, 12345678, "Paulo", "Moreira", null, false, null, true);
+    }
+}
@@ -0,0 +1,51 @@
+package br.com.paulomoreira.pixkey.infrastructure.metrics;
+
+import br.com.paulomoreira.pixkey.application.ports.in.ReactiveGetPixKeyUseCase;
+import br.com.paulomoreira.pixkey.application.ports.out.ReactivePixKeyRepository;
+import br.com.paulomoreira.pixkey.application.usecases.ReactiveGetPixKeyUseCaseImpl;
+import br.com.paulomoreira.pixkey.domain.model.KeyType;
+import br.com.paulomoreira.pixkey.domain.model.PixKey;
+import br.com.paulomoreira.pixkey.domain.model.SamplePixKeys;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import reactor.core.publisher.Mono;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class PublisherCompletionTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    @Test
+    void shouldTimeReactiveUseCasesUntilTheirPublisherTerminates() {
+        PixKey pixKey = SamplePixKeys.pixKey(KeyType.EMAIL, 2, 1234, 12345678);
+        ReactivePixKeyRepository reactiveRepository = mock(ReactivePixKeyRepository.class);
+        when(reactiveRepository.findById(pixKey.id())).thenReturn(Mono.just(pixKey));
+        ReactiveGetPixKeyUseCase reactiveUseCase = proxy(new ReactiveGetPixKeyUseCaseImpl(reactiveRepository),
+                new PixKeyMetricsAspect(registry, new PublisherCompletion()));
+
+        Mono<PixKey> result = reactiveUseCase.execute(pixKey.id());
+        assertEquals(0, timer(PixKeyMetricsAspect.USE_CASE_TIMER, "ReactiveGetPixKeyUseCaseImpl", "execute").count());
+
+        assertEquals(pixKey, result.block());
+        assertEquals(1, timer(PixKeyMetricsAspect.USE_CASE_TIMER, "ReactiveGetPixKeyUseCaseImpl", "execute").count());
+    }
+
+    private Timer timer(String name, String type, String method) {
+        Timer timer = registry.find(name).tag("class", type).tag("method", method).timer();
+        assertNotNull(timer, name + " " + type + "." + method);
+        return timer;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T proxy(T target, PixKeyMetricsAspect aspect) {
+        AspectJProxyFactory factory = new AspectJProxyFactory(target);
+        factory.setProxyTargetClass(true);
+        factory.addAspect(aspect);
+        return (T) factory.getProxy();
+    }
+}
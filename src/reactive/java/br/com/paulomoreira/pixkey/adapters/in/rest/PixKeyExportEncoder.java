@@ -0,0 +1,39 @@
+package br.com.paulomoreira.pixkey.adapters.in.rest;
+
+import br.com.paulomoreira.pixkey.adapters.in.dto.response.PixKeyResponse;
+import br.com.paulomoreira.pixkey.domain.model.PixKey;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import reactor.core.publisher.Flux;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+
+// PixKeyExportWriter's lines for the reactive stack, handed to the server FLUSH_EVERY_ROWS at a time.
+// Nothing is emitted before the first row arrives, so an invalid search still fails normally.
+final class PixKeyExportEncoder {
+
+    private PixKeyExportEncoder() {
+    }
+
+    static Flux<byte[]> encode(PixKeyExportWriter.Format format, ObjectMapper objectMapper, Flux<PixKey> keys) {
+        ObjectWriter jsonWriter = objectMapper.writerFor(PixKeyResponse.class);
+        String header = format == PixKeyExportWriter.Format.CSV ? PixKeyExportWriter.CSV_HEADER + '\n' : "";
+        return keys.buffer(PixKeyExportWriter.FLUSH_EVERY_ROWS).index().map(chunk -> {
+            StringWriter out = new StringWriter(chunk.getT2().size() * 256);
+            if (chunk.getT1() == 0) {
+                out.write(header);
+            }
+            try {
+                for (PixKey pixKey : chunk.getT2()) {
+                    PixKeyExportWriter.writeRow(out, format, jsonWriter, pixKey);
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            return out.toString().getBytes(StandardCharsets.UTF_8);
+        }).switchIfEmpty(Flux.just(header.getBytes(StandardCharsets.UTF_8)));
+    }
+}
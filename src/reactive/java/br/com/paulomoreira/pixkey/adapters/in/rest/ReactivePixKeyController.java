@@ -0,0 +1,206 @@
+package br.com.paulomoreira.pixkey.adapters.in.rest;
+
+import br.com.paulomoreira.pixkey.adapters.in.dto.request.CreatePixKeyRequest;
+import br.com.paulomoreira.pixkey.adapters.in.dto.request.UpdatePixKeyRequest;
+import br.com.paulomoreira.pixkey.adapters.in.dto.response.PixKeyCursorPageResponse;
+import br.com.paulomoreira.pixkey.adapters.in.dto.response.PixKeyPageResponse;
+import br.com.paulomoreira.pixkey.adapters.in.dto.response.PixKeyResponse;
+import br.com.paulomoreira.pixkey.application.ports.in.*;
+import br.com.paulomoreira.pixkey.domain.exceptions.InvalidFilterCombinationException;
+import br.com.paulomoreira.pixkey.domain.exceptions.KeyNotFoundException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.Valid;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.web.PageableDefault;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.UUID;
+
+// WebFlux counterpart of PixKeyController for the reactive profile: same paths, parameters,
+// responses, errors and conditional requests, with no thread held while the database works. Bulk
+// registration is only served by the MVC stack: it is a blocking JDBC batch, not worth a second copy.
+@RestController
+@RequestMapping("/api/v1/pix-keys")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactivePixKeyController {
+
+    private final ReactiveCreatePixKeyUseCase createPixKeyUseCase;
+    private final ReactiveGetPixKeyUseCase getPixKeyUseCase;
+    private final ReactiveGetPixKeyByValueUseCase getPixKeyByValueUseCase;
+    private final ReactiveSearchPixKeysUseCase searchPixKeysUseCase;
+    private final ReactiveUpdatePixKeyUseCase updatePixKeyUseCase;
+    private final ReactiveDeactivatePixKeyUseCase deactivatePixKeyUseCase;
+    private final ObjectMapper objectMapper;
+
+    public ReactivePixKeyController(
+            ReactiveCreatePixKeyUseCase createPixKeyUseCase,
+            ReactiveGetPixKeyUseCase getPixKeyUseCase,
+            ReactiveGetPixKeyByValueUseCase getPixKeyByValueUseCase,
+            ReactiveSearchPixKeysUseCase searchPixKeysUseCase,
+            ReactiveUpdatePixKeyUseCase updatePixKeyUseCase,
+            ReactiveDeactivatePixKeyUseCase deactivatePixKeyUseCase,
+            ObjectMapper objectMapper) {
+        this.createPixKeyUseCase = createPixKeyUseCase;
+        this.getPixKeyUseCase = getPixKeyUseCase;
+        this.getPixKeyByValueUseCase = getPixKeyByValueUseCase;
+        this.searchPixKeysUseCase = searchPixKeysUseCase;
+        this.updatePixKeyUseCase = updatePixKeyUseCase;
+        this.deactivatePixKeyUseCase = deactivatePixKeyUseCase;
+        this.objectMapper = objectMapper;
+    }
+
+    @PostMapping
+    public Mono<ResponseEntity<PixKeyResponse>> createPixKey(@Valid @RequestBody CreatePixKeyRequest request) {
+        return createPixKeyUseCase.execute(request.toDomain())
+                .map(key -> ResponseEntity.ok(PixKeyResponse.fromDomain(key)));
+    }
+
+    @GetMapping("/{id}")
+    public Mono<ResponseEntity<PixKeyResponse>> getPixKeyById(
+            @PathVariable UUID id,
+            @RequestParam(required = false) String filters,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        if (filters != null && !filters.isEmpty()) {
+            throw new InvalidFilterCombinationException("Additional filters not allowed when searching by ID");
+        }
+        return getPixKeyUseCase.execute(id)
+                .map(key -> {
+                    String eTag = PixKeyETags.of(key.version());
+                    if (PixKeyETags.isNotModified(ifNoneMatch, eTag)) {
+                        return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).<PixKeyResponse>build();
+                    }
+                    return ResponseEntity.ok().eTag(eTag).body(PixKeyResponse.fromDomain(key));
+                })
+                .switchIfEmpty(Mono.error(() -> new KeyNotFoundException(id)));
+    }
+
+    @GetMapping("/valor/{valorChave}")
+    public Mono<ResponseEntity<PixKeyResponse>> getPixKeyByValue(@PathVariable String valorChave) {
+        return getPixKeyByValueUseCase.execute(valorChave)
+                .map(key -> ResponseEntity.ok(PixKeyResponse.fromDomain(key)))
+                .switchIfEmpty(Mono.error(() -> new KeyNotFoundException(valorChave)));
+    }
+
+    @GetMapping
+    public Mono<ResponseEntity<PixKeyPageResponse>> getPixKeys(
+            @RequestParam(required = false) String tipoChave,
+            @RequestParam(required = false) Integer agencia,
+            @RequestParam(required = false) Integer conta,
+            @RequestParam(required = false) String nomeCorrentista,
+            @RequestParam(required = false) String dataInclusao,
+            @RequestParam(required = false) String dataInativacao,
+            @RequestParam(defaultValue = "exact") String contagem,
+            @PageableDefault(size = 20) Pageable pageable,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+
+        if (dataInclusao != null && dataInativacao != null) {
+            throw new InvalidFilterCombinationException("Cannot filter by both inclusion and deactivation dates");
+        }
+
+        CountMode countMode = CountMode.from(contagem);
+        SearchPixKeysQuery query = PixKeyController.toQuery(tipoChave, agencia, conta, nomeCorrentista,
+                dataInclusao, dataInativacao);
+        if (countMode == CountMode.EXACT) {
+            return exactPage(query, pageable, ifNoneMatch);
+        }
+        return searchPixKeysUseCase.execute(query, pageable, countMode)
+                .map(keys -> {
+                    if (keys.isEmpty()) {
+                        return ResponseEntity.notFound().<PixKeyPageResponse>build();
+                    }
+                    PixKeyPageResponse page = PixKeyPageResponse.fromDomain(keys, countMode);
+                    String eTag = PixKeyETags.of(page);
+                    if (PixKeyETags.isNotModified(ifNoneMatch, eTag)) {
+                        return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).<PixKeyPageResponse>build();
+                    }
+                    return ResponseEntity.ok().eTag(eTag).body(page);
+                });
+    }
+
+    // Same as PixKeyController: the fingerprint tags an exact page before it is read.
+    private Mono<ResponseEntity<PixKeyPageResponse>> exactPage(SearchPixKeysQuery query, Pageable pageable,
+                                                               String ifNoneMatch) {
+        return searchPixKeysUseCase.fingerprint(query).flatMap(fingerprint -> {
+            if (pageable.getOffset() >= fingerprint.total()) {
+                return Mono.just(ResponseEntity.notFound().<PixKeyPageResponse>build());
+            }
+            String eTag = PixKeyETags.of(fingerprint, pageable);
+            if (PixKeyETags.isNotModified(ifNoneMatch, eTag)) {
+                return Mono.just(ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).<PixKeyPageResponse>build());
+            }
+            return searchPixKeysUseCase.execute(query, pageable, fingerprint).map(keys -> keys.isEmpty()
+                    ? ResponseEntity.notFound().<PixKeyPageResponse>build()
+                    : ResponseEntity.ok().eTag(eTag).body(PixKeyPageResponse.fromDomain(keys, CountMode.EXACT)));
+        });
+    }
+
+    @GetMapping("/cursor")
+    public Mono<ResponseEntity<PixKeyCursorPageResponse>> getPixKeysByCursor(
+            @RequestParam(required = false) String tipoChave,
+            @RequestParam(required = false) Integer agencia,
+            @RequestParam(required = false) Integer conta,
+            @RequestParam(required = false) String nomeCorrentista,
+            @RequestParam(required = false) String dataInclusao,
+            @RequestParam(required = false) String dataInativacao,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+
+        if (dataInclusao != null && dataInativacao != null) {
+            throw new InvalidFilterCombinationException("Cannot filter by both inclusion and deactivation dates");
+        }
+
+        SearchPixKeysQuery query = PixKeyController.toQuery(tipoChave, agencia, conta, nomeCorrentista,
+                dataInclusao, dataInativacao);
+        PixKeyCursor after = cursor == null || cursor.isBlank() ? null : PixKeyCursor.decode(cursor);
+        return searchPixKeysUseCase.execute(query, after, size)
+                .map(page -> page.content().isEmpty()
+                        ? ResponseEntity.notFound().<PixKeyCursorPageResponse>build()
+                        : ResponseEntity.ok(PixKeyCursorPageResponse.fromDomain(page)));
+    }
+
+    @GetMapping("/export")
+    public ResponseEntity<Flux<byte[]>> exportPixKeys(
+            @RequestParam(required = false) String tipoChave,
+            @RequestParam(required = false) Integer agencia,
+            @RequestParam(required = false) Integer conta,
+            @RequestParam(required = false) String nomeCorrentista,
+            @RequestParam(required = false) String dataInclusao,
+            @RequestParam(required = false) String dataInativacao,
+            @RequestParam(defaultValue = "ndjson") String formato) {
+
+        if (dataInclusao != null && dataInativacao != null) {
+            throw new InvalidFilterCombinationException("Cannot filter by both inclusion and deactivation dates");
+        }
+        PixKeyExportWriter.Format format = PixKeyExportWriter.Format.from(formato);
+        SearchPixKeysQuery query = PixKeyController.toQuery(tipoChave, agencia, conta, nomeCorrentista,
+                dataInclusao, dataInativacao);
+        return ResponseEntity.ok()
+                .contentType(PixKeyExportWriter.mediaType(format))
+                .header(HttpHeaders.CONTENT_DISPOSITION, PixKeyExportWriter.contentDisposition(format))
+                .body(PixKeyExportEncoder.encode(format, objectMapper, searchPixKeysUseCase.export(query)));
+    }
+
+    // No read first: the update is conditional on the key being active (and at the If-Match version).
+    @PutMapping("/{id}")
+    public Mono<ResponseEntity<PixKeyResponse>> updatePixKey(
+            @PathVariable UUID id,
+            @Valid @RequestBody UpdatePixKeyRequest request,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        return updatePixKeyUseCase.execute(request.toCommand(id, PixKeyETags.expectedVersion(ifMatch)))
+                .map(key -> ResponseEntity.ok().eTag(PixKeyETags.of(key.version())).body(PixKeyResponse.fromDomain(key)));
+    }
+
+    @DeleteMapping("/{id}")
+    public Mono<ResponseEntity<PixKeyResponse>> deactivatePixKey(
+            @PathVariable UUID id,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        return deactivatePixKeyUseCase.execute(id, PixKeyETags.expectedVersion(ifMatch))
+                .map(key -> ResponseEntity.ok().eTag(PixKeyETags.of(key.version())).body(PixKeyResponse.fromDomain(key)));
+    }
+}
@@ -0,0 +1,257 @@
+package br.com.paulomoreira.pixkey.adapters.out.persistence;
+
+import br.com.paulomoreira.pixkey.application.ports.in.CountMode;
+import br.com.paulomoreira.pixkey.application.ports.in.PixKeyCursor;
+import br.com.paulomoreira.pixkey.application.ports.in.SearchFingerprint;
+import br.com.paulomoreira.pixkey.application.ports.in.SearchPixKeysQuery;
+import br.com.paulomoreira.pixkey.application.ports.in.UpdatePixKeyCommand;
+import br.com.paulomoreira.pixkey.application.ports.out.InsertOutcome;
+import br.com.paulomoreira.pixkey.application.ports.out.ReactivePixKeyRepository;
+import br.com.paulomoreira.pixkey.domain.model.AccountType;
+import br.com.paulomoreira.pixkey.domain.model.KeyType;
+import br.com.paulomoreira.pixkey.domain.model.PixKey;
+import io.r2dbc.spi.Readable;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.r2dbc.core.DatabaseClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+// ReactivePixKeyRepository over R2DBC, on the same pix_keys table and create_pix_key function as
+// PixKeyRepositoryImpl. Filters and sorting come from PixKeySqlFilter, whose ? placeholders are
+// rewritten to PostgreSQL's $n before binding.
+public class R2dbcPixKeyRepository implements ReactivePixKeyRepository {
+
+    private static final String CREATE_PIX_KEY_SQL = """
+            select create_pix_key(:id, :type, :keyValue, :accountType, :branchNumber, :accountNumber,
+                                  :accountHolderName, :accountHolderLastName, :createdAt, :isLegalPerson,
+                                  :maxKeys)
+            """;
+
+    private static final String FIND_BY_ID_SQL = "select " + PixKeyRowMapper.COLUMNS + " from pix_keys where id = :id";
+
+    private static final String FIND_ACTIVE_BY_KEY_VALUE_SQL =
+            "select " + PixKeyRowMapper.COLUMNS + " from pix_keys where key_value = :keyValue and active";
+
+    private static final String UPDATE_IF_ACTIVE_SQL = """
+            update pix_keys
+            set account_type = :accountType, branch_number = :branchNumber, account_number = :accountNumber,
+                account_holder_name = :accountHolderName, account_holder_last_name = :accountHolderLastName,
+                version = version + 1
+            where id = :id and active and (cast(:expectedVersion as bigint) is null or version = :expectedVersion)
+            returning\s""" + PixKeyRowMapper.COLUMNS;
+
+    private static final String DEACTIVATE_IF_ACTIVE_SQL = """
+            update pix_keys
+            set active = false, deactivated_at = :deactivatedAt, version = version + 1
+            where id = :id and active and (cast(:expectedVersion as bigint) is null or version = :expectedVersion)
+            returning\s""" + PixKeyRowMapper.COLUMNS;
+
+    private static final int EXPORT_FETCH_SIZE = 1000;
+
+    private final DatabaseClient client;
+
+    public R2dbcPixKeyRepository(DatabaseClient client) {
+        this.client = client;
+    }
+
+    @Override
+    public Mono<InsertOutcome> insertIfAllowed(PixKey pixKey, int maxKeys) {
+        DatabaseClient.GenericExecuteSpec spec = client.sql(CREATE_PIX_KEY_SQL)
+                .bind("id", pixKey.id())
+                .bind("type", pixKey.type().name())
+                .bind("keyValue", pixKey.keyValue())
+                .bind("accountType", pixKey.accountType().name())
+                .bind("branchNumber", pixKey.branchNumber())
+                .bind("accountNumber", pixKey.accountNumber())
+                .bind("accountHolderName", pixKey.accountHolderName())
+                .bind("createdAt", pixKey.createdAt())
+                .bind("isLegalPerson", pixKey.isLegalPerson())
+                .bind("maxKeys", maxKeys);
+        spec = bindNullable(spec, "accountHolderLastName", pixKey.accountHolderLastName());
+        return spec.map(row -> InsertOutcome.valueOf(row.get(0, String.class))).one();
+    }
+
+    @Override
+    public Mono<PixKey> findById(UUID id) {
+        return client.sql(FIND_BY_ID_SQL)
+                .bind("id", id)
+                .map(R2dbcPixKeyRepository::toPixKey)
+                .one();
+    }
+
+    @Override
+    public Mono<PixKey> findActiveByKeyValue(String keyValue) {
+        return client.sql(FIND_ACTIVE_BY_KEY_VALUE_SQL)
+                .bind("keyValue", keyValue)
+                .map(R2dbcPixKeyRepository::toPixKey)
+                .one();
+    }
+
+    @Override
+    public Mono<PixKey> updateIfActive(UpdatePixKeyCommand command) {
+        DatabaseClient.GenericExecuteSpec spec = client.sql(UPDATE_IF_ACTIVE_SQL)
+                .bind("id", command.id())
+                .bind("accountType", command.accountType().name())
+                .bind("branchNumber", command.branchNumber())
+                .bind("accountNumber", command.accountNumber())
+                .bind("accountHolderName", command.accountHolderName());
+        spec = bindNullable(spec, "accountHolderLastName", command.accountHolderLastName());
+        return bindNullable(spec, "expectedVersion", command.expectedVersion())
+                .map(R2dbcPixKeyRepository::toPixKey)
+                .one();
+    }
+
+    @Override
+    public Mono<PixKey> deactivateIfActive(UUID id, LocalDateTime deactivatedAt, Long expectedVersion) {
+        DatabaseClient.GenericExecuteSpec spec = client.sql(DEACTIVATE_IF_ACTIVE_SQL)
+                .bind("id", id)
+                .bind("deactivatedAt", deactivatedAt);
+        return bindNullable(spec, "expectedVersion", expectedVersion)
+                .map(R2dbcPixKeyRepository::toPixKey)
+                .one();
+    }
+
+    // Reads one row past the page to learn whether there is a next one. The total is only queried
+    // when this page does not already prove it: EXACT counts, ESTIMATED asks the planner.
+    @Override
+    public Mono<Slice<PixKey>> search(SearchPixKeysQuery query, Pageable pageable, CountMode countMode) {
+        PixKeySqlFilter filter = PixKeySqlFilter.of(query);
+        String sql = "select " + PixKeyRowMapper.COLUMNS + " from pix_keys" + filter.where()
+                + PixKeySqlFilter.orderBy(pageable.getSort()) + " limit ? offset ?";
+        List<Object> args = new ArrayList<>(filter.args());
+        args.add(pageable.getPageSize() + 1);
+        args.add(pageable.getOffset());
+
+        return select(sql, args).collectList().<Slice<PixKey>>flatMap(rows -> {
+            boolean hasNext = rows.size() > pageable.getPageSize();
+            List<PixKey> content = hasNext ? rows.subList(0, pageable.getPageSize()) : rows;
+            if (countMode == CountMode.NONE) {
+                return Mono.just(new SliceImpl<>(content, pageable, hasNext));
+            }
+            long seen = pageable.getOffset() + content.size() + (hasNext ? 1 : 0);
+            boolean lastPageReached = !hasNext && (!content.isEmpty() || pageable.getOffset() == 0);
+            if (lastPageReached) {
+                return Mono.just(new PageImpl<>(content, pageable, seen));
+            }
+            Mono<Long> total = countMode == CountMode.EXACT ? count(filter) : estimateCount(filter);
+            return total.map(count -> new PageImpl<>(content, pageable, Math.max(count, seen)));
+        });
+    }
+
+    @Override
+    public Mono<Page<PixKey>> search(SearchPixKeysQuery query, Pageable pageable, long total) {
+        PixKeySqlFilter filter = PixKeySqlFilter.of(query);
+        List<Object> args = new ArrayList<>(filter.args());
+        args.add(pageable.getPageSize());
+        args.add(pageable.getOffset());
+        return select(filter.pageSql(pageable.getSort()), args).collectList()
+                .map(rows -> new PageImpl<>(rows, pageable, total));
+    }
+
+    @Override
+    public Mono<SearchFingerprint> fingerprint(SearchPixKeysQuery query) {
+        PixKeySqlFilter filter = PixKeySqlFilter.of(query);
+        return bindAll(client.sql(positional(filter.fingerprintSql())), filter.args())
+                .map(row -> new SearchFingerprint(row.get(0, Long.class), row.get(1, Long.class)))
+                .one();
+    }
+
+    @Override
+    public Flux<PixKey> searchAfter(SearchPixKeysQuery query, PixKeyCursor after, int limit) {
+        PixKeySqlFilter filter = PixKeySqlFilter.of(query);
+        if (after != null) {
+            filter = filter.and("(created_at, id) > (?, ?)", after.createdAt(), after.id());
+        }
+        String sql = "select " + PixKeyRowMapper.COLUMNS + " from pix_keys" + filter.where()
+                + " order by created_at, id limit ?";
+        List<Object> args = new ArrayList<>(filter.args());
+        args.add(limit);
+        return select(sql, args);
+    }
+
+    // The fetch size makes the driver read through a portal, EXPORT_FETCH_SIZE rows at a time, instead
+    // of receiving the whole result at once.
+    @Override
+    public Flux<PixKey> findMatching(SearchPixKeysQuery query) {
+        PixKeySqlFilter filter = PixKeySqlFilter.of(query);
+        return bindAll(client.sql(positional(filter.selectSql())), filter.args())
+                .filter(statement -> statement.fetchSize(EXPORT_FETCH_SIZE))
+                .map(R2dbcPixKeyRepository::toPixKey)
+                .all();
+    }
+
+    private Flux<PixKey> select(String sql, List<Object> args) {
+        return bindAll(client.sql(positional(sql)), args).map(R2dbcPixKeyRepository::toPixKey).all();
+    }
+
+    private Mono<Long> count(PixKeySqlFilter filter) {
+        return bindAll(client.sql(positional("select count(*) from pix_keys" + filter.where())), filter.args())
+                .map(row -> row.get(0, Long.class))
+                .one();
+    }
+
+    private Mono<Long> estimateCount(PixKeySqlFilter filter) {
+        return bindAll(client.sql(positional(filter.explainSql())), filter.args())
+                .map(row -> PixKeySqlFilter.estimatedRows(row.get(0, String.class)))
+                .one();
+    }
+
+    private static DatabaseClient.GenericExecuteSpec bindAll(DatabaseClient.GenericExecuteSpec spec, List<Object> args) {
+        for (int i = 0; i < args.size(); i++) {
+            spec = spec.bind(i, args.get(i));
+        }
+        return spec;
+    }
+
+    private static DatabaseClient.GenericExecuteSpec bindNullable(DatabaseClient.GenericExecuteSpec spec,
+                                                                  String name, String value) {
+        return value != null ? spec.bind(name, value) : spec.bindNull(name, String.class);
+    }
+
+    private static DatabaseClient.GenericExecuteSpec bindNullable(DatabaseClient.GenericExecuteSpec spec,
+                                                                  String name, Long value) {
+        return value != null ? spec.bind(name, value) : spec.bindNull(name, Long.class);
+    }
+
+    // The generated SQL has no string literals, so every ? is a placeholder.
+    static String positional(String sql) {
+        StringBuilder out = new StringBuilder(sql.length() + 16);
+        int index = 0;
+        for (int i = 0; i < sql.length(); i++) {
+            char c = sql.charAt(i);
+            if (c == '?') {
+                out.append('$').append(++index);
+            } else {
+                out.append(c);
+            }
+        }
+        return out.toString();
+    }
+
+    static PixKey toPixKey(Readable row) {
+        return new PixKey(
+                row.get("id", UUID.class),
+                KeyType.valueOf(row.get("type", String.class)),
+                row.get("key_value", String.class),
+                AccountType.valueOf(row.get("account_type", String.class)),
+                row.get("branch_number", Integer.class),
+                row.get("account_number", Integer.class),
+                row.get("account_holder_name", String.class),
+                row.get("account_holder_last_name", String.class),
+                row.get("created_at", LocalDateTime.class),
+                Boolean.TRUE.equals(row.get("active", Boolean.class)),
+                row.get("deactivated_at", LocalDateTime.class),
+                Boolean.TRUE.equals(row.get("is_legalperson", Boolean.class)),
+                row.get("version", Long.class)
+        );
+    }
+}
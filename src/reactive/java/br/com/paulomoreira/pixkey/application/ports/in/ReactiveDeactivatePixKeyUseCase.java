@@ -0,0 +1,15 @@
+package br.com.paulomoreira.pixkey.application.ports.in;
+
+import br.com.paulomoreira.pixkey.domain.model.PixKey;
+import reactor.core.publisher.Mono;
+
+import java.util.UUID;
+
+public interface ReactiveDeactivatePixKeyUseCase {
+    default Mono<PixKey> execute(UUID id) {
+        return execute(id, null);
+    }
+
+    // expectedVersion, when given, must still be the key's version or nothing is changed.
+    Mono<PixKey> execute(UUID id, Long expectedVersion);
+}
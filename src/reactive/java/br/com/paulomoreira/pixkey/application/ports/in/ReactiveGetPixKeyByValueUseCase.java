@@ -0,0 +1,8 @@
+package br.com.paulomoreira.pixkey.application.ports.in;
+
+import br.com.paulomoreira.pixkey.domain.model.PixKey;
+import reactor.core.publisher.Mono;
+
+public interface ReactiveGetPixKeyByValueUseCase {
+    Mono<PixKey> execute(String keyValue);
+}
@@ -0,0 +1,10 @@
+package br.com.paulomoreira.pixkey.application.ports.in;
+
+import br.com.paulomoreira.pixkey.domain.model.PixKey;
+import reactor.core.publisher.Mono;
+
+import java.util.UUID;
+
+public interface ReactiveGetPixKeyUseCase {
+    Mono<PixKey> execute(UUID id);
+}
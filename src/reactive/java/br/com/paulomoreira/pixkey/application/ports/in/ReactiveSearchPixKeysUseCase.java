@@ -0,0 +1,21 @@
+package br.com.paulomoreira.pixkey.application.ports.in;
+
+import br.com.paulomoreira.pixkey.domain.model.PixKey;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+public interface ReactiveSearchPixKeysUseCase {
+    Mono<Slice<PixKey>> execute(SearchPixKeysQuery query, Pageable pageable, CountMode countMode);
+
+    Mono<SearchFingerprint> fingerprint(SearchPixKeysQuery query);
+
+    // An exact page whose total comes from a fingerprint taken just before.
+    Mono<Page<PixKey>> execute(SearchPixKeysQuery query, Pageable pageable, SearchFingerprint fingerprint);
+
+    Mono<KeysetPage> execute(SearchPixKeysQuery query, PixKeyCursor after, int size);
+
+    Flux<PixKey> export(SearchPixKeysQuery query);
+}
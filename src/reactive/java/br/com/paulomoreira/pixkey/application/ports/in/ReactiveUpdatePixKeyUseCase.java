@@ -0,0 +1,14 @@
+package br.com.paulomoreira.pixkey.application.ports.in;
+
+import br.com.paulomoreira.pixkey.domain.model.PixKey;
+import reactor.core.publisher.Mono;
+
+import java.util.UUID;
+
+public interface ReactiveUpdatePixKeyUseCase {
+    default Mono<PixKey> execute(UUID id, PixKey pixKey) {
+        return execute(UpdatePixKeyCommand.of(pixKey, null));
+    }
+
+    Mono<PixKey> execute(UpdatePixKeyCommand command);
+}
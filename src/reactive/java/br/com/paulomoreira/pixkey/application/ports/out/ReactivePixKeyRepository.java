@@ -0,0 +1,44 @@
+package br.com.paulomoreira.pixkey.application.ports.out;
+
+import br.com.paulomoreira.pixkey.application.ports.in.CountMode;
+import br.com.paulomoreira.pixkey.application.ports.in.PixKeyCursor;
+import br.com.paulomoreira.pixkey.application.ports.in.SearchFingerprint;
+import br.com.paulomoreira.pixkey.application.ports.in.SearchPixKeysQuery;
+import br.com.paulomoreira.pixkey.application.ports.in.UpdatePixKeyCommand;
+import br.com.paulomoreira.pixkey.domain.model.PixKey;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+// Non-blocking counterpart of PixKeyRepository for the reactive stack. Writes are single conditional
+// statements, so an empty result from updateIfActive or deactivateIfActive means no active key
+// with that id existed at the expected version (if any) when the statement ran.
+public interface ReactivePixKeyRepository {
+
+    Mono<InsertOutcome> insertIfAllowed(PixKey pixKey, int maxKeys);
+
+    Mono<PixKey> findById(UUID id);
+
+    Mono<PixKey> findActiveByKeyValue(String keyValue);
+
+    Mono<PixKey> updateIfActive(UpdatePixKeyCommand command);
+
+    Mono<PixKey> deactivateIfActive(UUID id, LocalDateTime deactivatedAt, Long expectedVersion);
+
+    Mono<Slice<PixKey>> search(SearchPixKeysQuery query, Pageable pageable, CountMode countMode);
+
+    // A page whose total the caller already knows, e.g. from fingerprint(): no COUNT is run.
+    Mono<Page<PixKey>> search(SearchPixKeysQuery query, Pageable pageable, long total);
+
+    Mono<SearchFingerprint> fingerprint(SearchPixKeysQuery query);
+
+    Flux<PixKey> searchAfter(SearchPixKeysQuery query, PixKeyCursor after, int limit);
+
+    // Every matching row, fetched from the database as the subscriber asks for more.
+    Flux<PixKey> findMatching(SearchPixKeysQuery query);
+}
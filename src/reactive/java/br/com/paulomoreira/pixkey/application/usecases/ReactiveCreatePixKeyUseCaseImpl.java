@@ -0,0 +1,36 @@
+package br.com.paulomoreira.pixkey.application.usecases;
+
+import br.com.paulomoreira.pixkey.application.ports.in.ReactiveCreatePixKeyUseCase;
+import br.com.paulomoreira.pixkey.application.ports.out.ReactivePixKeyRepository;
+import br.com.paulomoreira.pixkey.domain.exceptions.DuplicateKeyException;
+import br.com.paulomoreira.pixkey.domain.exceptions.KeyLimitExceededException;
+import br.com.paulomoreira.pixkey.domain.model.PixKey;
+import br.com.paulomoreira.pixkey.domain.validation.KeyValidatorRegistry;
+import reactor.core.publisher.Mono;
+
+// Same rules as CreatePixKeyUseCaseImpl, without its in-process shortcuts (key value index, account
+// counter): both are blocking, and create_pix_key checks duplicates and limits atomically anyway.
+public class ReactiveCreatePixKeyUseCaseImpl implements ReactiveCreatePixKeyUseCase {
+
+    private final ReactivePixKeyRepository repository;
+    private final KeyValidatorRegistry validators;
+
+    public ReactiveCreatePixKeyUseCaseImpl(ReactivePixKeyRepository repository, KeyValidatorRegistry validators) {
+        this.repository = repository;
+        this.validators = validators;
+    }
+
+    @Override
+    public Mono<PixKey> execute(PixKey pixKey) {
+        return Mono.defer(() -> {
+            PixKeyRules.validate(pixKey, validators);
+            int maxKeys = PixKeyRules.maxKeys(pixKey);
+            return repository.insertIfAllowed(pixKey, maxKeys)
+                    .map(outcome -> switch (outcome) {
+                        case INSERTED -> pixKey;
+                        case DUPLICATE_KEY -> throw new DuplicateKeyException(pixKey.keyValue());
+                        case LIMIT_EXCEEDED -> throw new KeyLimitExceededException(maxKeys);
+                    });
+        });
+    }
+}
@@ -0,0 +1,29 @@
+package br.com.paulomoreira.pixkey.application.usecases;
+
+import br.com.paulomoreira.pixkey.application.ports.in.ReactiveDeactivatePixKeyUseCase;
+import br.com.paulomoreira.pixkey.application.ports.out.PixKeyInvalidationChannel;
+import br.com.paulomoreira.pixkey.application.ports.out.ReactivePixKeyRepository;
+import br.com.paulomoreira.pixkey.domain.model.PixKey;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+public class ReactiveDeactivatePixKeyUseCaseImpl implements ReactiveDeactivatePixKeyUseCase {
+
+    private final ReactivePixKeyRepository repository;
+    private final PixKeyInvalidationChannel channel;
+
+    public ReactiveDeactivatePixKeyUseCaseImpl(ReactivePixKeyRepository repository, PixKeyInvalidationChannel channel) {
+        this.repository = repository;
+        this.channel = channel;
+    }
+
+    // One statement on the happy path; the extra read only runs to tell the caller why nothing changed.
+    @Override
+    public Mono<PixKey> execute(UUID id, Long expectedVersion) {
+        return repository.deactivateIfActive(id, LocalDateTime.now(), expectedVersion)
+                .switchIfEmpty(Mono.defer(() -> ReactivePixKeyRules.writeRejected(repository, id)))
+                .flatMap(deactivated -> ReactivePixKeyRules.published(channel, deactivated));
+    }
+}
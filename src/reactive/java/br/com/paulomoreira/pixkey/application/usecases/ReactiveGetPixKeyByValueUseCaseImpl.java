@@ -0,0 +1,20 @@
+package br.com.paulomoreira.pixkey.application.usecases;
+
+import br.com.paulomoreira.pixkey.application.ports.in.ReactiveGetPixKeyByValueUseCase;
+import br.com.paulomoreira.pixkey.application.ports.out.ReactivePixKeyRepository;
+import br.com.paulomoreira.pixkey.domain.model.PixKey;
+import reactor.core.publisher.Mono;
+
+public class ReactiveGetPixKeyByValueUseCaseImpl implements ReactiveGetPixKeyByValueUseCase {
+
+    private final ReactivePixKeyRepository repository;
+
+    public ReactiveGetPixKeyByValueUseCaseImpl(ReactivePixKeyRepository repository) {
+        this.repository = repository;
+    }
+
+    @Override
+    public Mono<PixKey> execute(String keyValue) {
+        return repository.findActiveByKeyValue(keyValue);
+    }
+}
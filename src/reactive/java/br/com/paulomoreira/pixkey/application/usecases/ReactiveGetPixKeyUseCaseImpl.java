@@ -0,0 +1,22 @@
+package br.com.paulomoreira.pixkey.application.usecases;
+
+import br.com.paulomoreira.pixkey.application.ports.in.ReactiveGetPixKeyUseCase;
+import br.com.paulomoreira.pixkey.application.ports.out.ReactivePixKeyRepository;
+import br.com.paulomoreira.pixkey.domain.model.PixKey;
+import reactor.core.publisher.Mono;
+
+import java.util.UUID;
+
+public class ReactiveGetPixKeyUseCaseImpl implements ReactiveGetPixKeyUseCase {
+
+    private final ReactivePixKeyRepository repository;
+
+    public ReactiveGetPixKeyUseCaseImpl(ReactivePixKeyRepository repository) {
+        this.repository = repository;
+    }
+
+    @Override
+    public Mono<PixKey> execute(UUID id) {
+        return repository.findById(id);
+    }
+}
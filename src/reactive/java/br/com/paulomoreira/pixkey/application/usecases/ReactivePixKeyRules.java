@@ -0,0 +1,36 @@
+package br.com.paulomoreira.pixkey.application.usecases;
+
+import br.com.paulomoreira.pixkey.application.ports.out.PixKeyInvalidationChannel;
+import br.com.paulomoreira.pixkey.application.ports.out.ReactivePixKeyRepository;
+import br.com.paulomoreira.pixkey.domain.exceptions.KeyAlreadyInactiveException;
+import br.com.paulomoreira.pixkey.domain.exceptions.KeyNotFoundException;
+import br.com.paulomoreira.pixkey.domain.exceptions.KeyVersionMismatchException;
+import br.com.paulomoreira.pixkey.domain.model.PixKey;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.UUID;
+
+// PixKeyRules for the reactive writes.
+final class ReactivePixKeyRules {
+
+    private ReactivePixKeyRules() {
+    }
+
+    // Same answer as PixKeyRules.writeRejected, read only once a conditional write changed nothing.
+    static <T> Mono<T> writeRejected(ReactivePixKeyRepository repository, UUID id) {
+        return repository.findById(id)
+                .<T>flatMap(current -> Mono.error(current.active()
+                        ? new KeyVersionMismatchException(id)
+                        : new KeyAlreadyInactiveException(id)))
+                .switchIfEmpty(Mono.error(() -> new KeyNotFoundException(id)));
+    }
+
+    // The channel may block (PostgresPixKeyInvalidationChannel sends through JDBC), so it is kept off
+    // the event loop. The written key is only emitted once the other instances have been told.
+    static Mono<PixKey> published(PixKeyInvalidationChannel channel, PixKey pixKey) {
+        return Mono.fromRunnable(() -> channel.publish(pixKey.id(), pixKey.keyValue()))
+                .subscribeOn(Schedulers.boundedElastic())
+                .thenReturn(pixKey);
+    }
+}
@@ -0,0 +1,67 @@
+package br.com.paulomoreira.pixkey.application.usecases;
+
+import br.com.paulomoreira.pixkey.application.ports.in.CountMode;
+import br.com.paulomoreira.pixkey.application.ports.in.KeysetPage;
+import br.com.paulomoreira.pixkey.application.ports.in.PixKeyCursor;
+import br.com.paulomoreira.pixkey.application.ports.in.ReactiveSearchPixKeysUseCase;
+import br.com.paulomoreira.pixkey.application.ports.in.SearchFingerprint;
+import br.com.paulomoreira.pixkey.application.ports.in.SearchPixKeysQuery;
+import br.com.paulomoreira.pixkey.application.ports.out.ReactivePixKeyRepository;
+import br.com.paulomoreira.pixkey.domain.model.PixKey;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+public class ReactiveSearchPixKeysUseCaseImpl implements ReactiveSearchPixKeysUseCase {
+
+    private final ReactivePixKeyRepository repository;
+
+    public ReactiveSearchPixKeysUseCaseImpl(ReactivePixKeyRepository repository) {
+        this.repository = repository;
+    }
+
+    @Override
+    public Mono<Slice<PixKey>> execute(SearchPixKeysQuery query, Pageable pageable, CountMode countMode) {
+        return Mono.defer(() -> {
+            SearchPixKeysUseCaseImpl.validate(query);
+            return repository.search(query, pageable, countMode);
+        });
+    }
+
+    @Override
+    public Mono<SearchFingerprint> fingerprint(SearchPixKeysQuery query) {
+        return Mono.defer(() -> {
+            SearchPixKeysUseCaseImpl.validate(query);
+            return repository.fingerprint(query);
+        });
+    }
+
+    @Override
+    public Mono<Page<PixKey>> execute(SearchPixKeysQuery query, Pageable pageable, SearchFingerprint fingerprint) {
+        return Mono.defer(() -> {
+            SearchPixKeysUseCaseImpl.validate(query);
+            return repository.search(query, pageable, fingerprint.total());
+        });
+    }
+
+    @Override
+    public Mono<KeysetPage> execute(SearchPixKeysQuery query, PixKeyCursor after, int size) {
+        return Mono.defer(() -> {
+            SearchPixKeysUseCaseImpl.validate(query);
+            SearchPixKeysUseCaseImpl.validateKeysetSize(size);
+            return repository.searchAfter(query, after, size + 1)
+                    .collectList()
+                    .map(rows -> KeysetPage.of(rows, size));
+        });
+    }
+
+    @Override
+    public Flux<PixKey> export(SearchPixKeysQuery query) {
+        return Flux.defer(() -> {
+            SearchPixKeysUseCaseImpl.validate(query);
+            return repository.findMatching(query);
+        });
+    }
+}
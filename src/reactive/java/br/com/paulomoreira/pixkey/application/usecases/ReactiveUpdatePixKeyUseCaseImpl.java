@@ -0,0 +1,27 @@
+package br.com.paulomoreira.pixkey.application.usecases;
+
+import br.com.paulomoreira.pixkey.application.ports.in.ReactiveUpdatePixKeyUseCase;
+import br.com.paulomoreira.pixkey.application.ports.in.UpdatePixKeyCommand;
+import br.com.paulomoreira.pixkey.application.ports.out.PixKeyInvalidationChannel;
+import br.com.paulomoreira.pixkey.application.ports.out.ReactivePixKeyRepository;
+import br.com.paulomoreira.pixkey.domain.model.PixKey;
+import reactor.core.publisher.Mono;
+
+public class ReactiveUpdatePixKeyUseCaseImpl implements ReactiveUpdatePixKeyUseCase {
+
+    private final ReactivePixKeyRepository repository;
+    private final PixKeyInvalidationChannel channel;
+
+    public ReactiveUpdatePixKeyUseCaseImpl(ReactivePixKeyRepository repository, PixKeyInvalidationChannel channel) {
+        this.repository = repository;
+        this.channel = channel;
+    }
+
+    // One statement on the happy path; the extra read only runs to tell the caller why nothing changed.
+    @Override
+    public Mono<PixKey> execute(UpdatePixKeyCommand command) {
+        return repository.updateIfActive(command)
+                .switchIfEmpty(Mono.defer(() -> ReactivePixKeyRules.writeRejected(repository, command.id())))
+                .flatMap(updated -> ReactivePixKeyRules.published(channel, updated));
+    }
+}
@@ -0,0 +1,113 @@
+package br.com.paulomoreira.pixkey.infrastructure.config;
+
+import br.com.paulomoreira.pixkey.adapters.out.persistence.R2dbcPixKeyRepository;
+import br.com.paulomoreira.pixkey.application.ports.out.PixKeyInvalidationChannel;
+import br.com.paulomoreira.pixkey.application.ports.out.ReactivePixKeyRepository;
+import br.com.paulomoreira.pixkey.application.usecases.ReactiveCreatePixKeyUseCaseImpl;
+import br.com.paulomoreira.pixkey.application.usecases.ReactiveDeactivatePixKeyUseCaseImpl;
+import br.com.paulomoreira.pixkey.application.usecases.ReactiveGetPixKeyByValueUseCaseImpl;
+import br.com.paulomoreira.pixkey.application.usecases.ReactiveGetPixKeyUseCaseImpl;
+import br.com.paulomoreira.pixkey.application.usecases.ReactiveSearchPixKeysUseCaseImpl;
+import br.com.paulomoreira.pixkey.application.usecases.ReactiveUpdatePixKeyUseCaseImpl;
+import br.com.paulomoreira.pixkey.domain.validation.KeyValidatorRegistry;
+import br.com.paulomoreira.pixkey.infrastructure.metrics.PixKeyMetricsAspect;
+import br.com.paulomoreira.pixkey.infrastructure.metrics.PublisherCompletion;
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactoryOptions;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.web.embedded.netty.NettyReactiveWebServerFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.web.ReactivePageableHandlerMethodArgumentResolver;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.web.reactive.config.WebFluxConfigurer;
+import org.springframework.web.reactive.result.method.annotation.ArgumentResolverConfigurer;
+
+// Beans of the reactive stack, active with spring.main.web-application-type=reactive (see
+// application-reactive.properties). The validators are the same beans the MVC stack uses.
+@Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveConfig implements WebFluxConfigurer, DisposableBean {
+
+    private final ConnectionPool connectionPool;
+
+    // The pool is deliberately not a ConnectionFactory bean: DataSourceAutoConfiguration backs off
+    // when there is one, and Flyway still migrates through JDBC.
+    public ReactiveConfig(@Value("${pixkey.r2dbc.url}") String url,
+                          @Value("${pixkey.r2dbc.username}") String username,
+                          @Value("${pixkey.r2dbc.password}") String password,
+                          @Value("${pixkey.r2dbc.pool.initial-size:10}") int initialSize,
+                          @Value("${pixkey.r2dbc.pool.max-size:20}") int maxSize) {
+        ConnectionFactoryOptions options = ConnectionFactoryOptions.parse(url).mutate()
+                .option(ConnectionFactoryOptions.USER, username)
+                .option(ConnectionFactoryOptions.PASSWORD, password)
+                .build();
+        this.connectionPool = new ConnectionPool(ConnectionPoolConfiguration.builder(ConnectionFactories.get(options))
+                .initialSize(initialSize)
+                .maxSize(maxSize)
+                .build());
+    }
+
+    // Tomcat is on the classpath for the MVC stack and Boot would otherwise pick its reactive adapter.
+    @Bean
+    public NettyReactiveWebServerFactory nettyReactiveWebServerFactory() {
+        return new NettyReactiveWebServerFactory();
+    }
+
+    @Bean
+    public ReactivePixKeyRepository reactivePixKeyRepository() {
+        return new R2dbcPixKeyRepository(DatabaseClient.create(connectionPool));
+    }
+
+    @Bean
+    public ReactiveCreatePixKeyUseCaseImpl reactiveCreatePixKeyUseCase(ReactivePixKeyRepository repository,
+                                                                       KeyValidatorRegistry validators) {
+        return new ReactiveCreatePixKeyUseCaseImpl(repository, validators);
+    }
+
+    @Bean
+    public ReactiveGetPixKeyUseCaseImpl reactiveGetPixKeyUseCase(ReactivePixKeyRepository repository) {
+        return new ReactiveGetPixKeyUseCaseImpl(repository);
+    }
+
+    @Bean
+    public ReactiveGetPixKeyByValueUseCaseImpl reactiveGetPixKeyByValueUseCase(ReactivePixKeyRepository repository) {
+        return new ReactiveGetPixKeyByValueUseCaseImpl(repository);
+    }
+
+    @Bean
+    public ReactiveSearchPixKeysUseCaseImpl reactiveSearchPixKeysUseCase(ReactivePixKeyRepository repository) {
+        return new ReactiveSearchPixKeysUseCaseImpl(repository);
+    }
+
+    @Bean
+    public ReactiveUpdatePixKeyUseCaseImpl reactiveUpdatePixKeyUseCase(ReactivePixKeyRepository repository,
+                                                                       PixKeyInvalidationChannel channel) {
+        return new ReactiveUpdatePixKeyUseCaseImpl(repository, channel);
+    }
+
+    @Bean
+    public ReactiveDeactivatePixKeyUseCaseImpl reactiveDeactivatePixKeyUseCase(ReactivePixKeyRepository repository,
+                                                                               PixKeyInvalidationChannel channel) {
+        return new ReactiveDeactivatePixKeyUseCaseImpl(repository, channel);
+    }
+
+    @Bean
+    public PixKeyMetricsAspect.Completion publisherCompletion() {
+        return new PublisherCompletion();
+    }
+
+    @Override
+    public void configureArgumentResolvers(ArgumentResolverConfigurer configurer) {
+        configurer.addCustomResolver(new ReactivePageableHandlerMethodArgumentResolver());
+    }
+
+    @Override
+    public void destroy() {
+        connectionPool.dispose();
+    }
+}
@@ -0,0 +1,20 @@
+package br.com.paulomoreira.pixkey.infrastructure.metrics;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+// Reactive ports return a Mono or Flux before any work is done, so for those the timer stops when the
+// publisher terminates.
+public class PublisherCompletion implements PixKeyMetricsAspect.Completion {
+
+    @Override
+    public Object whenDone(Object result, Runnable record) {
+        if (result instanceof Mono<?> mono) {
+            return mono.doFinally(signal -> record.run());
+        }
+        if (result instanceof Flux<?> flux) {
+            return flux.doFinally(signal -> record.run());
+        }
+        return ON_RETURN.whenDone(result, record);
+    }
+}
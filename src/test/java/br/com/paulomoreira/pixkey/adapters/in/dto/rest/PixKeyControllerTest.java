@@ -1,19 +1,35 @@
 package br.com.paulomoreira.pixkey.adapters.in.rest;
 
 import br.com.paulomoreira.pixkey.adapters.in.dto.request.CreatePixKeyRequest;
+import br.com.paulomoreira.pixkey.adapters.in.dto.request.UpdatePixKeyRequest;
+import br.com.paulomoreira.pixkey.adapters.in.dto.response.BulkCreatePixKeysResponse;
+import br.com.paulomoreira.pixkey.adapters.in.dto.response.PixKeyCursorPageResponse;
+import br.com.paulomoreira.pixkey.adapters.in.dto.response.PixKeyPageResponse;
 import br.com.paulomoreira.pixkey.adapters.in.dto.response.PixKeyResponse;
 import br.com.paulomoreira.pixkey.application.ports.in.*;
+import br.com.paulomoreira.pixkey.domain.exceptions.BatchTooLargeException;
+import br.com.paulomoreira.pixkey.domain.exceptions.KeyNotFoundException;
 import br.com.paulomoreira.pixkey.domain.model.AccountType;
 import br.com.paulomoreira.pixkey.domain.model.KeyType;
 import br.com.paulomoreira.pixkey.domain.model.PixKey;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.Validation;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.http.ResponseEntity;
 
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -29,7 +45,21 @@ class PixKeyControllerTest {
     @Mock
     private GetPixKeyUseCase getPixKeyUseCase;
 
-    @InjectMocks
+    @Mock
+    private GetPixKeyByValueUseCase getPixKeyByValueUseCase;
+
+    @Mock
+    private BulkCreatePixKeysUseCase bulkCreatePixKeysUseCase;
+
+    @Mock
+    private SearchPixKeysUseCase searchPixKeysUseCase;
+
+    @Mock
+    private UpdatePixKeyUseCase updatePixKeyUseCase;
+
+    @Mock
+    private DeactivatePixKeyUseCase deactivatePixKeyUseCase;
+
     private PixKeyController pixKeyController;
 
     private UUID pixKeyId;
@@ -38,6 +68,9 @@ class PixKeyControllerTest {
 
     @BeforeEach
     void setUp() {
+        pixKeyController = new PixKeyController(createPixKeyUseCase, getPixKeyUseCase, getPixKeyByValueUseCase,
+                searchPixKeysUseCase, updatePixKeyUseCase, deactivatePixKeyUseCase, bulkCreatePixKeysUseCase,
+                null, null, 10_000);
         pixKeyId = UUID.randomUUID();
         pixKey = new PixKey(
                 pixKeyId, KeyType.EMAIL, "test@example.com", AccountType.CORRENTE,
@@ -66,7 +99,7 @@ class PixKeyControllerTest {
     void shouldReturnPixKeyById() {
         when(getPixKeyUseCase.execute(pixKeyId)).thenReturn(Optional.of(pixKey));
 
-        ResponseEntity<PixKeyResponse> response = pixKeyController.getPixKeyById(pixKeyId, null);
+        ResponseEntity<PixKeyResponse> response = pixKeyController.getPixKeyById(pixKeyId, null, null);
 
         assertNotNull(response);
         assertEquals(200, response.getStatusCode().value());
@@ -77,6 +110,287 @@ class PixKeyControllerTest {
     void shouldThrowExceptionWhenPixKeyNotFound() {
         when(getPixKeyUseCase.execute(pixKeyId)).thenReturn(Optional.empty());
 
-        assertThrows(RuntimeException.class, () -> pixKeyController.getPixKeyById(pixKeyId, null));
+        assertThrows(RuntimeException.class, () -> pixKeyController.getPixKeyById(pixKeyId, null, null));
+    }
+
+    @Test
+    void shouldAnswerNotModifiedFromTheVersionWithoutLoadingTheKey() {
+        when(getPixKeyUseCase.currentVersion(pixKeyId)).thenReturn(Optional.of(3L));
+
+        ResponseEntity<PixKeyResponse> response = pixKeyController.getPixKeyById(pixKeyId, null, "\"3\"");
+
+        assertEquals(304, response.getStatusCode().value());
+        assertEquals("\"3\"", response.getHeaders().getETag());
+        assertNull(response.getBody());
+        verify(getPixKeyUseCase, never()).execute(any());
+    }
+
+    @Test
+    void shouldReturnTheKeyWithItsETagOnceItChanged() {
+        PixKey changed = versioned(pixKey, 4);
+        when(getPixKeyUseCase.currentVersion(pixKeyId)).thenReturn(Optional.of(4L));
+        when(getPixKeyUseCase.execute(pixKeyId)).thenReturn(Optional.of(changed));
+
+        ResponseEntity<PixKeyResponse> response = pixKeyController.getPixKeyById(pixKeyId, null, "\"3\"");
+
+        assertEquals(200, response.getStatusCode().value());
+        assertEquals("\"4\"", response.getHeaders().getETag());
+    }
+
+    @Test
+    void shouldUpdateWithoutReadingTheKeyFirst() {
+        UpdatePixKeyRequest request = new UpdatePixKeyRequest(AccountType.POUPANCA, 4321, 87654321, "John", null);
+        when(updatePixKeyUseCase.execute(request.toCommand(pixKeyId, 1L))).thenReturn(versioned(pixKey, 2));
+
+        ResponseEntity<PixKeyResponse> response = pixKeyController.updatePixKey(pixKeyId, request, "\"1\"");
+
+        assertEquals("\"2\"", response.getHeaders().getETag());
+        verifyNoInteractions(getPixKeyUseCase);
+    }
+
+    @Test
+    void shouldDeactivateOnlyTheVersionNamedByIfMatch() {
+        when(deactivatePixKeyUseCase.execute(pixKeyId, 2L)).thenReturn(versioned(pixKey.withActive(false), 3));
+
+        ResponseEntity<PixKeyResponse> response = pixKeyController.deactivatePixKey(pixKeyId, "\"2\"");
+
+        assertEquals(200, response.getStatusCode().value());
+        assertEquals("\"3\"", response.getHeaders().getETag());
+        verifyNoInteractions(getPixKeyUseCase);
+    }
+
+    @Test
+    void shouldAnswerNotModifiedForAnUnchangedSearchPage() {
+        PageRequest pageable = PageRequest.of(0, 1);
+        when(searchPixKeysUseCase.execute(any(SearchPixKeysQuery.class), eq(pageable), eq(CountMode.NONE)))
+                .thenReturn(new SliceImpl<>(List.of(pixKey), pageable, true));
+        String eTag = pixKeyController.getPixKeys("EMAIL", null, null, null, null, null, "none", pageable, null)
+                .getHeaders().getETag();
+
+        ResponseEntity<PixKeyPageResponse> unchanged = pixKeyController.getPixKeys(
+                "EMAIL", null, null, null, null, null, "none", pageable, eTag);
+        when(searchPixKeysUseCase.execute(any(SearchPixKeysQuery.class), eq(pageable), eq(CountMode.NONE)))
+                .thenReturn(new SliceImpl<>(List.of(versioned(pixKey, 1)), pageable, true));
+        ResponseEntity<PixKeyPageResponse> changed = pixKeyController.getPixKeys(
+                "EMAIL", null, null, null, null, null, "none", pageable, eTag);
+
+        assertEquals(304, unchanged.getStatusCode().value());
+        assertEquals(200, changed.getStatusCode().value());
+        assertNotEquals(eTag, changed.getHeaders().getETag());
+    }
+
+    @Test
+    void shouldResolvePixKeyByValue() {
+        when(getPixKeyByValueUseCase.execute("test@example.com")).thenReturn(Optional.of(pixKey));
+
+        ResponseEntity<PixKeyResponse> response = pixKeyController.getPixKeyByValue("test@example.com");
+
+        assertEquals(200, response.getStatusCode().value());
+        assertEquals(pixKeyId, UUID.fromString(response.getBody().id()));
+    }
+
+    @Test
+    void shouldReportUnknownKeyValueAsNotFound() {
+        when(getPixKeyByValueUseCase.execute("nobody@example.com")).thenReturn(Optional.empty());
+
+        KeyNotFoundException exception = assertThrows(KeyNotFoundException.class,
+                () -> pixKeyController.getPixKeyByValue("nobody@example.com"));
+        assertEquals("Active key not found for value: nobody@example.com", exception.getMessage());
+    }
+
+    @Test
+    void shouldOmitTotalsWhenCountModeIsNone() {
+        PageRequest pageable = PageRequest.of(0, 1);
+        when(searchPixKeysUseCase.execute(any(SearchPixKeysQuery.class), eq(pageable), eq(CountMode.NONE)))
+                .thenReturn(new SliceImpl<>(List.of(pixKey), pageable, true));
+
+        ResponseEntity<PixKeyPageResponse> response = pixKeyController.getPixKeys(
+                "EMAIL", null, null, null, null, null, "none", pageable, null);
+
+        assertEquals(200, response.getStatusCode().value());
+        assertTrue(response.getBody().hasNext());
+        assertNull(response.getBody().totalElements());
+        assertEquals("none", response.getBody().countMode());
+    }
+
+    @Test
+    void shouldKeepExactCountByDefault() {
+        PageRequest pageable = PageRequest.of(0, 20);
+        SearchFingerprint fingerprint = new SearchFingerprint(1, 42);
+        when(searchPixKeysUseCase.fingerprint(any(SearchPixKeysQuery.class))).thenReturn(fingerprint);
+        when(searchPixKeysUseCase.execute(any(SearchPixKeysQuery.class), eq(pageable), eq(fingerprint)))
+                .thenReturn(new PageImpl<>(List.of(pixKey), pageable, 1));
+
+        ResponseEntity<PixKeyPageResponse> response = pixKeyController.getPixKeys(
+                "EMAIL", null, null, null, null, null, "exact", pageable, null);
+
+        assertEquals(1L, response.getBody().totalElements());
+        assertEquals(1, response.getBody().totalPages());
+        assertFalse(response.getBody().hasNext());
+    }
+
+    @Test
+    void shouldAnswerNotModifiedForAnExactPageFromItsFingerprintAlone() {
+        PageRequest pageable = PageRequest.of(0, 20);
+        SearchFingerprint fingerprint = new SearchFingerprint(1, 42);
+        when(searchPixKeysUseCase.fingerprint(any(SearchPixKeysQuery.class))).thenReturn(fingerprint);
+        when(searchPixKeysUseCase.execute(any(SearchPixKeysQuery.class), eq(pageable), any(SearchFingerprint.class)))
+                .thenReturn(new PageImpl<>(List.of(pixKey), pageable, 1));
+        String eTag = pixKeyController.getPixKeys("EMAIL", null, null, null, null, null, "exact", pageable, null)
+                .getHeaders().getETag();
+
+        ResponseEntity<PixKeyPageResponse> unchanged = pixKeyController.getPixKeys(
+                "EMAIL", null, null, null, null, null, "exact", pageable, eTag);
+        when(searchPixKeysUseCase.fingerprint(any(SearchPixKeysQuery.class))).thenReturn(new SearchFingerprint(1, 43));
+        ResponseEntity<PixKeyPageResponse> changed = pixKeyController.getPixKeys(
+                "EMAIL", null, null, null, null, null, "exact", pageable, eTag);
+
+        assertEquals(304, unchanged.getStatusCode().value());
+        assertEquals(eTag, unchanged.getHeaders().getETag());
+        assertEquals(200, changed.getStatusCode().value());
+        assertNotEquals(eTag, changed.getHeaders().getETag());
+        verify(searchPixKeysUseCase, times(2)).execute(any(SearchPixKeysQuery.class), eq(pageable), any(SearchFingerprint.class));
+    }
+
+    @Test
+    void shouldNotReadAnExactPageBeyondTheFingerprintTotal() {
+        PageRequest pageable = PageRequest.of(1, 20);
+        when(searchPixKeysUseCase.fingerprint(any(SearchPixKeysQuery.class))).thenReturn(new SearchFingerprint(20, 42));
+
+        ResponseEntity<PixKeyPageResponse> response = pixKeyController.getPixKeys(
+                "EMAIL", null, null, null, null, null, "exact", pageable, null);
+
+        assertEquals(404, response.getStatusCode().value());
+        verify(searchPixKeysUseCase, never()).execute(any(SearchPixKeysQuery.class), any(), any(SearchFingerprint.class));
+    }
+
+    @Test
+    void shouldRejectUnknownCountMode() {
+        assertThrows(IllegalArgumentException.class, () -> pixKeyController.getPixKeys(
+                "EMAIL", null, null, null, null, null, "approximate", PageRequest.of(0, 20), null));
+        verifyNoInteractions(searchPixKeysUseCase);
+    }
+
+    @Test
+    void shouldPassDecodedCursorAndReturnNextOne() {
+        PixKeyCursor after = new PixKeyCursor(LocalDateTime.of(2025, 3, 31, 10, 0), UUID.randomUUID());
+        PixKey saved = new PixKey(pixKeyId, KeyType.EMAIL, "test@example.com", AccountType.CORRENTE,
+                1234, 56789012, "John", "Doe", LocalDateTime.of(2025, 3, 31, 11, 0), true, null, true);
+        when(searchPixKeysUseCase.execute(any(SearchPixKeysQuery.class), eq(after), eq(1)))
+                .thenReturn(new KeysetPage(List.of(saved), PixKeyCursor.after(saved)));
+
+        ResponseEntity<PixKeyCursorPageResponse> response = pixKeyController.getPixKeysByCursor(
+                null, 1234, null, null, null, null, after.encode(), 1);
+
+        assertEquals(200, response.getStatusCode().value());
+        assertEquals(1, response.getBody().keys().size());
+        assertEquals(PixKeyCursor.after(saved), PixKeyCursor.decode(response.getBody().nextCursor()));
+    }
+
+    @Test
+    void shouldStartFromFirstPageWithoutCursor() {
+        when(searchPixKeysUseCase.execute(any(SearchPixKeysQuery.class), isNull(), eq(20)))
+                .thenReturn(new KeysetPage(List.of(), null));
+
+        ResponseEntity<PixKeyCursorPageResponse> response = pixKeyController.getPixKeysByCursor(
+                null, 1234, null, null, null, null, null, 20);
+
+        assertEquals(404, response.getStatusCode().value());
+    }
+
+    @Test
+    void shouldReportPerItemResultsForBulkCreate() throws Exception {
+        PixKeyController controller = bulkController();
+        when(bulkCreatePixKeysUseCase.execute(anyList())).thenAnswer(invocation -> {
+            List<PixKey> keys = invocation.getArgument(0);
+            return List.of(BulkCreateResult.created(keys.get(0)),
+                    BulkCreateResult.rejected(keys.get(1), "Key already exists: other@example.com"));
+        });
+        CreatePixKeyRequest invalid = new CreatePixKeyRequest(
+                KeyType.EMAIL, "bad@example.com", AccountType.CORRENTE,
+                12, 56789012, "John", "Doe", true);
+        CreatePixKeyRequest duplicate = new CreatePixKeyRequest(
+                KeyType.EMAIL, "other@example.com", AccountType.CORRENTE,
+                1234, 56789012, "John", "Doe", true);
+
+        String json = new ObjectMapper().writeValueAsString(Arrays.asList(createPixKeyRequest, invalid, null, duplicate));
+
+        ResponseEntity<BulkCreatePixKeysResponse> response =
+                controller.createPixKeys(new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8)));
+
+        BulkCreatePixKeysResponse body = response.getBody();
+        assertEquals(4, body.total());
+        assertEquals(1, body.created());
+        assertEquals(3, body.rejected());
+        assertEquals(BulkCreatePixKeysResponse.Status.CRIADA, body.items().get(0).status());
+        assertEquals("test@example.com", body.items().get(0).keyValue());
+        assertTrue(body.items().get(1).error().startsWith("Campo 'numeroAgencia' inválido"));
+        assertEquals("Item vazio", body.items().get(2).error());
+        assertEquals("Key already exists: other@example.com", body.items().get(3).error());
+        assertEquals(3, body.items().get(3).index());
+    }
+
+    @Test
+    void shouldReadBulkCreateFromNdjson() throws Exception {
+        PixKeyController controller = bulkController();
+        when(bulkCreatePixKeysUseCase.execute(anyList())).thenAnswer(invocation -> {
+            List<PixKey> keys = invocation.getArgument(0);
+            return keys.stream().map(BulkCreateResult::created).toList();
+        });
+        String ndjson = """
+                {"tipoChave":"EMAIL","valorChave":"a@example.com","tipoConta":"CORRENTE","numeroAgencia":1234,"numeroConta":56789012,"nomeCorrentista":"John","isPessoaFisica":true}
+                {"tipoChave":"EMAIL","valorChave":"b@example.com","tipoConta":"CORRENTE","numeroAgencia":1234,"numeroConta":56789012,"nomeCorrentista":"John","isPessoaFisica":true}
+                """;
+
+        ResponseEntity<BulkCreatePixKeysResponse> response = controller.createPixKeysFromNdjson(
+                new ByteArrayInputStream(ndjson.getBytes(StandardCharsets.UTF_8)));
+
+        assertEquals(2, response.getBody().created());
+        assertEquals("b@example.com", response.getBody().items().get(1).keyValue());
+    }
+
+    @Test
+    void shouldRejectMalformedNdjsonLine() {
+        PixKeyController controller = bulkController();
+        String ndjson = "{\"tipoChave\":\"EMAIL\"}\n{not json}\n";
+
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, () ->
+                controller.createPixKeysFromNdjson(new ByteArrayInputStream(ndjson.getBytes(StandardCharsets.UTF_8))));
+        assertTrue(exception.getMessage().startsWith("Linha NDJSON 2 inválida"));
+    }
+
+    @Test
+    void shouldRefuseBatchesAboveTheItemLimitWhileReading() {
+        PixKeyController controller = bulkController();
+        String item = "{\"tipoChave\":\"EMAIL\",\"valorChave\":\"a@example.com\"}";
+        String json = "[" + String.join(",", Collections.nCopies(4, item)) + ",{not json}]";
+        String ndjson = String.join("\n", Collections.nCopies(4, item)) + "\n{not json}\n";
+
+        assertThrows(BatchTooLargeException.class, () ->
+                controller.createPixKeys(new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8))));
+        assertThrows(BatchTooLargeException.class, () ->
+                controller.createPixKeysFromNdjson(new ByteArrayInputStream(ndjson.getBytes(StandardCharsets.UTF_8))));
+        verifyNoInteractions(bulkCreatePixKeysUseCase);
+    }
+
+    @Test
+    void shouldRejectBulkBodyThatIsNotAJsonList() {
+        PixKeyController controller = bulkController();
+
+        assertThrows(IllegalArgumentException.class, () ->
+                controller.createPixKeys(new ByteArrayInputStream("{}".getBytes(StandardCharsets.UTF_8))));
+        assertThrows(IllegalArgumentException.class, () ->
+                controller.createPixKeys(new ByteArrayInputStream("[{}".getBytes(StandardCharsets.UTF_8))));
+    }
+
+    private static PixKey versioned(PixKey key, long version) {
+        return new PixKey(key.id(), key.type(), key.keyValue(), key.accountType(), key.branchNumber(),
+                key.accountNumber(), key.accountHolderName(), key.accountHolderLastName(), key.createdAt(),
+                key.active(), key.deactivatedAt(), key.isLegalPerson(), version);
+    }
+
+    private PixKeyController bulkController() {
+        return new PixKeyController(createPixKeyUseCase, getPixKeyUseCase, getPixKeyByValueUseCase, null, null, null,
+                bulkCreatePixKeysUseCase, Validation.buildDefaultValidatorFactory().getValidator(), new ObjectMapper(), 4);
     }
-}
\ No newline at end of file
+}
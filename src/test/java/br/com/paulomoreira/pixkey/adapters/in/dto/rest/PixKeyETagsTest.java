@@ -0,0 +1,45 @@
+package br.com.paulomoreira.pixkey.adapters.in.rest;
+
+import br.com.paulomoreira.pixkey.application.ports.in.SearchFingerprint;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PixKeyETagsTest {
+
+    @Test
+    void shouldMatchIfNoneMatchWeaklyAcrossAList() {
+        String eTag = PixKeyETags.of(3);
+
+        assertTrue(PixKeyETags.isNotModified("\"3\"", eTag));
+        assertTrue(PixKeyETags.isNotModified("\"1\", W/\"3\"", eTag));
+        assertTrue(PixKeyETags.isNotModified("*", eTag));
+        assertFalse(PixKeyETags.isNotModified("\"2\"", eTag));
+        assertFalse(PixKeyETags.isNotModified(null, eTag));
+    }
+
+    @Test
+    void shouldTurnIfMatchIntoTheExpectedVersion() {
+        assertNull(PixKeyETags.expectedVersion(null));
+        assertNull(PixKeyETags.expectedVersion("*"));
+        assertEquals(3L, PixKeyETags.expectedVersion("\"3\""));
+        assertEquals(3L, PixKeyETags.expectedVersion("\"3\", \"3\""));
+        assertEquals(-1L, PixKeyETags.expectedVersion("W/\"3\""));
+        assertEquals(-1L, PixKeyETags.expectedVersion("\"2\", \"3\""));
+        assertEquals(-1L, PixKeyETags.expectedVersion("\"abc\""));
+    }
+
+    @Test
+    void shouldTagAFingerprintedPageByItsMatchesAndPosition() {
+        PageRequest first = PageRequest.of(0, 20);
+        String eTag = PixKeyETags.of(new SearchFingerprint(3, 42), first);
+
+        assertEquals(eTag, PixKeyETags.of(new SearchFingerprint(3, 42), PageRequest.of(0, 20)));
+        assertNotEquals(eTag, PixKeyETags.of(new SearchFingerprint(3, 43), first));
+        assertNotEquals(eTag, PixKeyETags.of(new SearchFingerprint(4, 42), first));
+        assertNotEquals(eTag, PixKeyETags.of(new SearchFingerprint(3, 42), PageRequest.of(1, 20)));
+        assertNotEquals(eTag, PixKeyETags.of(new SearchFingerprint(3, 42), PageRequest.of(0, 20, Sort.by("createdAt"))));
+    }
+}
@@ -0,0 +1,145 @@
+package br.com.paulomoreira.pixkey.adapters.in.rest;
+
+import br.com.paulomoreira.pixkey.application.ports.in.CountMode;
+import br.com.paulomoreira.pixkey.application.ports.in.KeysetPage;
+import br.com.paulomoreira.pixkey.application.ports.in.PixKeyCursor;
+import br.com.paulomoreira.pixkey.application.ports.in.SearchFingerprint;
+import br.com.paulomoreira.pixkey.application.ports.in.SearchPixKeysQuery;
+import br.com.paulomoreira.pixkey.application.ports.in.SearchPixKeysUseCase;
+import br.com.paulomoreira.pixkey.domain.model.AccountType;
+import br.com.paulomoreira.pixkey.domain.model.KeyType;
+import br.com.paulomoreira.pixkey.domain.model.PixKey;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.time.LocalDateTime;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PixKeyExportMemoryTest {
+
+    private static final int ROWS = 1_000_000;
+    private static final long MAX_HEAP_GROWTH_BYTES = 64L * 1024 * 1024;
+
+    private final MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+
+    @ParameterizedTest
+    @ValueSource(strings = {"ndjson", "csv"})
+    void heapShouldStayFlatWhileExportingAMillionRows(String format) throws Exception {
+        long[] heapAtCheckpoints = new long[2];
+        SearchPixKeysUseCase useCase = new GeneratingSearchUseCase(heapAtCheckpoints);
+        PixKeyController controller = new PixKeyController(null, null, null, useCase, null, null, null, null, new ObjectMapper(), 0);
+        CountingServletOutputStream body = new CountingServletOutputStream();
+        HttpServletResponseWrapper response = new HttpServletResponseWrapper(new MockHttpServletResponse()) {
+            @Override
+            public ServletOutputStream getOutputStream() {
+                return body;
+            }
+        };
+
+        long baseline = usedHeapAfterGc();
+        controller.exportPixKeys(null, 1234, null, null, null, null, format, response);
+
+        long expectedLines = format.equals("csv") ? ROWS + 1 : ROWS;
+        assertEquals(expectedLines, body.lines);
+        assertTrue(heapAtCheckpoints[0] - baseline < MAX_HEAP_GROWTH_BYTES,
+                "heap grew by " + (heapAtCheckpoints[0] - baseline) + " bytes halfway through the export");
+        assertTrue(heapAtCheckpoints[1] - baseline < MAX_HEAP_GROWTH_BYTES,
+                "heap grew by " + (heapAtCheckpoints[1] - baseline) + " bytes at the end of the export");
+    }
+
+    private long usedHeapAfterGc() {
+        System.gc();
+        return memory.getHeapMemoryUsage().getUsed();
+    }
+
+    private class GeneratingSearchUseCase implements SearchPixKeysUseCase {
+
+        private final long[] heapAtCheckpoints;
+
+        GeneratingSearchUseCase(long[] heapAtCheckpoints) {
+            this.heapAtCheckpoints = heapAtCheckpoints;
+        }
+
+        @Override
+        public Page<PixKey> execute(SearchPixKeysQuery query, Pageable pageable) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Slice<PixKey> execute(SearchPixKeysQuery query, Pageable pageable, CountMode countMode) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public SearchFingerprint fingerprint(SearchPixKeysQuery query) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Page<PixKey> execute(SearchPixKeysQuery query, Pageable pageable, SearchFingerprint fingerprint) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public KeysetPage execute(SearchPixKeysQuery query, PixKeyCursor after, int size) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void export(SearchPixKeysQuery query, Consumer<PixKey> action) {
+            LocalDateTime createdAt = LocalDateTime.of(2025, 3, 31, 10, 0);
+            for (int i = 1; i <= ROWS; i++) {
+                action.accept(new PixKey(new UUID(i, i), KeyType.EMAIL, "user" + i + "@example.com",
+                        AccountType.CORRENTE, query.branchNumber(), 10_000_000 + i % 1_000, "Paulo", "Moreira",
+                        createdAt, true, null, true));
+                if (i == ROWS / 2) {
+                    heapAtCheckpoints[0] = usedHeapAfterGc();
+                }
+            }
+            heapAtCheckpoints[1] = usedHeapAfterGc();
+        }
+    }
+
+    private static class CountingServletOutputStream extends ServletOutputStream {
+
+        private long lines;
+
+        @Override
+        public void write(int b) {
+            if (b == '\n') {
+                lines++;
+            }
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            for (int i = off; i < off + len; i++) {
+                if (b[i] == '\n') {
+                    lines++;
+                }
+            }
+        }
+
+        @Override
+        public boolean isReady() {
+            return true;
+        }
+
+        @Override
+        public void setWriteListener(WriteListener writeListener) {
+        }
+    }
+}
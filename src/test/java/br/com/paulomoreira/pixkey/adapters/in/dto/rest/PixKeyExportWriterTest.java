@@ -0,0 +1,87 @@
+package br.com.paulomoreira.pixkey.adapters.in.rest;
+
+import br.com.paulomoreira.pixkey.domain.model.AccountType;
+import br.com.paulomoreira.pixkey.domain.model.KeyType;
+import br.com.paulomoreira.pixkey.domain.model.PixKey;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PixKeyExportWriterTest {
+
+    private static final UUID ID = UUID.fromString("550e8400-e29b-41d4-a716-446655440000");
+    private static final LocalDateTime CREATED_AT = LocalDateTime.of(2025, 3, 31, 10, 0);
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void shouldWriteOneJsonObjectPerLine() throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        PixKeyExportWriter writer = new PixKeyExportWriter(PixKeyExportWriter.Format.NDJSON, response, objectMapper);
+
+        writer.write(pixKey("a@example.com", "Paulo"));
+        writer.write(pixKey("b@example.com", "Ana"));
+        assertEquals(2, writer.finish());
+
+        String[] lines = response.getContentAsString().split("\n");
+        assertEquals(2, lines.length);
+        JsonNode first = objectMapper.readTree(lines[0]);
+        assertEquals(ID.toString(), first.get("id").asText());
+        assertEquals("a@example.com", first.get("valorChave").asText());
+        assertEquals("application/x-ndjson;charset=UTF-8", response.getContentType());
+    }
+
+    @Test
+    void shouldWriteCsvWithHeaderAndQuotedText() throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        PixKeyExportWriter writer = new PixKeyExportWriter(PixKeyExportWriter.Format.CSV, response, objectMapper);
+
+        writer.write(pixKey("a@example.com", "Silva, \"Paulo\""));
+        writer.finish();
+
+        String[] lines = response.getContentAsString().split("\n");
+        assertEquals("id,tipoChave,valorChave,tipoConta,numeroAgencia,numeroConta,nomeCorrentista,"
+                + "sobrenomeCorrentista,dataHoraInclusao,dataHoraInativacao,isPessoaFisica", lines[0]);
+        assertEquals(ID + ",EMAIL,a@example.com,CORRENTE,1234,56789012,\"Silva, \"\"Paulo\"\"\",Moreira,"
+                + "2025-03-31T10:00:00,,true", lines[1]);
+        assertEquals("attachment; filename=\"pix-keys.csv\"", response.getHeader("Content-Disposition"));
+    }
+
+    @Test
+    void shouldNotTouchResponseBeforeFirstRow() {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        new PixKeyExportWriter(PixKeyExportWriter.Format.CSV, response, objectMapper);
+
+        assertNull(response.getContentType());
+        assertEquals(0, response.getContentAsByteArray().length);
+    }
+
+    @Test
+    void shouldWriteOnlyHeaderWhenNothingMatches() throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        PixKeyExportWriter writer = new PixKeyExportWriter(PixKeyExportWriter.Format.CSV, response, objectMapper);
+
+        assertEquals(0, writer.finish());
+
+        assertTrue(response.getContentAsString().startsWith("id,tipoChave"));
+        assertEquals(1, response.getContentAsString().split("\n").length);
+    }
+
+    @Test
+    void shouldRejectUnknownFormat() {
+        assertThrows(IllegalArgumentException.class, () -> PixKeyExportWriter.Format.from("xml"));
+        assertEquals(PixKeyExportWriter.Format.CSV, PixKeyExportWriter.Format.from("CSV"));
+    }
+
+    private static PixKey pixKey(String keyValue, String holderName) {
+        return new PixKey(ID, KeyType.EMAIL, keyValue, AccountType.CORRENTE, 1234, 56789012,
+                holderName, "Moreira", CREATED_AT, true, null, true);
+    }
+}
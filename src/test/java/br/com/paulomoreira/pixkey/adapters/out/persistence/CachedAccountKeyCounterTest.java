@@ -0,0 +1,143 @@
+package br.com.paulomoreira.pixkey.adapters.out.persistence;
+
+import br.com.paulomoreira.pixkey.application.ports.out.LocalPixKeyInvalidationChannel;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CachedAccountKeyCounterTest {
+
+    private static final Duration TTL = Duration.ofMinutes(1);
+
+    private final LocalPixKeyInvalidationChannel channel = new LocalPixKeyInvalidationChannel();
+    private final AtomicLong clock = new AtomicLong();
+    private CachedAccountKeyCounter counter;
+
+    @BeforeEach
+    void setUp() {
+        counter = counter(10_000);
+    }
+
+    @Test
+    @DisplayName("Deve deixar passar contas ainda não recusadas pelo banco")
+    void shouldLetUnknownAccountsThrough() {
+        for (int i = 0; i < 10; i++) {
+            assertTrue(counter.tryAcquire(1234, 56789012, 5));
+        }
+
+        assertEquals(0, counter.size());
+        assertEquals(10, counter.getMisses());
+        assertEquals(0, counter.getHits());
+    }
+
+    @Test
+    @DisplayName("Deve recusar sem ir ao banco depois que o banco recusou pelo limite")
+    void shouldRejectOnceTheDatabaseRefusedTheAccount() {
+        counter.limitReached(1234, 56789012, 5);
+
+        assertFalse(counter.tryAcquire(1234, 56789012, 5));
+        assertFalse(counter.tryAcquire(1234, 56789012, 5));
+        assertTrue(counter.tryAcquire(4321, 56789012, 5));
+        assertEquals(2, counter.getHits());
+    }
+
+    @Test
+    @DisplayName("Deve deixar o banco decidir depois de uma invalidação")
+    void shouldLetTheDatabaseDecideAfterInvalidation() {
+        counter.limitReached(1234, 56789012, 5);
+        channel.publish(UUID.randomUUID(), "+5521994827834");
+
+        assertTrue(counter.tryAcquire(1234, 56789012, 5));
+        assertTrue(counter.tryAcquire(1234, 56789012, 5));
+
+        counter.limitReached(1234, 56789012, 5);
+        assertFalse(counter.tryAcquire(1234, 56789012, 5));
+    }
+
+    @Test
+    @DisplayName("Deve liberar e reservar vagas de uma conta conhecida")
+    void shouldReleaseAndReserveSlots() {
+        counter.limitReached(1234, 56789012, 5);
+        counter.release(1234, 56789012);
+
+        assertTrue(counter.tryAcquire(1234, 56789012, 5));
+        assertFalse(counter.tryAcquire(1234, 56789012, 5));
+
+        counter.release(1234, 56789012);
+        counter.acquire(1234, 56789012);
+        assertFalse(counter.tryAcquire(1234, 56789012, 5));
+    }
+
+    @Test
+    @DisplayName("Deve esquecer a recusa depois do TTL")
+    void shouldForgetRejectionAfterTtl() {
+        counter.limitReached(1234, 56789012, 5);
+
+        clock.addAndGet(TTL.toNanos() - 1);
+        assertFalse(counter.tryAcquire(1234, 56789012, 5));
+        clock.addAndGet(1);
+        assertTrue(counter.tryAcquire(1234, 56789012, 5));
+    }
+
+    @Test
+    @DisplayName("Deve descartar todas as contagens quando o canal pede invalidação total")
+    void shouldDropEverythingOnInvalidatedAll() {
+        counter.limitReached(1234, 56789012, 5);
+        assertEquals(1, counter.size());
+
+        counter.invalidatedAll();
+
+        assertEquals(0, counter.size());
+        assertTrue(counter.tryAcquire(1234, 56789012, 5));
+    }
+
+    @Test
+    @DisplayName("Deve manter o número de contas em memória dentro do limite")
+    void shouldStayWithinMaximumSize() {
+        CachedAccountKeyCounter bounded = counter(64);
+
+        for (int account = 10000000; account < 10005000; account++) {
+            bounded.limitReached(1234, account, 5);
+            assertFalse(bounded.tryAcquire(1234, account, 5));
+            assertTrue(bounded.size() <= 64);
+        }
+    }
+
+    @Test
+    @DisplayName("Deve ignorar ajustes em contas ainda não carregadas")
+    void shouldIgnoreAdjustmentsForUncachedAccounts() {
+        counter.release(1234, 56789012);
+        counter.acquire(4321, 12345678);
+
+        assertEquals(0, counter.size());
+    }
+
+    @Test
+    @DisplayName("Deve manter contas distintas separadas ao crescer a tabela")
+    void shouldKeepAccountsApartWhileGrowing() {
+        for (int branch = 1000; branch < 1100; branch++) {
+            for (int account = 10000000; account < 10000020; account++) {
+                counter.limitReached(branch, account, 2);
+                counter.release(branch, account);
+            }
+        }
+        for (int branch = 1000; branch < 1100; branch++) {
+            for (int account = 10000000; account < 10000020; account++) {
+                assertTrue(counter.tryAcquire(branch, account, 2));
+                assertFalse(counter.tryAcquire(branch, account, 2));
+            }
+        }
+
+        assertEquals(2_000, counter.size());
+    }
+
+    private CachedAccountKeyCounter counter(int maximumSize) {
+        return new CachedAccountKeyCounter(4, maximumSize, TTL, channel, clock::get);
+    }
+}
@@ -0,0 +1,220 @@
+package br.com.paulomoreira.pixkey.adapters.out.persistence;
+
+import br.com.paulomoreira.pixkey.application.ports.out.LocalPixKeyInvalidationChannel;
+import br.com.paulomoreira.pixkey.domain.model.AccountType;
+import br.com.paulomoreira.pixkey.domain.model.KeyType;
+import br.com.paulomoreira.pixkey.domain.model.PixKey;
+import br.com.paulomoreira.pixkey.infrastructure.metrics.PixKeyCacheMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DirectMappedPixKeyValueCacheTest {
+
+    private final LocalPixKeyInvalidationChannel channel = new LocalPixKeyInvalidationChannel();
+    private final AtomicLong clock = new AtomicLong();
+    private final AtomicInteger loads = new AtomicInteger();
+
+    @Test
+    void shouldLoadOnceAndServeRepeatedResolvesFromMemory() {
+        DirectMappedPixKeyValueCache cache = cache(16);
+        PixKey pixKey = key("paulo@email.com", "Moreira");
+
+        assertEquals(Optional.of(pixKey), cache.get("paulo@email.com", loader(pixKey)));
+        assertEquals(Optional.of(pixKey), cache.get("paulo@email.com", loader(pixKey)));
+
+        assertEquals(1, loads.get());
+        assertEquals(1, cache.getHits());
+        assertEquals(1, cache.getMisses());
+    }
+
+    @Test
+    void shouldNotCacheUnknownOrInactiveKeys() {
+        DirectMappedPixKeyValueCache cache = cache(16);
+        PixKey inactive = key("paulo@email.com", "Moreira").withActive(false);
+
+        cache.get("nobody@email.com", loader(null));
+        cache.get("nobody@email.com", loader(null));
+        cache.get("paulo@email.com", loader(inactive));
+        cache.get("paulo@email.com", loader(inactive));
+
+        assertEquals(4, loads.get());
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    void shouldReloadAfterTheTtl() {
+        DirectMappedPixKeyValueCache cache = cache(16);
+        PixKey pixKey = key("paulo@email.com", "Moreira");
+        cache.get("paulo@email.com", loader(pixKey));
+
+        clock.addAndGet(Duration.ofSeconds(30).toNanos());
+        cache.get("paulo@email.com", loader(pixKey));
+
+        assertEquals(2, loads.get());
+        assertEquals(1, cache.getEvictions());
+    }
+
+    @Test
+    void shouldNeverAnswerWithAnotherValuesKey() {
+        DirectMappedPixKeyValueCache cache = cache(1);
+        PixKey first = key("a@email.com", "Moreira");
+        PixKey second = key("b@email.com", "Silva");
+
+        assertEquals(Optional.of(first), cache.get("a@email.com", loader(first)));
+        assertEquals(Optional.of(second), cache.get("b@email.com", loader(second)));
+        assertEquals(Optional.of(first), cache.get("a@email.com", loader(first)));
+
+        assertEquals(3, loads.get());
+        assertEquals(1, cache.size());
+        assertEquals(2, cache.getEvictions());
+    }
+
+    @Test
+    void shouldDropKeysChangedOnAnyInstance() {
+        DirectMappedPixKeyValueCache cache = cache(16);
+        PixKey pixKey = key("paulo@email.com", "Moreira");
+        cache.get("paulo@email.com", loader(pixKey));
+
+        channel.publish(pixKey.id(), pixKey.keyValue());
+
+        assertEquals(Optional.empty(), cache.get("paulo@email.com", loader(null)));
+        assertEquals(2, loads.get());
+    }
+
+    // Instances that predate the key value in the payload only send the id.
+    @Test
+    void shouldDropKeysInvalidatedByIdAlone() {
+        DirectMappedPixKeyValueCache cache = cache(16);
+        PixKey pixKey = key("paulo@email.com", "Moreira");
+        PixKey other = key("ana@email.com", "Silva");
+        cache.get("paulo@email.com", loader(pixKey));
+        cache.get("ana@email.com", loader(other));
+
+        channel.publish(pixKey.id(), null);
+
+        assertEquals(Optional.of(other), cache.get("ana@email.com", loader(other)));
+        assertEquals(1, cache.size());
+        assertEquals(2, loads.get());
+    }
+
+    // The row was read before the deactivation committed and arrives after its invalidation.
+    @Test
+    void shouldNotStoreARowLoadedAcrossAnInvalidation() {
+        DirectMappedPixKeyValueCache cache = cache(16);
+        PixKey stale = key("paulo@email.com", "Moreira");
+
+        Optional<PixKey> racingRead = cache.get("paulo@email.com", value -> {
+            channel.publish(stale.id(), stale.keyValue());
+            return Optional.of(stale);
+        });
+
+        assertEquals(Optional.of(stale), racingRead);
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    void shouldKeepRowsLoadedAcrossAnotherKeysInvalidation() {
+        DirectMappedPixKeyValueCache cache = cache(1024);
+        PixKey loaded = key("paulo@email.com", "Moreira");
+        PixKey changed = key("ana@email.com", "Silva");
+
+        cache.get("paulo@email.com", value -> {
+            channel.publish(changed.id(), changed.keyValue());
+            return Optional.of(loaded);
+        });
+
+        assertEquals(1, cache.size());
+    }
+
+    @Test
+    void shouldClearEverythingWhenInvalidationsMayHaveBeenMissed() {
+        DirectMappedPixKeyValueCache cache = cache(16);
+        PixKey pixKey = key("paulo@email.com", "Moreira");
+        cache.get("paulo@email.com", loader(pixKey));
+
+        channel.disconnect();
+        channel.publish(pixKey.id(), pixKey.keyValue());
+        channel.reconnect();
+
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    void shouldStayConsistentUnderConcurrentResolvesOfCollidingValues() throws Exception {
+        DirectMappedPixKeyValueCache cache = cache(4);
+        List<PixKey> keys = new ArrayList<>();
+        for (int i = 0; i < 32; i++) {
+            keys.add(key("user" + i + "@email.com", "Moreira"));
+        }
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> workers = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            int offset = t;
+            workers.add(executor.submit(() -> {
+                start.await();
+                for (int i = 0; i < 10_000; i++) {
+                    PixKey expected = keys.get((i + offset) % keys.size());
+                    Optional<PixKey> resolved = cache.get(expected.keyValue(), value -> Optional.of(expected));
+                    assertEquals(Optional.of(expected), resolved);
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> worker : workers) {
+            worker.get(30, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+
+        assertTrue(cache.size() <= 4, "size " + cache.size());
+        assertEquals(40_000, cache.getHits() + cache.getMisses());
+    }
+
+    @Test
+    void shouldExposeStandardCacheMeters() {
+        DirectMappedPixKeyValueCache cache = cache(16);
+        PixKey pixKey = key("paulo@email.com", "Moreira");
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        new PixKeyCacheMetrics(cache, "pixKeyValues").bindTo(registry);
+
+        cache.get("paulo@email.com", loader(pixKey));
+        cache.get("paulo@email.com", loader(pixKey));
+
+        assertEquals(1.0, registry.get("cache.gets").tags("cache", "pixKeyValues", "result", "hit").functionCounter().count());
+        assertEquals(1.0, registry.get("cache.puts").tags("cache", "pixKeyValues").functionCounter().count());
+        assertEquals(1.0, registry.get("cache.size").tags("cache", "pixKeyValues").gauge().value());
+    }
+
+    private DirectMappedPixKeyValueCache cache(int capacity) {
+        return new DirectMappedPixKeyValueCache(capacity, Duration.ofSeconds(30), channel, clock::get);
+    }
+
+    private Function<String, Optional<PixKey>> loader(PixKey pixKey) {
+        return value -> {
+            loads.incrementAndGet();
+            return Optional.ofNullable(pixKey);
+        };
+    }
+
+    private static PixKey key(String keyValue, String lastName) {
+        return new PixKey(UUID.randomUUID(), KeyType.EMAIL, keyValue, AccountType.CORRENTE,
+                1234, 56789012, "Paulo", lastName, null, true, null, true);
+    }
+}
@@ -0,0 +1,166 @@
+package br.com.paulomoreira.pixkey.adapters.out.persistence;
+
+import br.com.paulomoreira.pixkey.application.ports.out.LocalPixKeyInvalidationChannel;
+import br.com.paulomoreira.pixkey.domain.model.AccountType;
+import br.com.paulomoreira.pixkey.domain.model.KeyType;
+import br.com.paulomoreira.pixkey.domain.model.PixKey;
+import br.com.paulomoreira.pixkey.infrastructure.metrics.PixKeyCacheMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LocalPixKeyCacheTest {
+
+    private final LocalPixKeyInvalidationChannel channel = new LocalPixKeyInvalidationChannel();
+    private final AtomicLong clock = new AtomicLong();
+    private final AtomicInteger loads = new AtomicInteger();
+
+    @Test
+    void shouldLoadOnceAndServeRepeatedReadsFromMemory() {
+        LocalPixKeyCache cache = cache(100);
+        PixKey pixKey = key(UUID.randomUUID(), "Moreira");
+
+        assertEquals(Optional.of(pixKey), cache.get(pixKey.id(), loader(pixKey)));
+        assertEquals(Optional.of(pixKey), cache.get(pixKey.id(), loader(pixKey)));
+        assertEquals(Optional.of(pixKey), cache.get(pixKey.id(), loader(pixKey)));
+
+        assertEquals(1, loads.get());
+        assertEquals(2, cache.getHits());
+        assertEquals(1, cache.getMisses());
+    }
+
+    @Test
+    void shouldNotCacheMissingKeys() {
+        LocalPixKeyCache cache = cache(100);
+        UUID id = UUID.randomUUID();
+
+        cache.get(id, loader(null));
+        cache.get(id, loader(null));
+
+        assertEquals(2, loads.get());
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    void shouldPeekWithoutLoading() {
+        LocalPixKeyCache cache = cache(100);
+        PixKey pixKey = key(UUID.randomUUID(), "Moreira");
+
+        assertEquals(Optional.empty(), cache.getIfPresent(pixKey.id()));
+        cache.get(pixKey.id(), loader(pixKey));
+        assertEquals(Optional.of(pixKey), cache.getIfPresent(pixKey.id()));
+
+        clock.addAndGet(Duration.ofMinutes(5).toNanos());
+        assertEquals(Optional.empty(), cache.getIfPresent(pixKey.id()));
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void shouldReloadAfterTheTtl() {
+        LocalPixKeyCache cache = cache(100);
+        PixKey pixKey = key(UUID.randomUUID(), "Moreira");
+        cache.get(pixKey.id(), loader(pixKey));
+
+        clock.addAndGet(Duration.ofMinutes(5).toNanos());
+        cache.get(pixKey.id(), loader(pixKey));
+
+        assertEquals(2, loads.get());
+        assertEquals(1, cache.getEvictions());
+    }
+
+    @Test
+    void shouldStayWithinMaximumSizeDroppingLeastRecentlyReadKeys() {
+        LocalPixKeyCache cache = cache(64);
+        for (int i = 0; i < 1000; i++) {
+            PixKey pixKey = key(UUID.randomUUID(), "Moreira");
+            cache.get(pixKey.id(), loader(pixKey));
+        }
+
+        assertTrue(cache.size() <= 64, "size " + cache.size());
+        assertEquals(1000 - cache.size(), cache.getEvictions());
+    }
+
+    @Test
+    void shouldDropInvalidatedKeysOnEveryInstance() {
+        LocalPixKeyCache thisInstance = cache(100);
+        LocalPixKeyCache otherInstance = cache(100);
+        PixKey pixKey = key(UUID.randomUUID(), "Moreira");
+        PixKey updated = key(pixKey.id(), "Silva");
+        thisInstance.get(pixKey.id(), loader(pixKey));
+        otherInstance.get(pixKey.id(), loader(pixKey));
+
+        thisInstance.invalidate(pixKey);
+
+        assertEquals(Optional.of(updated), thisInstance.get(pixKey.id(), loader(updated)));
+        assertEquals(Optional.of(updated), otherInstance.get(pixKey.id(), loader(updated)));
+    }
+
+    // The row was read before the update committed and arrives after its invalidation.
+    @Test
+    void shouldNotStoreARowLoadedAcrossAnInvalidation() {
+        LocalPixKeyCache cache = cache(100);
+        PixKey stale = key(UUID.randomUUID(), "Moreira");
+        PixKey updated = key(stale.id(), "Silva");
+
+        Optional<PixKey> racingRead = cache.get(stale.id(), id -> {
+            channel.publish(id, stale.keyValue());
+            return Optional.of(stale);
+        });
+
+        assertEquals(Optional.of(stale), racingRead);
+        assertEquals(Optional.of(updated), cache.get(stale.id(), loader(updated)));
+    }
+
+    @Test
+    void shouldClearEverythingWhenInvalidationsMayHaveBeenMissed() {
+        LocalPixKeyCache cache = cache(100);
+        PixKey pixKey = key(UUID.randomUUID(), "Moreira");
+        PixKey updated = key(pixKey.id(), "Silva");
+        cache.get(pixKey.id(), loader(pixKey));
+
+        channel.disconnect();
+        channel.publish(pixKey.id(), pixKey.keyValue());
+        channel.reconnect();
+
+        assertEquals(Optional.of(updated), cache.get(pixKey.id(), loader(updated)));
+    }
+
+    @Test
+    void shouldExposeStandardCacheMeters() {
+        LocalPixKeyCache cache = cache(100);
+        PixKey pixKey = key(UUID.randomUUID(), "Moreira");
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        new PixKeyCacheMetrics(cache, "pixKeys").bindTo(registry);
+
+        cache.get(pixKey.id(), loader(pixKey));
+        cache.get(pixKey.id(), loader(pixKey));
+
+        assertEquals(1.0, registry.get("cache.gets").tags("cache", "pixKeys", "result", "hit").functionCounter().count());
+        assertEquals(1.0, registry.get("cache.gets").tags("cache", "pixKeys", "result", "miss").functionCounter().count());
+        assertEquals(1.0, registry.get("cache.size").tags("cache", "pixKeys").gauge().value());
+    }
+
+    private LocalPixKeyCache cache(int maximumSize) {
+        return new LocalPixKeyCache(maximumSize, Duration.ofMinutes(5), channel, clock::get);
+    }
+
+    private Function<UUID, Optional<PixKey>> loader(PixKey pixKey) {
+        return id -> {
+            loads.incrementAndGet();
+            return Optional.ofNullable(pixKey);
+        };
+    }
+
+    private static PixKey key(UUID id, String lastName) {
+        return new PixKey(id, KeyType.CELULAR, "+5521994827834", AccountType.CORRENTE,
+                1234, 56789012, "Paulo", lastName, null, true, null, true);
+    }
+}
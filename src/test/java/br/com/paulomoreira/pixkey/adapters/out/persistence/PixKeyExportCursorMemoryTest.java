@@ -0,0 +1,91 @@
+package br.com.paulomoreira.pixkey.adapters.out.persistence;
+
+import br.com.paulomoreira.pixkey.application.ports.in.SearchPixKeysQuery;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Streams a million seeded rows through the real forEachMatch. Without the server-side cursor the
+// driver would buffer the whole result before the first row reached the consumer.
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(PixKeyRepositoryImpl.class)
+@Testcontainers(disabledWithoutDocker = true)
+class PixKeyExportCursorMemoryTest {
+
+    private static final int ROWS = 1_000_000;
+    private static final long MAX_HEAP_GROWTH_BYTES = 64L * 1024 * 1024;
+
+    private static final String SEED_SQL = """
+            insert into pix_keys (id, type, key_value, account_type, branch_number, account_number,
+                                  account_holder_name, account_holder_last_name, created_at, active,
+                                  deactivated_at, is_legalperson)
+            select gen_random_uuid(), 'EMAIL', 'user' || g || '@example.com', 'CORRENTE', 1234,
+                   10000000 + g % 1000, 'Paulo', 'Moreira', timestamp '2025-03-31 10:00' + g * interval '1 second',
+                   true, null, true
+            from generate_series(1, ?) g
+            """;
+
+    @Container
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:15-alpine")
+            .withDatabaseName("pixkey-export")
+            .withUsername("test")
+            .withPassword("test")
+            .withInitScript("init.sql")
+            .withStartupTimeout(Duration.ofSeconds(60));
+
+    @DynamicPropertySource
+    static void datasource(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+    }
+
+    @Autowired
+    private PixKeyRepositoryImpl repository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+
+    @Test
+    void heapShouldStayFlatWhileStreamingAMillionRowsFromTheDatabase() {
+        jdbcTemplate.update(SEED_SQL, ROWS);
+        long[] rows = new long[1];
+        long[] heapAtCheckpoints = new long[2];
+
+        long baseline = usedHeapAfterGc();
+        repository.forEachMatch(new SearchPixKeysQuery(null, 1234, null, null, null, null), pixKey -> {
+            if (++rows[0] == ROWS / 2) {
+                heapAtCheckpoints[0] = usedHeapAfterGc();
+            }
+        });
+        heapAtCheckpoints[1] = usedHeapAfterGc();
+
+        assertEquals(ROWS, rows[0]);
+        assertTrue(heapAtCheckpoints[0] - baseline < MAX_HEAP_GROWTH_BYTES,
+                "heap grew by " + (heapAtCheckpoints[0] - baseline) + " bytes halfway through the export");
+        assertTrue(heapAtCheckpoints[1] - baseline < MAX_HEAP_GROWTH_BYTES,
+                "heap grew by " + (heapAtCheckpoints[1] - baseline) + " bytes at the end of the export");
+    }
+
+    private long usedHeapAfterGc() {
+        System.gc();
+        return memory.getHeapMemoryUsage().getUsed();
+    }
+}
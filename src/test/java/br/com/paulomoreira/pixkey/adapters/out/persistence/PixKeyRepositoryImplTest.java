@@ -1,7 +1,9 @@
 package br.com.paulomoreira.pixkey.adapters.out.persistence;
 
 
+import br.com.paulomoreira.pixkey.application.ports.in.CountMode;
 import br.com.paulomoreira.pixkey.application.ports.in.SearchPixKeysQuery;
+import br.com.paulomoreira.pixkey.application.ports.out.InsertOutcome;
 import br.com.paulomoreira.pixkey.domain.model.AccountType;
 import br.com.paulomoreira.pixkey.domain.model.KeyType;
 import br.com.paulomoreira.pixkey.domain.model.PixKey;
@@ -11,15 +13,22 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
-import org.springframework.data.jpa.domain.Specification;
-
+import org.springframework.data.domain.Slice;
+import org.springframework.jdbc.core.JdbcOperations;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+
+import java.sql.ResultSet;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
@@ -27,6 +36,9 @@ import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.contains;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -35,6 +47,9 @@ class PixKeyRepositoryImplTest {
     @Mock
     private PixKeyJpaRepository jpaRepository;
 
+    @Mock
+    private NamedParameterJdbcTemplate jdbcTemplate;
+
     @InjectMocks
     private PixKeyRepositoryImpl pixKeyRepository;
 
@@ -73,32 +88,77 @@ class PixKeyRepositoryImplTest {
     }
 
     @Test
-    @DisplayName("Deve salvar uma chave PIX com sucesso")
-    void shouldSavePixKeySuccessfully() {
-        when(jpaRepository.save(any(PixKeyEntity.class))).thenReturn(TEST_PIX_KEY_ENTITY);
+    @DisplayName("Deve inserir a chave em uma única chamada ao banco e devolver o resultado")
+    void shouldInsertIfAllowedInSingleCall() {
+        when(jdbcTemplate.queryForObject(anyString(), any(MapSqlParameterSource.class), eq(String.class)))
+                .thenReturn("LIMIT_EXCEEDED");
+
+        InsertOutcome outcome = pixKeyRepository.insertIfAllowed(TEST_PIX_KEY, 5);
+
+        assertEquals(InsertOutcome.LIMIT_EXCEEDED, outcome);
+        ArgumentCaptor<MapSqlParameterSource> params = ArgumentCaptor.forClass(MapSqlParameterSource.class);
+        verify(jdbcTemplate).queryForObject(contains("create_pix_key"), params.capture(), eq(String.class));
+        assertEquals("12345678901", params.getValue().getValue("keyValue"));
+        assertEquals(98765432, params.getValue().getValue("accountNumber"));
+        assertEquals(true, params.getValue().getValue("isLegalPerson"));
+        assertEquals(5, params.getValue().getValue("maxKeys"));
+        verifyNoInteractions(jpaRepository);
+    }
 
-        PixKey savedPixKey = pixKeyRepository.save(TEST_PIX_KEY);
+    @Test
+    @DisplayName("Deve decidir o lote com consultas em conjunto e inserir em batch apenas as chaves aceitas")
+    void shouldInsertAllIfAllowedWithSetBasedChecks() {
+        when(jdbcTemplate.queryForList(contains("key_value = any"), any(MapSqlParameterSource.class), eq(String.class)))
+                .thenReturn(List.of("taken@example.com"));
+        doAnswer(invocation -> {
+            ResultSet rs = mock(ResultSet.class);
+            when(rs.getInt("branch_number")).thenReturn(1234);
+            when(rs.getInt("account_number")).thenReturn(98765432);
+            when(rs.getInt("active_keys")).thenReturn(4);
+            invocation.<RowCallbackHandler>getArgument(2).processRow(rs);
+            return null;
+        }).when(jdbcTemplate).query(contains("group by"), any(MapSqlParameterSource.class), any(RowCallbackHandler.class));
+
+        List<InsertOutcome> outcomes = pixKeyRepository.insertAllIfAllowed(List.of(
+                bulkKey("taken@example.com", 98765432),
+                bulkKey("first@example.com", 98765432),
+                bulkKey("second@example.com", 98765432),
+                bulkKey("first@example.com", 11112222),
+                bulkKey("other@example.com", 11112222)
+        ), pixKey -> 5);
+
+        assertEquals(List.of(InsertOutcome.DUPLICATE_KEY, InsertOutcome.INSERTED, InsertOutcome.LIMIT_EXCEEDED,
+                InsertOutcome.DUPLICATE_KEY, InsertOutcome.INSERTED), outcomes);
+        ArgumentCaptor<SqlParameterSource[]> batch = ArgumentCaptor.forClass(SqlParameterSource[].class);
+        verify(jdbcTemplate).batchUpdate(contains("insert into pix_keys"), batch.capture());
+        assertEquals(2, batch.getValue().length);
+        assertEquals("first@example.com", batch.getValue()[0].getValue("keyValue"));
+        assertEquals("other@example.com", batch.getValue()[1].getValue("keyValue"));
+    }
 
-        assertNotNull(savedPixKey);
-        assertEquals(TEST_ID, savedPixKey.id());
-        verify(jpaRepository).save(any(PixKeyEntity.class));
+    private static PixKey bulkKey(String keyValue, int accountNumber) {
+        return new PixKey(null, KeyType.EMAIL, keyValue, AccountType.CORRENTE, 1234, accountNumber,
+                "João", "Silva", null, true, null, true);
     }
 
     @Test
     @DisplayName("Deve encontrar uma chave PIX por ID")
     void shouldFindPixKeyById() {
-        when(jpaRepository.findById(TEST_ID)).thenReturn(Optional.of(TEST_PIX_KEY_ENTITY));
+        when(jdbcTemplate.query(contains("from pix_keys where id = :id"), any(SqlParameterSource.class),
+                eq(PixKeyRowMapper.INSTANCE))).thenReturn(List.of(TEST_PIX_KEY));
 
         Optional<PixKey> foundPixKey = pixKeyRepository.findById(TEST_ID);
 
         assertTrue(foundPixKey.isPresent());
         assertEquals(TEST_ID, foundPixKey.get().id());
+        verifyNoInteractions(jpaRepository);
     }
 
     @Test
     @DisplayName("Deve retornar vazio quando chave não encontrada por ID")
     void shouldReturnEmptyWhenPixKeyNotFoundById() {
-        when(jpaRepository.findById(TEST_ID)).thenReturn(Optional.empty());
+        when(jdbcTemplate.query(contains("from pix_keys where id = :id"), any(SqlParameterSource.class),
+                eq(PixKeyRowMapper.INSTANCE))).thenReturn(List.of());
 
         Optional<PixKey> foundPixKey = pixKeyRepository.findById(TEST_ID);
 
@@ -140,23 +200,102 @@ class PixKeyRepositoryImplTest {
                 null
         );
 
-        when(jpaRepository.findAll(any(Specification.class), eq(pageable)))
-                .thenReturn(new PageImpl<>(List.of(TEST_PIX_KEY_ENTITY)));
+        JdbcOperations jdbcOperations = mock(JdbcOperations.class);
+        when(jdbcTemplate.getJdbcOperations()).thenReturn(jdbcOperations);
+        when(jdbcOperations.query(anyString(), any(RowMapper.class), any(Object[].class)))
+                .thenReturn(List.of(TEST_PIX_KEY));
 
         Page<PixKey> result = pixKeyRepository.search(query, pageable);
 
         assertNotNull(result);
         assertEquals(1, result.getTotalElements());
         assertEquals(TEST_ID, result.getContent().get(0).id());
-        verify(jpaRepository).findAll(any(Specification.class), eq(pageable));
+        verify(jdbcOperations).query(eq("select " + PixKeyRowMapper.COLUMNS + " from pix_keys where type = ?"
+                        + " and branch_number = ? and account_number = ? and account_holder_name = ?"
+                        + " and created_at >= ? limit ? offset ?"), any(RowMapper.class),
+                eq("CPF"), eq(1234), eq(98765432), eq("João"), eq(NOW), eq(10), eq(0L));
+        verify(jdbcOperations, never()).queryForObject(contains("count(*)"), eq(Long.class), any(Object[].class));
+        verifyNoInteractions(jpaRepository);
+    }
+
+    @Test
+    @DisplayName("Deve contar o total quando a página está cheia")
+    void shouldCountWhenPageIsFull() {
+        JdbcOperations jdbcOperations = mock(JdbcOperations.class);
+        when(jdbcTemplate.getJdbcOperations()).thenReturn(jdbcOperations);
+        when(jdbcOperations.query(anyString(), any(RowMapper.class), any(Object[].class)))
+                .thenReturn(List.of(TEST_PIX_KEY, TEST_PIX_KEY));
+        when(jdbcOperations.queryForObject("select count(*) from pix_keys where branch_number = ?", Long.class, 1234))
+                .thenReturn(7L);
+        SearchPixKeysQuery query = new SearchPixKeysQuery(null, 1234, null, null, null, null);
+
+        Page<PixKey> result = pixKeyRepository.search(query, PageRequest.of(0, 2));
+
+        assertEquals(7, result.getTotalElements());
+        assertEquals(4, result.getTotalPages());
+    }
+
+    @Test
+    @DisplayName("Deve pesquisar sem COUNT e indicar se há próxima página")
+    void shouldSearchWithoutCount() {
+        JdbcOperations jdbcOperations = mock(JdbcOperations.class);
+        when(jdbcTemplate.getJdbcOperations()).thenReturn(jdbcOperations);
+        when(jdbcOperations.query(anyString(), any(RowMapper.class), any(Object[].class)))
+                .thenReturn(List.of(TEST_PIX_KEY, TEST_PIX_KEY, TEST_PIX_KEY));
+        SearchPixKeysQuery query = new SearchPixKeysQuery("CPF", null, null, null, null, null);
+
+        Slice<PixKey> result = pixKeyRepository.search(query, PageRequest.of(1, 2), CountMode.NONE);
+
+        assertFalse(result instanceof Page);
+        assertEquals(2, result.getNumberOfElements());
+        assertTrue(result.hasNext());
+        verify(jdbcOperations).query(eq("select " + PixKeyRowMapper.COLUMNS
+                + " from pix_keys where type = ? limit ? offset ?"), any(RowMapper.class), eq("CPF"), eq(3), eq(2L));
+        verify(jdbcOperations, never()).queryForObject(contains("explain"), eq(String.class), any(Object[].class));
+        verifyNoInteractions(jpaRepository);
+    }
+
+    @Test
+    @DisplayName("Deve usar a estimativa do planejador como total")
+    void shouldSearchWithEstimatedCount() {
+        JdbcOperations jdbcOperations = mock(JdbcOperations.class);
+        when(jdbcTemplate.getJdbcOperations()).thenReturn(jdbcOperations);
+        when(jdbcOperations.query(anyString(), any(RowMapper.class), any(Object[].class)))
+                .thenReturn(List.of(TEST_PIX_KEY, TEST_PIX_KEY, TEST_PIX_KEY));
+        when(jdbcOperations.queryForObject(eq("explain (format json) select 1 from pix_keys where type = ?"),
+                eq(String.class), eq("CPF")))
+                .thenReturn("[{\"Plan\": {\"Node Type\": \"Seq Scan\", \"Plan Rows\": 1500000}}]");
+        SearchPixKeysQuery query = new SearchPixKeysQuery("CPF", null, null, null, null, null);
+
+        Slice<PixKey> result = pixKeyRepository.search(query, PageRequest.of(0, 2), CountMode.ESTIMATED);
+
+        assertEquals(1_500_000, ((Page<PixKey>) result).getTotalElements());
+        verify(jdbcOperations, never()).queryForObject(contains("count(*)"), eq(Long.class), any(Object[].class));
+    }
+
+    @Test
+    @DisplayName("Deve usar o total exato na última página mesmo em modo estimado")
+    void shouldUseExactTotalOnLastPageWhenEstimating() {
+        JdbcOperations jdbcOperations = mock(JdbcOperations.class);
+        when(jdbcTemplate.getJdbcOperations()).thenReturn(jdbcOperations);
+        when(jdbcOperations.query(anyString(), any(RowMapper.class), any(Object[].class)))
+                .thenReturn(List.of(TEST_PIX_KEY));
+        SearchPixKeysQuery query = new SearchPixKeysQuery("CPF", null, null, null, null, null);
+
+        Slice<PixKey> result = pixKeyRepository.search(query, PageRequest.of(2, 10), CountMode.ESTIMATED);
+
+        assertEquals(21, ((Page<PixKey>) result).getTotalElements());
+        verify(jdbcOperations, never()).queryForObject(anyString(), eq(String.class), any(Object[].class));
     }
 
     @Test
     @DisplayName("Deve pesquisar chaves com filtros usando método findByFilters")
     void shouldFindByFilters() {
         Pageable pageable = PageRequest.of(0, 10);
-        when(jpaRepository.findAll(any(Specification.class), eq(pageable)))
-                .thenReturn(new PageImpl<>(List.of(TEST_PIX_KEY_ENTITY)));
+        JdbcOperations jdbcOperations = mock(JdbcOperations.class);
+        when(jdbcTemplate.getJdbcOperations()).thenReturn(jdbcOperations);
+        when(jdbcOperations.query(anyString(), any(RowMapper.class), any(Object[].class)))
+                .thenReturn(List.of(TEST_PIX_KEY));
 
         Page<PixKey> result = pixKeyRepository.findByFilters(
                 "CPF",
@@ -171,7 +310,7 @@ class PixKeyRepositoryImplTest {
         assertNotNull(result);
         assertEquals(1, result.getTotalElements());
         assertEquals(TEST_ID, result.getContent().get(0).id());
-        verify(jpaRepository).findAll(any(Specification.class), eq(pageable));
+        verifyNoInteractions(jpaRepository);
     }
 
     @Test
@@ -0,0 +1,127 @@
+package br.com.paulomoreira.pixkey.adapters.out.persistence;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// The resolve path (GET /api/v1/pix-keys/valor/{valorChave}) against a seeded table: the lookup must
+// be a probe of the partial unique index on active key values, and its p99 through
+// PixKeyRepositoryImpl must stay within the SLO below, database round trip included.
+@Testcontainers(disabledWithoutDocker = true)
+class PixKeyResolveBenchmarkTest {
+
+    private static final int ROWS = 200_000;
+    private static final int WARMUP = 2_000;
+    private static final int SAMPLES = 10_000;
+    private static final double P99_SLO_MILLIS = 5.0;
+
+    private static final String SEED_SQL = """
+            insert into pix_keys (id, type, key_value, account_type, branch_number, account_number,
+                                  account_holder_name, account_holder_last_name, created_at, active,
+                                  deactivated_at, is_legalperson)
+            select gen_random_uuid(), 'EMAIL', 'user' || g || '@email.com', 'CORRENTE',
+                   1000 + g % 9000, 10000000 + g, 'Nome' || g % 5000, 'Sobrenome',
+                   timestamp '2024-01-01' + g * interval '1 minute',
+                   g % 10 <> 0,
+                   case when g % 10 = 0 then timestamp '2024-06-01' end,
+                   g % 2 = 0
+            from generate_series(1, ?) g
+            """;
+
+    @Container
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:15-alpine")
+            .withDatabaseName("pixkey-bench")
+            .withUsername("test")
+            .withPassword("test")
+            .withInitScript("init.sql")
+            .withStartupTimeout(Duration.ofSeconds(60));
+
+    private static SingleConnectionDataSource dataSource;
+    private static PixKeyRepositoryImpl repository;
+
+    @BeforeAll
+    static void migrateAndSeed() throws Exception {
+        Flyway.configure()
+                .dataSource(postgres.getJdbcUrl(), postgres.getUsername(), postgres.getPassword())
+                .load()
+                .migrate();
+        dataSource = new SingleConnectionDataSource(postgres.getJdbcUrl(), postgres.getUsername(),
+                postgres.getPassword(), true);
+        try (Connection connection = dataSource.getConnection()) {
+            try (PreparedStatement seed = connection.prepareStatement(SEED_SQL)) {
+                seed.setInt(1, ROWS);
+                seed.executeUpdate();
+            }
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("analyze pix_keys");
+            }
+        }
+        repository = new PixKeyRepositoryImpl(null, new NamedParameterJdbcTemplate(dataSource));
+    }
+
+    @AfterAll
+    static void closeDataSource() {
+        dataSource.destroy();
+    }
+
+    @Test
+    void shouldResolveThroughTheActiveKeyValueIndex() throws Exception {
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement explain = connection.prepareStatement("explain (analyze, format json) select "
+                     + PixKeyRowMapper.COLUMNS + " from pix_keys where key_value = ? and active")) {
+            explain.setString(1, "user12345@email.com");
+            try (ResultSet rs = explain.executeQuery()) {
+                rs.next();
+                JsonNode plan = new ObjectMapper().readTree(rs.getString(1)).get(0).get("Plan");
+                assertEquals("Index Scan", plan.get("Node Type").asText(), plan.toString());
+                assertEquals("ux_pix_keys_active_key_value", plan.get("Index Name").asText(), plan.toString());
+            }
+        }
+    }
+
+    @Test
+    void shouldResolveWithinTheLatencySlo() {
+        Random random = new Random(42);
+        for (int i = 0; i < WARMUP; i++) {
+            resolve(random);
+        }
+        long[] nanos = new long[SAMPLES];
+        for (int i = 0; i < SAMPLES; i++) {
+            long start = System.nanoTime();
+            resolve(random);
+            nanos[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(nanos);
+        double p50 = nanos[SAMPLES / 2] / 1_000_000.0;
+        double p99 = nanos[SAMPLES * 99 / 100] / 1_000_000.0;
+        System.out.printf("resolve by key value: p50 %.3fms, p99 %.3fms (SLO %.1fms)%n", p50, p99, P99_SLO_MILLIS);
+
+        assertTrue(p99 <= P99_SLO_MILLIS, "p99 " + p99 + "ms");
+    }
+
+    // Every tenth row is inactive, so about one lookup in ten comes back empty, as it does for
+    // deactivated keys in production.
+    private static void resolve(Random random) {
+        int row = 1 + random.nextInt(ROWS);
+        boolean found = repository.findActiveByKeyValue("user" + row + "@email.com").isPresent();
+        assertEquals(row % 10 != 0, found);
+    }
+}
@@ -0,0 +1,147 @@
+package br.com.paulomoreira.pixkey.adapters.out.persistence;
+
+import br.com.paulomoreira.pixkey.application.ports.in.SearchPixKeysQuery;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Compares the plan of every search filter with the migration indexes against the same query with
+// index access disabled (what the table looked like under ddl-auto). Each row of the printed table
+// is one filter: the COUNT behind Page.getTotalElements and the first keyset page.
+@Testcontainers(disabledWithoutDocker = true)
+class PixKeySearchPlanBenchmarkTest {
+
+    private static final int ROWS = 200_000;
+
+    private static final String SEED_SQL = """
+            insert into pix_keys (id, type, key_value, account_type, branch_number, account_number,
+                                  account_holder_name, account_holder_last_name, created_at, active,
+                                  deactivated_at, is_legalperson)
+            select gen_random_uuid(),
+                   (array['CPF','CNPJ','EMAIL','CELULAR','ALEATORIO'])[1 + g % 5],
+                   'key-' || g,
+                   'CORRENTE',
+                   1000 + (g::bigint * 7919) % 9000,
+                   10000000 + (g::bigint * 104729) % 90000000,
+                   'Nome' || (g::bigint * 31) % 5000,
+                   'Sobrenome',
+                   timestamp '2024-01-01' + g * interval '1 minute',
+                   g % 10 <> 0,
+                   case when g % 10 = 0 then timestamp '2024-06-01' + g * interval '1 minute' end,
+                   g % 2 = 0
+            from generate_series(1, ?) g
+            """;
+
+    @Container
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:15-alpine")
+            .withDatabaseName("pixkey-bench")
+            .withUsername("test")
+            .withPassword("test")
+            .withInitScript("init.sql")
+            .withStartupTimeout(Duration.ofSeconds(60));
+
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+
+    private static Connection connection;
+
+    @BeforeAll
+    static void migrateAndSeed() throws SQLException {
+        Flyway.configure()
+                .dataSource(postgres.getJdbcUrl(), postgres.getUsername(), postgres.getPassword())
+                .load()
+                .migrate();
+        connection = DriverManager.getConnection(postgres.getJdbcUrl(), postgres.getUsername(), postgres.getPassword());
+        try (PreparedStatement seed = connection.prepareStatement(SEED_SQL)) {
+            seed.setInt(1, ROWS);
+            seed.executeUpdate();
+        }
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("analyze pix_keys");
+        }
+        System.out.printf("%-16s %12s %12s %12s %12s%n", "filter", "count seq", "count idx", "page seq", "page idx");
+    }
+
+    @AfterAll
+    static void closeConnection() throws SQLException {
+        connection.close();
+    }
+
+    static Stream<Arguments> filters() {
+        return Stream.of(
+                Arguments.of("tipoChave", new SearchPixKeysQuery("CPF", null, null, null, null, null)),
+                Arguments.of("agencia", new SearchPixKeysQuery(null, 4321, null, null, null, null)),
+                Arguments.of("conta", new SearchPixKeysQuery(null, null, 10104729, null, null, null)),
+                Arguments.of("agencia+conta", new SearchPixKeysQuery(null, 4321, 10104729, null, null, null)),
+                Arguments.of("nomeCorrentista", new SearchPixKeysQuery(null, null, null, "Nome1234", null, null)),
+                Arguments.of("dataInclusao", new SearchPixKeysQuery(null, null, null, null,
+                        LocalDateTime.of(2024, 5, 1, 0, 0), null)),
+                Arguments.of("dataInativacao", new SearchPixKeysQuery(null, null, null, null, null,
+                        LocalDateTime.of(2024, 9, 1, 0, 0)))
+        );
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("filters")
+    void shouldServeFilterFromIndexes(String name, SearchPixKeysQuery query) throws Exception {
+        PixKeySqlFilter filter = PixKeySqlFilter.of(query);
+        String count = "select count(*) from pix_keys" + filter.where();
+        String page = "select " + PixKeyRowMapper.COLUMNS + " from pix_keys" + filter.where()
+                + " order by created_at, id limit 21";
+
+        JsonNode countSeq = explain(count, filter.args(), false);
+        JsonNode countIdx = explain(count, filter.args(), true);
+        JsonNode pageSeq = explain(page, filter.args(), false);
+        JsonNode pageIdx = explain(page, filter.args(), true);
+        System.out.printf("%-16s %10.2fms %10.2fms %10.2fms %10.2fms%n", name,
+                executionTime(countSeq), executionTime(countIdx), executionTime(pageSeq), executionTime(pageIdx));
+
+        assertFalse(pageIdx.toString().contains("Seq Scan"), name + " page plan: " + pageIdx);
+        assertTrue(executionTime(pageIdx) < executionTime(pageSeq), name + " page plan: " + pageIdx);
+        // A COUNT over a fifth of the table is cheaper as a scan; that is what contagem=estimated is for.
+        if (query.keyType() == null) {
+            assertTrue(executionTime(countIdx) < executionTime(countSeq), name + " count plan: " + countIdx);
+        }
+    }
+
+    private static JsonNode explain(String sql, List<Object> args, boolean indexes) throws Exception {
+        try (Statement statement = connection.createStatement()) {
+            for (String setting : List.of("enable_indexscan", "enable_indexonlyscan", "enable_bitmapscan")) {
+                statement.execute("set " + setting + " = " + indexes);
+            }
+        }
+        try (PreparedStatement statement = connection.prepareStatement("explain (analyze, format json) " + sql)) {
+            for (int i = 0; i < args.size(); i++) {
+                statement.setObject(i + 1, args.get(i));
+            }
+            try (ResultSet rs = statement.executeQuery()) {
+                rs.next();
+                return objectMapper.readTree(rs.getString(1)).get(0);
+            }
+        }
+    }
+
+    private static double executionTime(JsonNode plan) {
+        return plan.get("Execution Time").asDouble();
+    }
+}
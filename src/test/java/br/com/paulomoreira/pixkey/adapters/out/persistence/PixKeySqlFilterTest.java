@@ -0,0 +1,99 @@
+package br.com.paulomoreira.pixkey.adapters.out.persistence;
+
+import br.com.paulomoreira.pixkey.application.ports.in.SearchPixKeysQuery;
+import org.springframework.data.domain.Sort;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PixKeySqlFilterTest {
+
+    @Test
+    @DisplayName("Deve gerar apenas as condições dos filtros informados, na ordem dos parâmetros")
+    void shouldBuildConditionsForProvidedFilters() {
+        LocalDateTime createdAt = LocalDateTime.of(2025, 3, 31, 0, 0);
+
+        PixKeySqlFilter filter = PixKeySqlFilter.of(
+                new SearchPixKeysQuery("CPF", 1234, null, "Paulo", createdAt, null));
+
+        assertEquals(" where type = ? and branch_number = ? and account_holder_name = ? and created_at >= ?",
+                filter.where());
+        assertEquals(List.of("CPF", 1234, "Paulo", createdAt), filter.args());
+    }
+
+    @Test
+    void shouldBuildEmptyWhereWithoutFilters() {
+        PixKeySqlFilter filter = PixKeySqlFilter.of(new SearchPixKeysQuery(null, null, null, null, null, null));
+
+        assertEquals("", filter.where());
+        assertTrue(filter.args().isEmpty());
+    }
+
+    @Test
+    @DisplayName("Deve traduzir a ordenação do Pageable para colunas da tabela")
+    void shouldTranslateSortToColumns() {
+        assertEquals("", PixKeySqlFilter.orderBy(Sort.unsorted()));
+        assertEquals(" order by created_at desc, key_value asc",
+                PixKeySqlFilter.orderBy(Sort.by(Sort.Order.desc("createdAt"), Sort.Order.asc("keyValue"))));
+    }
+
+    @Test
+    void shouldRejectUnknownSortProperty() {
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                () -> PixKeySqlFilter.orderBy(Sort.by("id; drop table pix_keys")));
+        assertEquals("Campo de ordenação inválido: id; drop table pix_keys", exception.getMessage());
+    }
+
+    @Test
+    void shouldAppendSeekConditionAfterFilters() {
+        LocalDateTime createdAt = LocalDateTime.of(2025, 3, 31, 10, 0);
+        UUID id = UUID.randomUUID();
+
+        PixKeySqlFilter filter = PixKeySqlFilter.of(new SearchPixKeysQuery(null, 1234, null, null, null, null))
+                .and("(created_at, id) > (?, ?)", createdAt, id);
+
+        assertEquals(" where branch_number = ? and (created_at, id) > (?, ?)", filter.where());
+        assertEquals(List.of(1234, createdAt, id), filter.args());
+    }
+
+    @Test
+    @DisplayName("Deve reutilizar o mesmo SQL para buscas com o mesmo formato de filtro")
+    void shouldReuseSqlForSameFilterShape() {
+        PixKeySqlFilter first = PixKeySqlFilter.of(new SearchPixKeysQuery("CPF", 1234, null, null, null, null));
+        PixKeySqlFilter second = PixKeySqlFilter.of(new SearchPixKeysQuery("EMAIL", 4321, null, null, null, null));
+        Sort sort = Sort.by(Sort.Order.desc("createdAt"));
+
+        assertSame(first.selectSql(), second.selectSql());
+        assertSame(first.countSql(), second.countSql());
+        assertSame(first.pageSql(sort), second.pageSql(Sort.by(Sort.Order.desc("createdAt"))));
+        assertEquals("select " + PixKeyRowMapper.COLUMNS + " from pix_keys where type = ? and branch_number = ?"
+                + " order by created_at desc limit ? offset ?", first.pageSql(sort));
+        assertEquals("select count(*) from pix_keys where type = ? and branch_number = ?", first.countSql());
+        assertSame(first.fingerprintSql(), second.fingerprintSql());
+        assertEquals("select count(*), coalesce(bit_xor(hashtextextended(id::text, version)), 0) from pix_keys"
+                + " where type = ? and branch_number = ?", first.fingerprintSql());
+    }
+
+    @Test
+    void shouldAppendLimitAndOffsetToArgs() {
+        PixKeySqlFilter filter = PixKeySqlFilter.of(new SearchPixKeysQuery(null, null, 98765432, null, null, null));
+
+        assertArrayEquals(new Object[]{98765432, 21, 40L}, filter.pageArgs(21, 40));
+    }
+
+    @Test
+    void shouldRenderSqlForSeekFilters() {
+        PixKeySqlFilter filter = PixKeySqlFilter.of(new SearchPixKeysQuery("CPF", null, null, null, null, null))
+                .and("(created_at, id) > (?, ?)", LocalDateTime.now(), UUID.randomUUID());
+
+        assertEquals(-1, filter.shape());
+        assertEquals("select count(*) from pix_keys where type = ? and (created_at, id) > (?, ?)", filter.countSql());
+        assertEquals("select " + PixKeyRowMapper.COLUMNS + " from pix_keys where type = ? and (created_at, id) > (?, ?)"
+                + " limit ? offset ?", filter.pageSql(Sort.unsorted()));
+    }
+}
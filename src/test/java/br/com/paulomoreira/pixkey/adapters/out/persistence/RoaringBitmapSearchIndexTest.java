@@ -0,0 +1,227 @@
+package br.com.paulomoreira.pixkey.adapters.out.persistence;
+
+import br.com.paulomoreira.pixkey.application.ports.in.SearchPixKeysQuery;
+import br.com.paulomoreira.pixkey.application.ports.out.InMemoryPixKeyRepository;
+import br.com.paulomoreira.pixkey.application.ports.out.LocalPixKeyInvalidationChannel;
+import br.com.paulomoreira.pixkey.application.ports.out.PixKeySearchIndex.IndexedPage;
+import br.com.paulomoreira.pixkey.domain.model.AccountType;
+import br.com.paulomoreira.pixkey.domain.model.KeyType;
+import br.com.paulomoreira.pixkey.domain.model.PixKey;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Random;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RoaringBitmapSearchIndexTest {
+
+    private static final LocalDateTime START = LocalDateTime.of(2025, 3, 1, 0, 0);
+
+    @Test
+    void shouldNotAnswerBeforeLoadOrForSortedOrUnpagedSearches() {
+        RoaringBitmapSearchIndex index = new RoaringBitmapSearchIndex();
+        SearchPixKeysQuery query = byBranch(1000);
+
+        assertEquals(Optional.empty(), index.search(query, PageRequest.of(0, 20)));
+
+        index.load(new InMemoryPixKeyRepository());
+
+        assertTrue(index.isReady());
+        assertTrue(index.search(query, PageRequest.of(0, 20)).isPresent());
+        assertEquals(Optional.empty(), index.search(query, PageRequest.of(0, 20, Sort.by("createdAt"))));
+        assertEquals(Optional.empty(), index.search(query, Pageable.unpaged()));
+    }
+
+    @Test
+    void shouldMatchTheSameKeysAsTheQueryItself() {
+        Random random = new Random(42);
+        List<PixKey> keys = new ArrayList<>();
+        InMemoryPixKeyRepository repository = new InMemoryPixKeyRepository();
+        for (int i = 0; i < 12_000; i++) {
+            PixKey pixKey = randomKey(random, i);
+            keys.add(pixKey);
+            repository.insert(pixKey);
+        }
+        RoaringBitmapSearchIndex index = new RoaringBitmapSearchIndex();
+        index.load(repository);
+        assertEquals(keys.size(), index.size());
+
+        for (int i = 0; i < 300; i++) {
+            SearchPixKeysQuery query = randomQuery(random);
+            Set<UUID> expected = new HashSet<>();
+            keys.stream().filter(query::matches).forEach(pixKey -> expected.add(pixKey.id()));
+
+            IndexedPage page = index.search(query, PageRequest.of(0, 20_000)).orElseThrow();
+
+            assertEquals(expected.size(), page.total(), query::toString);
+            assertEquals(expected, new HashSet<>(page.ids()), query::toString);
+        }
+    }
+
+    @Test
+    void shouldPageThroughMatchesInIndexingOrder() {
+        RoaringBitmapSearchIndex index = loadedIndex();
+        List<UUID> ids = new ArrayList<>();
+        for (int i = 0; i < 25; i++) {
+            PixKey pixKey = key(i % 2 == 0 ? 1000 : 2000, "Ana", START.plusMinutes(i));
+            ids.add(pixKey.id());
+            index.indexed(pixKey);
+        }
+        List<UUID> evens = new ArrayList<>();
+        for (int i = 0; i < ids.size(); i += 2) {
+            evens.add(ids.get(i));
+        }
+
+        IndexedPage second = index.search(byBranch(1000), PageRequest.of(1, 5)).orElseThrow();
+        IndexedPage last = index.search(byBranch(1000), PageRequest.of(2, 5)).orElseThrow();
+        IndexedPage beyond = index.search(byBranch(1000), PageRequest.of(3, 5)).orElseThrow();
+
+        assertEquals(evens.subList(5, 10), second.ids());
+        assertEquals(evens.subList(10, 13), last.ids());
+        assertEquals(List.of(), beyond.ids());
+        assertEquals(13, beyond.total());
+    }
+
+    @Test
+    void shouldMoveUpdatedKeyToItsNewBitmapsAndIgnoreOlderVersions() {
+        RoaringBitmapSearchIndex index = loadedIndex();
+        PixKey original = key(1000, "Ana", START);
+        PixKey moved = withBranch(original, 2000, 1);
+        index.indexed(original);
+        index.indexed(moved);
+        index.indexed(original);
+
+        assertEquals(List.of(), ids(index, byBranch(1000)));
+        assertEquals(List.of(original.id()), ids(index, byBranch(2000)));
+    }
+
+    @Test
+    void shouldFindDeactivatedKeyFromItsDeactivationTime() {
+        RoaringBitmapSearchIndex index = loadedIndex();
+        PixKey active = key(1000, "Ana", START);
+        PixKey deactivated = new PixKey(active.id(), active.type(), active.keyValue(), active.accountType(),
+                active.branchNumber(), active.accountNumber(), active.accountHolderName(), null,
+                active.createdAt(), false, START.plusDays(2).plusHours(10), false, 1);
+        index.indexed(active);
+        SearchPixKeysQuery fromDayTwo = new SearchPixKeysQuery(null, null, null, null, null, START.plusDays(2));
+        SearchPixKeysQuery fromLaterThatDay = new SearchPixKeysQuery(null, null, null, null, null, START.plusDays(2).plusHours(11));
+
+        assertEquals(List.of(), ids(index, fromDayTwo));
+
+        index.indexed(deactivated);
+
+        assertEquals(List.of(active.id()), ids(index, fromDayTwo));
+        assertEquals(List.of(), ids(index, fromLaterThatDay));
+    }
+
+    @Test
+    void shouldKeepWritesIndexedWhileLoading() {
+        InMemoryPixKeyRepository repository = new InMemoryPixKeyRepository();
+        PixKey stored = key(1000, "Ana", START);
+        repository.insert(stored);
+        RoaringBitmapSearchIndex index = new RoaringBitmapSearchIndex();
+        index.indexed(withBranch(stored, 2000, 1));
+
+        index.load(repository);
+
+        assertEquals(List.of(), ids(index, byBranch(1000)));
+        assertEquals(List.of(stored.id()), ids(index, byBranch(2000)));
+    }
+
+    @Test
+    void shouldReindexKeysChangedThroughAnotherInstance() {
+        InMemoryPixKeyRepository repository = new InMemoryPixKeyRepository();
+        LocalPixKeyInvalidationChannel channel = new LocalPixKeyInvalidationChannel();
+        PixKey stored = key(1000, "Ana", START);
+        repository.insert(stored);
+        RoaringBitmapSearchIndex index = new RoaringBitmapSearchIndex();
+        index.follow(channel, repository, Runnable::run);
+        index.load(repository);
+
+        repository.insert(withBranch(stored, 2000, 1));
+        channel.publish(stored.id(), stored.keyValue());
+
+        assertEquals(List.of(), ids(index, byBranch(1000)));
+        assertEquals(List.of(stored.id()), ids(index, byBranch(2000)));
+    }
+
+    @Test
+    void shouldLeaveSearchesToDatabaseUntilReloadedAfterLostMessages() {
+        InMemoryPixKeyRepository repository = new InMemoryPixKeyRepository();
+        LocalPixKeyInvalidationChannel channel = new LocalPixKeyInvalidationChannel();
+        PixKey stored = key(1000, "Ana", START);
+        repository.insert(stored);
+        List<Runnable> refreshes = new ArrayList<>();
+        RoaringBitmapSearchIndex index = new RoaringBitmapSearchIndex();
+        index.follow(channel, repository, refreshes::add);
+        index.load(repository);
+
+        channel.disconnect();
+        repository.insert(withBranch(stored, 2000, 1));
+        channel.publish(stored.id(), stored.keyValue());
+        channel.reconnect();
+
+        assertFalse(index.isReady());
+        assertEquals(Optional.empty(), index.search(byBranch(1000), PageRequest.of(0, 100)));
+
+        refreshes.forEach(Runnable::run);
+
+        assertEquals(List.of(), ids(index, byBranch(1000)));
+        assertEquals(List.of(stored.id()), ids(index, byBranch(2000)));
+    }
+
+    private static RoaringBitmapSearchIndex loadedIndex() {
+        RoaringBitmapSearchIndex index = new RoaringBitmapSearchIndex();
+        index.load(new InMemoryPixKeyRepository());
+        return index;
+    }
+
+    private static List<UUID> ids(RoaringBitmapSearchIndex index, SearchPixKeysQuery query) {
+        return index.search(query, PageRequest.of(0, 100)).orElseThrow().ids();
+    }
+
+    private static SearchPixKeysQuery byBranch(int branch) {
+        return new SearchPixKeysQuery(null, branch, null, null, null, null);
+    }
+
+    private static PixKey key(int branch, String name, LocalDateTime createdAt) {
+        return new PixKey(UUID.randomUUID(), KeyType.ALEATORIO, UUID.randomUUID().toString(), AccountType.CORRENTE,
+                branch, 12345678, name, null, createdAt, true, null, false);
+    }
+
+    private static PixKey withBranch(PixKey pixKey, int branch, long version) {
+        return new PixKey(pixKey.id(), pixKey.type(), pixKey.keyValue(), pixKey.accountType(), branch,
+                pixKey.accountNumber(), pixKey.accountHolderName(), pixKey.accountHolderLastName(),
+                pixKey.createdAt(), pixKey.active(), pixKey.deactivatedAt(), pixKey.isLegalPerson(), version);
+    }
+
+    private static PixKey randomKey(Random random, int i) {
+        LocalDateTime createdAt = START.plusSeconds(random.nextInt(30 * 86_400));
+        LocalDateTime deactivatedAt = random.nextInt(4) == 0 ? createdAt.plusSeconds(random.nextInt(10 * 86_400)) : null;
+        return new PixKey(UUID.randomUUID(), KeyType.values()[random.nextInt(KeyType.values().length)],
+                "key" + i, AccountType.CORRENTE, 1000 + random.nextInt(5), 10_000 + random.nextInt(40),
+                "Nome" + random.nextInt(10), null, createdAt, deactivatedAt == null, deactivatedAt, false);
+    }
+
+    private static SearchPixKeysQuery randomQuery(Random random) {
+        LocalDateTime since = START.plusSeconds(random.nextInt(35 * 86_400));
+        boolean deactivated = random.nextBoolean();
+        return new SearchPixKeysQuery(
+                random.nextInt(3) == 0 ? KeyType.values()[random.nextInt(KeyType.values().length)].name() : null,
+                random.nextInt(3) == 0 ? 1000 + random.nextInt(6) : null,
+                random.nextInt(3) == 0 ? 10_000 + random.nextInt(41) : null,
+                random.nextInt(3) == 0 ? "Nome" + random.nextInt(11) : null,
+                random.nextInt(3) == 0 && !deactivated ? since : null,
+                random.nextInt(3) == 0 && deactivated ? since : null);
+    }
+}
@@ -0,0 +1,32 @@
+package br.com.paulomoreira.pixkey.application.ports.in;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PixKeyCursorTest {
+
+    @Test
+    void shouldRoundTripThroughToken() {
+        PixKeyCursor cursor = new PixKeyCursor(LocalDateTime.of(2025, 3, 31, 10, 15, 30, 123456000),
+                UUID.fromString("550e8400-e29b-41d4-a716-446655440000"));
+
+        String token = cursor.encode();
+
+        assertThat(token).doesNotContain("550e8400").matches("[A-Za-z0-9_-]+");
+        assertThat(PixKeyCursor.decode(token)).isEqualTo(cursor);
+    }
+
+    @Test
+    void shouldRejectTamperedToken() {
+        assertThatThrownBy(() -> PixKeyCursor.decode("not a cursor"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Cursor inválido: not a cursor");
+        assertThatThrownBy(() -> PixKeyCursor.decode("bm8tc2VwYXJhdG9y"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
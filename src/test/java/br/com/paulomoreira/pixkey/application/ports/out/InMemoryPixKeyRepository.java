@@ -0,0 +1,201 @@
+package br.com.paulomoreira.pixkey.application.ports.out;
+
+import br.com.paulomoreira.pixkey.application.ports.in.CountMode;
+import br.com.paulomoreira.pixkey.application.ports.in.PixKeyCursor;
+import br.com.paulomoreira.pixkey.application.ports.in.SearchFingerprint;
+import br.com.paulomoreira.pixkey.application.ports.in.SearchPixKeysQuery;
+import br.com.paulomoreira.pixkey.application.ports.in.UpdatePixKeyCommand;
+import br.com.paulomoreira.pixkey.domain.model.PixKey;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import java.util.function.ToIntFunction;
+import java.util.stream.Stream;
+
+public class InMemoryPixKeyRepository implements PixKeyRepository {
+
+    private final Map<UUID, PixKey> keys = new ConcurrentHashMap<>();
+
+    // Stores the key as is, bypassing the rules insertIfAllowed checks; for seeding tests.
+    public PixKey insert(PixKey pixKey) {
+        keys.put(pixKey.id(), pixKey);
+        return pixKey;
+    }
+
+    @Override
+    public synchronized InsertOutcome insertIfAllowed(PixKey pixKey, int maxKeys) {
+        if (existsByKeyValue(pixKey.keyValue())) {
+            return InsertOutcome.DUPLICATE_KEY;
+        }
+        if (countByAccount(pixKey.branchNumber(), pixKey.accountNumber()) >= maxKeys) {
+            return InsertOutcome.LIMIT_EXCEEDED;
+        }
+        insert(pixKey);
+        return InsertOutcome.INSERTED;
+    }
+
+    @Override
+    public synchronized List<InsertOutcome> insertAllIfAllowed(List<PixKey> pixKeys, ToIntFunction<PixKey> maxKeys) {
+        return pixKeys.stream()
+                .map(pixKey -> insertIfAllowed(pixKey, maxKeys.applyAsInt(pixKey)))
+                .toList();
+    }
+
+    @Override
+    public Optional<PixKey> findById(UUID id) {
+        return Optional.ofNullable(keys.get(id));
+    }
+
+    @Override
+    public List<PixKey> findAllById(Collection<UUID> ids) {
+        return ids.stream().map(keys::get).filter(Objects::nonNull).toList();
+    }
+
+    @Override
+    public Optional<PixKey> findActiveByKeyValue(String keyValue) {
+        return keys.values().stream()
+                .filter(key -> key.active() && key.keyValue().equals(keyValue))
+                .findFirst();
+    }
+
+    @Override
+    public Optional<Long> findVersionById(UUID id) {
+        return findById(id).map(PixKey::version);
+    }
+
+    @Override
+    public synchronized Optional<UpdatedPixKey> updateIfActive(UpdatePixKeyCommand command) {
+        PixKey previous = keys.get(command.id());
+        if (!isWritable(previous, command.expectedVersion())) {
+            return Optional.empty();
+        }
+        PixKey updated = new PixKey(previous.id(), previous.type(), previous.keyValue(), command.accountType(),
+                command.branchNumber(), command.accountNumber(), command.accountHolderName(),
+                command.accountHolderLastName(), previous.createdAt(), true, null, previous.isLegalPerson(),
+                previous.version() + 1);
+        keys.put(updated.id(), updated);
+        return Optional.of(new UpdatedPixKey(updated, previous.branchNumber(), previous.accountNumber()));
+    }
+
+    @Override
+    public synchronized Optional<PixKey> deactivateIfActive(UUID id, LocalDateTime deactivatedAt, Long expectedVersion) {
+        PixKey previous = keys.get(id);
+        if (!isWritable(previous, expectedVersion)) {
+            return Optional.empty();
+        }
+        PixKey deactivated = new PixKey(previous.id(), previous.type(), previous.keyValue(), previous.accountType(),
+                previous.branchNumber(), previous.accountNumber(), previous.accountHolderName(),
+                previous.accountHolderLastName(), previous.createdAt(), false, deactivatedAt,
+                previous.isLegalPerson(), previous.version() + 1);
+        keys.put(id, deactivated);
+        return Optional.of(deactivated);
+    }
+
+    private static boolean isWritable(PixKey pixKey, Long expectedVersion) {
+        return pixKey != null && pixKey.active() && (expectedVersion == null || pixKey.version() == expectedVersion);
+    }
+
+    @Override
+    public boolean existsByKeyValue(String keyValue) {
+        return keys.values().stream()
+                .anyMatch(key -> key.active() && key.keyValue().equals(keyValue));
+    }
+
+    @Override
+    public int countByAccount(int branchNumber, int accountNumber) {
+        return (int) keys.values().stream()
+                .filter(key -> key.active()
+                        && key.branchNumber() == branchNumber
+                        && key.accountNumber() == accountNumber)
+                .count();
+    }
+
+    @Override
+    public Page<PixKey> search(SearchPixKeysQuery query, Pageable pageable) {
+        return findByFilters(query.keyType(), query.branchNumber(), query.accountNumber(),
+                query.accountHolderName(), query.createdAt(), query.deactivatedAt(), pageable);
+    }
+
+    @Override
+    public Slice<PixKey> search(SearchPixKeysQuery query, Pageable pageable, CountMode countMode) {
+        Page<PixKey> page = search(query, pageable);
+        return countMode == CountMode.NONE ? new SliceImpl<>(page.getContent(), pageable, page.hasNext()) : page;
+    }
+
+    @Override
+    public Page<PixKey> search(SearchPixKeysQuery query, Pageable pageable, long total) {
+        return new PageImpl<>(search(query, pageable).getContent(), pageable, total);
+    }
+
+    @Override
+    public SearchFingerprint fingerprint(SearchPixKeysQuery query) {
+        long[] fingerprint = new long[2];
+        forEachMatch(query, key -> {
+            fingerprint[0]++;
+            fingerprint[1] ^= Objects.hash(key.id(), key.version()) * 0x9E3779B97F4A7C15L;
+        });
+        return new SearchFingerprint(fingerprint[0], fingerprint[1]);
+    }
+
+    @Override
+    public List<PixKey> searchAfter(SearchPixKeysQuery query, PixKeyCursor after, int limit) {
+        Comparator<PixKey> order = Comparator.comparing(PixKey::createdAt).thenComparing(PixKey::id);
+        return filter(query.keyType(), query.branchNumber(), query.accountNumber(), query.accountHolderName(),
+                query.createdAt(), query.deactivatedAt())
+                .filter(key -> after == null || key.createdAt().isAfter(after.createdAt())
+                        || (key.createdAt().isEqual(after.createdAt()) && key.id().compareTo(after.id()) > 0))
+                .sorted(order)
+                .limit(limit)
+                .toList();
+    }
+
+    @Override
+    public void forEachMatch(SearchPixKeysQuery query, Consumer<PixKey> action) {
+        filter(query.keyType(), query.branchNumber(), query.accountNumber(), query.accountHolderName(),
+                query.createdAt(), query.deactivatedAt())
+                .forEach(action);
+    }
+
+    @Override
+    public Page<PixKey> findByFilters(String tipoChave, Integer branchNumber, Integer accountNumber,
+                                      String accountHolderName, LocalDateTime createdAt,
+                                      LocalDateTime deactivatedAt, Pageable pageable) {
+        List<PixKey> matches = filter(tipoChave, branchNumber, accountNumber, accountHolderName,
+                createdAt, deactivatedAt)
+                .sorted(Comparator.comparing(PixKey::createdAt).thenComparing(PixKey::id))
+                .toList();
+        int from = (int) Math.min(pageable.getOffset(), matches.size());
+        int to = Math.min(from + pageable.getPageSize(), matches.size());
+        return new PageImpl<>(matches.subList(from, to), pageable, matches.size());
+    }
+
+    public List<PixKey> findAll() {
+        return List.copyOf(keys.values());
+    }
+
+    private Stream<PixKey> filter(String tipoChave, Integer branchNumber, Integer accountNumber,
+                                  String accountHolderName, LocalDateTime createdAt,
+                                  LocalDateTime deactivatedAt) {
+        return keys.values().stream()
+                .filter(key -> tipoChave == null || key.type().name().equals(tipoChave))
+                .filter(key -> branchNumber == null || branchNumber.equals(key.branchNumber()))
+                .filter(key -> accountNumber == null || accountNumber.equals(key.accountNumber()))
+                .filter(key -> accountHolderName == null || accountHolderName.equals(key.accountHolderName()))
+                .filter(key -> createdAt == null || !key.createdAt().isBefore(createdAt))
+                .filter(key -> deactivatedAt == null
+                        || (key.deactivatedAt() != null && !key.deactivatedAt().isBefore(deactivatedAt)));
+    }
+}
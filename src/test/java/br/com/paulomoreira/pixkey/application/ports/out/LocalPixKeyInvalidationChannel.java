@@ -0,0 +1,34 @@
+package br.com.paulomoreira.pixkey.application.ports.out;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+// Stand-in for the channel between instances: every subscriber, however many "instances" share
+// it, hears each publish synchronously. disconnect() plays a dropped connection.
+public class LocalPixKeyInvalidationChannel implements PixKeyInvalidationChannel {
+
+    private final List<Listener> listeners = new CopyOnWriteArrayList<>();
+    private volatile boolean connected = true;
+
+    @Override
+    public void publish(UUID id, String keyValue) {
+        if (connected) {
+            listeners.forEach(listener -> listener.invalidated(id, keyValue));
+        }
+    }
+
+    @Override
+    public void subscribe(Listener listener) {
+        listeners.add(listener);
+    }
+
+    public void disconnect() {
+        connected = false;
+    }
+
+    public void reconnect() {
+        connected = true;
+        listeners.forEach(Listener::invalidatedAll);
+    }
+}
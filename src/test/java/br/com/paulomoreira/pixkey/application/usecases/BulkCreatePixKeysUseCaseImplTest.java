@@ -0,0 +1,108 @@
+package br.com.paulomoreira.pixkey.application.usecases;
+
+import br.com.paulomoreira.pixkey.adapters.out.persistence.CachedAccountKeyCounter;
+import br.com.paulomoreira.pixkey.application.ports.in.BulkCreateResult;
+import br.com.paulomoreira.pixkey.application.ports.out.InMemoryPixKeyRepository;
+import br.com.paulomoreira.pixkey.application.ports.out.PixKeyInvalidationChannel;
+import br.com.paulomoreira.pixkey.application.ports.out.PixKeySearchIndex;
+import br.com.paulomoreira.pixkey.domain.model.AccountType;
+import br.com.paulomoreira.pixkey.domain.model.KeyType;
+import br.com.paulomoreira.pixkey.domain.model.PixKey;
+import br.com.paulomoreira.pixkey.domain.validation.KeyValidatorFixtures;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BulkCreatePixKeysUseCaseImplTest {
+
+    private InMemoryPixKeyRepository repository;
+    private CachedAccountKeyCounter accountKeyCounter;
+    private BulkCreatePixKeysUseCaseImpl useCase;
+
+    @BeforeEach
+    void setUp() {
+        repository = new InMemoryPixKeyRepository();
+        accountKeyCounter = new CachedAccountKeyCounter(4, 1000, Duration.ofMinutes(1),
+                PixKeyInvalidationChannel.local());
+        useCase = new BulkCreatePixKeysUseCaseImpl(repository,
+                KeyValidatorFixtures.registry(), accountKeyCounter, PixKeySearchIndex.none(), 3);
+    }
+
+    @Test
+    @DisplayName("Deve devolver um resultado por item, na ordem de envio")
+    void shouldReturnOneResultPerItemInOrder() {
+        List<PixKey> keys = List.of(
+                emailKey("a@example.com", 11111111, true),
+                emailKey("invalido@dominio", 11111111, true),
+                emailKey("a@example.com", 22222222, true),
+                emailKey("b@example.com", 22222222, true),
+                cnpjKey("47960950000121", 33333333, true)
+        );
+
+        List<BulkCreateResult> results = useCase.execute(keys);
+
+        assertEquals(5, results.size());
+        assertTrue(results.get(0).isCreated());
+        assertEquals("Email key must follow a valid email format", results.get(1).error());
+        assertEquals("Key already exists: a@example.com", results.get(2).error());
+        assertTrue(results.get(3).isCreated());
+        assertTrue(results.get(4).error().contains("Pessoa física não pode cadastrar chave CNPJ"));
+        for (int i = 0; i < keys.size(); i++) {
+            assertSame(keys.get(i), results.get(i).pixKey());
+        }
+        assertEquals(2, repository.findAll().size());
+    }
+
+    @Test
+    @DisplayName("Deve aplicar o limite por conta considerando chaves de lotes anteriores")
+    void shouldApplyAccountLimitAcrossChunks() {
+        repository.insert(emailKey("existing@example.com", 11111111, true));
+        List<PixKey> keys = new ArrayList<>();
+        for (int i = 0; i < 7; i++) {
+            keys.add(emailKey("pf" + i + "@example.com", 11111111, true));
+        }
+
+        List<BulkCreateResult> results = useCase.execute(keys);
+
+        assertEquals(4, results.stream().filter(BulkCreateResult::isCreated).count());
+        assertEquals("Maximum number of keys reached for this account: 5", results.get(4).error());
+        assertEquals(5, repository.countByAccount(1234, 11111111));
+    }
+
+    @Test
+    @DisplayName("Deve registrar no contador as contas que o lote encontrou no limite")
+    void shouldRecordAccountsThatReachedTheLimit() {
+        List<PixKey> keys = new ArrayList<>();
+        for (int i = 0; i < 6; i++) {
+            keys.add(emailKey("pf" + i + "@example.com", 11111111, true));
+        }
+
+        useCase.execute(keys);
+
+        assertFalse(accountKeyCounter.tryAcquire(1234, 11111111, 5));
+        assertTrue(accountKeyCounter.tryAcquire(1234, 22222222, 5));
+    }
+
+    @Test
+    void shouldRejectNonPositiveChunkSize() {
+        assertThrows(IllegalArgumentException.class, () ->
+                new BulkCreatePixKeysUseCaseImpl(repository, KeyValidatorFixtures.registry(), accountKeyCounter,
+                        PixKeySearchIndex.none(), 0));
+    }
+
+    private static PixKey emailKey(String keyValue, int accountNumber, boolean isLegalPerson) {
+        return new PixKey(null, KeyType.EMAIL, keyValue, AccountType.CORRENTE, 1234, accountNumber,
+                "Paulo", "Moreira", null, true, null, isLegalPerson);
+    }
+
+    private static PixKey cnpjKey(String keyValue, int accountNumber, boolean isLegalPerson) {
+        return new PixKey(null, KeyType.CNPJ, keyValue, AccountType.CORRENTE, 1234, accountNumber,
+                "Empresa", null, null, true, null, isLegalPerson);
+    }
+}
@@ -0,0 +1,110 @@
+package br.com.paulomoreira.pixkey.application.usecases;
+
+import br.com.paulomoreira.pixkey.adapters.out.persistence.CachedAccountKeyCounter;
+import br.com.paulomoreira.pixkey.application.ports.out.InMemoryPixKeyRepository;
+import br.com.paulomoreira.pixkey.application.ports.out.InsertOutcome;
+import br.com.paulomoreira.pixkey.application.ports.out.PixKeyInvalidationChannel;
+import br.com.paulomoreira.pixkey.application.ports.out.PixKeySearchIndex;
+import br.com.paulomoreira.pixkey.domain.exceptions.KeyLimitExceededException;
+import br.com.paulomoreira.pixkey.domain.model.AccountType;
+import br.com.paulomoreira.pixkey.domain.model.KeyType;
+import br.com.paulomoreira.pixkey.domain.model.PixKey;
+import br.com.paulomoreira.pixkey.domain.validation.KeyValidatorFixtures;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CreatePixKeyConcurrencyTest {
+
+    private static final int RACING_CREATES = 64;
+
+    @ParameterizedTest
+    @CsvSource({"true, 5", "false, 20"})
+    void limitsShouldHoldUnderRacingCreates(boolean isLegalPerson, int maxKeys) throws Exception {
+        SlowInMemoryPixKeyRepository repository = new SlowInMemoryPixKeyRepository();
+        CachedAccountKeyCounter counter = new CachedAccountKeyCounter(16, 1000,
+                Duration.ofMinutes(1), PixKeyInvalidationChannel.local());
+        CreatePixKeyUseCaseImpl useCase = new CreatePixKeyUseCaseImpl(repository,
+                KeyValidatorFixtures.registry(), counter, PixKeySearchIndex.none());
+
+        ExecutorService executor = Executors.newFixedThreadPool(16);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Boolean>> results = new ArrayList<>();
+        try {
+            for (int i = 0; i < RACING_CREATES; i++) {
+                PixKey key = new PixKey(null, KeyType.EMAIL, "user" + i + "@example.com",
+                        AccountType.CORRENTE, 1234, 56789012, "Paulo", "Moreira",
+                        null, true, null, isLegalPerson);
+                results.add(executor.submit(() -> {
+                    start.await();
+                    try {
+                        useCase.execute(key);
+                        return true;
+                    } catch (KeyLimitExceededException e) {
+                        return false;
+                    }
+                }));
+            }
+            start.countDown();
+
+            int created = 0;
+            for (Future<Boolean> result : results) {
+                if (result.get(30, TimeUnit.SECONDS)) {
+                    created++;
+                }
+            }
+
+            assertEquals(maxKeys, created);
+            assertEquals(maxKeys, repository.countByAccount(1234, 56789012));
+
+            // Once the database has refused the account, later creates stop short of it.
+            int insertsAfterRace = repository.inserts.get();
+            for (int i = 0; i < 10; i++) {
+                PixKey late = new PixKey(null, KeyType.EMAIL, "late" + i + "@example.com",
+                        AccountType.CORRENTE, 1234, 56789012, "Paulo", "Moreira", null, true, null, isLegalPerson);
+                assertThrows(KeyLimitExceededException.class, () -> useCase.execute(late));
+            }
+            assertEquals(insertsAfterRace, repository.inserts.get());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    // Stands in for create_pix_key, the only limit check, and counts the round trips made to it.
+    private static class SlowInMemoryPixKeyRepository extends InMemoryPixKeyRepository {
+
+        private final AtomicInteger inserts = new AtomicInteger();
+
+        @Override
+        public InsertOutcome insertIfAllowed(PixKey pixKey, int maxKeys) {
+            inserts.incrementAndGet();
+            pause();
+            return super.insertIfAllowed(pixKey, maxKeys);
+        }
+
+        @Override
+        public PixKey insert(PixKey pixKey) {
+            pause();
+            return super.insert(pixKey);
+        }
+
+        private static void pause() {
+            try {
+                Thread.sleep(2);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}
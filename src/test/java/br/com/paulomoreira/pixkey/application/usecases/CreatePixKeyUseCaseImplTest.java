@@ -1,8 +1,10 @@
 package br.com.paulomoreira.pixkey.application.usecases;
 
+import br.com.paulomoreira.pixkey.application.ports.out.AccountKeyCounter;
+import br.com.paulomoreira.pixkey.application.ports.out.InsertOutcome;
 import br.com.paulomoreira.pixkey.application.ports.out.PixKeyRepository;
+import br.com.paulomoreira.pixkey.application.ports.out.PixKeySearchIndex;
 import br.com.paulomoreira.pixkey.domain.exceptions.DuplicateKeyException;
-import br.com.paulomoreira.pixkey.domain.exceptions.InvalidKeyException;
 import br.com.paulomoreira.pixkey.domain.exceptions.KeyLimitExceededException;
 import br.com.paulomoreira.pixkey.domain.model.AccountType;
 import br.com.paulomoreira.pixkey.domain.model.KeyType;
@@ -15,8 +17,8 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
-import java.util.List;
 
+import static br.com.paulomoreira.pixkey.domain.validation.KeyValidatorFixtures.registryWith;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
 
@@ -29,6 +31,9 @@ class CreatePixKeyUseCaseImplTest {
     @Mock
     private KeyValidator celularValidator;
 
+    @Mock
+    private PixKeySearchIndex searchIndex;
+
     @InjectMocks
     private CreatePixKeyUseCaseImpl createPixKeyUseCase;
 
@@ -51,7 +56,9 @@ class CreatePixKeyUseCaseImplTest {
                 true
         );
 
-        createPixKeyUseCase = new CreatePixKeyUseCaseImpl(repository, List.of(celularValidator));
+        when(celularValidator.getType()).thenReturn(KeyType.CELULAR);
+        createPixKeyUseCase = new CreatePixKeyUseCaseImpl(repository, registryWith(celularValidator),
+                AccountKeyCounter.none(), searchIndex);
     }
 
     @Test
@@ -74,34 +81,19 @@ class CreatePixKeyUseCaseImplTest {
     }
 
     @Test
-    void shouldThrowInvalidKeyExceptionWhenNoValidatorFound() {
+    void shouldIndexCreatedKeyForSearch() {
+        when(repository.insertIfAllowed(validPixKey, 5)).thenReturn(InsertOutcome.INSERTED);
 
-        PixKey pixKeyWithoutValidator = new PixKey(
-                null,
-                KeyType.EMAIL,
-                "usuario@dominio.com",
-                AccountType.CORRENTE,
-                1234,
-                56789012,
-                "Paulo",
-                "Moreira",
-                null,
-                true,
-                null,
-                true
-        );
+        PixKey created = createPixKeyUseCase.execute(validPixKey);
 
-        InvalidKeyException exception = assertThrows(InvalidKeyException.class, () -> {
-            createPixKeyUseCase.execute(pixKeyWithoutValidator);
-        });
-        assertEquals("No validator found for key keyType: EMAIL", exception.getMessage());
+        assertEquals(validPixKey, created);
+        verify(searchIndex).indexed(validPixKey);
     }
 
     @Test
     void shouldThrowDuplicateKeyExceptionWhenKeyValueAlreadyExists() {
 
-        when(celularValidator.getType()).thenReturn(KeyType.CELULAR); // Stubbing necessário aqui
-        when(repository.existsByKeyValue(validPixKey.keyValue())).thenReturn(true);
+        when(repository.insertIfAllowed(validPixKey, 5)).thenReturn(InsertOutcome.DUPLICATE_KEY);
 
 
         DuplicateKeyException exception = assertThrows(DuplicateKeyException.class, () -> {
@@ -109,14 +101,13 @@ class CreatePixKeyUseCaseImplTest {
         });
         assertEquals("Key already exists: +5521994827834", exception.getMessage());
         verify(celularValidator).validate(validPixKey.keyValue());
+        verify(repository, never()).existsByKeyValue(any());
     }
 
     @Test
     void shouldThrowKeyLimitExceededExceptionWhenLimitIsExceededForPessoaFisica() {
 
-        when(celularValidator.getType()).thenReturn(KeyType.CELULAR); // Stubbing necessário aqui
-        when(repository.existsByKeyValue(validPixKey.keyValue())).thenReturn(false);
-        when(repository.countByAccount(1234, 56789012)).thenReturn(5); // Limite PF = 5
+        when(repository.insertIfAllowed(validPixKey, 5)).thenReturn(InsertOutcome.LIMIT_EXCEEDED); // Limite PF = 5
 
 
         KeyLimitExceededException exception = assertThrows(KeyLimitExceededException.class, () -> {
@@ -124,6 +115,7 @@ class CreatePixKeyUseCaseImplTest {
         });
         assertEquals("Maximum number of keys reached for this account: 5", exception.getMessage());
         verify(celularValidator).validate(validPixKey.keyValue());
+        verifyNoInteractions(searchIndex);
     }
 
     @Test
@@ -145,10 +137,10 @@ class CreatePixKeyUseCaseImplTest {
         );
         KeyValidator cnpjValidator = mock(KeyValidator.class);
         when(cnpjValidator.getType()).thenReturn(KeyType.CNPJ);
-        createPixKeyUseCase = new CreatePixKeyUseCaseImpl(repository, List.of(cnpjValidator));
+        createPixKeyUseCase = new CreatePixKeyUseCaseImpl(repository, registryWith(cnpjValidator),
+                AccountKeyCounter.none(), searchIndex);
 
-        when(repository.existsByKeyValue(cnpjPixKey.keyValue())).thenReturn(false);
-        when(repository.countByAccount(1234, 56789012)).thenReturn(20); // Limite PJ = 20
+        when(repository.insertIfAllowed(cnpjPixKey, 20)).thenReturn(InsertOutcome.LIMIT_EXCEEDED); // Limite PJ = 20
 
 
         KeyLimitExceededException exception = assertThrows(KeyLimitExceededException.class, () -> {
@@ -161,10 +153,7 @@ class CreatePixKeyUseCaseImplTest {
     @Test
     void shouldCreatePixKeySuccessfullyWhenAllConditionsAreMet() {
 
-        when(celularValidator.getType()).thenReturn(KeyType.CELULAR);
-        when(repository.existsByKeyValue(validPixKey.keyValue())).thenReturn(false);
-        when(repository.countByAccount(1234, 56789012)).thenReturn(2);
-        when(repository.save(any(PixKey.class))).thenReturn(validPixKey);
+        when(repository.insertIfAllowed(validPixKey, 5)).thenReturn(InsertOutcome.INSERTED);
 
         PixKey result = createPixKeyUseCase.execute(validPixKey);
 
@@ -176,6 +165,34 @@ class CreatePixKeyUseCaseImplTest {
         assertTrue(result.active());
         assertNull(result.deactivatedAt());
         verify(celularValidator).validate(validPixKey.keyValue());
-        verify(repository).save(any(PixKey.class));
+        verify(repository).insertIfAllowed(validPixKey, 5);
+    }
+
+    @Test
+    void shouldReleaseReservedSlotWhenKeyValueIsTaken() {
+
+        AccountKeyCounter accountKeyCounter = mock(AccountKeyCounter.class);
+        createPixKeyUseCase = new CreatePixKeyUseCaseImpl(repository, registryWith(celularValidator), accountKeyCounter,
+                searchIndex);
+        when(accountKeyCounter.tryAcquire(1234, 56789012, 5)).thenReturn(true);
+        when(repository.insertIfAllowed(validPixKey, 5)).thenReturn(InsertOutcome.DUPLICATE_KEY);
+
+        assertThrows(DuplicateKeyException.class, () -> createPixKeyUseCase.execute(validPixKey));
+        verify(accountKeyCounter).release(1234, 56789012);
+        verifyNoInteractions(searchIndex);
+    }
+
+    @Test
+    void shouldRecordLimitWhenInsertIsRejected() {
+
+        AccountKeyCounter accountKeyCounter = mock(AccountKeyCounter.class);
+        createPixKeyUseCase = new CreatePixKeyUseCaseImpl(repository, registryWith(celularValidator), accountKeyCounter,
+                searchIndex);
+        when(accountKeyCounter.tryAcquire(1234, 56789012, 5)).thenReturn(true);
+        when(repository.insertIfAllowed(validPixKey, 5)).thenReturn(InsertOutcome.LIMIT_EXCEEDED);
+
+        assertThrows(KeyLimitExceededException.class, () -> createPixKeyUseCase.execute(validPixKey));
+        verify(accountKeyCounter).limitReached(1234, 56789012, 5);
+        verify(accountKeyCounter, never()).release(anyInt(), anyInt());
     }
-}
\ No newline at end of file
+}
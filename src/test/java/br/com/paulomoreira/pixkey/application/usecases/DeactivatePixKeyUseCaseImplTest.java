@@ -1,8 +1,12 @@
 package br.com.paulomoreira.pixkey.application.usecases;
 
+import br.com.paulomoreira.pixkey.application.ports.out.AccountKeyCounter;
+import br.com.paulomoreira.pixkey.application.ports.out.PixKeyCache;
 import br.com.paulomoreira.pixkey.application.ports.out.PixKeyRepository;
+import br.com.paulomoreira.pixkey.application.ports.out.PixKeySearchIndex;
 import br.com.paulomoreira.pixkey.domain.exceptions.KeyAlreadyInactiveException;
 import br.com.paulomoreira.pixkey.domain.exceptions.KeyNotFoundException;
+import br.com.paulomoreira.pixkey.domain.exceptions.KeyVersionMismatchException;
 import br.com.paulomoreira.pixkey.domain.model.AccountType;
 import br.com.paulomoreira.pixkey.domain.model.KeyType;
 import br.com.paulomoreira.pixkey.domain.model.PixKey;
@@ -12,6 +16,7 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.time.LocalDateTime;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -24,12 +29,22 @@ class DeactivatePixKeyUseCaseImplTest {
     @Mock
     private PixKeyRepository repository;
 
+    @Mock
+    private AccountKeyCounter accountKeyCounter;
+
+    @Mock
+    private PixKeyCache cache;
+
+    @Mock
+    private PixKeySearchIndex searchIndex;
+
     @InjectMocks
     private DeactivatePixKeyUseCaseImpl useCase;
 
     @Test
     void shouldThrowKeyNotFoundExceptionWhenKeyDoesNotExist() {
         UUID id = UUID.randomUUID();
+        when(repository.deactivateIfActive(eq(id), any(), isNull())).thenReturn(Optional.empty());
         when(repository.findById(id)).thenReturn(Optional.empty());
 
         KeyNotFoundException exception = assertThrows(KeyNotFoundException.class, () -> useCase.execute(id));
@@ -42,9 +57,41 @@ class DeactivatePixKeyUseCaseImplTest {
         PixKey inactiveKey = new PixKey(id, KeyType.CELULAR, "+5521994827834", AccountType.CORRENTE,
                 1234, 56789012, "Paulo",
                 "Moreira", null, false, null, true);
+        when(repository.deactivateIfActive(eq(id), any(), isNull())).thenReturn(Optional.empty());
         when(repository.findById(id)).thenReturn(Optional.of(inactiveKey));
 
         KeyAlreadyInactiveException exception = assertThrows(KeyAlreadyInactiveException.class, () -> useCase.execute(id));
         assertEquals("Key is already inactive: " + id, exception.getMessage());
+        verifyNoInteractions(accountKeyCounter);
+    }
+
+    @Test
+    void shouldReleaseAccountSlotWhenKeyIsDeactivated() {
+        UUID id = UUID.randomUUID();
+        PixKey deactivatedKey = new PixKey(id, KeyType.CELULAR, "+5521994827834", AccountType.CORRENTE,
+                1234, 56789012, "Paulo",
+                "Moreira", null, false, LocalDateTime.now(), true, 1);
+        when(repository.deactivateIfActive(eq(id), any(), isNull())).thenReturn(Optional.of(deactivatedKey));
+
+        PixKey result = useCase.execute(id);
+
+        assertFalse(result.active());
+        verify(repository, never()).findById(any());
+        verify(accountKeyCounter).release(1234, 56789012);
+        verify(cache).invalidate(deactivatedKey);
+        verify(searchIndex).indexed(deactivatedKey);
+    }
+
+    @Test
+    void shouldRefuseToDeactivateAKeyChangedSinceTheExpectedVersion() {
+        UUID id = UUID.randomUUID();
+        PixKey activeKey = new PixKey(id, KeyType.CELULAR, "+5521994827834", AccountType.CORRENTE,
+                1234, 56789012, "Paulo",
+                "Moreira", null, true, null, true, 2);
+        when(repository.deactivateIfActive(eq(id), any(), eq(1L))).thenReturn(Optional.empty());
+        when(repository.findById(id)).thenReturn(Optional.of(activeKey));
+
+        assertThrows(KeyVersionMismatchException.class, () -> useCase.execute(id, 1L));
+        verifyNoInteractions(accountKeyCounter);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,53 @@
+package br.com.paulomoreira.pixkey.application.usecases;
+
+import br.com.paulomoreira.pixkey.application.ports.out.PixKeyRepository;
+import br.com.paulomoreira.pixkey.application.ports.out.PixKeyValueCache;
+import br.com.paulomoreira.pixkey.domain.model.AccountType;
+import br.com.paulomoreira.pixkey.domain.model.KeyType;
+import br.com.paulomoreira.pixkey.domain.model.PixKey;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class GetPixKeyByValueUseCaseImplTest {
+
+    @Mock
+    private PixKeyRepository repository;
+
+    private GetPixKeyByValueUseCaseImpl useCase;
+
+    @BeforeEach
+    void setUp() {
+        useCase = new GetPixKeyByValueUseCaseImpl(repository, PixKeyValueCache.none());
+    }
+
+    @Test
+    void shouldResolveActiveKeyByValue() {
+        PixKey pixKey = new PixKey(UUID.randomUUID(), KeyType.CELULAR, "+5521994827834", AccountType.CORRENTE,
+                1234, 56789012, "Paulo",
+                "Moreira", null, true, null, true);
+        when(repository.findActiveByKeyValue("+5521994827834")).thenReturn(Optional.of(pixKey));
+
+        Optional<PixKey> result = useCase.execute("+5521994827834");
+
+        assertEquals(Optional.of(pixKey), result);
+        verify(repository).findActiveByKeyValue("+5521994827834");
+    }
+
+    @Test
+    void shouldReturnEmptyWhenNoActiveKeyHasTheValue() {
+        when(repository.findActiveByKeyValue("paulo@email.com")).thenReturn(Optional.empty());
+
+        assertFalse(useCase.execute("paulo@email.com").isPresent());
+        verify(repository, never()).findById(any());
+    }
+}
@@ -1,12 +1,13 @@
 package br.com.paulomoreira.pixkey.application.usecases;
 
+import br.com.paulomoreira.pixkey.application.ports.out.PixKeyCache;
 import br.com.paulomoreira.pixkey.application.ports.out.PixKeyRepository;
 import br.com.paulomoreira.pixkey.domain.model.AccountType;
 import br.com.paulomoreira.pixkey.domain.model.KeyType;
 import br.com.paulomoreira.pixkey.domain.model.PixKey;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
@@ -22,9 +23,13 @@ class GetPixKeyUseCaseImplTest {
     @Mock
     private PixKeyRepository repository;
 
-    @InjectMocks
     private GetPixKeyUseCaseImpl useCase;
 
+    @BeforeEach
+    void setUp() {
+        useCase = new GetPixKeyUseCaseImpl(repository, PixKeyCache.none());
+    }
+
     @Test
     void shouldReturnPixKeyWhenFound() {
         UUID id = UUID.randomUUID();
@@ -48,4 +53,13 @@ class GetPixKeyUseCaseImplTest {
         assertFalse(result.isPresent());
         verify(repository).findById(id);
     }
+
+    @Test
+    void shouldReadOnlyTheVersionWhenTheKeyIsNotCached() {
+        UUID id = UUID.randomUUID();
+        when(repository.findVersionById(id)).thenReturn(Optional.of(3L));
+
+        assertEquals(Optional.of(3L), useCase.currentVersion(id));
+        verify(repository, never()).findById(id);
+    }
 }
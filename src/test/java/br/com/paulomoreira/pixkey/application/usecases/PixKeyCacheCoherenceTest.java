@@ -0,0 +1,51 @@
+package br.com.paulomoreira.pixkey.application.usecases;
+
+import br.com.paulomoreira.pixkey.adapters.out.persistence.LocalPixKeyCache;
+import br.com.paulomoreira.pixkey.application.ports.out.AccountKeyCounter;
+import br.com.paulomoreira.pixkey.application.ports.out.InMemoryPixKeyRepository;
+import br.com.paulomoreira.pixkey.application.ports.out.LocalPixKeyInvalidationChannel;
+import br.com.paulomoreira.pixkey.application.ports.out.PixKeySearchIndex;
+import br.com.paulomoreira.pixkey.domain.model.AccountType;
+import br.com.paulomoreira.pixkey.domain.model.KeyType;
+import br.com.paulomoreira.pixkey.domain.model.PixKey;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Two instances over one database, each with its own cache, joined by the invalidation channel.
+class PixKeyCacheCoherenceTest {
+
+    private final InMemoryPixKeyRepository database = new InMemoryPixKeyRepository();
+    private final LocalPixKeyInvalidationChannel channel = new LocalPixKeyInvalidationChannel();
+    private final Instance first = new Instance();
+    private final Instance second = new Instance();
+
+    @Test
+    void readsOnOneInstanceShouldSeeWritesMadeOnTheOther() {
+        UUID id = UUID.randomUUID();
+        database.insert(new PixKey(id, KeyType.CELULAR, "+5521994827834", AccountType.CORRENTE,
+                1234, 56789012, "Paulo", "Moreira", null, true, null, true));
+        assertEquals("Moreira", second.get.execute(id).orElseThrow().accountHolderLastName());
+
+        PixKey current = first.get.execute(id).orElseThrow();
+        first.update.execute(id, new PixKey(id, current.type(), current.keyValue(), AccountType.POUPANCA,
+                4321, 12345678, "Paulo", "Silva", current.createdAt(), true, null, true));
+        assertEquals("Silva", second.get.execute(id).orElseThrow().accountHolderLastName());
+
+        second.deactivate.execute(id);
+        assertFalse(first.get.execute(id).orElseThrow().active());
+    }
+
+    private final class Instance {
+
+        private final LocalPixKeyCache cache = new LocalPixKeyCache(1000, Duration.ofMinutes(5), channel);
+        private final GetPixKeyUseCaseImpl get = new GetPixKeyUseCaseImpl(database, cache);
+        private final UpdatePixKeyUseCaseImpl update = new UpdatePixKeyUseCaseImpl(database, AccountKeyCounter.none(), cache,
+                PixKeySearchIndex.none());
+        private final DeactivatePixKeyUseCaseImpl deactivate = new DeactivatePixKeyUseCaseImpl(database, AccountKeyCounter.none(), cache,
+                PixKeySearchIndex.none());
+    }
+}
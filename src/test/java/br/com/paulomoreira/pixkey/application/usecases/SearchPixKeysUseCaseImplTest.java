@@ -1,8 +1,17 @@
 package br.com.paulomoreira.pixkey.application.usecases;
 
+import br.com.paulomoreira.pixkey.application.ports.in.CountMode;
+import br.com.paulomoreira.pixkey.application.ports.in.KeysetPage;
+import br.com.paulomoreira.pixkey.application.ports.in.PixKeyCursor;
+import br.com.paulomoreira.pixkey.application.ports.in.SearchFingerprint;
 import br.com.paulomoreira.pixkey.application.ports.in.SearchPixKeysQuery;
+import br.com.paulomoreira.pixkey.application.ports.out.InMemoryPixKeyRepository;
 import br.com.paulomoreira.pixkey.application.ports.out.PixKeyRepository;
+import br.com.paulomoreira.pixkey.application.ports.out.PixKeySearchIndex;
+import br.com.paulomoreira.pixkey.application.ports.out.PixKeySearchIndex.IndexedPage;
 import br.com.paulomoreira.pixkey.domain.exceptions.InvalidFilterCombinationException;
+import br.com.paulomoreira.pixkey.domain.model.AccountType;
+import br.com.paulomoreira.pixkey.domain.model.KeyType;
 import br.com.paulomoreira.pixkey.domain.model.PixKey;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -13,9 +22,17 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 
 import java.time.LocalDateTime;
 import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Consumer;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -26,6 +43,9 @@ class SearchPixKeysUseCaseImplTest {
     @Mock
     private PixKeyRepository repository;
 
+    @Mock
+    private PixKeySearchIndex searchIndex;
+
     @InjectMocks
     private SearchPixKeysUseCaseImpl useCase;
 
@@ -71,4 +91,197 @@ class SearchPixKeysUseCaseImplTest {
         assertEquals(pageResult, result);
         verify(repository).search(query, pageable);
     }
-}
\ No newline at end of file
+
+    @Test
+    void shouldForwardCountModeToRepository() {
+        SearchPixKeysQuery query = new SearchPixKeysQuery("CPF", null, null, null, null, null);
+        Pageable pageable = PageRequest.of(3, 20);
+        Slice<PixKey> slice = new SliceImpl<>(List.of(key(1)), pageable, true);
+        when(repository.search(query, pageable, CountMode.NONE)).thenReturn(slice);
+
+        assertSame(slice, useCase.execute(query, pageable, CountMode.NONE));
+        verify(repository, never()).search(query, pageable);
+    }
+
+    @Test
+    void shouldReadPageOfIndexedIdsInIndexOrder() {
+        SearchPixKeysQuery query = new SearchPixKeysQuery(null, 1234, null, null, null, null);
+        Pageable pageable = PageRequest.of(1, 3);
+        PixKey first = key(1);
+        PixKey second = key(2);
+        PixKey third = key(3);
+        List<UUID> ids = List.of(second.id(), first.id(), third.id());
+        when(searchIndex.search(query, pageable)).thenReturn(Optional.of(new IndexedPage(ids, 7)));
+        when(repository.findAllById(ids)).thenReturn(List.of(first, third, second));
+
+        Page<PixKey> page = useCase.execute(query, pageable);
+
+        assertEquals(List.of(second, first, third), page.getContent());
+        assertEquals(7, page.getTotalElements());
+        verify(repository, never()).search(any(), any());
+    }
+
+    @Test
+    void shouldFallBackToDatabaseAndReindexWhenIndexedRowNoLongerMatches() {
+        SearchPixKeysQuery query = new SearchPixKeysQuery(null, 1234, null, null, null, null);
+        Pageable pageable = PageRequest.of(0, 20);
+        PixKey current = key(1);
+        PixKey moved = new PixKey(UUID.randomUUID(), KeyType.EMAIL, "moved@example.com", AccountType.CORRENTE,
+                4321, 1, "Paulo", null, null, true, null, false, 1);
+        List<UUID> ids = List.of(current.id(), moved.id());
+        Page<PixKey> fromDatabase = new PageImpl<>(List.of(current), pageable, 1);
+        when(searchIndex.search(query, pageable)).thenReturn(Optional.of(new IndexedPage(ids, 2)));
+        when(repository.findAllById(ids)).thenReturn(List.of(moved, current));
+        when(repository.search(query, pageable)).thenReturn(fromDatabase);
+
+        Page<PixKey> page = useCase.execute(query, pageable);
+
+        assertSame(fromDatabase, page);
+        verify(searchIndex).indexed(moved);
+        verify(searchIndex, never()).indexed(current);
+    }
+
+    @Test
+    void shouldFallBackToDatabaseWhenIndexedRowIsMissing() {
+        SearchPixKeysQuery query = new SearchPixKeysQuery(null, 1234, null, null, null, null);
+        Pageable pageable = PageRequest.of(0, 2);
+        PixKey current = key(1);
+        List<UUID> ids = List.of(current.id(), UUID.randomUUID());
+        Slice<PixKey> fromDatabase = new SliceImpl<>(List.of(current), pageable, false);
+        when(searchIndex.search(query, pageable)).thenReturn(Optional.of(new IndexedPage(ids, 3)));
+        when(repository.findAllById(ids)).thenReturn(List.of(current));
+        when(repository.search(query, pageable, CountMode.NONE)).thenReturn(fromDatabase);
+
+        assertSame(fromDatabase, useCase.execute(query, pageable, CountMode.NONE));
+    }
+
+    @Test
+    void shouldTellNextSliceFromIndexedTotal() {
+        SearchPixKeysQuery query = new SearchPixKeysQuery(null, 1234, null, null, null, null);
+        Pageable pageable = PageRequest.of(0, 2);
+        PixKey first = key(1);
+        PixKey second = key(2);
+        List<UUID> ids = List.of(first.id(), second.id());
+        when(searchIndex.search(query, pageable)).thenReturn(Optional.of(new IndexedPage(ids, 3)));
+        when(repository.findAllById(ids)).thenReturn(List.of(first, second));
+
+        Slice<PixKey> slice = useCase.execute(query, pageable, CountMode.NONE);
+
+        assertFalse(slice instanceof Page);
+        assertTrue(slice.hasNext());
+        verify(repository, never()).search(any(), any(), any());
+    }
+
+    @Test
+    void shouldTakeTheTotalOfAFingerprintedPageFromTheFingerprint() {
+        SearchPixKeysQuery query = new SearchPixKeysQuery(null, 1234, null, null, null, null);
+        Pageable pageable = PageRequest.of(0, 20);
+        SearchFingerprint fingerprint = new SearchFingerprint(7, 42);
+        Page<PixKey> fromDatabase = new PageImpl<>(List.of(key(1)), pageable, 7);
+        when(searchIndex.search(query, pageable)).thenReturn(Optional.empty());
+        when(repository.search(query, pageable, 7L)).thenReturn(fromDatabase);
+
+        assertSame(fromDatabase, useCase.execute(query, pageable, fingerprint));
+        verify(repository, never()).search(query, pageable);
+    }
+
+    @Test
+    void shouldValidateFiltersBeforeFingerprinting() {
+        SearchPixKeysQuery query = new SearchPixKeysQuery(null, null, null, null, null, null);
+
+        assertThrows(InvalidFilterCombinationException.class, () -> useCase.fingerprint(query));
+        verifyNoInteractions(repository);
+    }
+
+    @Test
+    void shouldValidateFiltersWhateverTheCountMode() {
+        SearchPixKeysQuery query = new SearchPixKeysQuery(null, null, null, null, null, null);
+
+        assertThrows(InvalidFilterCombinationException.class,
+                () -> useCase.execute(query, PageRequest.of(0, 20), CountMode.ESTIMATED));
+        verifyNoInteractions(repository);
+    }
+
+    @Test
+    void shouldValidateExportBeforeReadingRepository() {
+        SearchPixKeysQuery query = new SearchPixKeysQuery(null, null, null, null, null, null);
+
+        assertThrows(InvalidFilterCombinationException.class, () -> useCase.export(query, pixKey -> {}));
+        verifyNoInteractions(repository);
+    }
+
+    @Test
+    void shouldExportMatchesThroughRepository() {
+        SearchPixKeysQuery query = new SearchPixKeysQuery(null, 1234, null, null, null, null);
+        Consumer<PixKey> action = pixKey -> {};
+
+        useCase.export(query, action);
+
+        verify(repository).forEachMatch(query, action);
+    }
+
+    @Test
+    void shouldReturnCursorOnlyWhenThereIsAnotherPage() {
+        SearchPixKeysQuery query = new SearchPixKeysQuery(null, 1234, null, null, null, null);
+        List<PixKey> rows = List.of(key(1), key(2), key(3));
+        when(repository.searchAfter(query, null, 3)).thenReturn(rows);
+
+        KeysetPage page = useCase.execute(query, null, 2);
+
+        assertEquals(rows.subList(0, 2), page.content());
+        assertEquals(PixKeyCursor.after(rows.get(1)), page.next());
+    }
+
+    @Test
+    void shouldNotReturnCursorOnLastPage() {
+        SearchPixKeysQuery query = new SearchPixKeysQuery(null, 1234, null, null, null, null);
+        PixKeyCursor after = PixKeyCursor.after(key(1));
+        when(repository.searchAfter(query, after, 3)).thenReturn(List.of(key(2)));
+
+        KeysetPage page = useCase.execute(query, after, 2);
+
+        assertEquals(1, page.content().size());
+        assertFalse(page.hasNext());
+    }
+
+    @Test
+    void shouldRejectKeysetPageSizeOutOfRange() {
+        SearchPixKeysQuery query = new SearchPixKeysQuery(null, 1234, null, null, null, null);
+
+        assertThrows(InvalidFilterCombinationException.class, () -> useCase.execute(query, null, 0));
+        assertThrows(InvalidFilterCombinationException.class, () -> useCase.execute(query, null, 1001));
+        verifyNoInteractions(repository);
+    }
+
+    @Test
+    void shouldWalkEveryKeyExactlyOnceFollowingCursors() {
+        InMemoryPixKeyRepository inMemory = new InMemoryPixKeyRepository();
+        LocalDateTime sameInstant = LocalDateTime.of(2025, 3, 31, 10, 0);
+        for (int i = 0; i < 95; i++) {
+            inMemory.insert(new PixKey(null, KeyType.EMAIL, "user" + i + "@example.com", AccountType.CORRENTE,
+                    1234, i, "Paulo", null, i % 3 == 0 ? sameInstant : sameInstant.plusSeconds(i), true, null, false));
+        }
+        inMemory.insert(new PixKey(null, KeyType.EMAIL, "other@example.com", AccountType.CORRENTE,
+                4321, 1, "Paulo", null, sameInstant, true, null, false));
+        SearchPixKeysUseCaseImpl keysetUseCase = new SearchPixKeysUseCaseImpl(inMemory, PixKeySearchIndex.none());
+        SearchPixKeysQuery query = new SearchPixKeysQuery(null, 1234, null, null, null, null);
+
+        Set<UUID> seen = new HashSet<>();
+        PixKeyCursor cursor = null;
+        int pages = 0;
+        do {
+            KeysetPage page = keysetUseCase.execute(query, cursor, 10);
+            page.content().forEach(key -> assertTrue(seen.add(key.id()), "key returned twice"));
+            cursor = page.next();
+            pages++;
+        } while (cursor != null);
+
+        assertEquals(95, seen.size());
+        assertEquals(10, pages);
+    }
+
+    private static PixKey key(int i) {
+        return new PixKey(null, KeyType.EMAIL, "user" + i + "@example.com", AccountType.CORRENTE,
+                1234, i, "Paulo", null, LocalDateTime.of(2025, 3, 31, 10, 0).plusSeconds(i), true, null, false);
+    }
+}
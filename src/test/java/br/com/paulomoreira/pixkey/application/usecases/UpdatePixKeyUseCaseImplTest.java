@@ -1,6 +1,14 @@
 package br.com.paulomoreira.pixkey.application.usecases;
 
+import br.com.paulomoreira.pixkey.application.ports.in.UpdatePixKeyCommand;
+import br.com.paulomoreira.pixkey.application.ports.out.AccountKeyCounter;
+import br.com.paulomoreira.pixkey.application.ports.out.PixKeyCache;
 import br.com.paulomoreira.pixkey.application.ports.out.PixKeyRepository;
+import br.com.paulomoreira.pixkey.application.ports.out.PixKeySearchIndex;
+import br.com.paulomoreira.pixkey.application.ports.out.UpdatedPixKey;
+import br.com.paulomoreira.pixkey.domain.exceptions.KeyAlreadyInactiveException;
+import br.com.paulomoreira.pixkey.domain.exceptions.KeyNotFoundException;
+import br.com.paulomoreira.pixkey.domain.exceptions.KeyVersionMismatchException;
 import br.com.paulomoreira.pixkey.domain.model.AccountType;
 import br.com.paulomoreira.pixkey.domain.model.KeyType;
 import br.com.paulomoreira.pixkey.domain.model.PixKey;
@@ -10,6 +18,7 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.util.Optional;
 import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -21,19 +30,93 @@ class UpdatePixKeyUseCaseImplTest {
     @Mock
     private PixKeyRepository repository;
 
+    @Mock
+    private AccountKeyCounter accountKeyCounter;
+
+    @Mock
+    private PixKeyCache cache;
+
+    @Mock
+    private PixKeySearchIndex searchIndex;
+
     @InjectMocks
     private UpdatePixKeyUseCaseImpl useCase;
 
     @Test
-    void shouldUpdatePixKeySuccessfully() {
+    void shouldUpdatePixKeyInOneStatement() {
         UUID id = UUID.randomUUID();
         PixKey updatedPixKey = new PixKey(id, KeyType.CELULAR, "+5521994827834", AccountType.POUPANCA,
                 4321, 12345678, "Paulo", "Silva",
-                null, true, null, true);
-        when(repository.save(updatedPixKey)).thenReturn(updatedPixKey);
+                null, true, null, true, 1);
+        UpdatePixKeyCommand command = UpdatePixKeyCommand.of(updatedPixKey, null);
+        when(repository.updateIfActive(command)).thenReturn(Optional.of(new UpdatedPixKey(updatedPixKey, 4321, 12345678)));
+
+        PixKey result = useCase.execute(command);
 
-        PixKey result = useCase.execute(id, updatedPixKey);
         assertEquals(updatedPixKey, result);
-        verify(repository).save(updatedPixKey);
+        verify(repository, never()).findById(any());
+        verify(cache).invalidate(updatedPixKey);
+        verify(searchIndex).indexed(updatedPixKey);
+    }
+
+    @Test
+    void shouldNotReactivateKeyDeactivatedSinceTheCallerReadIt() {
+        UUID id = UUID.randomUUID();
+        PixKey deactivatedPixKey = new PixKey(id, KeyType.CELULAR, "+5521994827834", AccountType.CORRENTE,
+                1234, 56789012, "Paulo", "Moreira",
+                null, false, null, true);
+        UpdatePixKeyCommand command = new UpdatePixKeyCommand(id, AccountType.POUPANCA, 1234, 56789012,
+                "Paulo", "Silva", null);
+        when(repository.updateIfActive(command)).thenReturn(Optional.empty());
+        when(repository.findById(id)).thenReturn(Optional.of(deactivatedPixKey));
+
+        assertThrows(KeyAlreadyInactiveException.class, () -> useCase.execute(command));
+        verifyNoInteractions(cache, accountKeyCounter, searchIndex);
+    }
+
+    @Test
+    void shouldTellAMissingKeyFromAStaleVersion() {
+        UUID missingId = UUID.randomUUID();
+        UUID changedId = UUID.randomUUID();
+        PixKey changed = new PixKey(changedId, KeyType.CELULAR, "+5521994827834", AccountType.CORRENTE,
+                1234, 56789012, "Paulo", "Moreira",
+                null, true, null, true, 5);
+        when(repository.updateIfActive(any())).thenReturn(Optional.empty());
+        when(repository.findById(missingId)).thenReturn(Optional.empty());
+        when(repository.findById(changedId)).thenReturn(Optional.of(changed));
+
+        assertThrows(KeyNotFoundException.class, () -> useCase.execute(
+                new UpdatePixKeyCommand(missingId, AccountType.POUPANCA, 1234, 56789012, "Paulo", null, 4L)));
+        assertThrows(KeyVersionMismatchException.class, () -> useCase.execute(
+                new UpdatePixKeyCommand(changedId, AccountType.POUPANCA, 1234, 56789012, "Paulo", null, 4L)));
+    }
+
+    @Test
+    void shouldMoveKeyCountWhenAccountChanges() {
+        UUID id = UUID.randomUUID();
+        PixKey updatedPixKey = new PixKey(id, KeyType.CELULAR, "+5521994827834", AccountType.POUPANCA,
+                4321, 12345678, "Paulo", "Silva",
+                null, true, null, true, 1);
+        UpdatePixKeyCommand command = UpdatePixKeyCommand.of(updatedPixKey, null);
+        when(repository.updateIfActive(command)).thenReturn(Optional.of(new UpdatedPixKey(updatedPixKey, 1234, 56789012)));
+
+        useCase.execute(command);
+
+        verify(accountKeyCounter).release(1234, 56789012);
+        verify(accountKeyCounter).acquire(4321, 12345678);
+    }
+
+    @Test
+    void shouldKeepKeyCountWhenAccountIsUnchanged() {
+        UUID id = UUID.randomUUID();
+        PixKey updatedPixKey = new PixKey(id, KeyType.CELULAR, "+5521994827834", AccountType.POUPANCA,
+                1234, 56789012, "Paulo", "Silva",
+                null, true, null, true, 1);
+        UpdatePixKeyCommand command = UpdatePixKeyCommand.of(updatedPixKey, null);
+        when(repository.updateIfActive(command)).thenReturn(Optional.of(new UpdatedPixKey(updatedPixKey, 1234, 56789012)));
+
+        useCase.execute(command);
+
+        verifyNoInteractions(accountKeyCounter);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,49 @@
+package br.com.paulomoreira.pixkey.domain.exceptions;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.HttpStatus;
+import org.springframework.validation.BeanPropertyBindingResult;
+import org.springframework.validation.FieldError;
+import org.springframework.web.bind.support.WebExchangeBindException;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GlobalExceptionHandlerTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final GlobalExceptionHandler handler = new GlobalExceptionHandler(registry);
+
+    @Test
+    void shouldCountBusinessExceptionsPerSubtype() {
+        handler.handleDuplicateKeyException(new DuplicateKeyException("a@example.com"));
+        handler.handleDuplicateKeyException(new DuplicateKeyException("b@example.com"));
+        assertEquals(HttpStatus.NOT_FOUND,
+                handler.handleKeyNotFoundException(new KeyNotFoundException(UUID.randomUUID())).getStatusCode());
+
+        assertEquals(2.0, count("DuplicateKeyException"));
+        assertEquals(1.0, count("KeyNotFoundException"));
+    }
+
+    @Test
+    void shouldReportReactiveValidationErrorsLikeMvcOnes() throws NoSuchMethodException {
+        BeanPropertyBindingResult bindingResult = new BeanPropertyBindingResult(new Object(), "request");
+        bindingResult.addError(new FieldError("request", "numeroAgencia", null,
+                false, null, null, "must not be null"));
+        MethodParameter parameter = new MethodParameter(getClass().getDeclaredMethod("count", String.class), 0);
+
+        ErrorResponse body = handler.handleWebExchangeBindException(
+                new WebExchangeBindException(parameter, bindingResult)).getBody();
+
+        assertEquals(400, body.status());
+        assertEquals("must not be null", body.error());
+        assertEquals("Campo 'numeroAgencia' inválido: null", body.message());
+    }
+
+    private double count(String exception) {
+        return registry.get("pixkey.business.exceptions").tag("exception", exception).counter().count();
+    }
+}
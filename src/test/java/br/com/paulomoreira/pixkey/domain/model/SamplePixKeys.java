@@ -0,0 +1,75 @@
+package br.com.paulomoreira.pixkey.domain.model;
+
+import java.util.Random;
+import java.util.UUID;
+
+// Valid, distinct keys for benchmarks and load generation: the n-th key of a type is always the
+// same value, and different n give different values. Types are drawn with the weights below,
+// roughly how keys are spread across a retail bank's base (CPF and phone first, CNPJ rare).
+public final class SamplePixKeys {
+
+    private static final KeyType[] TYPES = {KeyType.CPF, KeyType.CELULAR, KeyType.EMAIL, KeyType.ALEATORIO, KeyType.CNPJ};
+    private static final int[] WEIGHTS = {40, 25, 20, 10, 5};
+
+    private SamplePixKeys() {
+    }
+
+    public static KeyType randomType(Random random) {
+        int roll = random.nextInt(100);
+        for (int i = 0; i < TYPES.length; i++) {
+            roll -= WEIGHTS[i];
+            if (roll < 0) {
+                return TYPES[i];
+            }
+        }
+        return TYPES[0];
+    }
+
+    // A new active key; CNPJ keys belong to PJ accounts, everything else to PF.
+    public static PixKey pixKey(KeyType type, int n, int branchNumber, int accountNumber) {
+        return new PixKey(null, type, keyValue(type, n), AccountType.CORRENTE, branchNumber, accountNumber,
+                "Correntista", "Teste", null, true, null, type != KeyType.CNPJ);
+    }
+
+    public static String keyValue(KeyType type, int n) {
+        return switch (type) {
+            case CPF -> cpf(n);
+            case CNPJ -> cnpj(n);
+            case CELULAR -> String.format("+55119%08d", n % 100_000_000);
+            case EMAIL -> "cliente" + n + "@example.com";
+            case ALEATORIO -> new UUID(0x5A4D504C45L, n).toString();
+        };
+    }
+
+    public static String cpf(int n) {
+        StringBuilder cpf = new StringBuilder(String.format("%09d", n % 1_000_000_000));
+        cpf.append(cpfCheckDigit(cpf, 10));
+        cpf.append(cpfCheckDigit(cpf, 11));
+        return cpf.toString();
+    }
+
+    public static String cnpj(int n) {
+        StringBuilder cnpj = new StringBuilder(String.format("%08d0001", n % 100_000_000));
+        cnpj.append(cnpjCheckDigit(cnpj));
+        cnpj.append(cnpjCheckDigit(cnpj));
+        return cnpj.toString();
+    }
+
+    private static int cpfCheckDigit(CharSequence digits, int weight) {
+        int sum = 0;
+        for (int i = 0; i < digits.length(); i++) {
+            sum += (digits.charAt(i) - '0') * (weight - i);
+        }
+        int remainder = (sum * 10) % 11;
+        return remainder == 10 ? 0 : remainder;
+    }
+
+    // Weights run 2..9 from the rightmost digit, wrapping back to 2.
+    private static int cnpjCheckDigit(CharSequence digits) {
+        int sum = 0;
+        for (int i = 0; i < digits.length(); i++) {
+            sum += (digits.charAt(digits.length() - 1 - i) - '0') * (2 + i % 8);
+        }
+        return sum % 11 < 2 ? 0 : 11 - sum % 11;
+    }
+}
@@ -0,0 +1,84 @@
+package br.com.paulomoreira.pixkey.domain.model;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UuidV7GeneratorTest {
+
+    @AfterEach
+    void restoreDefaultGenerator() {
+        PixKeyIds.use(new UuidV7Generator());
+    }
+
+    @Test
+    void next_shouldSetVersion7AndRfcVariant() {
+        UUID id = new UuidV7Generator().next();
+
+        assertEquals(7, id.version());
+        assertEquals(2, id.variant());
+    }
+
+    @Test
+    void next_shouldLeadWithTheCurrentMillisecond() {
+        UUID id = new UuidV7Generator(() -> 1_700_000_000_123L).next();
+
+        assertEquals(1_700_000_000_123L, UuidV7Generator.timestampMillis(id));
+        assertTrue(id.toString().startsWith("018bcfe5-687b-7"));
+    }
+
+    @Test
+    void next_shouldSortByCreationTimeAcrossMilliseconds() {
+        AtomicLong clock = new AtomicLong(1_700_000_000_000L);
+        UuidV7Generator generator = new UuidV7Generator(clock::getAndIncrement);
+
+        List<String> ids = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            ids.add(generator.next().toString());
+        }
+
+        List<String> sorted = new ArrayList<>(ids);
+        sorted.sort(null);
+        assertEquals(sorted, ids);
+    }
+
+    @Test
+    void next_shouldNotRepeatWithinTheSameMillisecond() {
+        UuidV7Generator generator = new UuidV7Generator(() -> 1_700_000_000_000L);
+
+        Set<UUID> ids = new HashSet<>();
+        for (int i = 0; i < 100_000; i++) {
+            ids.add(generator.next());
+        }
+
+        assertEquals(100_000, ids.size());
+    }
+
+    @Test
+    void pixKey_shouldTakeItsIdFromTheInstalledGenerator() {
+        PixKey v7 = SamplePixKeys.pixKey(KeyType.CPF, 1, 1234, 12345678);
+        PixKeyIds.use(PixKeyIdGenerator.random());
+        PixKey v4 = SamplePixKeys.pixKey(KeyType.CPF, 2, 1234, 12345678);
+
+        assertEquals(7, v7.id().version());
+        assertEquals(4, v4.id().version());
+    }
+
+    @Test
+    void pixKey_shouldKeepAnExistingRandomId() {
+        UUID existing = UUID.fromString("3f2504e0-4f89-41d3-9a0c-0305e82c3301");
+
+        PixKey pixKey = new PixKey(existing, KeyType.ALEATORIO, existing.toString(), AccountType.CORRENTE, 1234,
+                12345678, "Maria", null, null, true, null, false, 0);
+
+        assertEquals(existing, pixKey.id());
+    }
+}
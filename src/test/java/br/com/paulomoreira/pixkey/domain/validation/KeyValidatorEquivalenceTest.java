@@ -0,0 +1,117 @@
+package br.com.paulomoreira.pixkey.domain.validation;
+
+import br.com.paulomoreira.pixkey.domain.model.KeyType;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Feeds the same seeded random inputs to the single-pass validators and to the regex versions in
+// LegacyKeyValidators and requires identical outcomes: accepted, or rejected with the same
+// exception and message. Inputs are random strings over an alphabet that includes non-ASCII digits
+// and letters, plus single-character mutations of valid keys so the checksum and format boundaries
+// get exercised, not just the length checks.
+class KeyValidatorEquivalenceTest {
+
+    private static final long SEED = 20240117L;
+    private static final int SAMPLES = 20_000;
+    private static final String ALPHABET = "0123456789abcdefABCDEFxyzXYZ_.-@+ é٣";
+
+    private static final Map<KeyType, KeyValidator> VALIDATORS = new EnumMap<>(Map.of(
+            KeyType.CPF, new CpfValidatorImpl(),
+            KeyType.CNPJ, new CnpjValidator(),
+            KeyType.CELULAR, new CelularValidator(),
+            KeyType.EMAIL, new EmailValidator(),
+            KeyType.ALEATORIO, new AleatorioValidator()
+    ));
+
+    private static final Map<KeyType, List<String>> VALID_KEYS = Map.of(
+            KeyType.CPF, List.of("52998224725", "11144477735", "00000000000"),
+            KeyType.CNPJ, List.of("11222333000181", "45723174000110", "00000000000000"),
+            KeyType.CELULAR, List.of("+5511987654321", "+5521912345678"),
+            KeyType.EMAIL, List.of("user@example.com", "a_b.c-d@sub.example.co", "x@y.zw"),
+            KeyType.ALEATORIO, List.of("123e4567-e89b-12d3-a456-426614174000", "ABCDEF01-2345-6789-abcd-ef0123456789")
+    );
+
+    @ParameterizedTest
+    @EnumSource(KeyType.class)
+    @DisplayName("Deve aceitar e rejeitar exatamente as mesmas chaves que a validação por regex")
+    void shouldMatchRegexValidators(KeyType type) {
+        KeyValidator validator = VALIDATORS.get(type);
+        Consumer<String> legacy = LegacyKeyValidators.BY_TYPE.get(type);
+        Random random = new Random(SEED + type.ordinal());
+        int accepted = 0;
+
+        for (int i = 0; i < SAMPLES; i++) {
+            String key = nextKey(type, random);
+            String expected = outcome(legacy, key);
+            assertEquals(expected, outcome(validator::validate, key), () -> type + " key \"" + key + "\"");
+            if (expected.equals("ok")) {
+                accepted++;
+            }
+        }
+        assertTrue(accepted > 0, "no accepted " + type + " samples; the generator is not reaching valid keys");
+    }
+
+    private static String nextKey(KeyType type, Random random) {
+        List<String> valid = VALID_KEYS.get(type);
+        String base = valid.get(random.nextInt(valid.size()));
+        return switch (random.nextInt(4)) {
+            case 0 -> base;
+            case 1 -> mutate(base, random);
+            case 2 -> randomDigits(type, random);
+            default -> randomString(random, random.nextInt(base.length() + 3));
+        };
+    }
+
+    private static String mutate(String base, Random random) {
+        StringBuilder key = new StringBuilder(base);
+        int position = random.nextInt(key.length());
+        char c = ALPHABET.charAt(random.nextInt(ALPHABET.length()));
+        switch (random.nextInt(3)) {
+            case 0 -> key.setCharAt(position, c);
+            case 1 -> key.insert(position, c);
+            default -> key.deleteCharAt(position);
+        }
+        return key.toString();
+    }
+
+    // Right-length all-digit keys, so CPF/CNPJ checksums are actually computed; about one in a
+    // hundred passes by chance.
+    private static String randomDigits(KeyType type, Random random) {
+        int length = switch (type) {
+            case CPF -> 11;
+            case CNPJ -> 14;
+            default -> 12 + random.nextInt(3);
+        };
+        StringBuilder key = new StringBuilder(type == KeyType.CELULAR ? "+55" : "");
+        for (int i = key.length(); i < length; i++) {
+            key.append((char) ('0' + random.nextInt(10)));
+        }
+        return key.toString();
+    }
+
+    private static String randomString(Random random, int length) {
+        StringBuilder key = new StringBuilder();
+        for (int i = 0; i < length; i++) {
+            key.append(ALPHABET.charAt(random.nextInt(ALPHABET.length())));
+        }
+        return key.toString();
+    }
+
+    private static String outcome(Consumer<String> validate, String key) {
+        try {
+            validate.accept(key);
+            return "ok";
+        } catch (RuntimeException e) {
+            return e.getClass().getSimpleName() + ": " + e.getMessage();
+        }
+    }
+}
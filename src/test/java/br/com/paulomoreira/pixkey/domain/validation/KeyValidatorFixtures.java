@@ -0,0 +1,27 @@
+package br.com.paulomoreira.pixkey.domain.validation;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public final class KeyValidatorFixtures {
+
+    private KeyValidatorFixtures() {
+    }
+
+    public static List<KeyValidator> all() {
+        return List.of(new CpfValidatorImpl(), new CnpjValidator(), new CelularValidator(),
+                new EmailValidator(), new AleatorioValidator());
+    }
+
+    public static KeyValidatorRegistry registry() {
+        return new KeyValidatorRegistry(all());
+    }
+
+    // The real validators, with the given one taking its type's place.
+    public static KeyValidatorRegistry registryWith(KeyValidator validator) {
+        List<KeyValidator> validators = new ArrayList<>(all());
+        validators.removeIf(v -> v.getType() == validator.getType());
+        validators.add(validator);
+        return new KeyValidatorRegistry(validators);
+    }
+}
@@ -0,0 +1,53 @@
+package br.com.paulomoreira.pixkey.domain.validation;
+
+import br.com.paulomoreira.pixkey.domain.exceptions.InvalidKeyException;
+import br.com.paulomoreira.pixkey.domain.model.KeyType;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class KeyValidatorRegistryTest {
+
+    private final KeyValidatorRegistry registry = KeyValidatorFixtures.registry();
+
+    @ParameterizedTest
+    @EnumSource(KeyType.class)
+    void shouldReturnTheValidatorRegisteredForEachType(KeyType type) {
+        assertEquals(type, registry.get(type).getType());
+    }
+
+    @Test
+    void shouldValidateWithTheValidatorOfTheGivenType() {
+        assertDoesNotThrow(() -> registry.validate(KeyType.EMAIL, "user@example.com"));
+        InvalidKeyException exception = assertThrows(InvalidKeyException.class,
+                () -> registry.validate(KeyType.CPF, "user@example.com"));
+        assertEquals("Invalid CPF: user@example.com", exception.getMessage());
+    }
+
+    @Test
+    @DisplayName("Deve falhar na criação quando algum tipo de chave não tem validador")
+    void shouldFailWhenATypeHasNoValidator() {
+        List<KeyValidator> validators = new ArrayList<>(KeyValidatorFixtures.all());
+        validators.removeIf(v -> v.getType() == KeyType.EMAIL || v.getType() == KeyType.CNPJ);
+
+        IllegalStateException exception = assertThrows(IllegalStateException.class,
+                () -> new KeyValidatorRegistry(validators));
+        assertEquals("No validator registered for key types: [EMAIL, CNPJ]", exception.getMessage());
+    }
+
+    @Test
+    void shouldFailWhenATypeHasTwoValidators() {
+        List<KeyValidator> validators = new ArrayList<>(KeyValidatorFixtures.all());
+        validators.add(new EmailValidator());
+
+        IllegalStateException exception = assertThrows(IllegalStateException.class,
+                () -> new KeyValidatorRegistry(validators));
+        assertTrue(exception.getMessage().startsWith("More than one validator registered for key type EMAIL"));
+    }
+}
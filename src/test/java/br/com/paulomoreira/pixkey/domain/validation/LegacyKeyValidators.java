@@ -0,0 +1,112 @@
+package br.com.paulomoreira.pixkey.domain.validation;
+
+import br.com.paulomoreira.pixkey.domain.exceptions.InvalidKeyException;
+import br.com.paulomoreira.pixkey.domain.model.KeyType;
+
+import java.util.Map;
+import java.util.function.Consumer;
+
+// The regex-based validators as they were before the single-pass rewrite, kept as the reference
+// the equivalence tests and the JMH benchmark compare against.
+public final class LegacyKeyValidators {
+
+    public static final Map<KeyType, Consumer<String>> BY_TYPE = Map.of(
+            KeyType.CPF, LegacyKeyValidators::validateCpf,
+            KeyType.CNPJ, LegacyKeyValidators::validateCnpj,
+            KeyType.CELULAR, LegacyKeyValidators::validateCelular,
+            KeyType.EMAIL, LegacyKeyValidators::validateEmail,
+            KeyType.ALEATORIO, LegacyKeyValidators::validateAleatorio
+    );
+
+    private LegacyKeyValidators() {
+    }
+
+    public static void validateCpf(String keyValue) {
+        if (!isValidCpf(keyValue)) {
+            throw new InvalidKeyException("Invalid CPF: " + keyValue);
+        }
+    }
+
+    public static boolean isValidCpf(String cpf) {
+        if (cpf == null || cpf.length() != 11 || !cpf.matches("\\d+")) {
+            return false;
+        }
+        int[] digits = cpf.chars().map(Character::getNumericValue).toArray();
+        return validateCpfDigit(digits, 10, 9) && validateCpfDigit(digits, 11, 10);
+    }
+
+    private static boolean validateCpfDigit(int[] digits, int weight, int length) {
+        int sum = 0;
+        for (int i = 0; i < length; i++) {
+            sum += digits[i] * (weight - i);
+        }
+        int remainder = (sum * 10) % 11;
+        int expectedDigit = (remainder == 10 || remainder == 11) ? 0 : remainder;
+        return digits[length] == expectedDigit;
+    }
+
+    public static void validateCnpj(String keyValue) {
+        if (keyValue == null || keyValue.length() != 14 || !keyValue.matches("\\d+")) {
+            throw new InvalidKeyException("CNPJ must be 14 digits: " + keyValue);
+        }
+        int[] digits = keyValue.chars().map(Character::getNumericValue).toArray();
+        int[] weights1 = {5, 4, 3, 2, 9, 8, 7, 6, 5, 4, 3, 2};
+        int[] weights2 = {6, 5, 4, 3, 2, 9, 8, 7, 6, 5, 4, 3, 2};
+        int sum1 = 0, sum2 = 0;
+        for (int i = 0; i < 12; i++) {
+            sum1 += digits[i] * weights1[i];
+        }
+        int digit1 = (sum1 % 11 < 2) ? 0 : 11 - (sum1 % 11);
+        for (int i = 0; i < 13; i++) {
+            sum2 += (i < 12 ? digits[i] : digit1) * weights2[i];
+        }
+        int digit2 = (sum2 % 11 < 2) ? 0 : 11 - (sum2 % 11);
+        if (digits[12] != digit1 || digits[13] != digit2) {
+            throw new InvalidKeyException("Invalid CNPJ: " + keyValue);
+        }
+    }
+
+    public static void validateCelular(String keyValue) {
+        if (!keyValue.startsWith("+")) {
+            throw new InvalidKeyException("Celular key must start with '+'");
+        }
+        String numericPart = keyValue.substring(1);
+        if (!numericPart.matches("\\d+")) {
+            throw new InvalidKeyException("Celular key must contain only numbers after '+'");
+        }
+        if (numericPart.length() < 12 || numericPart.length() > 13) {
+            throw new InvalidKeyException("Celular key must have 13-14 digits (country code + DDD + number)");
+        }
+        String countryCode = numericPart.substring(0, 2);
+        if (!countryCode.equals("55")) {
+            throw new InvalidKeyException("Celular key must have country code '+55' for Brazil");
+        }
+        String ddd = numericPart.substring(2, 4);
+        if (ddd.length() != 2) {
+            throw new InvalidKeyException("Celular key must have a 2-digit DDD");
+        }
+        String number = numericPart.substring(4);
+        if (number.length() != 9) {
+            throw new InvalidKeyException("Celular key must have exactly 9 digits for the number");
+        }
+    }
+
+    public static void validateEmail(String keyValue) {
+        if (keyValue == null || keyValue.isBlank()) {
+            throw new InvalidKeyException("Email key cannot be null or empty");
+        }
+        if (!keyValue.contains("@") || keyValue.length() > 77) {
+            throw new InvalidKeyException("Email key must contain '@' and not exceed 77 characters");
+        }
+        if (!keyValue.matches("^[\\w.-]+@[\\w.-]+\\.[a-zA-Z]{2,}$")) {
+            throw new InvalidKeyException("Email key must follow a valid email format");
+        }
+    }
+
+    public static void validateAleatorio(String keyValue) {
+        if (keyValue == null || keyValue.length() != 36
+                || !keyValue.matches("[0-9a-fA-F]{8}-[0-9a-fA-F]{4}-[0-9a-fA-F]{4}-[0-9a-fA-F]{4}-[0-9a-fA-F]{12}")) {
+            throw new InvalidKeyException("Aleatorio key must be a valid UUID: " + keyValue);
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package br.com.paulomoreira.pixkey.infrastructure.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class VirtualThreadsConfigTest {
+
+    private final ApplicationContextRunner contextRunner = new ApplicationContextRunner()
+            .withUserConfiguration(VirtualThreadsConfig.class);
+
+    @Test
+    void shouldRejectJavaVersionsWithoutVirtualThreads() {
+        IllegalStateException exception = assertThrows(IllegalStateException.class,
+                () -> VirtualThreadsConfig.requireSupport(17));
+
+        assertEquals("spring.threads.virtual.enabled needs Java 21 or later, running on Java 17", exception.getMessage());
+        assertDoesNotThrow(() -> VirtualThreadsConfig.requireSupport(21));
+    }
+
+    @Test
+    void shouldOnlyCheckWhenVirtualThreadsAreEnabled() {
+        contextRunner.run(context -> assertFalse(context.containsBean("virtualThreadsConfig")));
+        contextRunner.withPropertyValues("spring.threads.virtual.enabled=true").run(context -> {
+            if (Runtime.version().feature() >= VirtualThreadsConfig.MINIMUM_JAVA_VERSION) {
+                assertNotNull(context.getBean(VirtualThreadsConfig.class));
+            } else {
+                assertNotNull(context.getStartupFailure());
+            }
+        });
+    }
+}
@@ -0,0 +1,25 @@
+package br.com.paulomoreira.pixkey.infrastructure.metrics;
+
+import br.com.paulomoreira.pixkey.domain.exceptions.InvalidKeyException;
+import br.com.paulomoreira.pixkey.domain.model.KeyType;
+import br.com.paulomoreira.pixkey.domain.validation.CpfValidatorImpl;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MeteredKeyValidatorTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final MeteredKeyValidator validator = new MeteredKeyValidator(new CpfValidatorImpl(), registry);
+
+    @Test
+    void shouldCountOnlyRejectedKeysUnderTheirType() {
+        validator.validate("52998224725");
+        InvalidKeyException exception = assertThrows(InvalidKeyException.class, () -> validator.validate("123"));
+
+        assertEquals("Invalid CPF: 123", exception.getMessage());
+        assertEquals(KeyType.CPF, validator.getType());
+        assertEquals(1.0, registry.get(MeteredKeyValidator.FAILURES).tag("keyType", "CPF").counter().count());
+    }
+}
@@ -0,0 +1,75 @@
+package br.com.paulomoreira.pixkey.infrastructure.metrics;
+
+import br.com.paulomoreira.pixkey.application.ports.in.GetPixKeyUseCase;
+import br.com.paulomoreira.pixkey.application.ports.out.InMemoryPixKeyRepository;
+import br.com.paulomoreira.pixkey.application.ports.out.PixKeyCache;
+import br.com.paulomoreira.pixkey.application.ports.out.PixKeyRepository;
+import br.com.paulomoreira.pixkey.application.usecases.GetPixKeyUseCaseImpl;
+import br.com.paulomoreira.pixkey.domain.model.KeyType;
+import br.com.paulomoreira.pixkey.domain.model.PixKey;
+import br.com.paulomoreira.pixkey.domain.model.SamplePixKeys;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PixKeyMetricsAspectTest {
+
+    private SimpleMeterRegistry registry;
+    private InMemoryPixKeyRepository repository;
+    private PixKeyRepository meteredRepository;
+    private GetPixKeyUseCase meteredUseCase;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        PixKeyMetricsAspect aspect = new PixKeyMetricsAspect(registry);
+        repository = new InMemoryPixKeyRepository();
+        meteredRepository = proxy(repository, aspect);
+        meteredUseCase = proxy(new GetPixKeyUseCaseImpl(meteredRepository, PixKeyCache.none()), aspect);
+    }
+
+    @Test
+    void shouldTimeUseCaseAndRepositoryCallsPerClassAndMethod() {
+        PixKey pixKey = repository.insert(SamplePixKeys.pixKey(KeyType.EMAIL, 1, 1234, 12345678));
+
+        assertTrue(meteredUseCase.execute(pixKey.id()).isPresent());
+        assertTrue(meteredUseCase.execute(UUID.randomUUID()).isEmpty());
+
+        assertEquals(2, timer(PixKeyMetricsAspect.USE_CASE_TIMER, "GetPixKeyUseCaseImpl", "execute").count());
+        assertEquals(2, timer(PixKeyMetricsAspect.REPOSITORY_TIMER, "InMemoryPixKeyRepository", "findById").count());
+    }
+
+    @Test
+    void shouldRecordCallsThatThrow() {
+        assertThrows(NullPointerException.class, () -> meteredRepository.insertAllIfAllowed(null, key -> 5));
+
+        assertEquals(1, timer(PixKeyMetricsAspect.REPOSITORY_TIMER, "InMemoryPixKeyRepository", "insertAllIfAllowed").count());
+    }
+
+    @Test
+    void shouldOnlyTimePortMethods() {
+        ((InMemoryPixKeyRepository) meteredRepository).findAll();
+
+        assertNull(registry.find(PixKeyMetricsAspect.REPOSITORY_TIMER).tag("method", "findAll").timer());
+    }
+
+    private Timer timer(String name, String type, String method) {
+        Timer timer = registry.find(name).tag("class", type).tag("method", method).timer();
+        assertNotNull(timer, name + " " + type + "." + method);
+        return timer;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T proxy(T target, PixKeyMetricsAspect aspect) {
+        AspectJProxyFactory factory = new AspectJProxyFactory(target);
+        factory.setProxyTargetClass(true);
+        factory.addAspect(aspect);
+        return (T) factory.getProxy();
+    }
+}
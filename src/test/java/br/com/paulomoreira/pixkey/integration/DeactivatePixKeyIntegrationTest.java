@@ -78,7 +78,7 @@ class DeactivatePixKeyIntegrationTest {
         ResponseEntity<PixKeyResponse> createResponse = pixKeyController.createPixKey(VALID_REQUEST);
         UUID id = UUID.fromString(createResponse.getBody().id());
 
-        ResponseEntity<PixKeyResponse> deactivateResponse = pixKeyController.deactivatePixKey(id);
+        ResponseEntity<PixKeyResponse> deactivateResponse = pixKeyController.deactivatePixKey(id, null);
         assertEquals(HttpStatus.OK, deactivateResponse.getStatusCode());
 
         PixKeyResponse deactivatedKey = deactivateResponse.getBody();
@@ -97,7 +97,7 @@ class DeactivatePixKeyIntegrationTest {
         UUID nonExistentId = UUID.randomUUID();
         assertThrows(
                 KeyNotFoundException.class,
-                () -> pixKeyController.deactivatePixKey(nonExistentId)
+                () -> pixKeyController.deactivatePixKey(nonExistentId, null)
         );
     }
 
@@ -106,11 +106,11 @@ class DeactivatePixKeyIntegrationTest {
     void deactivatePixKey_ShouldThrowKeyAlreadyInactiveException_WhenKeyIsInactive() {
         ResponseEntity<PixKeyResponse> createResponse = pixKeyController.createPixKey(VALID_REQUEST);
         UUID id = UUID.fromString(createResponse.getBody().id());
-        pixKeyController.deactivatePixKey(id);
+        pixKeyController.deactivatePixKey(id, null);
 
         assertThrows(
                 KeyAlreadyInactiveException.class,
-                () -> pixKeyController.deactivatePixKey(id)
+                () -> pixKeyController.deactivatePixKey(id, null)
         );
     }
 }
\ No newline at end of file
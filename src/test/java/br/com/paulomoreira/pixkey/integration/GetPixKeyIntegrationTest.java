@@ -75,7 +75,7 @@ class GetPixKeyIntegrationTest {
         ResponseEntity<PixKeyResponse> createResponse = pixKeyController.createPixKey(VALID_REQUEST);
         UUID id = UUID.fromString(createResponse.getBody().id());
 
-        ResponseEntity<PixKeyResponse> response = pixKeyController.getPixKeyById(id, null);
+        ResponseEntity<PixKeyResponse> response = pixKeyController.getPixKeyById(id, null, null);
         assertEquals(HttpStatus.OK, response.getStatusCode());
         PixKeyResponse pixKey = response.getBody();
         assertEquals(id.toString(), pixKey.id());
@@ -94,7 +94,7 @@ class GetPixKeyIntegrationTest {
     @Transactional
     void getPixKeyById_ShouldThrowKeyNotFoundException_WhenKeyDoesNotExist() {
         UUID nonExistentId = UUID.randomUUID();
-        assertThrows(KeyNotFoundException.class, () -> pixKeyController.getPixKeyById(nonExistentId, null));
+        assertThrows(KeyNotFoundException.class, () -> pixKeyController.getPixKeyById(nonExistentId, null, null));
     }
 
     @Test
@@ -105,7 +105,7 @@ class GetPixKeyIntegrationTest {
 
         assertThrows(
                 br.com.paulomoreira.pixkey.domain.exceptions.InvalidFilterCombinationException.class,
-                () -> pixKeyController.getPixKeyById(id, "keyType=CPF")
+                () -> pixKeyController.getPixKeyById(id, "keyType=CPF", null)
         );
     }
 }
\ No newline at end of file
@@ -80,7 +80,7 @@ class UpdatePixKeyIntegrationTest {
         ResponseEntity<PixKeyResponse> createResponse = pixKeyController.createPixKey(VALID_REQUEST);
         UUID id = UUID.fromString(createResponse.getBody().id());
 
-        ResponseEntity<PixKeyResponse> updateResponse = pixKeyController.updatePixKey(id, UPDATE_REQUEST);
+        ResponseEntity<PixKeyResponse> updateResponse = pixKeyController.updatePixKey(id, UPDATE_REQUEST, null);
         assertEquals(HttpStatus.OK, updateResponse.getStatusCode());
 
         PixKeyResponse updatedKey = updateResponse.getBody();
@@ -98,7 +98,7 @@ class UpdatePixKeyIntegrationTest {
         UUID nonExistentId = UUID.randomUUID();
         assertThrows(
                 KeyNotFoundException.class,
-                () -> pixKeyController.updatePixKey(nonExistentId, UPDATE_REQUEST)
+                () -> pixKeyController.updatePixKey(nonExistentId, UPDATE_REQUEST, null)
         );
     }
 
@@ -107,11 +107,11 @@ class UpdatePixKeyIntegrationTest {
     void updatePixKey_ShouldThrowKeyAlreadyInactiveException_WhenKeyIsInactive() {
         ResponseEntity<PixKeyResponse> createResponse = pixKeyController.createPixKey(VALID_REQUEST);
         UUID id = UUID.fromString(createResponse.getBody().id());
-        pixKeyController.deactivatePixKey(id);
+        pixKeyController.deactivatePixKey(id, null);
 
         assertThrows(
                 KeyAlreadyInactiveException.class,
-                () -> pixKeyController.updatePixKey(id, UPDATE_REQUEST)
+                () -> pixKeyController.updatePixKey(id, UPDATE_REQUEST, null)
         );
     }
 }
\ No newline at end of file
@@ -0,0 +1,4 @@
+-- Init script for the Testcontainers PostgreSQL used by the integration tests. Tables, indexes
+-- and functions come from the Flyway migrations; this only enables the extensions they rely on
+-- while connected as the container superuser.
+CREATE EXTENSION IF NOT EXISTS pg_trgm;